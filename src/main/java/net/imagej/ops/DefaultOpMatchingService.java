@@ -35,9 +35,15 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntBiFunction;
 
 import net.imagej.ops.OpCandidate.StatusCode;
+import net.imagej.ops.OpMatchingIndex.MatchKey;
+import net.imagej.ops.OpMatchingIndex.MatchProfile;
 
 import org.scijava.Context;
 import org.scijava.InstantiableException;
@@ -56,6 +62,12 @@ import org.scijava.util.GenericUtils;
 
 /**
  * Default service for finding {@link Op}s which match a request.
+ * <p>
+ * Candidates are looked up through a name index of each {@link OpEnvironment}'s
+ * ops, and the outcome of the type-level checks is cached per argument
+ * signature (see {@link OpMatchingIndex}). The index of an environment is
+ * rebuilt whenever its {@link OpEnvironment#infos()} change.
+ * </p>
  * 
  * @author Curtis Rueden
  */
@@ -76,6 +88,35 @@ public class DefaultOpMatchingService extends AbstractService implements
 	@Parameter
 	private LogService log;
 
+	private final Map<OpEnvironment, OpMatchingIndex> indices = Collections
+		.synchronizedMap(new WeakHashMap<>());
+
+	private final AtomicLong cacheHits = new AtomicLong();
+	private final AtomicLong cacheMisses = new AtomicLong();
+
+	// -- DefaultOpMatchingService methods --
+
+	/**
+	 * Gets the number of {@link #findMatch} requests answered from the match
+	 * cache.
+	 */
+	public long getCacheHits() {
+		return cacheHits.get();
+	}
+
+	/**
+	 * Gets the number of {@link #findMatch} requests which required a full
+	 * matching pass.
+	 */
+	public long getCacheMisses() {
+		return cacheMisses.get();
+	}
+
+	/** Discards all op indices and cached matches. */
+	public void clearCache() {
+		indices.clear();
+	}
+
 	// -- OpMatchingService methods --
 
 	@Override
@@ -87,12 +128,44 @@ public class DefaultOpMatchingService extends AbstractService implements
 	public OpCandidate findMatch(final OpEnvironment ops,
 		final List<OpRef> refs)
 	{
+		final OpMatchingIndex index = index(ops);
+		final MatchKey key = new MatchKey(refs);
+
+		// replay the type-level checks of an earlier request, if possible
+		final List<MatchProfile> cached = index.getProfiles(key);
+		if (cached != null) {
+			cacheHits.incrementAndGet();
+			final List<OpCandidate> candidates = new ArrayList<>(cached.size());
+			for (final MatchProfile profile : cached) {
+				final OpCandidate candidate = new OpCandidate(ops, refs.get(profile
+					.refIndex()), index.info(profile.position()));
+				candidate.setArgs(padArgs(candidate));
+				candidates.add(candidate);
+			}
+			final List<OpCandidate> matches = filterMatches(candidates, cached);
+			if (matches.size() == 1) return singleMatch(candidates, matches);
+			// NB: Fall back to a full pass, for a complete analysis of the problem.
+		}
+		else cacheMisses.incrementAndGet();
+
 		// find candidates with matching name & type
-		final List<OpCandidate> candidates = findCandidates(ops, refs);
+		final List<Integer> positions = new ArrayList<>();
+		final List<OpCandidate> candidates = findCandidates(ops, index, refs,
+			positions);
 		assertCandidates(candidates, refs.get(0));
 
 		// narrow down candidates to the exact matches
-		final List<OpCandidate> matches = filterMatches(candidates);
+		final List<MatchProfile> profiles = new ArrayList<>();
+		final List<OpCandidate> validCandidates = new ArrayList<>();
+		for (int i = 0; i < candidates.size(); i++) {
+			final OpCandidate candidate = candidates.get(i);
+			if (!isValid(candidate)) continue;
+			validCandidates.add(candidate);
+			profiles.add(new MatchProfile(positions.get(i), indexOf(refs, candidate
+				.getRef())));
+		}
+		final List<OpCandidate> matches = filterMatches(validCandidates, profiles);
+		if (matches.size() == 1) index.putProfiles(key, profiles);
 
 		return singleMatch(candidates, matches);
 	}
@@ -108,35 +181,17 @@ public class DefaultOpMatchingService extends AbstractService implements
 	public List<OpCandidate> findCandidates(final OpEnvironment ops,
 		final List<OpRef> refs)
 	{
-		final ArrayList<OpCandidate> candidates = new ArrayList<>();
-		for (final OpInfo info : ops.infos()) {
-			for (final OpRef ref : refs) {
-				if (isCandidate(info, ref)) {
-					candidates.add(new OpCandidate(ops, ref, info));
-				}
-			}
-		}
-		return candidates;
+		return findCandidates(ops, index(ops), refs, new ArrayList<>());
 	}
 
 	@Override
 	public List<OpCandidate> filterMatches(final List<OpCandidate> candidates) {
 		final List<OpCandidate> validCandidates = validCandidates(candidates);
-
-		List<OpCandidate> matches;
-
-		matches = filterMatches(validCandidates, (cand) -> typesPerfectMatch(cand));
-		if (!matches.isEmpty()) return matches;
-
-		matches = castMatches(validCandidates);
-		if (!matches.isEmpty()) return matches;
-
-		// NB: Not implemented yet
-//		matches = filterMatches(validCandidates, (cand) -> losslessMatch(cand));
-//		if (!matches.isEmpty()) return matches;
-
-		matches = filterMatches(validCandidates, (cand) -> typesMatch(cand));
-		return matches;
+		final List<MatchProfile> profiles = new ArrayList<>();
+		for (int i = 0; i < validCandidates.size(); i++) {
+			profiles.add(new MatchProfile(-1, -1));
+		}
+		return filterMatches(validCandidates, profiles);
 	}
 
 	@Override
@@ -207,6 +262,103 @@ public class DefaultOpMatchingService extends AbstractService implements
 
 	// -- Helper methods --
 
+	/**
+	 * Gets the index of the given op environment, (re)building it if the
+	 * environment's ops changed since the last request.
+	 */
+	private OpMatchingIndex index(final OpEnvironment ops) {
+		final Collection<OpInfo> infos = ops.infos();
+		OpMatchingIndex index = indices.get(ops);
+		if (index == null || !index.isIndexOf(infos)) {
+			index = new OpMatchingIndex(infos);
+			indices.put(ops, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Builds the list of candidates from the given index, recording the index
+	 * position of each candidate.
+	 * <p>
+	 * Helper method of {@link #findCandidates}.
+	 * </p>
+	 */
+	private List<OpCandidate> findCandidates(final OpEnvironment ops,
+		final OpMatchingIndex index, final List<OpRef> refs,
+		final List<Integer> positions)
+	{
+		final ArrayList<OpCandidate> candidates = new ArrayList<>();
+		if (refs.size() == 1) {
+			final OpRef ref = refs.get(0);
+			for (final int p : index.candidates(ref, this::isCandidate)) {
+				candidates.add(new OpCandidate(ops, ref, index.info(p)));
+				positions.add(p);
+			}
+			return candidates;
+		}
+
+		// NB: Candidates are ordered by op first, then by reference.
+		final int[][] refPositions = new int[refs.size()][];
+		for (int r = 0; r < refs.size(); r++) {
+			refPositions[r] = index.candidates(refs.get(r), this::isCandidate);
+		}
+		final int[] next = new int[refs.size()];
+		while (true) {
+			int p = Integer.MAX_VALUE;
+			for (int r = 0; r < refs.size(); r++) {
+				if (next[r] < refPositions[r].length) {
+					p = Math.min(p, refPositions[r][next[r]]);
+				}
+			}
+			if (p == Integer.MAX_VALUE) break;
+			for (int r = 0; r < refs.size(); r++) {
+				if (next[r] < refPositions[r].length && refPositions[r][next[r]] == p) {
+					candidates.add(new OpCandidate(ops, refs.get(r), index.info(p)));
+					positions.add(p);
+					next[r]++;
+				}
+			}
+		}
+		return candidates;
+	}
+
+	/** Gets the index of the given reference instance in the list. */
+	private int indexOf(final List<OpRef> refs, final OpRef ref) {
+		for (int i = 0; i < refs.size(); i++) {
+			if (refs.get(i) == ref) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Narrows down the given valid candidates to the exact matches, memoizing
+	 * the type-level checks in the corresponding profiles.
+	 * <p>
+	 * Helper method of {@link #filterMatches(List)}.
+	 * </p>
+	 */
+	private List<OpCandidate> filterMatches(final List<OpCandidate> candidates,
+		final List<MatchProfile> profiles)
+	{
+		List<OpCandidate> matches;
+
+		matches = filterMatches(candidates, profiles, (cand,
+			profile) -> typesPerfectMatch(cand, profile));
+		if (!matches.isEmpty()) return matches;
+
+		matches = castMatches(candidates, profiles, (cand,
+			profile) -> findCastLevels(cand, profile));
+		if (!matches.isEmpty()) return matches;
+
+		// NB: Not implemented yet
+//		matches = filterMatches(candidates, profiles, (cand, profile) -> losslessMatch(cand));
+//		if (!matches.isEmpty()) return matches;
+
+		matches = filterMatches(candidates, profiles, (cand,
+			profile) -> typesMatch(cand, profile));
+		return matches;
+	}
+
 	/** Helper method of {@link #findCandidates}. */
 	private boolean isCandidate(final OpInfo info, final OpRef ref) {
 		if (!info.nameMatches(ref.getName())) return false;
@@ -250,16 +402,26 @@ public class DefaultOpMatchingService extends AbstractService implements
 	{
 		final ArrayList<OpCandidate> validCandidates = new ArrayList<>();
 		for (final OpCandidate candidate : candidates) {
-			if (!valid(candidate) || !outputsMatch(candidate)) continue;
-			final Object[] args = padArgs(candidate);
-			if (args == null) continue;
-			candidate.setArgs(args);
-			if (missArgs(candidate)) continue;
-			validCandidates.add(candidate);
+			if (isValid(candidate)) validCandidates.add(candidate);
 		}
 		return validCandidates;
 	}
 
+	/**
+	 * Checks whether the given candidate is valid, injecting the padded
+	 * arguments if so.
+	 * <p>
+	 * Helper method of {@link #validCandidates}.
+	 * </p>
+	 */
+	private boolean isValid(final OpCandidate candidate) {
+		if (!valid(candidate) || !outputsMatch(candidate)) return false;
+		final Object[] args = padArgs(candidate);
+		if (args == null) return false;
+		candidate.setArgs(args);
+		return !missArgs(candidate);
+	}
+
 	/**
 	 * Determines if the candidate arguments match with lossless conversion. Needs
 	 * support from the conversion in the future.
@@ -277,11 +439,13 @@ public class DefaultOpMatchingService extends AbstractService implements
 	 * </p>
 	 */
 	private List<OpCandidate> filterMatches(final List<OpCandidate> candidates,
-		final Predicate<OpCandidate> filter)
+		final List<MatchProfile> profiles,
+		final BiPredicate<OpCandidate, MatchProfile> filter)
 	{
 		final ArrayList<OpCandidate> matches = new ArrayList<>();
 		double priority = Double.NaN;
-		for (final OpCandidate candidate : candidates) {
+		for (int i = 0; i < candidates.size(); i++) {
+			final OpCandidate candidate = candidates.get(i);
 			final ModuleInfo info = candidate.cInfo();
 			final double p = info.getPriority();
 			if (p != priority && !matches.isEmpty()) {
@@ -290,7 +454,8 @@ public class DefaultOpMatchingService extends AbstractService implements
 			}
 			priority = p;
 
-			if (filter.test(candidate) && moduleConforms(candidate)) {
+			if (filter.test(candidate, profiles.get(i)) && moduleConforms(candidate))
+			{
 				matches.add(candidate);
 			}
 		}
@@ -321,6 +486,16 @@ public class DefaultOpMatchingService extends AbstractService implements
 	 * Helper method of {@link #filterMatches(List)}.
 	 * </p>
 	 */
+	private boolean typesPerfectMatch(final OpCandidate candidate,
+		final MatchProfile profile)
+	{
+		if (profile.perfect == MatchProfile.UNKNOWN) {
+			profile.perfect = (byte) (typesPerfectMatch(candidate) ? 1 : 0);
+		}
+		return profile.perfect == 1;
+	}
+
+	/** Helper method of {@link #typesPerfectMatch(OpCandidate, MatchProfile)}. */
 	private boolean typesPerfectMatch(final OpCandidate candidate) {
 		int i = 0;
 		final Object[] args = candidate.getArgs();
@@ -342,11 +517,15 @@ public class DefaultOpMatchingService extends AbstractService implements
 	 * Helper method of {@link #filterMatches(List)}.
 	 * </p>
 	 */
-	private List<OpCandidate> castMatches(final List<OpCandidate> candidates) {
+	private List<OpCandidate> castMatches(final List<OpCandidate> candidates,
+		final List<MatchProfile> profiles,
+		final ToIntBiFunction<OpCandidate, MatchProfile> castLevels)
+	{
 		final ArrayList<OpCandidate> matches = new ArrayList<>();
 		int minLevels = Integer.MAX_VALUE;
 		double priority = Double.NaN;
-		for (final OpCandidate candidate : candidates) {
+		for (int i = 0; i < candidates.size(); i++) {
+			final OpCandidate candidate = candidates.get(i);
 
 			final ModuleInfo info = candidate.cInfo();
 			final double p = info.getPriority();
@@ -356,7 +535,7 @@ public class DefaultOpMatchingService extends AbstractService implements
 			}
 			priority = p;
 
-			final int nextLevels = findCastLevels(candidate);
+			final int nextLevels = castLevels.applyAsInt(candidate, profiles.get(i));
 			if (nextLevels < 0 || nextLevels > minLevels) continue;
 
 			if (!moduleConforms(candidate)) continue;
@@ -377,6 +556,16 @@ public class DefaultOpMatchingService extends AbstractService implements
 	 * Helper method of {@link #filterMatches(List)}.
 	 * </p>
 	 */
+	private int findCastLevels(final OpCandidate candidate,
+		final MatchProfile profile)
+	{
+		if (profile.castLevels == Integer.MIN_VALUE) {
+			profile.castLevels = findCastLevels(candidate);
+		}
+		return profile.castLevels;
+	}
+
+	/** Helper method of {@link #findCastLevels(OpCandidate, MatchProfile)}. */
 	private int findCastLevels(final OpCandidate candidate) {
 		int level = 0, i = 0;
 		final Object[] args = candidate.getArgs();
@@ -525,6 +714,22 @@ public class DefaultOpMatchingService extends AbstractService implements
 		return module;
 	}
 
+	/**
+	 * Checks that each parameter is type-compatible with its corresponding
+	 * argument, memoizing the result in the given profile.
+	 * <p>
+	 * Helper method of {@link #filterMatches(List, List)}.
+	 * </p>
+	 */
+	private boolean typesMatch(final OpCandidate candidate,
+		final MatchProfile profile)
+	{
+		if (profile.convertible == MatchProfile.UNKNOWN) {
+			profile.convertible = (byte) (typesMatch(candidate) ? 1 : 0);
+		}
+		return profile.convertible == 1;
+	}
+
 	/**
 	 * Checks that each parameter is type-compatible with its corresponding
 	 * argument.
@@ -31,9 +31,13 @@ package net.imagej.ops;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 
 import org.scijava.command.CommandInfo;
 import org.scijava.command.CommandService;
+import org.scijava.event.EventHandler;
+import org.scijava.module.event.ModulesAddedEvent;
+import org.scijava.module.event.ModulesRemovedEvent;
 import org.scijava.plugin.AbstractPTService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
@@ -58,6 +62,9 @@ public class DefaultOpService extends AbstractPTService<Op> implements
 	@Parameter
 	private NamespaceService namespaceService;
 
+	/** Snapshot of the available ops, discarded whenever modules change. */
+	private volatile Collection<OpInfo> infos;
+
 	// -- OpEnvironment methods --
 
 	@Override
@@ -75,13 +82,20 @@ public class DefaultOpService extends AbstractPTService<Op> implements
 
 	@Override
 	public Collection<OpInfo> infos() {
-		// TODO: Consider maintaining a separate and efficient
-		// OpInfo data structure in AbstractOpEnvironment.
-		final ArrayList<OpInfo> infos = new ArrayList<>();
-		for (final CommandInfo cInfo : commandService.getCommandsOfType(Op.class)) {
-			infos.add(new OpInfo(cInfo));
+		Collection<OpInfo> result = infos;
+		if (result == null) {
+			final ArrayList<OpInfo> list = new ArrayList<>();
+			for (final CommandInfo cInfo : commandService.getCommandsOfType(
+				Op.class))
+			{
+				list.add(new OpInfo(cInfo));
+			}
+			// NB: The same collection is returned until the ops change, which lets
+			// the OpMatchingService reuse its index of the ops.
+			result = Collections.unmodifiableList(list);
+			infos = result;
 		}
-		return infos;
+		return result;
 	}
 
 	@Override
@@ -89,6 +103,18 @@ public class DefaultOpService extends AbstractPTService<Op> implements
 		return namespaceService.create(nsClass, this);
 	}
 
+	// -- Event handlers --
+
+	@EventHandler
+	protected void onEvent(final ModulesAddedEvent evt) {
+		infos = null;
+	}
+
+	@EventHandler
+	protected void onEvent(final ModulesRemovedEvent evt) {
+		infos = null;
+	}
+
 	// -- SingletonService methods --
 
 	@Override
@@ -0,0 +1,305 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * Lookup tables used by {@link DefaultOpMatchingService} to avoid scanning all
+ * available ops for every {@link OpRef}.
+ * <p>
+ * An index is built from one snapshot of {@link OpEnvironment#infos()}. It
+ * maps each op name (fully qualified, and without namespace) to the positions
+ * of the ops answering to it, caches the candidate ops of each name/type scope,
+ * and keeps a bounded table of {@link MatchProfile}s describing which
+ * candidates survived the type-level matching for a given argument signature.
+ * Only the results of checks which depend solely on argument classes are
+ * cached; {@link Contingent#conforms()} is always evaluated anew.
+ * </p>
+ */
+class OpMatchingIndex {
+
+	/** Default maximum number of cached argument signatures per index. */
+	public static final int DEFAULT_MAX_PROFILES = 4096;
+
+	private final List<OpInfo> infos;
+	private final Map<String, int[]> positionsByName;
+	private final Map<List<Object>, int[]> scopes = new ConcurrentHashMap<>();
+	private final Map<MatchKey, List<MatchProfile>> profiles;
+
+	public OpMatchingIndex(final Collection<OpInfo> source) {
+		this(source, DEFAULT_MAX_PROFILES);
+	}
+
+	public OpMatchingIndex(final Collection<OpInfo> source,
+		final int maxProfiles)
+	{
+		infos = new ArrayList<>(source);
+
+		final Map<String, List<Integer>> names = new LinkedHashMap<>();
+		for (int i = 0; i < infos.size(); i++) {
+			final OpInfo info = infos.get(i);
+			register(names, info.getName(), i);
+			final String[] aliases = info.getAliases();
+			if (aliases != null) {
+				for (final String alias : aliases) {
+					register(names, alias, i);
+				}
+			}
+		}
+		positionsByName = new ConcurrentHashMap<>();
+		for (final Map.Entry<String, List<Integer>> e : names.entrySet()) {
+			positionsByName.put(e.getKey(), toArray(e.getValue()));
+		}
+
+		profiles = Collections.synchronizedMap(new LinkedHashMap<MatchKey, List<MatchProfile>>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(
+				final Map.Entry<MatchKey, List<MatchProfile>> eldest)
+			{
+				return size() > maxProfiles;
+			}
+		});
+	}
+
+	// -- OpMatchingIndex methods --
+
+	/**
+	 * Checks whether this index was built from the given ops, i.e. the same
+	 * {@link OpInfo} instances in the same order.
+	 */
+	public boolean isIndexOf(final Collection<OpInfo> infosToCheck) {
+		if (infosToCheck.size() != infos.size()) return false;
+		int i = 0;
+		for (final OpInfo info : infosToCheck) {
+			if (info != infos.get(i++)) return false;
+		}
+		return true;
+	}
+
+	/** Gets the op at the given position of the index. */
+	public OpInfo info(final int position) {
+		return infos.get(position);
+	}
+
+	/**
+	 * Gets the positions of the ops which are candidates for the given
+	 * reference, in the order of {@link OpEnvironment#infos()}.
+	 *
+	 * @param ref The op reference whose name and types define the scope.
+	 * @param isCandidate Test to apply to each op whose name matches.
+	 */
+	public int[] candidates(final OpRef ref,
+		final BiPredicate<OpInfo, OpRef> isCandidate)
+	{
+		final List<Object> scope = Arrays.asList(ref.getName(), ref.getTypes());
+		final int[] cached = scopes.get(scope);
+		if (cached != null) return cached;
+
+		final List<Integer> positions = new ArrayList<>();
+		if (ref.getName() == null) {
+			for (int i = 0; i < infos.size(); i++) {
+				if (isCandidate.test(infos.get(i), ref)) positions.add(i);
+			}
+		}
+		else {
+			final int[] named = positionsByName.get(ref.getName());
+			if (named != null) {
+				for (final int i : named) {
+					if (isCandidate.test(infos.get(i), ref)) positions.add(i);
+				}
+			}
+		}
+		final int[] result = toArray(positions);
+		scopes.put(scope, result);
+		return result;
+	}
+
+	/** Gets the cached match profiles for the given key, or null if none. */
+	public List<MatchProfile> getProfiles(final MatchKey key) {
+		return profiles.get(key);
+	}
+
+	/** Caches the match profiles for the given key. */
+	public void putProfiles(final MatchKey key,
+		final List<MatchProfile> matchProfiles)
+	{
+		profiles.put(key, matchProfiles);
+	}
+
+	/** Gets the number of cached argument signatures. */
+	public int profileCount() {
+		return profiles.size();
+	}
+
+	// -- Helper methods --
+
+	private static void register(final Map<String, List<Integer>> names,
+		final String name, final int position)
+	{
+		if (name == null) return;
+		add(names, name, position);
+		// NB: Ops also answer to their name without namespace.
+		final int dot = name.lastIndexOf(".");
+		if (dot >= 0) add(names, name.substring(dot + 1), position);
+	}
+
+	private static void add(final Map<String, List<Integer>> names,
+		final String name, final int position)
+	{
+		final List<Integer> positions = names.computeIfAbsent(name,
+			k -> new ArrayList<>());
+		// NB: Positions are registered in increasing order, so a duplicate (e.g.,
+		// an alias equal to the op name) can only be the last element.
+		if (positions.isEmpty() || positions.get(positions.size() - 1) != position)
+		{
+			positions.add(position);
+		}
+	}
+
+	private static int[] toArray(final List<Integer> list) {
+		final int[] array = new int[list.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = list.get(i);
+		}
+		return array;
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Key identifying a matching request by its op names, op types, output types
+	 * and the raw classes of its arguments.
+	 */
+	public static final class MatchKey {
+
+		private final Object[] parts;
+		private final int hash;
+
+		public MatchKey(final List<OpRef> refs) {
+			final List<Object> list = new ArrayList<>();
+			for (final OpRef ref : refs) {
+				list.add(ref.getName());
+				list.add(ref.getTypes());
+				list.add(ref.getOutTypes());
+				final Object[] args = ref.getArgs();
+				list.add(args.length);
+				for (final Object arg : args) {
+					list.add(signature(arg));
+				}
+			}
+			parts = list.toArray();
+			hash = Arrays.hashCode(parts);
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof MatchKey)) return false;
+			final MatchKey that = (MatchKey) o;
+			return hash == that.hash && Arrays.equals(parts, that.parts);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		private static Object signature(final Object arg) {
+			if (arg == null) return null;
+			// NB: Type arguments are matched by value, not by class.
+			if (arg instanceof Type) return new TypeArg((Type) arg);
+			return arg.getClass();
+		}
+	}
+
+	/** Wrapper distinguishing a {@link Type} argument from an argument class. */
+	private static final class TypeArg {
+
+		private final Type type;
+
+		private TypeArg(final Type type) {
+			this.type = type;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			return o instanceof TypeArg && type.equals(((TypeArg) o).type);
+		}
+
+		@Override
+		public int hashCode() {
+			return type.hashCode() ^ 0x5bd1e995;
+		}
+	}
+
+	/**
+	 * Memoized results of the type-level checks for one valid candidate. The
+	 * checks are computed lazily, exactly as often as the uncached matching
+	 * would compute them, and then reused for later requests with the same
+	 * {@link MatchKey}.
+	 */
+	public static final class MatchProfile {
+
+		public static final byte UNKNOWN = -1;
+
+		private final int position;
+		private final int refIndex;
+
+		volatile byte perfect = UNKNOWN;
+		volatile int castLevels = Integer.MIN_VALUE;
+		volatile byte convertible = UNKNOWN;
+
+		public MatchProfile(final int position, final int refIndex) {
+			this.position = position;
+			this.refIndex = refIndex;
+		}
+
+		/** Gets the position of the candidate op in its index. */
+		public int position() {
+			return position;
+		}
+
+		/** Gets the index of the {@link OpRef} the candidate was matched with. */
+		public int refIndex() {
+			return refIndex;
+		}
+	}
+
+}
@@ -0,0 +1,310 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.cached;
+
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.numeric.ComplexType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Intervals;
+import net.imglib2.util.Util;
+
+/**
+ * {@link OpCache} bounded by a maximum number of entries and a maximum number
+ * of estimated bytes.
+ * <p>
+ * The keys are spread over independently locked segments, each of which evicts
+ * its least recently used entries once it exceeds its share of the bounds.
+ * Concurrent {@link #get(Object, Supplier)} requests for the same key compute
+ * the value only once. The size of a value is estimated by a weigher function,
+ * which by default (see {@link #estimateBytes(Object)}) accounts for the
+ * pixels of images.
+ * </p>
+ */
+public class BoundedOpCache implements OpCache {
+
+	/** Estimated size of an object which is not an image or array. */
+	private static final long OBJECT_BYTES = 64;
+
+	private final Segment[] segments;
+	private final ToLongFunction<Object> weigher;
+
+	private final Map<Object, FutureTask<Object>> inFlight =
+		new ConcurrentHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Creates a cache with the given bounds, estimating sizes with
+	 * {@link #estimateBytes(Object)}.
+	 * 
+	 * @param maxEntries maximum number of cached values
+	 * @param maxBytes maximum estimated number of bytes of the cached values
+	 */
+	public BoundedOpCache(final long maxEntries, final long maxBytes) {
+		this(maxEntries, maxBytes, BoundedOpCache::estimateBytes, Runtime
+			.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a cache with the given bounds.
+	 * 
+	 * @param maxEntries maximum number of cached values
+	 * @param maxBytes maximum estimated number of bytes of the cached values
+	 * @param weigher function estimating the number of bytes of a value
+	 * @param concurrencyLevel number of independently locked segments
+	 */
+	public BoundedOpCache(final long maxEntries, final long maxBytes,
+		final ToLongFunction<Object> weigher, final int concurrencyLevel)
+	{
+		if (maxEntries < 0 || maxBytes < 0) {
+			throw new IllegalArgumentException("Negative cache bounds");
+		}
+		// NB: Each segment must be able to hold at least one entry.
+		final int segmentCount = (int) Math.max(1, Math.min(Math.min(
+			concurrencyLevel, maxEntries), Integer.MAX_VALUE));
+		segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment(share(maxEntries, segmentCount, i), share(
+				maxBytes, segmentCount, i));
+		}
+		this.weigher = weigher;
+	}
+
+	// -- OpCache methods --
+
+	@Override
+	public Object get(final Object key) {
+		final Object value = segment(key).get(key);
+		if (value == null) misses.incrementAndGet();
+		else hits.incrementAndGet();
+		return value;
+	}
+
+	@Override
+	public void put(final Object key, final Object value) {
+		if (value == null) return;
+		segment(key).put(key, value, weigher.applyAsLong(value));
+	}
+
+	@Override
+	public Object get(final Object key, final Supplier<?> loader) {
+		final Object cached = get(key);
+		if (cached != null) return cached;
+
+		final FutureTask<Object> task = new FutureTask<>(() -> {
+			// NB: Another thread may have finished computing the value since.
+			final Object value = segment(key).get(key);
+			return value != null ? value : loader.get();
+		});
+		final FutureTask<Object> running = inFlight.putIfAbsent(key, task);
+		if (running != null) return await(running);
+		try {
+			task.run();
+			final Object value = await(task);
+			put(key, value);
+			return value;
+		}
+		finally {
+			inFlight.remove(key, task);
+		}
+	}
+
+	@Override
+	public void clear() {
+		for (final Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	@Override
+	public OpCacheStats stats() {
+		long size = 0, bytes = 0;
+		for (final Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.entries.size();
+				bytes += segment.bytes;
+			}
+		}
+		return new OpCacheStats(hits.get(), misses.get(), evictions.get(), size,
+			bytes);
+	}
+
+	// -- Utility methods --
+
+	/**
+	 * Estimates the number of bytes held by the given object: the pixels of
+	 * images (according to {@link RealType#getBitsPerPixel()}), the elements of
+	 * primitive arrays, and a fixed amount for anything else.
+	 */
+	public static long estimateBytes(final Object o) {
+		if (o instanceof RandomAccessibleInterval) {
+			final RandomAccessibleInterval<?> rai = (RandomAccessibleInterval<?>) o;
+			final long n = Intervals.numElements(rai);
+			if (n == 0) return OBJECT_BYTES;
+			return OBJECT_BYTES + pixelBytes(n, Util.getTypeFromInterval(rai));
+		}
+		if (o instanceof IterableInterval) {
+			final IterableInterval<?> ii = (IterableInterval<?>) o;
+			final long n = ii.size();
+			if (n == 0) return OBJECT_BYTES;
+			return OBJECT_BYTES + pixelBytes(n, ii.firstElement());
+		}
+		if (o != null && o.getClass().isArray() && o.getClass().getComponentType()
+			.isPrimitive())
+		{
+			return OBJECT_BYTES + (long) Array.getLength(o) * primitiveBytes(o
+				.getClass().getComponentType());
+		}
+		return OBJECT_BYTES;
+	}
+
+	// -- Helper methods --
+
+	private Segment segment(final Object key) {
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return segments[(h & 0x7fffffff) % segments.length];
+	}
+
+	private static long share(final long total, final int parts,
+		final int index)
+	{
+		return total / parts + (index < total % parts ? 1 : 0);
+	}
+
+	private static long pixelBytes(final long n, final Object type) {
+		if (type instanceof RealType) {
+			final long bits = ((RealType<?>) type).getBitsPerPixel();
+			return (n * bits + 7) / 8;
+		}
+		if (type instanceof ComplexType) return n * 16;
+		return n * OBJECT_BYTES;
+	}
+
+	private static long primitiveBytes(final Class<?> c) {
+		if (c == byte.class || c == boolean.class) return 1;
+		if (c == short.class || c == char.class) return 2;
+		if (c == int.class || c == float.class) return 4;
+		return 8;
+	}
+
+	private static Object await(final FutureTask<Object> task) {
+		try {
+			return task.get();
+		}
+		catch (final InterruptedException exc) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(exc);
+		}
+		catch (final ExecutionException exc) {
+			final Throwable cause = exc.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+			if (cause instanceof Error) throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	// -- Helper classes --
+
+	/** Cached value together with its estimated size. */
+	private static class Entry {
+
+		private final Object value;
+		private final long bytes;
+
+		private Entry(final Object value, final long bytes) {
+			this.value = value;
+			this.bytes = bytes;
+		}
+	}
+
+	/** Independently locked part of the cache, in least recently used order. */
+	private class Segment {
+
+		private final long maxEntries;
+		private final long maxBytes;
+
+		private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(
+			16, 0.75f, true);
+		private long bytes;
+
+		private Segment(final long maxEntries, final long maxBytes) {
+			this.maxEntries = maxEntries;
+			this.maxBytes = maxBytes;
+		}
+
+		private synchronized Object get(final Object key) {
+			final Entry entry = entries.get(key);
+			return entry == null ? null : entry.value;
+		}
+
+		private synchronized void put(final Object key, final Object value,
+			final long size)
+		{
+			final Entry old = entries.remove(key);
+			if (old != null) bytes -= old.bytes;
+			if (size > maxBytes || maxEntries == 0) {
+				// NB: The value alone exceeds the bounds; do not cache it at all.
+				evictions.incrementAndGet();
+				return;
+			}
+			entries.put(key, new Entry(value, size));
+			bytes += size;
+
+			final Iterator<Entry> iter = entries.values().iterator();
+			while (entries.size() > maxEntries || bytes > maxBytes) {
+				final Entry eldest = iter.next();
+				iter.remove();
+				bytes -= eldest.bytes;
+				evictions.incrementAndGet();
+			}
+		}
+
+		private synchronized void clear() {
+			entries.clear();
+			bytes = 0;
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.cached;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.scijava.cache.CacheService;
+
+/**
+ * {@link OpCache} delegating to the SciJava {@link CacheService}. This cache is
+ * unbounded; its eviction policy is the one of the {@link CacheService}.
+ * <p>
+ * The {@link CacheService} is shared and cannot be cleared, so the keys are
+ * tagged with a generation: {@link #clear()} starts a new generation, which
+ * makes all earlier values unreachable until the {@link CacheService} evicts
+ * them.
+ * </p>
+ */
+public class CacheServiceOpCache implements OpCache {
+
+	private final CacheService cacheService;
+
+	private final AtomicInteger generation = new AtomicInteger();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public CacheServiceOpCache(final CacheService cacheService) {
+		this.cacheService = cacheService;
+	}
+
+	@Override
+	public Object get(final Object key) {
+		final Object value = cacheService.get(new Key(generation.get(), key));
+		if (value == null) misses.incrementAndGet();
+		else hits.incrementAndGet();
+		return value;
+	}
+
+	@Override
+	public void put(final Object key, final Object value) {
+		cacheService.put(new Key(generation.get(), key), value);
+	}
+
+	@Override
+	public void clear() {
+		generation.incrementAndGet();
+	}
+
+	@Override
+	public OpCacheStats stats() {
+		return new OpCacheStats(hits.get(), misses.get(), 0, -1, -1);
+	}
+
+	// -- Helper classes --
+
+	/** Key of the {@link CacheService}, valid within one generation. */
+	private static final class Key {
+
+		private final int generation;
+		private final Object key;
+
+		private Key(final int generation, final Object key) {
+			this.generation = generation;
+			this.key = key;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Key)) return false;
+			final Key other = (Key) obj;
+			return generation == other.generation && key.equals(other.key);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * generation + key.hashCode();
+		}
+	}
+
+}
@@ -54,6 +54,11 @@ import org.scijava.util.GenericUtils;
 
 /**
  * Creates {@link CachedFunctionOp}s which know how to cache their outputs.
+ * <p>
+ * The outputs are stored in an {@link OpCache}: by default the SciJava
+ * {@link CacheService}, or e.g. a {@link BoundedOpCache} to limit the number
+ * and estimated size of the cached outputs.
+ * </p>
  * 
  * @author Christian Dietz (University of Konstanz)
  */
@@ -62,6 +67,7 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 	@Parameter
 	private CacheService cs;
 	private Collection<Class<?>> ignoredOps;
+	private volatile OpCache cache;
 
 	public CachedOpEnvironment(final OpEnvironment parent) {
 		this(parent, null, new ArrayList<>());
@@ -86,6 +92,29 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		this.ignoredOps = ignoredOps;
 	}
 
+	public CachedOpEnvironment(final OpEnvironment parent,
+		final Collection<? extends OpInfo> prioritizedInfos,
+		final Collection<Class<?>> ignoredOps, final OpCache cache)
+	{
+		this(parent, prioritizedInfos, ignoredOps);
+		this.cache = cache;
+	}
+
+	// -- CachedOpEnvironment methods --
+
+	/** Gets the {@link OpCache} storing the outputs of the cached ops. */
+	public OpCache cache() {
+		OpCache result = cache;
+		if (result == null) {
+			// NB: The CacheService is injected after construction.
+			synchronized (this) {
+				result = cache;
+				if (result == null) cache = result = new CacheServiceOpCache(cs);
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public Op op(final OpRef ref) {
 		final Op op = super.op(ref);
@@ -156,9 +185,6 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		UnaryFunctionOp<I, O>
 	{
 
-		@Parameter
-		private CacheService cache;
-
 		private final UnaryFunctionOp<I, O> delegate;
 
 		private final Object[] args;
@@ -176,12 +202,7 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 			final Hash hash = new Hash(input, delegate, args);
 
 			@SuppressWarnings("unchecked")
-			O output = (O) cache.get(hash);
-
-			if (output == null) {
-				output = delegate.calculate(input);
-				cache.put(hash, output);
-			}
+			final O output = (O) cache().get(hash, () -> delegate.calculate(input));
 			return output;
 		}
 
@@ -230,9 +251,6 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		UnaryHybridCF<I, O>
 	{
 
-		@Parameter
-		private CacheService cache;
-
 		private final UnaryHybridCF<I, O> delegate;
 
 		private final Object[] args;
@@ -250,13 +268,11 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 			final Hash hash = new Hash(input, delegate, args);
 
 			@SuppressWarnings("unchecked")
-			O output = (O) cache.get(hash);
-
-			if (output == null) {
-				output = createOutput(input);
-				compute(input, output);
-				cache.put(hash, output);
-			}
+			final O output = (O) cache().get(hash, () -> {
+				final O result = createOutput(input);
+				compute(input, result);
+				return result;
+			});
 			return output;
 		}
 
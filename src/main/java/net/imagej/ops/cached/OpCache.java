@@ -0,0 +1,68 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.cached;
+
+import java.util.function.Supplier;
+
+/**
+ * Storage backing the outputs cached by a {@link CachedOpEnvironment}.
+ * 
+ * @see BoundedOpCache
+ * @see CacheServiceOpCache
+ */
+public interface OpCache {
+
+	/** Gets the value cached for the given key, or null if there is none. */
+	Object get(Object key);
+
+	/** Caches the given value for the given key. */
+	void put(Object key, Object value);
+
+	/**
+	 * Gets the value cached for the given key, computing and caching it with
+	 * the given loader if there is none. Implementations may guarantee that
+	 * concurrent requests for the same key compute the value only once.
+	 */
+	default Object get(final Object key, final Supplier<?> loader) {
+		Object value = get(key);
+		if (value == null) {
+			value = loader.get();
+			if (value != null) put(key, value);
+		}
+		return value;
+	}
+
+	/** Discards all cached values. */
+	void clear();
+
+	/** Gets a snapshot of the statistics of this cache. */
+	OpCacheStats stats();
+
+}
@@ -0,0 +1,87 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.cached;
+
+/**
+ * Snapshot of the statistics of an {@link OpCache}.
+ */
+public class OpCacheStats {
+
+	private final long hits;
+	private final long misses;
+	private final long evictions;
+	private final long size;
+	private final long bytes;
+
+	public OpCacheStats(final long hits, final long misses,
+		final long evictions, final long size, final long bytes)
+	{
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+		this.size = size;
+		this.bytes = bytes;
+	}
+
+	/** Gets the number of lookups which found a cached value. */
+	public long hits() {
+		return hits;
+	}
+
+	/** Gets the number of lookups which found no cached value. */
+	public long misses() {
+		return misses;
+	}
+
+	/** Gets the number of values discarded to respect the cache bounds. */
+	public long evictions() {
+		return evictions;
+	}
+
+	/** Gets the number of cached values, or -1 if unknown. */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Gets the estimated number of bytes held by the cached values, or -1 if
+	 * unknown.
+	 */
+	public long bytes() {
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		return "hits=" + hits + ", misses=" + misses + ", evictions=" +
+			evictions + ", size=" + size + ", bytes=" + bytes;
+	}
+
+}
@@ -29,6 +29,8 @@
 
 package net.imagej.ops.coloc;
 
+import java.util.function.DoubleConsumer;
+
 import net.imagej.ops.AbstractNamespace;
 import net.imagej.ops.Namespace;
 import net.imagej.ops.OpMethod;
@@ -144,6 +146,34 @@ public class ColocNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.coloc.pValue.DefaultPValue.class)
+	public <T extends RealType<T>, U extends RealType<U>> PValueResult pValue(
+		final PValueResult out, final RandomAccessibleInterval<T> in1,
+		final RandomAccessibleInterval<U> in2,
+		final BinaryFunctionOp<Iterable<T>, Iterable<U>, Double> op,
+		final int nrRandomizations, final Dimensions psfSize, final long seed,
+		final double tolerance)
+	{
+		final PValueResult result = (PValueResult) ops().run(
+			net.imagej.ops.coloc.pValue.DefaultPValue.class, out, in1, in2, op,
+			nrRandomizations, psfSize, seed, tolerance);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.coloc.pValue.DefaultPValue.class)
+	public <T extends RealType<T>, U extends RealType<U>> PValueResult pValue(
+		final PValueResult out, final RandomAccessibleInterval<T> in1,
+		final RandomAccessibleInterval<U> in2,
+		final BinaryFunctionOp<Iterable<T>, Iterable<U>, Double> op,
+		final int nrRandomizations, final Dimensions psfSize, final long seed,
+		final double tolerance, final DoubleConsumer sampleConsumer)
+	{
+		final PValueResult result = (PValueResult) ops().run(
+			net.imagej.ops.coloc.pValue.DefaultPValue.class, out, in1, in2, op,
+			nrRandomizations, psfSize, seed, tolerance, sampleConsumer);
+		return result;
+	}
+
 	// -- Namespace methods --
 
 	@Override
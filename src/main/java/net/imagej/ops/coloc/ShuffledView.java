@@ -56,7 +56,7 @@ public class ShuffledView<T> extends AbstractInterval implements
 	RandomAccessibleInterval<T>, View
 {
 
-	private static Random rng;
+	private final Random rng;
 	private final RandomAccessibleInterval<T> image;
 	private List<Integer> blockIndices;
 	private int[] blockSize;
@@ -65,17 +65,27 @@ public class ShuffledView<T> extends AbstractInterval implements
 	public ShuffledView(final RandomAccessibleInterval<T> image,
 		final int[] blockSize, final long seed)
 	{
-		this(image, blockSize, null, seed);
+		this(image, blockSize, null, new Random(seed));
+	}
+
+	/**
+	 * Creates a shuffled view drawing its permutations from the given random
+	 * number generator, which must not be shared with other threads.
+	 */
+	public ShuffledView(final RandomAccessibleInterval<T> image,
+		final int[] blockSize, final Random rng)
+	{
+		this(image, blockSize, null, rng);
 	}
 
 	public ShuffledView(final RandomAccessibleInterval<T> image,
 		final int[] blockSize, final List<Integer> blockIndices)
 	{
-		this(image, blockSize, blockIndices, 0);
+		this(image, blockSize, blockIndices, null);
 	}
 
 	private ShuffledView(final RandomAccessibleInterval<T> image,
-		final int[] blockSize, final List<Integer> blockIndices, final long seed)
+		final int[] blockSize, final List<Integer> blockIndices, final Random rng)
 	{
 		super(image); // uses same bounds as the input image
 		this.image = image;
@@ -104,10 +114,11 @@ public class ShuffledView<T> extends AbstractInterval implements
 		}
 		if (blockIndices == null) {
 			this.blockIndices = createBlocks((int) totalBlocks);
-			rng = new Random(seed);
+			this.rng = rng;
 			shuffleBlocks();
 		} else {
 			this.blockIndices = blockIndices;
+			this.rng = rng;
 		}
 	}
 
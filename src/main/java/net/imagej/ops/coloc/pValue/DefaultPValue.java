@@ -29,10 +29,17 @@
 
 package net.imagej.ops.coloc.pValue;
 
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.DoubleConsumer;
+
 import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
 import net.imagej.ops.coloc.ShuffledView;
 import net.imagej.ops.special.computer.AbstractBinaryComputerOp;
 import net.imagej.ops.special.function.BinaryFunctionOp;
+import net.imagej.ops.thread.chunker.Chunk;
 import net.imglib2.Dimensions;
 import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccessibleInterval;
@@ -49,13 +56,27 @@ import org.scijava.plugin.Plugin;
  * (2017) IEEE Signal Processing "Automated and Robust Quantification of
  * Colocalization in Dual-Color Fluorescence Microscopy: A Nonparametric
  * Statistical Approach".
+ * <p>
+ * The randomizations are computed in parallel batches. Each batch shuffles
+ * its own {@link ShuffledView} with a random stream split off the seed, so
+ * results only depend on the seed, not on the number of threads.
+ * </p>
  */
 @Plugin(type = Ops.Coloc.PValue.class)
 public class DefaultPValue<T extends RealType<T>, U extends RealType<U>> extends
 	AbstractBinaryComputerOp<RandomAccessibleInterval<T>, RandomAccessibleInterval<U>, PValueResult>
-	implements Ops.Coloc.PValue
+	implements Ops.Coloc.PValue, Parallel
 {
 
+	/** Number of randomizations sharing one {@link ShuffledView}. */
+	private static final int BATCH_SIZE = 64;
+
+	/** Number of batches between two checks of the stopping criterion. */
+	private static final int BATCHES_PER_ROUND = 8;
+
+	/** Quantile of the standard normal distribution for 95% confidence. */
+	private static final double Z = 1.959964;
+
 	@Parameter
 	private BinaryFunctionOp<Iterable<T>, Iterable<U>, Double> op;
 
@@ -68,6 +89,21 @@ public class DefaultPValue<T extends RealType<T>, U extends RealType<U>> extends
 	@Parameter(required = false)
 	private long seed = 0x27372034;
 
+	/**
+	 * Half-width of the 95% confidence interval of the p-value below which no
+	 * further randomizations are run. Zero disables early stopping.
+	 */
+	@Parameter(required = false)
+	private double tolerance = 0;
+
+	/**
+	 * Receives each sample of the distribution as soon as it is computed. It is
+	 * called from different threads, though never concurrently, and not in the
+	 * order of the samples.
+	 */
+	@Parameter(required = false)
+	private DoubleConsumer sampleConsumer;
+
 	@Override
 	public void compute(final RandomAccessibleInterval<T> image1,
 		final RandomAccessibleInterval<U> image2, PValueResult output)
@@ -76,34 +112,101 @@ public class DefaultPValue<T extends RealType<T>, U extends RealType<U>> extends
 		final RandomAccessibleInterval<T> trimmedImage1 = trim(image1, blockSize);
 		final RandomAccessibleInterval<U> trimmedImage2 = trim(image2, blockSize);
 
-		final ShuffledView<T> shuffled = new ShuffledView<>(image1, blockSize,
-			seed);
-		final IterableInterval<T> shuffledIterable = Views.iterable(shuffled);
-		final double[] sampleDistribution = new double[nrRandomizations];
-
 		final IterableInterval<T> iterableImage1 = Views.iterable(trimmedImage1);
 		final IterableInterval<U> iterableImage2 = Views.iterable(trimmedImage2);
-		final double value = op.calculate(iterableImage1, iterableImage2); 
+		final double value = op.calculate(iterableImage1, iterableImage2);
+
+		// one reproducible random stream per batch, independent of threading
+		final int numBatches = (nrRandomizations + BATCH_SIZE - 1) / BATCH_SIZE;
+		final long[] batchSeeds = new long[numBatches];
+		final SplittableRandom streams = new SplittableRandom(seed);
+		for (int b = 0; b < numBatches; b++) {
+			batchSeeds[b] = streams.split().nextLong();
+		}
 
-		for (int i = 0; i < nrRandomizations; i++) {
-			shuffled.shuffleBlocks();
-			sampleDistribution[i] = op.calculate(shuffledIterable, iterableImage2);
+		final double[] samples = new double[nrRandomizations];
+		final int batchesPerRound = tolerance > 0 ? BATCHES_PER_ROUND
+			: numBatches;
+		int done = 0;
+		while (done < numBatches) {
+			final int first = done;
+			final int count = Math.min(batchesPerRound, numBatches - done);
+			if (count == 1) {
+				runBatch(first, batchSeeds[first], image1, blockSize, iterableImage2,
+					samples);
+			}
+			else {
+				ops().thread().chunker(new Chunk() {
+
+					@Override
+					public void execute(final long startIndex, final long stepSize,
+						final long numSteps)
+					{
+						for (long i = 0; i < numSteps; i++) {
+							final int b = first + (int) (startIndex + i * stepSize);
+							runBatch(b, batchSeeds[b], image1, blockSize, iterableImage2,
+								samples);
+						}
+					}
+				}, count);
+			}
+			done += count;
+			final int n = Math.min(done * BATCH_SIZE, nrRandomizations);
+			if (tolerance > 0 && confidenceHalfWidth(calculatePvalue(value,
+				samples, n), n) < tolerance) break;
 		}
+
+		final int n = Math.min(done * BATCH_SIZE, nrRandomizations);
+		final double[] sampleDistribution = n == samples.length ? samples : Arrays
+			.copyOf(samples, n);
 		output.setColocValue(value);
 		output.setColocValuesArray(sampleDistribution);
-		output.setPValue(calculatePvalue(value, sampleDistribution));
+		output.setPValue(calculatePvalue(value, sampleDistribution,
+			sampleDistribution.length));
+	}
+
+	/** Computes the samples of one batch using its own shuffled view. */
+	private void runBatch(final int batch, final long batchSeed,
+		final RandomAccessibleInterval<T> image1, final int[] blockSize,
+		final IterableInterval<U> iterableImage2, final double[] samples)
+	{
+		final ShuffledView<T> shuffled = new ShuffledView<>(image1, blockSize,
+			new Random(batchSeed));
+		final IterableInterval<T> shuffledIterable = Views.iterable(shuffled);
+		final BinaryFunctionOp<Iterable<T>, Iterable<U>, Double> batchOp = op
+			.getIndependentInstance();
+
+		final int end = Math.min((batch + 1) * BATCH_SIZE, nrRandomizations);
+		for (int i = batch * BATCH_SIZE; i < end; i++) {
+			shuffled.shuffleBlocks();
+			samples[i] = batchOp.calculate(shuffledIterable, iterableImage2);
+			if (sampleConsumer != null) {
+				synchronized (sampleConsumer) {
+					sampleConsumer.accept(samples[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the half-width of the Wilson score interval of an estimated
+	 * proportion, which stays meaningful for p-values of zero or one.
+	 */
+	private static double confidenceHalfWidth(final double p, final int n) {
+		final double z2 = Z * Z;
+		return Z * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / (1 + z2 / n);
 	}
 
 	private double calculatePvalue(final double input,
-		final double[] distribution)
+		final double[] distribution, final int length)
 	{
 		double count = 0;
-		for (int i = 0; i < distribution.length; i++) {
+		for (int i = 0; i < length; i++) {
 			if (distribution[i] > input) {
 				count++;
 			}
 		}
-		final double pval = count / distribution.length;
+		final double pval = count / length;
 		return pval;
 	}
 
@@ -35,6 +35,14 @@ import net.imagej.ops.OpMethod;
 import net.imagej.ops.Ops;
 import net.imglib2.IterableInterval;
 import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.basictypeaccess.array.ByteArray;
+import net.imglib2.img.basictypeaccess.array.DoubleArray;
+import net.imglib2.img.basictypeaccess.array.FloatArray;
+import net.imglib2.img.basictypeaccess.array.IntArray;
+import net.imglib2.img.basictypeaccess.array.LongArray;
+import net.imglib2.img.basictypeaccess.array.ShortArray;
+import net.imglib2.type.NativeType;
 import net.imglib2.type.logic.BitType;
 import net.imglib2.type.numeric.ComplexType;
 import net.imglib2.type.numeric.IntegerType;
@@ -102,6 +110,19 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.convert.imageType.ConvertArrayImgs.class)
+	public <I extends RealType<I> & NativeType<I>, O extends RealType<O> & NativeType<O>>
+		ArrayImg<O, ?> imageType(final ArrayImg<O, ?> out,
+			final ArrayImg<I, ?> in, final RealTypeConverter<I, O> typeConverter)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<O, ?> result = (ArrayImg<O, ?>) ops().run(
+			Ops.Convert.ImageType.class, out, in,
+			typeConverter);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.convert.normalizeScale.NormalizeScaleRealTypes.class)
 	public <I extends RealType<I>, O extends RealType<O>> O normalizeScale(
@@ -295,6 +316,26 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Int8.class)
+	public <I extends RealType<I> & NativeType<I>> Img<ByteType> int8(
+		final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<ByteType> result = (Img<ByteType>) ops().run(
+			Ops.Convert.Int8.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Int8.class)
+	public <I extends RealType<I> & NativeType<I>> Img<ByteType> int8(
+		final ArrayImg<ByteType, ByteArray> out, final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<ByteType> result = (Img<ByteType>) ops().run(
+			Ops.Convert.Int8.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToInt8.class)
 	public <C extends ComplexType<C>> ByteType int8(final C in) {
 		final ByteType result = (ByteType) ops().run(
@@ -347,6 +388,26 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Uint8.class)
+	public <I extends RealType<I> & NativeType<I>> Img<UnsignedByteType> uint8(
+		final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<UnsignedByteType> result = (Img<UnsignedByteType>) ops().run(
+			Ops.Convert.Uint8.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Uint8.class)
+	public <I extends RealType<I> & NativeType<I>> Img<UnsignedByteType> uint8(
+		final ArrayImg<UnsignedByteType, ByteArray> out, final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<UnsignedByteType> result = (Img<UnsignedByteType>) ops().run(
+			Ops.Convert.Uint8.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToUint8.class)
 	public <C extends ComplexType<C>> UnsignedByteType uint8(final C in) {
 		final UnsignedByteType result = (UnsignedByteType) ops().run(
@@ -451,6 +512,26 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Int16.class)
+	public <I extends RealType<I> & NativeType<I>> Img<ShortType> int16(
+		final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<ShortType> result = (Img<ShortType>) ops().run(
+			Ops.Convert.Int16.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Int16.class)
+	public <I extends RealType<I> & NativeType<I>> Img<ShortType> int16(
+		final ArrayImg<ShortType, ShortArray> out, final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<ShortType> result = (Img<ShortType>) ops().run(
+			Ops.Convert.Int16.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToInt16.class)
 	public <C extends ComplexType<C>> ShortType int16(final C in) {
 		final ShortType result = (ShortType) ops().run(
@@ -503,6 +584,26 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Uint16.class)
+	public <I extends RealType<I> & NativeType<I>> Img<UnsignedShortType> uint16(
+		final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<UnsignedShortType> result = (Img<UnsignedShortType>) ops().run(
+			Ops.Convert.Uint16.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Uint16.class)
+	public <I extends RealType<I> & NativeType<I>> Img<UnsignedShortType> uint16(
+		final ArrayImg<UnsignedShortType, ShortArray> out, final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<UnsignedShortType> result = (Img<UnsignedShortType>) ops().run(
+			Ops.Convert.Uint16.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToUint16.class)
 	public <C extends ComplexType<C>> UnsignedShortType uint16(final C in) {
 		final UnsignedShortType result = (UnsignedShortType) ops().run(
@@ -555,6 +656,26 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Int32.class)
+	public <I extends RealType<I> & NativeType<I>> Img<IntType> int32(
+		final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<IntType> result = (Img<IntType>) ops().run(
+			Ops.Convert.Int32.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Int32.class)
+	public <I extends RealType<I> & NativeType<I>> Img<IntType> int32(
+		final ArrayImg<IntType, IntArray> out, final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<IntType> result = (Img<IntType>) ops().run(
+			Ops.Convert.Int32.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.IntegerToInt32.class)
 	public <T extends IntegerType<T>> IntType int32(final T in) {
 		final IntType result = (IntType) ops().run(
@@ -607,6 +728,26 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Uint32.class)
+	public <I extends RealType<I> & NativeType<I>> Img<UnsignedIntType> uint32(
+		final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<UnsignedIntType> result = (Img<UnsignedIntType>) ops().run(
+			Ops.Convert.Uint32.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Uint32.class)
+	public <I extends RealType<I> & NativeType<I>> Img<UnsignedIntType> uint32(
+		final ArrayImg<UnsignedIntType, IntArray> out, final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<UnsignedIntType> result = (Img<UnsignedIntType>) ops().run(
+			Ops.Convert.Uint32.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToUint32.class)
 	public <C extends ComplexType<C>> UnsignedIntType uint32(final C in) {
 		final UnsignedIntType result = (UnsignedIntType) ops().run(
@@ -659,6 +800,26 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Int64.class)
+	public <I extends RealType<I> & NativeType<I>> Img<LongType> int64(
+		final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<LongType> result = (Img<LongType>) ops().run(
+			Ops.Convert.Int64.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Int64.class)
+	public <I extends RealType<I> & NativeType<I>> Img<LongType> int64(
+		final ArrayImg<LongType, LongArray> out, final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<LongType> result = (Img<LongType>) ops().run(
+			Ops.Convert.Int64.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToInt64.class)
 	public <C extends ComplexType<C>> LongType int64(final C in) {
 		final LongType result = (LongType) ops().run(
@@ -815,6 +976,26 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Float32.class)
+	public <I extends RealType<I> & NativeType<I>> Img<FloatType> float32(
+		final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<FloatType> result = (Img<FloatType>) ops().run(
+			Ops.Convert.Float32.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Float32.class)
+	public <I extends RealType<I> & NativeType<I>> Img<FloatType> float32(
+		final ArrayImg<FloatType, FloatArray> out, final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<FloatType> result = (Img<FloatType>) ops().run(
+			Ops.Convert.Float32.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToFloat32.class)
 	public <C extends ComplexType<C>> FloatType float32(final C in) {
 		final FloatType result = (FloatType) ops().run(
@@ -887,6 +1068,26 @@ public class ConvertNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Float64.class)
+	public <I extends RealType<I> & NativeType<I>> Img<DoubleType> float64(
+		final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<DoubleType> result = (Img<DoubleType>) ops().run(
+			Ops.Convert.Float64.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.convert.ConvertArrayImages.Float64.class)
+	public <I extends RealType<I> & NativeType<I>> Img<DoubleType> float64(
+		final ArrayImg<DoubleType, DoubleArray> out, final ArrayImg<I, ?> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Img<DoubleType> result = (Img<DoubleType>) ops().run(
+			Ops.Convert.Float64.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.convert.ConvertTypes.ComplexToFloat64.class)
 	public <C extends ComplexType<C>> DoubleType float64(final C in) {
 		final DoubleType result = (DoubleType) ops().run(
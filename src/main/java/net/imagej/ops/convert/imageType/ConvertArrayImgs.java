@@ -0,0 +1,237 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+
+package net.imagej.ops.convert.imageType;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.convert.RealTypeConverter;
+import net.imagej.ops.convert.clip.ClipRealTypes;
+import net.imagej.ops.convert.copy.CopyRealTypes;
+import net.imagej.ops.convert.scale.ScaleRealTypes;
+import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.basictypeaccess.array.ArrayDataAccess;
+import net.imglib2.type.NativeType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.integer.ByteType;
+import net.imglib2.type.numeric.integer.IntType;
+import net.imglib2.type.numeric.integer.LongType;
+import net.imglib2.type.numeric.integer.ShortType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.integer.UnsignedIntType;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.type.numeric.real.FloatType;
+import net.imglib2.util.Intervals;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Multi-threaded version of {@link ConvertIIs} for {@link ArrayImg}s of
+ * primitive types which are converted into {@link FloatType} or
+ * {@link DoubleType}.
+ * <p>
+ * {@link CopyRealTypes}, {@link ClipRealTypes} and {@link ScaleRealTypes} are
+ * fused into loops over the primitive arrays, which process the values in
+ * blocks: the block is read into a {@code double[]}, converted and written to
+ * the output. Other converters are left to {@link ConvertIIs}.
+ * </p>
+ */
+@Plugin(type = Ops.Convert.ImageType.class, priority = Priority.HIGH)
+public class ConvertArrayImgs<I extends RealType<I> & NativeType<I>, O extends RealType<O> & NativeType<O>>
+	extends AbstractUnaryComputerOp<ArrayImg<I, ?>, ArrayImg<O, ?>> implements
+	Ops.Convert.ImageType, Contingent
+{
+
+	private static final int BLOCK_SIZE = 4096;
+
+	private static final Class<?>[] INPUT_TYPES = { ByteType.class,
+		UnsignedByteType.class, ShortType.class, UnsignedShortType.class,
+		IntType.class, UnsignedIntType.class, LongType.class, FloatType.class,
+		DoubleType.class };
+
+	@Parameter
+	private RealTypeConverter<I, O> pixConvert;
+
+	@Override
+	public void compute(final ArrayImg<I, ?> input, final ArrayImg<O, ?> output) {
+		final int inputType = inputType(input.firstElement());
+		final Object in = storage(input);
+		final Object out = storage(output);
+
+		final O outType = output.firstElement().createVariable();
+		final Class<?> converter = pixConvert.getClass();
+		final double outMin = outType.getMinValue();
+		final double outMax = outType.getMaxValue();
+		final double inMin = input.firstElement().getMinValue();
+		final double factor = (input.firstElement().getMaxValue() - inMin) /
+			(outMax - outMin);
+
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final double[] block = new double[(int) Math.min(BLOCK_SIZE,
+					numSteps)];
+				final int step = (int) stepSize;
+				for (long done = 0; done < numSteps; done += block.length) {
+					final int start = (int) (startIndex + done * stepSize);
+					final int n = (int) Math.min(block.length, numSteps - done);
+					read(in, inputType, start, step, block, n);
+					if (converter == ClipRealTypes.class) {
+						for (int k = 0; k < n; k++) {
+							final double v = block[k];
+							if (v > outMax) block[k] = outMax;
+							else if (v < outMin) block[k] = outMin;
+						}
+					}
+					else if (converter == ScaleRealTypes.class) {
+						for (int k = 0; k < n; k++) {
+							block[k] = (block[k] - inMin) / factor + outMin;
+						}
+					}
+					write(block, n, out, start, step);
+				}
+			}
+		}, Intervals.numElements(output));
+	}
+
+	@Override
+	public boolean conforms() {
+		final Class<?> converter = pixConvert.getClass();
+		if (converter != CopyRealTypes.class &&
+			converter != ClipRealTypes.class && converter != ScaleRealTypes.class)
+		{
+			return false;
+		}
+		final O outType = out().firstElement();
+		return inputType(in().firstElement()) >= 0 &&
+			(outType instanceof FloatType || outType instanceof DoubleType) &&
+			Intervals.equalDimensions(in(), out());
+	}
+
+	// -- Helper methods --
+
+	private static int inputType(final Object type) {
+		for (int i = 0; i < INPUT_TYPES.length; i++) {
+			if (INPUT_TYPES[i] == type.getClass()) return i;
+		}
+		return -1;
+	}
+
+	private static Object storage(final ArrayImg<?, ?> img) {
+		return ((ArrayDataAccess<?>) img.update(null)).getCurrentStorageArray();
+	}
+
+	/** Reads the values as {@link RealType#getRealDouble()} would. */
+	private static void read(final Object data, final int inputType,
+		final int start, final int step, final double[] block, final int n)
+	{
+		switch (inputType) {
+			case 0: {
+				final byte[] a = (byte[]) data;
+				for (int k = 0, i = start; k < n; k++, i += step)
+					block[k] = a[i];
+				break;
+			}
+			case 1: {
+				final byte[] a = (byte[]) data;
+				for (int k = 0, i = start; k < n; k++, i += step)
+					block[k] = a[i] & 0xff;
+				break;
+			}
+			case 2: {
+				final short[] a = (short[]) data;
+				for (int k = 0, i = start; k < n; k++, i += step)
+					block[k] = a[i];
+				break;
+			}
+			case 3: {
+				final short[] a = (short[]) data;
+				for (int k = 0, i = start; k < n; k++, i += step)
+					block[k] = a[i] & 0xffff;
+				break;
+			}
+			case 4: {
+				final int[] a = (int[]) data;
+				for (int k = 0, i = start; k < n; k++, i += step)
+					block[k] = a[i];
+				break;
+			}
+			case 5: {
+				final int[] a = (int[]) data;
+				for (int k = 0, i = start; k < n; k++, i += step)
+					block[k] = a[i] & 0xffffffffL;
+				break;
+			}
+			case 6: {
+				final long[] a = (long[]) data;
+				for (int k = 0, i = start; k < n; k++, i += step)
+					block[k] = a[i];
+				break;
+			}
+			case 7: {
+				final float[] a = (float[]) data;
+				for (int k = 0, i = start; k < n; k++, i += step)
+					block[k] = a[i];
+				break;
+			}
+			default: {
+				final double[] a = (double[]) data;
+				for (int k = 0, i = start; k < n; k++, i += step)
+					block[k] = a[i];
+			}
+		}
+	}
+
+	/** Writes the values as {@link RealType#setReal(double)} would. */
+	private static void write(final double[] block, final int n,
+		final Object data, final int start, final int step)
+	{
+		if (data instanceof float[]) {
+			final float[] a = (float[]) data;
+			for (int k = 0, i = start; k < n; k++, i += step)
+				a[i] = (float) block[k];
+		}
+		else {
+			final double[] a = (double[]) data;
+			for (int k = 0, i = start; k < n; k++, i += step)
+				a[i] = block[k];
+		}
+	}
+
+}
@@ -557,6 +557,21 @@ public class DeconvolveNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.deconvolve.RichardsonLucyTVUpdate.class)
+	public <O extends RealType<O>> RandomAccessibleInterval<O>
+		richardsonLucyUpdate(final RandomAccessibleInterval<O> out,
+			final RandomAccessibleInterval<O> in, final float regularizationFactor,
+			final RandomAccessibleInterval<O> variation,
+			final NonCirculantNormalizationFactor<?, O, ?, ?> normalizer)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<O> result =
+			(RandomAccessibleInterval<O>) ops().run(
+				net.imagej.ops.deconvolve.RichardsonLucyTVUpdate.class, out, in,
+				regularizationFactor, variation, normalizer);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.deconvolve.RichardsonLucyUpdate.class)
 	public <O extends RealType<O>> RandomAccessibleInterval<O>
 		richardsonLucyUpdate(final RandomAccessibleInterval<O> out,
@@ -569,6 +584,20 @@ public class DeconvolveNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.deconvolve.RichardsonLucyUpdate.class)
+	public <O extends RealType<O>> RandomAccessibleInterval<O>
+		richardsonLucyUpdate(final RandomAccessibleInterval<O> out,
+			final RandomAccessibleInterval<O> in,
+			final NonCirculantNormalizationFactor<?, O, ?, ?> normalizer)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<O> result =
+			(RandomAccessibleInterval<O>) ops().run(
+				net.imagej.ops.deconvolve.RichardsonLucyUpdate.class, out, in,
+				normalizer);
+		return result;
+	}
+
 	// -- accelerate ops
 
 	@OpMethod(op = net.imagej.ops.deconvolve.accelerate.VectorAccelerator.class)
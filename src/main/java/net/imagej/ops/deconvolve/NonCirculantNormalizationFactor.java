@@ -136,14 +136,21 @@ public class NonCirculantNormalizationFactor<I extends RealType<I>, O extends Re
 	 */
 	@Override
 	public void mutate(RandomAccessibleInterval<O> arg) {
+		// normalize for non-circulant deconvolution
+		divide.mutate1(getNormalization(), Views.iterable(arg));
+	}
+
+	/**
+	 * Gets the normalization image, computing it on first use. The FFT of the
+	 * kernel must have been computed by then.
+	 */
+	public Img<O> getNormalization() {
 		// if the normalization image hasn't been computed yet, then compute it
 		if (normalization == null) {
 			normalization = create.calculate(imgConvolutionInterval);
 			this.createNormalizationImageSemiNonCirculant();
 		}
-
-		// normalize for non-circulant deconvolution
-		divide.mutate1(normalization, Views.iterable(arg));
+		return normalization;
 	}
 
 	protected void createNormalizationImageSemiNonCirculant() {
@@ -50,6 +50,7 @@ import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.img.Img;
 import net.imglib2.type.numeric.ComplexType;
 import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Intervals;
 import net.imglib2.util.Util;
 import net.imglib2.view.IntervalView;
 import net.imglib2.view.Views;
@@ -173,11 +174,18 @@ public class RichardsonLucyC<I extends RealType<I>, O extends RealType<O>, K ext
 			copyOp.compute(in, raiExtendedEstimate);
 		}
 
-		// create image for the reblurred
-		raiExtendedReblurred = createOp.calculate(in);
+		// create image for the reblurred, reusing it across calls of the same size
+		if (raiExtendedReblurred == null || !Intervals.equalDimensions(
+			raiExtendedReblurred, in))
+		{
+			raiExtendedReblurred = createOp.calculate(in);
+		}
 
-		// perform fft of psf
-		fftKernelOp.compute(kernel, getFFTKernel());
+		// perform fft of psf, unless the caller passed in the transformed psf
+		// (e.g. to reuse it across calls with the same psf)
+		if (getPerformKernelFFT()) {
+			fftKernelOp.compute(kernel, getFFTKernel());
+		}
 
 		// -- perform iterations --
 
@@ -31,18 +31,18 @@ package net.imagej.ops.deconvolve;
 
 import net.imagej.ops.Ops;
 import net.imagej.ops.filter.correlate.CorrelateFFTC;
-import net.imagej.ops.map.MapBinaryInplace1s;
+import net.imagej.ops.map.Maps;
 import net.imagej.ops.special.computer.AbstractBinaryComputerOp;
 import net.imagej.ops.special.computer.BinaryComputerOp;
 import net.imagej.ops.special.computer.Computers;
 import net.imagej.ops.special.inplace.AbstractBinaryInplace1Op;
 import net.imagej.ops.special.inplace.BinaryInplace1Op;
-import net.imagej.ops.special.inplace.Inplaces;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
 import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.type.numeric.ComplexType;
-import net.imglib2.type.numeric.NumericType;
 import net.imglib2.type.numeric.RealType;
+import net.imglib2.view.Views;
 
 import org.scijava.Priority;
 import org.scijava.plugin.Parameter;
@@ -74,17 +74,13 @@ public class RichardsonLucyCorrection<I extends RealType<I>, O extends RealType<
 	@Parameter
 	private RandomAccessibleInterval<C> fftKernel;
 
-	private BinaryInplace1Op<RandomAccessibleInterval<O>, RandomAccessibleInterval<I>, RandomAccessibleInterval<O>> divide;
+	private final BinaryInplace1Op<O, I, O> divide = new DivideHandleZeroOp1<>();
 
 	private BinaryComputerOp<RandomAccessibleInterval<O>, RandomAccessibleInterval<O>, RandomAccessibleInterval<O>> correlate;
 
 	@Override
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public void initialize() {
-		divide = new DivideHandleZeroMap1();
-		divide.setEnvironment(ops());
-		divide.initialize();
-
 		correlate = (BinaryComputerOp) Computers.binary(ops(), CorrelateFFTC.class,
 			RandomAccessibleInterval.class, RandomAccessibleInterval.class,
 			RandomAccessibleInterval.class, fftBuffer, fftKernel, true, false);
@@ -99,7 +95,7 @@ public class RichardsonLucyCorrection<I extends RealType<I>, O extends RealType<
 		RandomAccessibleInterval<O> correction)
 	{
 		// divide observed image by reblurred
-		divide.mutate1(reblurred, observed);
+		divide(Views.iterable(reblurred), observed);
 
 		// correlate with psf to compute the correction factor
 		// Note: FFT of psf is pre-computed and set as an input parameter of the op
@@ -107,47 +103,39 @@ public class RichardsonLucyCorrection<I extends RealType<I>, O extends RealType<
 
 	}
 
-	private static class DivideHandleZeroMap1<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractBinaryInplace1Op<IterableInterval<O>, IterableInterval<I>>
+	/** Divides in place, in parallel and without allocating per pixel. */
+	private void divide(final IterableInterval<O> reblurred,
+		final RandomAccessibleInterval<I> observed)
 	{
-
-		private BinaryInplace1Op<O, I, O> divide;
-
-		private BinaryInplace1Op<IterableInterval<O>, IterableInterval<I>, IterableInterval<O>> map;
-
-		@Override
-		@SuppressWarnings("unchecked")
-		public void initialize() {
-			divide = new DivideHandleZeroOp1<>();
-			divide.setEnvironment(ops());
-			divide.initialize();
-
-			map = (BinaryInplace1Op) Inplaces.binary1(ops(),
-				MapBinaryInplace1s.IIAndII.class, IterableInterval.class,
-				IterableInterval.class, divide);
-		}
-
-		@Override
-		public void mutate1(final IterableInterval<O> outin,
-			final IterableInterval<I> input2)
-		{
-			map.mutate1(outin, input2);
-		}
+		final IterableInterval<I> iterableObserved = Views.iterable(observed);
+		final boolean sameOrder = Maps.compatible(reblurred, iterableObserved);
+
+		ops().thread().chunker(new CursorBasedChunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				if (sameOrder) {
+					Maps.inplace(reblurred, iterableObserved, divide, startIndex,
+						stepSize, numSteps);
+				}
+				else {
+					Maps.inplace(reblurred, observed, divide, startIndex, stepSize,
+						numSteps);
+				}
+			}
+		}, reblurred.size());
 	}
 
-	private static class DivideHandleZeroOp1<I extends RealType<I> & NumericType<I>, O extends RealType<O> & NumericType<O>>
+	private static class DivideHandleZeroOp1<I extends RealType<I>, O extends RealType<O>>
 		extends AbstractBinaryInplace1Op<O, I>
 	{
 
 		@Override
 		public void mutate1(final O outin, final I input) {
-			final O tmp = outin.copy();
-
 			if (outin.getRealFloat() > 0) {
-
-				tmp.setReal(input.getRealFloat());
-				tmp.div(outin);
-				outin.set(tmp);
+				outin.setReal(input.getRealFloat() / outin.getRealDouble());
 			}
 			else {
 				outin.setReal(0.0);
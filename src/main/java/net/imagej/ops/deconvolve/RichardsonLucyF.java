@@ -29,8 +29,6 @@
 
 package net.imagej.ops.deconvolve;
 
-import java.util.ArrayList;
-
 import net.imagej.ops.OpService;
 import net.imagej.ops.Ops;
 import net.imagej.ops.deconvolve.accelerate.VectorAccelerator;
@@ -93,10 +91,6 @@ public class RichardsonLucyF<I extends RealType<I> & NativeType<I>, O extends Re
 	@Parameter(required = false)
 	private boolean accelerate = false;
 
-	private UnaryComputerOp<RandomAccessibleInterval<O>, RandomAccessibleInterval<O>> computeEstimateOp;
-
-	private UnaryInplaceOp<RandomAccessibleInterval<O>, RandomAccessibleInterval<O>> normalizer;
-
 	@Override
 	public void initialize() {
 
@@ -113,8 +107,6 @@ public class RichardsonLucyF<I extends RealType<I> & NativeType<I>, O extends Re
 			}
 		}
 
-		computeEstimateOp = getComputeEstimateOp();
-
 		super.initialize();
 
 	}
@@ -143,15 +135,10 @@ public class RichardsonLucyF<I extends RealType<I> & NativeType<I>, O extends Re
 		// if non-circulant mode, set up the richardson-lucy computer in
 		// non-circulant mode and return it
 		if (nonCirculant) {
-			normalizer =
-				(UnaryInplaceOp<RandomAccessibleInterval<O>, RandomAccessibleInterval<O>>) Inplaces
-					.unary(ops(), NonCirculantNormalizationFactor.class, output, in(),
-						in2(), fftImg, fftKernel);
-
-			ArrayList<UnaryInplaceOp<RandomAccessibleInterval<O>, RandomAccessibleInterval<O>>> list =
-				new ArrayList<>();
-
-			list.add(normalizer);
+			final NonCirculantNormalizationFactor<I, O, K, C> normalizer =
+				(NonCirculantNormalizationFactor) Inplaces.unary(ops(),
+					NonCirculantNormalizationFactor.class, output, in(), in2(), fftImg,
+					fftKernel);
 
 			// set up the noncirculant first guess op (a flat sheet with total sum
 			// normalized by image area)
@@ -162,14 +149,14 @@ public class RichardsonLucyF<I extends RealType<I> & NativeType<I>, O extends Re
 
 			return Computers.binary(ops(), RichardsonLucyC.class, output,
 				raiExtendedInput, raiExtendedKernel, fftImg, fftKernel, true, true,
-				maxIterations, accelerator, computeEstimateOp, fg.calculate(
-					raiExtendedInput), list);
+				maxIterations, accelerator, getComputeEstimateOp(normalizer), fg
+					.calculate(raiExtendedInput));
 		}
 
 		// return a richardson lucy computer
 		return Computers.binary(ops(), RichardsonLucyC.class, output,
 			raiExtendedInput, raiExtendedKernel, fftImg, fftKernel, true, true,
-			maxIterations, accelerator, computeEstimateOp);
+			maxIterations, accelerator, getComputeEstimateOp(null));
 	}
 
 	/**
@@ -177,14 +164,18 @@ public class RichardsonLucyF<I extends RealType<I> & NativeType<I>, O extends Re
 	 * to implement different types of richardson lucy (like total variation
 	 * richardson lucy)
 	 * 
+	 * @param normalizer the non-circulant normalization to apply in the same
+	 *          pass as the update, or null
 	 * @return compute estimate op
 	 */
 	protected
 		UnaryComputerOp<RandomAccessibleInterval<O>, RandomAccessibleInterval<O>>
-		getComputeEstimateOp()
+		getComputeEstimateOp(
+			final NonCirculantNormalizationFactor<I, O, K, C> normalizer)
 	{
 		return (UnaryComputerOp) Computers.unary(ops(), RichardsonLucyUpdate.class,
-			RandomAccessibleInterval.class, RandomAccessibleInterval.class);
+			RandomAccessibleInterval.class, RandomAccessibleInterval.class,
+			normalizer);
 	}
 
 }
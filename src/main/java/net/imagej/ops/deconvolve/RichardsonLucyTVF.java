@@ -67,12 +67,14 @@ public class RichardsonLucyTVF<I extends RealType<I> & NativeType<I>, O extends
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	protected
 		UnaryComputerOp<RandomAccessibleInterval<O>, RandomAccessibleInterval<O>>
-		getComputeEstimateOp()
+		getComputeEstimateOp(
+			final NonCirculantNormalizationFactor<I, O, K, C> normalizer)
 	{
 		// create Richardson Lucy TV update op, this will override the base RL
 		// Update.
 		return ((UnaryComputerOp) Computers.unary(ops(),
 			RichardsonLucyTVUpdate.class, RandomAccessibleInterval.class,
-			RandomAccessibleInterval.class, regularizationFactor));
+			RandomAccessibleInterval.class, regularizationFactor, null,
+			normalizer));
 	}
 }
@@ -52,6 +52,10 @@ import org.scijava.plugin.Plugin;
  * regularization for 3D confocal microscope deconvolution Microsc Res Rech 2006
  * Apr; 69(4)- 260-6 The div_unit_grad function has been adapted from IOCBIOS,
  * Pearu Peterson https://code.google.com/p/iocbio/
+ * <p>
+ * The update and, if a {@link NonCirculantNormalizationFactor} is given, the
+ * normalization are applied in one parallel pass over the pixels.
+ * </p>
  * 
  * @author Brian Northan
  * @param <I> TODO Documentation
@@ -70,6 +74,9 @@ public class RichardsonLucyTVUpdate<T extends RealType<T> & NativeType<T>, I ext
 	@Parameter(required = false)
 	private RandomAccessibleInterval<T> variation;
 
+	@Parameter(required = false)
+	private NonCirculantNormalizationFactor<?, T, ?, ?> normalizer;
+
 	/**
 	 * performs update step of the Richardson Lucy with Total Variation Algorithm
 	 */
@@ -82,24 +89,13 @@ public class RichardsonLucyTVUpdate<T extends RealType<T> & NativeType<T>, I ext
 			variation = ops().create().img(correction, type.createVariable());
 		}
 
+		// NB: The variation depends on the neighbors of each pixel in the
+		// previous estimate, so it needs a pass of its own before the update.
 		divUnitGradFastThread(estimate);
 
-		final Cursor<T> cursorCorrection = Views.iterable(correction).cursor();
-
-		final Cursor<T> cursorVariation = Views.iterable(variation).cursor();
-
-		final Cursor<T> cursorEstimate = Views.iterable(estimate).cursor();
-
-		while (cursorEstimate.hasNext()) {
-			cursorCorrection.fwd();
-			cursorVariation.fwd();
-			cursorEstimate.fwd();
-
-			cursorEstimate.get().mul(cursorCorrection.get());
-			cursorEstimate.get().mul(1f / (1f - regularizationFactor * cursorVariation
-				.get().getRealFloat()));
-		}
-
+		RichardsonLucyUpdate.update(ops(), correction, estimate, variation,
+			regularizationFactor, normalizer == null ? null : normalizer
+				.getNormalization());
 	}
 
 	static double hypot3(double a, double b, double c) {
@@ -29,15 +29,20 @@
 
 package net.imagej.ops.deconvolve;
 
+import net.imagej.ops.OpEnvironment;
 import net.imagej.ops.Ops;
-import net.imagej.ops.math.IIToIIOutputII;
+import net.imagej.ops.map.Maps;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
-import net.imagej.ops.special.hybrid.BinaryHybridCF;
-import net.imagej.ops.special.hybrid.Hybrids;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.type.numeric.RealType;
+import net.imglib2.view.Views;
 
 import org.scijava.Priority;
+import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 
 /**
@@ -45,6 +50,11 @@ import org.scijava.plugin.Plugin;
  * {@link RandomAccessibleInterval}. See: <blockquote>Lucy, L. B. (1974).
  * "An iterative technique for the rectification of observed distributions"
  * </blockquote>
+ * <p>
+ * If a {@link NonCirculantNormalizationFactor} is given, the normalization
+ * (which also sets non-positive values to zero) is applied in the same pass
+ * over the pixels.
+ * </p>
  * 
  * @author Brian Northan
  * @param <T> Type of {@link RandomAccessibleInterval} upon which to operate.
@@ -56,18 +66,8 @@ public class RichardsonLucyUpdate<T extends RealType<T>> extends
 	implements Ops.Deconvolve.RichardsonLucyUpdate
 {
 
-	private BinaryHybridCF<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>, RandomAccessibleInterval<T>> mul =
-		null;
-
-	@Override
-	public void initialize() {
-
-		// TODO: comment in when problem with initialize is fixed
-		// mul = (BinaryHybridCF)Hybrids.binaryCF(ops(),
-		// IIToIIOutputII.Multiply.class,
-		// RandomAccessibleInterval.class, RandomAccessibleInterval.class,
-		// RandomAccessibleInterval.class);
-	}
+	@Parameter(required = false)
+	private NonCirculantNormalizationFactor<?, T, ?, ?> normalizer;
 
 	/**
 	 * performs update step of the Richardson Lucy Algorithm
@@ -76,15 +76,97 @@ public class RichardsonLucyUpdate<T extends RealType<T>> extends
 	public void compute(RandomAccessibleInterval<T> correction,
 		RandomAccessibleInterval<T> estimate)
 	{
+		update(ops(), correction, estimate, null, 0, normalizer == null ? null
+			: normalizer.getNormalization());
+	}
+
+	/**
+	 * Multiplies the estimate by the correction and, if {@code variation} is not
+	 * {@code null}, by the total variation term 1 / (1 - regularizationFactor *
+	 * variation). Then divides it by the {@code normalization}, if not
+	 * {@code null}, setting non-positive values to zero. All steps are done in
+	 * one parallel pass over the pixels.
+	 */
+	static <T extends RealType<T>> void update(final OpEnvironment ops,
+		final RandomAccessibleInterval<T> correction,
+		final RandomAccessibleInterval<T> estimate,
+		final RandomAccessibleInterval<T> variation,
+		final float regularizationFactor,
+		final RandomAccessibleInterval<T> normalization)
+	{
+		final IterableInterval<T> iterableEstimate = Views.iterable(estimate);
+
+		ops.thread().chunker(new CursorBasedChunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final Cursor<T> cursor = iterableEstimate.localizingCursor();
+				setToStart(cursor, startIndex);
+				final Sampler<T> c = new Sampler<>(correction, iterableEstimate,
+					startIndex);
+				final Sampler<T> v = variation == null ? null : new Sampler<>(
+					variation, iterableEstimate, startIndex);
+				final Sampler<T> n = normalization == null ? null : new Sampler<>(
+					normalization, iterableEstimate, startIndex);
 
-		// TODO: delte these lines when problem in initialization is fixed
-		if (mul == null) {
+				for (long i = 0; i < numSteps; i++) {
+					final T value = cursor.get();
+					value.mul(c.get(cursor));
+					if (v != null) {
+						value.mul(1f / (1f - regularizationFactor * v.get(cursor)
+							.getRealFloat()));
+					}
+					if (n != null) {
+						if (value.getRealFloat() > 0) value.div(n.get(cursor));
+						else value.setReal(0.0);
+					}
 
-			mul = Hybrids.binaryCF(ops(), IIToIIOutputII.Multiply.class, estimate,
-				correction, estimate);
+					cursor.jumpFwd(stepSize);
+					c.jumpFwd(stepSize);
+					if (v != null) v.jumpFwd(stepSize);
+					if (n != null) n.jumpFwd(stepSize);
+				}
+			}
+		}, iterableEstimate.size());
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Reads an image at the positions of a cursor over the estimate, with a
+	 * cursor of its own if the iteration orders agree.
+	 */
+	private static final class Sampler<T> {
+
+		private final Cursor<T> cursor;
+		private final RandomAccess<T> access;
+
+		private Sampler(final RandomAccessibleInterval<T> image,
+			final IterableInterval<T> estimate, final long startIndex)
+		{
+			final IterableInterval<T> iterable = Views.iterable(image);
+			if (Maps.compatible(estimate, iterable)) {
+				cursor = iterable.cursor();
+				CursorBasedChunk.setToStart(cursor, startIndex);
+				access = null;
+			}
+			else {
+				cursor = null;
+				access = image.randomAccess();
+			}
 		}
 
-		mul.compute(estimate, correction, estimate);
+		private T get(final Cursor<T> position) {
+			if (cursor != null) return cursor.get();
+			access.setPosition(position);
+			return access.get();
+		}
+
+		private void jumpFwd(final long steps) {
+			if (cursor != null) cursor.jumpFwd(steps);
+		}
 	}
 
 }
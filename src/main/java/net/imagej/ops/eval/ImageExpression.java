@@ -0,0 +1,359 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imagej.ops.eval;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.Ops;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imglib2.Cursor;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.type.NativeType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Intervals;
+
+/**
+ * An arithmetic expression over {@link ArrayImg}s of the same {@link RealType},
+ * evaluated lazily by the {@link OpEvaluator}.
+ * <p>
+ * Instead of running an op and creating a temporary image per operator, the
+ * operators are collected in postfix order. When the value is needed, the
+ * expression is compiled into a {@link Kernel} and evaluated in a single
+ * parallel pass over the pixels. The arithmetic is the one of the pixel type,
+ * as in the ops of the single operators; constants are converted to the pixel
+ * type. Kernels are cached by the pixel type and the structure of the
+ * expression.
+ * </p>
+ *
+ * @param <T> pixel type of the images
+ */
+final class ImageExpression<T extends RealType<T> & NativeType<T>> {
+
+	// -- Postfix codes, operands are followed by their index --
+
+	private static final int IMAGE = 0;
+	private static final int CONSTANT = 1;
+	private static final int ADD = 2;
+	private static final int SUB = 3;
+	private static final int MUL = 4;
+	private static final int DIV = 5;
+	private static final int NEG = 6;
+
+	/** Maximum number of cached kernels. */
+	private static final int CACHE_SIZE = 64;
+
+	/** Compiled kernels by pixel type and postfix codes, least recent first. */
+	private static final Map<String, Kernel> KERNELS = Collections
+		.synchronizedMap(new LinkedHashMap<String, Kernel>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(
+				final Map.Entry<String, Kernel> eldest)
+			{
+				return size() > CACHE_SIZE;
+			}
+		});
+
+	private final T type;
+	private final List<ArrayImg<T, ?>> images;
+	private final double[] constants;
+	private final int[] codes;
+
+	private ImageExpression(final T type, final List<ArrayImg<T, ?>> images,
+		final double[] constants, final int[] codes)
+	{
+		this.type = type;
+		this.images = images;
+		this.constants = constants;
+		this.codes = codes;
+	}
+
+	/**
+	 * Defers the given op if it is arithmetic on images which can be fused with
+	 * its arguments.
+	 *
+	 * @param opName name of the op
+	 * @param args values of the arguments, possibly deferred expressions
+	 * @return the deferred expression, or null if the op has to be run
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	static ImageExpression<?> apply(final String opName, final Object[] args) {
+		if (Ops.Identity.NAME.equals(opName) && args.length == 1 &&
+			args[0] instanceof ImageExpression)
+		{
+			return (ImageExpression<?>) args[0];
+		}
+		final int operator = operator(opName, args.length);
+		if (operator < 0) return null;
+
+		ArrayImg<?, ?> first = null;
+		for (final Object arg : args) {
+			final ArrayImg<?, ?> image = arg instanceof ImageExpression
+				? ((ImageExpression<?>) arg).images.get(0) : arg instanceof ArrayImg
+					? (ArrayImg<?, ?>) arg : null;
+			if (image == null) {
+				if (arg instanceof Number || arg instanceof RealType) continue;
+				return null;
+			}
+			final Object type = image.firstElement();
+			if (!(type instanceof RealType)) return null;
+			if (first == null) {
+				first = image;
+			}
+			else if (type.getClass() != first.firstElement().getClass() ||
+				!Intervals.equalDimensions(first, image))
+			{
+				return null;
+			}
+		}
+		if (first == null) return null;
+		return combine((ArrayImg) first, operator, args);
+	}
+
+	/** Evaluates the expression into a new image. */
+	Img<T> evaluate(final OpEnvironment ops) {
+		final Kernel kernel = kernel();
+		final ArrayImg<T, ?> first = images.get(0);
+		final Img<T> output = first.factory().create(first, type
+			.createVariable());
+		ops.thread().chunker(new CursorBasedChunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				@SuppressWarnings("unchecked")
+				final Cursor<T>[] cursors = new Cursor[images.size()];
+				for (int i = 0; i < cursors.length; i++) {
+					cursors[i] = images.get(i).cursor();
+					setToStart(cursors[i], startIndex);
+				}
+				final Cursor<T> out = output.cursor();
+				setToStart(out, startIndex);
+				final T[] values = variables(constants.length);
+				for (int i = 0; i < values.length; i++) {
+					values[i].setReal(constants[i]);
+				}
+				final T[] registers = variables(kernel.registers);
+
+				for (long k = 0; k < numSteps; k++) {
+					out.get().set(kernel.run(registers, cursors, values));
+					for (final Cursor<T> cursor : cursors) {
+						cursor.jumpFwd(stepSize);
+					}
+					out.jumpFwd(stepSize);
+				}
+			}
+		}, output.size());
+		return output;
+	}
+
+	// -- Helper methods --
+
+	private static int operator(final String opName, final int arity) {
+		if (arity == 1) {
+			return Ops.Math.Negate.NAME.equals(opName) ? NEG : -1;
+		}
+		if (arity != 2) return -1;
+		if (Ops.Math.Add.NAME.equals(opName)) return ADD;
+		if (Ops.Math.Subtract.NAME.equals(opName)) return SUB;
+		if (Ops.Math.Multiply.NAME.equals(opName)) return MUL;
+		if (Ops.Math.Divide.NAME.equals(opName)) return DIV;
+		return -1;
+	}
+
+	/**
+	 * Concatenates the codes of the arguments and the operator, renumbering
+	 * the images and constants of the arguments.
+	 */
+	private static <T extends RealType<T> & NativeType<T>> ImageExpression<T>
+		combine(final ArrayImg<T, ?> first, final int operator,
+			final Object[] args)
+	{
+		final List<ArrayImg<T, ?>> images = new ArrayList<>();
+		double[] constants = new double[0];
+		int[] codes = new int[0];
+		for (final Object arg : args) {
+			if (arg instanceof ImageExpression) {
+				@SuppressWarnings("unchecked")
+				final ImageExpression<T> e = (ImageExpression<T>) arg;
+				final int offset = codes.length;
+				codes = Arrays.copyOf(codes, offset + e.codes.length);
+				for (int i = 0; i < e.codes.length; i++) {
+					codes[offset + i] = e.codes[i];
+					if (e.codes[i] == IMAGE) {
+						i++;
+						codes[offset + i] = index(images, e.images.get(e.codes[i]));
+					}
+					else if (e.codes[i] == CONSTANT) {
+						i++;
+						codes[offset + i] = constants.length;
+						constants = Arrays.copyOf(constants, constants.length + 1);
+						constants[constants.length - 1] = e.constants[e.codes[i]];
+					}
+				}
+				continue;
+			}
+			codes = Arrays.copyOf(codes, codes.length + 2);
+			if (arg instanceof ArrayImg) {
+				@SuppressWarnings("unchecked")
+				final ArrayImg<T, ?> image = (ArrayImg<T, ?>) arg;
+				codes[codes.length - 2] = IMAGE;
+				codes[codes.length - 1] = index(images, image);
+			}
+			else {
+				codes[codes.length - 2] = CONSTANT;
+				codes[codes.length - 1] = constants.length;
+				constants = Arrays.copyOf(constants, constants.length + 1);
+				constants[constants.length - 1] = arg instanceof Number
+					? ((Number) arg).doubleValue() : ((RealType<?>) arg)
+						.getRealDouble();
+			}
+		}
+		codes = Arrays.copyOf(codes, codes.length + 1);
+		codes[codes.length - 1] = operator;
+		return new ImageExpression<>(first.firstElement(), images, constants,
+			codes);
+	}
+
+	/** @return index of the image in the list, adding it if missing */
+	private static <T extends RealType<T> & NativeType<T>> int index(
+		final List<ArrayImg<T, ?>> images, final ArrayImg<T, ?> image)
+	{
+		for (int i = 0; i < images.size(); i++) {
+			if (images.get(i) == image) return i;
+		}
+		images.add(image);
+		return images.size() - 1;
+	}
+
+	private Kernel kernel() {
+		final String key = type.getClass().getName() + Arrays.toString(codes);
+		synchronized (KERNELS) {
+			Kernel kernel = KERNELS.get(key);
+			if (kernel == null) {
+				kernel = new Kernel(codes);
+				KERNELS.put(key, kernel);
+			}
+			return kernel;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private T[] variables(final int count) {
+		final T[] variables = (T[]) new RealType[count];
+		for (int i = 0; i < count; i++) {
+			variables[i] = type.createVariable();
+		}
+		return variables;
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Postfix codes compiled to instructions on registers, which hold the
+	 * values of the stack at each position.
+	 */
+	private static final class Kernel {
+
+		/** Opcode, target register and operand of each instruction. */
+		private final int[] instructions;
+
+		/** Maximum depth of the stack. */
+		private final int registers;
+
+		private Kernel(final int[] codes) {
+			final int[] compiled = new int[3 * codes.length];
+			int size = 0;
+			int top = 0;
+			int depth = 0;
+			for (int i = 0; i < codes.length; i++) {
+				compiled[size] = codes[i];
+				if (codes[i] == IMAGE || codes[i] == CONSTANT) {
+					compiled[size + 1] = top++;
+					compiled[size + 2] = codes[++i];
+					depth = Math.max(depth, top);
+				}
+				else if (codes[i] == NEG) {
+					compiled[size + 1] = top - 1;
+				}
+				else {
+					top--;
+					compiled[size + 1] = top - 1;
+					compiled[size + 2] = top;
+				}
+				size += 3;
+			}
+			instructions = Arrays.copyOf(compiled, size);
+			registers = depth;
+		}
+
+		/** @return the value of the expression at the cursor positions */
+		private <T extends RealType<T>> T run(final T[] registers,
+			final Cursor<T>[] images, final T[] constants)
+		{
+			final int[] code = instructions;
+			for (int i = 0; i < code.length; i += 3) {
+				final T target = registers[code[i + 1]];
+				switch (code[i]) {
+					case IMAGE:
+						target.set(images[code[i + 2]].get());
+						break;
+					case CONSTANT:
+						target.set(constants[code[i + 2]]);
+						break;
+					case ADD:
+						target.add(registers[code[i + 2]]);
+						break;
+					case SUB:
+						target.sub(registers[code[i + 2]]);
+						break;
+					case MUL:
+						target.mul(registers[code[i + 2]]);
+						break;
+					case DIV:
+						target.div(registers[code[i + 2]]);
+						break;
+					case NEG:
+						target.setReal(-target.getRealDouble());
+						break;
+				}
+			}
+			return registers[0];
+		}
+	}
+
+}
@@ -29,6 +29,7 @@
 
 package net.imagej.ops.eval;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
@@ -48,6 +49,13 @@ import org.scijava.parse.eval.Evaluator;
 
 /**
  * A Parsington {@link Evaluator} using available {@link Op}s.
+ * <p>
+ * Arithmetic on {@link net.imglib2.img.array.ArrayImg}s of the same
+ * {@link net.imglib2.type.numeric.RealType} is not run op by op, but deferred
+ * and fused into one pass over the pixels when the value is needed. Other
+ * ops, assigned variables and the result of {@link #evaluate(String)} get the
+ * evaluated image.
+ * </p>
  * 
  * @author Curtis Rueden
  */
@@ -143,6 +151,13 @@ public class OpEvaluator extends AbstractStandardStackEvaluator {
 			argValues[i] = value(args[i]);
 		}
 
+		// Defer arithmetic on images, to be evaluated in a single pass.
+		final Object deferred = ImageExpression.apply(opName, argValues);
+		if (deferred != null) return deferred;
+		for (int i = 0; i < argValues.length; i++) {
+			argValues[i] = materialize(argValues[i]);
+		}
+
 		// Try executing the op.
 		return ops.run(opName, argValues);
 	}
@@ -162,6 +177,19 @@ public class OpEvaluator extends AbstractStandardStackEvaluator {
 		return opMap;
 	}
 
+	// -- Evaluator methods --
+
+	@Override
+	public Object evaluate(final String expression) {
+		return materialize(super.evaluate(expression));
+	}
+
+	@Override
+	public void set(final Variable v, final Object value) {
+		// NB: Assignments store the image, not the deferred arithmetic.
+		super.set(v, materialize(value));
+	}
+
 	// -- StandardEvaluator methods --
 
 	// -- function --
@@ -420,4 +448,19 @@ public class OpEvaluator extends AbstractStandardStackEvaluator {
 		return Collections.singletonList(o);
 	}
 
+	/** Evaluates deferred image arithmetic, also within lists. */
+	private Object materialize(final Object o) {
+		if (o instanceof ImageExpression) {
+			return ((ImageExpression<?>) o).evaluate(ops);
+		}
+		if (o instanceof List) {
+			final List<Object> list = new ArrayList<>();
+			for (final Object element : (List<?>) o) {
+				list.add(materialize(element));
+			}
+			return list;
+		}
+		return o;
+	}
+
 }
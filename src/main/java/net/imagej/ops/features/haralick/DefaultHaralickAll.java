@@ -0,0 +1,454 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.features.haralick;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Ops.Stats.MinMax;
+import net.imagej.ops.image.cooccurrenceMatrix.MatrixOrientation;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.special.function.Functions;
+import net.imagej.ops.special.function.UnaryFunctionOp;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.util.Intervals;
+import net.imglib2.util.Pair;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Computes all Haralick features at once.
+ * <p>
+ * The grey levels of the input are quantized once and the co-occurrences of
+ * all given distance/orientation combinations are counted in a single pass
+ * over the pixels. Each co-occurrence matrix is then reduced to its non-zero
+ * entries, from which the marginals and all features are computed. For more
+ * than {@value #MAX_DENSE_GREY_LEVELS} grey levels the co-occurrences are
+ * collected sparsely instead of in a dense matrix.
+ * </p>
+ * <p>
+ * The result maps the name of each Haralick feature op (e.g.
+ * {@link Ops.Haralick.Contrast#NAME}) to its value. For a single distance and
+ * orientation the values equal those of the individual feature ops; for
+ * several combinations, each feature is averaged over all combinations.
+ * </p>
+ * 
+ * @param <T>
+ */
+@Plugin(type = Ops.Haralick.All.class, label = "Haralick: All Features")
+public class DefaultHaralickAll<T extends RealType<T>> extends
+	AbstractUnaryFunctionOp<IterableInterval<T>, Map<String, DoubleType>>
+	implements Ops.Haralick.All, Contingent
+{
+
+	/** Grey levels up to which co-occurrences are counted in a dense matrix. */
+	private static final int MAX_DENSE_GREY_LEVELS = 256;
+
+	// Avoid log 0
+	private static final double EPSILON = Double.MIN_NORMAL;
+
+	private static final String[] FEATURES = { //
+		Ops.Haralick.ASM.NAME, //
+		Ops.Haralick.ClusterPromenence.NAME, //
+		Ops.Haralick.ClusterShade.NAME, //
+		Ops.Haralick.Contrast.NAME, //
+		Ops.Haralick.Correlation.NAME, //
+		Ops.Haralick.DifferenceEntropy.NAME, //
+		Ops.Haralick.DifferenceVariance.NAME, //
+		Ops.Haralick.Entropy.NAME, //
+		Ops.Haralick.ICM1.NAME, //
+		Ops.Haralick.ICM2.NAME, //
+		Ops.Haralick.IFDM.NAME, //
+		Ops.Haralick.MaxProbability.NAME, //
+		Ops.Haralick.SumAverage.NAME, //
+		Ops.Haralick.SumEntropy.NAME, //
+		Ops.Haralick.SumVariance.NAME, //
+		Ops.Haralick.TextureHomogeneity.NAME, //
+		Ops.Haralick.Variance.NAME };
+
+	@Parameter
+	private int numGreyLevels = 32;
+
+	@Parameter
+	private int[] distances;
+
+	@Parameter
+	private MatrixOrientation[] orientations;
+
+	private UnaryFunctionOp<IterableInterval<T>, Pair<T, T>> minmax;
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Override
+	public void initialize() {
+		super.initialize();
+		minmax = (UnaryFunctionOp) Functions.unary(ops(), MinMax.class,
+			Pair.class, in());
+	}
+
+	@Override
+	public Map<String, DoubleType> calculate(final IterableInterval<T> input) {
+		final int n = input.numDimensions();
+		final long[] dims = Intervals.dimensionsAsLongArray(input);
+		final int[] bins = quantize(input);
+
+		// pixel offsets of all distance/orientation combinations
+		final int numCombinations = distances.length * orientations.length;
+		final int[][] shifts = new int[numCombinations][n];
+		final int[] flatShifts = new int[numCombinations];
+		int c = 0;
+		for (final int distance : distances) {
+			for (final MatrixOrientation orientation : orientations) {
+				int stride = 1;
+				for (int d = 0; d < n; d++) {
+					shifts[c][d] = orientation.getValueAtDim(d) * distance;
+					flatShifts[c] += shifts[c][d] * stride;
+					stride *= dims[d];
+				}
+				c++;
+			}
+		}
+
+		final Cooccurrences[] counts = new Cooccurrences[numCombinations];
+		for (int i = 0; i < numCombinations; i++) {
+			counts[i] = new Cooccurrences(numGreyLevels);
+		}
+
+		// count the co-occurrences of all combinations in one pass
+		final long[] position = new long[n];
+		for (int index = 0; index < bins.length; index++) {
+			final int bin = bins[index];
+			if (bin >= 0) {
+				for (int i = 0; i < numCombinations; i++) {
+					if (!inside(position, shifts[i], dims)) continue;
+					final int other = bins[index + flatShifts[i]];
+					if (other >= 0) counts[i].add(bin, other);
+				}
+			}
+			for (int d = 0; d < n && ++position[d] == dims[d]; d++) {
+				position[d] = 0;
+			}
+		}
+
+		final double[] features = new double[FEATURES.length];
+		for (final Cooccurrences count : counts) {
+			final double[] values = features(count);
+			for (int f = 0; f < features.length; f++) {
+				features[f] += values[f];
+			}
+		}
+
+		final Map<String, DoubleType> result = new LinkedHashMap<>();
+		for (int f = 0; f < FEATURES.length; f++) {
+			result.put(FEATURES[f], new DoubleType(features[f] / numCombinations));
+		}
+		return result;
+	}
+
+	@Override
+	public boolean conforms() {
+		final int n = in().numDimensions();
+		if (n != 2 && n != 3) return false;
+		if (distances.length == 0 || orientations.length == 0) return false;
+		for (final MatrixOrientation orientation : orientations) {
+			if (orientation.numDims() != n || !orientation.isCompatible(n)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Quantizes the input into grey levels, the same way as the
+	 * {@link Ops.Image.CooccurrenceMatrix} ops do. Pixels of the bounding box
+	 * which are not part of the input are marked with -1.
+	 */
+	private int[] quantize(final IterableInterval<T> input) {
+		final Pair<T, T> minMax = minmax.calculate(input);
+		final double localMin = minMax.getA().getRealDouble();
+		final double diff = minMax.getB().getRealDouble() - localMin;
+		final double scale = input.numDimensions() == 2 ? numGreyLevels
+			: numGreyLevels - 1;
+
+		final int[] bins = new int[(int) Intervals.numElements(input)];
+		Arrays.fill(bins, -1);
+
+		final Cursor<T> cursor = input.localizingCursor();
+		while (cursor.hasNext()) {
+			cursor.fwd();
+			int index = 0;
+			int stride = 1;
+			for (int d = 0; d < input.numDimensions(); d++) {
+				index += (cursor.getLongPosition(d) - input.min(d)) * stride;
+				stride *= input.dimension(d);
+			}
+			final int bin = (int) ((cursor.get().getRealDouble() - localMin) /
+				diff * scale);
+			bins[index] = bin < numGreyLevels - 1 ? bin : numGreyLevels - 1;
+		}
+		return bins;
+	}
+
+	private static boolean inside(final long[] position, final int[] shift,
+		final long[] dims)
+	{
+		for (int d = 0; d < position.length; d++) {
+			final long p = position[d] + shift[d];
+			if (p < 0 || p >= dims[d]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Computes all features from the non-zero entries of a normalized
+	 * co-occurrence matrix, following the formulas (and the summation order) of
+	 * the individual feature ops and their {@code Cooc*} helpers.
+	 */
+	private double[] features(final Cooccurrences count) {
+		final int levels = numGreyLevels;
+		final int nnz = count.compact();
+		final int[] rows = count.rows;
+		final int[] cols = count.cols;
+		final double[] p = count.probabilities;
+
+		final double[] px = new double[levels];
+		final double[] py = new double[levels];
+		final double[] pxplusy = new double[2 * levels + 1];
+		final double[] pxminusy = new double[levels];
+
+		double asm = 0, entropy = 0, ifdm = 0, homogeneity = 0, maxProbability = 0;
+		double sumIJ = 0, total = 0;
+		for (int e = 0; e < nnz; e++) {
+			final int i = rows[e];
+			final int j = cols[e];
+			px[j] += p[e];
+			py[i] += p[e];
+			pxplusy[i + j + 2] += p[e];
+			pxminusy[Math.abs(i - j)] += p[e];
+
+			asm += p[e] * p[e];
+			entropy += p[e] * Math.log(p[e] + EPSILON);
+			ifdm += p[e] / (1 + ((i - j) * (i - j)));
+			homogeneity += p[e] / (1 + Math.abs(i - j));
+			if (p[e] > maxProbability) maxProbability = p[e];
+			sumIJ += i * j * p[e];
+			total += p[e];
+		}
+		entropy = -entropy;
+
+		double mux = 0, muy = 0;
+		for (int i = 0; i < levels; i++) {
+			mux += i * px[i];
+		}
+		for (int i = 0; i < levels; i++) {
+			muy += i * py[i];
+		}
+		double stdx = 0, stdy = 0;
+		for (int i = 0; i < levels; i++) {
+			stdx += ((i - mux) * (i - mux)) * px[i];
+		}
+		for (int i = 0; i < levels; i++) {
+			stdy += ((i - muy) * (i - muy)) * py[i];
+		}
+		stdx = Math.sqrt(stdx);
+		stdy = Math.sqrt(stdy);
+
+		final double mean = total / (levels * levels);
+		double clusterShade = 0, clusterPromenence = 0, variance = 0, hxy1 = 0;
+		for (int e = 0; e < nnz; e++) {
+			final int i = rows[e];
+			final int j = cols[e];
+			clusterShade += Math.pow(i + j - mux - muy, 3) * p[e];
+			clusterPromenence += Math.pow(i + j - mux - muy, 4) * p[e];
+			variance += (i - mean) * (i - mean) * p[e];
+			hxy1 += p[e] * Math.log(px[i] * py[j] + EPSILON);
+		}
+		hxy1 = -hxy1;
+
+		// zero marginals do not contribute to the entropies
+		double hx = 0, hy = 0, hxy2 = 0;
+		for (int i = 0; i < levels; i++) {
+			hx += px[i] * Math.log(px[i] + EPSILON);
+		}
+		for (int j = 0; j < levels; j++) {
+			hy += py[j] * Math.log(py[j] + EPSILON);
+		}
+		hx = -hx;
+		hy = -hy;
+		for (int i = 0; i < levels; i++) {
+			if (px[i] == 0) continue;
+			for (int j = 0; j < levels; j++) {
+				if (py[j] == 0) continue;
+				hxy2 += px[i] * py[j] * Math.log(px[i] * py[j] + EPSILON);
+			}
+		}
+		hxy2 = -hxy2;
+
+		double contrast = 0, differenceEntropy = 0, differenceMean = 0;
+		for (int k = 0; k < levels; k++) {
+			contrast += k * k * pxminusy[k];
+			differenceEntropy += pxminusy[k] * Math.log(pxminusy[k] + EPSILON);
+			differenceMean += k * pxminusy[k];
+		}
+		differenceEntropy = -differenceEntropy;
+		double differenceVariance = 0;
+		for (int k = 0; k < levels; k++) {
+			differenceVariance += Math.pow(k - differenceMean, 2) * pxminusy[k];
+		}
+
+		double sumAverage = 0, sumEntropy = 0;
+		for (int k = 2; k <= 2 * levels; k++) {
+			sumAverage += k * pxplusy[k];
+			sumEntropy += pxplusy[k] * Math.log(pxplusy[k] + EPSILON);
+		}
+		sumEntropy = -sumEntropy;
+		double sumVariance = 0;
+		for (int k = 2; k <= 2 * levels; k++) {
+			sumVariance += (k - sumEntropy) * (k - sumEntropy) * pxplusy[k];
+		}
+
+		final double icm1 = (entropy - hxy1) / (hx > hy ? hx : hy);
+		final double icm2 = Math.sqrt(1 - Math.exp(-2 * (hxy2 - entropy)));
+
+		return new double[] { asm, clusterPromenence, clusterShade, contrast,
+			(sumIJ - (mux * muy)) / (stdx * stdy), differenceEntropy,
+			differenceVariance, entropy, icm1, Double.isNaN(icm2) ? 0 : icm2, ifdm,
+			maxProbability, sumAverage, sumEntropy, sumVariance, homogeneity,
+			variance };
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Co-occurrence counts of one distance/orientation combination, either as a
+	 * dense matrix or as a list of encoded grey level pairs.
+	 */
+	private static class Cooccurrences {
+
+		private final int levels;
+
+		private final int[] dense;
+
+		private long[] pairs;
+
+		private int numPairs;
+
+		private int[] rows;
+
+		private int[] cols;
+
+		private double[] probabilities;
+
+		public Cooccurrences(final int levels) {
+			this.levels = levels;
+			if (levels <= MAX_DENSE_GREY_LEVELS) {
+				dense = new int[levels * levels];
+			}
+			else {
+				dense = null;
+				pairs = new long[1024];
+			}
+		}
+
+		public void add(final int i, final int j) {
+			if (dense != null) dense[i * levels + j]++;
+			else {
+				if (numPairs == pairs.length) {
+					pairs = Arrays.copyOf(pairs, 2 * pairs.length);
+				}
+				pairs[numPairs] = (long) i * levels + j;
+			}
+			numPairs++;
+		}
+
+		/**
+		 * Normalizes the counts into the non-zero entries of the co-occurrence
+		 * matrix, in row-major order.
+		 * 
+		 * @return the number of non-zero entries
+		 */
+		public int compact() {
+			final double divisor = numPairs > 0 ? 1.0 / numPairs : 1;
+			int nnz = 0;
+			if (dense != null) {
+				for (final int value : dense) {
+					if (value != 0) nnz++;
+				}
+				allocate(nnz);
+				nnz = 0;
+				for (int k = 0; k < dense.length; k++) {
+					if (dense[k] == 0) continue;
+					set(nnz++, k / levels, k % levels, dense[k] * divisor);
+				}
+			}
+			else {
+				Arrays.sort(pairs, 0, numPairs);
+				for (int k = 0; k < numPairs; k++) {
+					if (k == 0 || pairs[k] != pairs[k - 1]) nnz++;
+				}
+				allocate(nnz);
+				nnz = 0;
+				for (int k = 0; k < numPairs;) {
+					int run = k + 1;
+					while (run < numPairs && pairs[run] == pairs[k])
+						run++;
+					set(nnz++, (int) (pairs[k] / levels), (int) (pairs[k] % levels),
+						(run - k) * divisor);
+					k = run;
+				}
+				pairs = null;
+			}
+			return nnz;
+		}
+
+		private void allocate(final int nnz) {
+			rows = new int[nnz];
+			cols = new int[nnz];
+			probabilities = new double[nnz];
+		}
+
+		private void set(final int e, final int row, final int col,
+			final double probability)
+		{
+			rows[e] = row;
+			cols[e] = col;
+			probabilities[e] = probability;
+		}
+	}
+
+}
@@ -29,6 +29,8 @@
 
 package net.imagej.ops.features.haralick;
 
+import java.util.Map;
+
 import net.imagej.ops.AbstractNamespace;
 import net.imagej.ops.Namespace;
 import net.imagej.ops.OpMethod;
@@ -52,6 +54,18 @@ public class HaralickNamespace extends AbstractNamespace {
 		return "haralick";
 	}
 
+	@OpMethod(op = net.imagej.ops.features.haralick.DefaultHaralickAll.class)
+	public <T extends RealType<T>> Map<String, DoubleType> all(
+		final IterableInterval<T> in, final int numGreyLevels,
+		final int[] distances, final MatrixOrientation... orientations)
+	{
+		@SuppressWarnings("unchecked")
+		final Map<String, DoubleType> result = (Map<String, DoubleType>) ops()
+			.run(net.imagej.ops.Ops.Haralick.All.class, in, numGreyLevels,
+				distances, orientations);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.features.haralick.DefaultASM.class)
 	public <T extends RealType<T>> DoubleType asm(final IterableInterval<T> in,
 		final int numGreyLevels, final int distance,
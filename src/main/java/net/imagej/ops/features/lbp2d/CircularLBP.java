@@ -0,0 +1,155 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.features.lbp2d;
+
+import net.imglib2.Cursor;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.view.Views;
+
+/**
+ * Computes local binary pattern codes of P neighbors, sampled with bilinear
+ * interpolation on a circle of radius R, from a zero-padded copy of a 2-D
+ * image.
+ */
+final class CircularLBP {
+
+	/** Padded copy of the image, row by row. */
+	private final double[] padded;
+
+	/** Width of a row of {@link #padded}. */
+	private final int stride;
+
+	private final int width;
+	private final int height;
+	private final int border;
+
+	/** Index offsets of the top-left pixel of each neighbor's sample. */
+	private final int[][] offsets;
+
+	/** Interpolation weights of the four pixels of each neighbor's sample. */
+	private final double[][] weights;
+
+	CircularLBP(final RandomAccessibleInterval<? extends RealType<?>> input,
+		final int[] radii, final int[] neighbors)
+	{
+		if (radii.length != neighbors.length) {
+			throw new IllegalArgumentException("Expected one number of neighbors " +
+				"per radius, but got " + neighbors.length + " for " + radii.length +
+				" radii");
+		}
+		int maxRadius = 0;
+		for (final int r : radii) {
+			if (r < 1) throw new IllegalArgumentException("Invalid radius: " + r);
+			maxRadius = Math.max(maxRadius, r);
+		}
+		width = (int) input.dimension(0);
+		height = (int) input.dimension(1);
+		border = maxRadius + 1;
+		stride = width + 2 * border;
+		padded = new double[stride * (height + 2 * border)];
+		final Cursor<? extends RealType<?>> c = Views.flatIterable(input)
+			.cursor();
+		for (int y = 0; y < height; y++) {
+			final int row = (y + border) * stride + border;
+			for (int x = 0; x < width; x++) {
+				padded[row + x] = c.next().getRealDouble();
+			}
+		}
+
+		offsets = new int[radii.length][];
+		weights = new double[radii.length][];
+		for (int s = 0; s < radii.length; s++) {
+			final int p = neighbors[s];
+			if (p < 1 || p > LBPMapping.MAX_NEIGHBORS) {
+				throw new IllegalArgumentException("Unsupported number of neighbors: " +
+					p);
+			}
+			offsets[s] = new int[p];
+			weights[s] = new double[4 * p];
+			for (int i = 0; i < p; i++) {
+				final double angle = 2 * Math.PI * i / p;
+				final double dx = snap(radii[s] * Math.cos(angle));
+				final double dy = snap(-radii[s] * Math.sin(angle));
+				final int x0 = (int) Math.floor(dx);
+				final int y0 = (int) Math.floor(dy);
+				final double fx = dx - x0;
+				final double fy = dy - y0;
+				offsets[s][i] = y0 * stride + x0;
+				weights[s][4 * i] = (1 - fx) * (1 - fy);
+				weights[s][4 * i + 1] = fx * (1 - fy);
+				weights[s][4 * i + 2] = (1 - fx) * fy;
+				weights[s][4 * i + 3] = fx * fy;
+			}
+		}
+	}
+
+	int width() {
+		return width;
+	}
+
+	int height() {
+		return height;
+	}
+
+	/** Index of the pixel (x, y) for {@link #code}. */
+	int index(final int x, final int y) {
+		return (y + border) * stride + border + x;
+	}
+
+	/**
+	 * Computes the raw code of the pixel at the given index for the scale with
+	 * the given index.
+	 */
+	int code(final int scale, final int index) {
+		final double center = padded[index];
+		final int[] o = offsets[scale];
+		final double[] w = weights[scale];
+		int code = 0;
+		for (int i = 0; i < o.length; i++) {
+			final int j = index + o[i];
+			final double value = w[4 * i] * padded[j] + w[4 * i + 1] * padded[j +
+				1] + w[4 * i + 2] * padded[j + stride] + w[4 * i + 3] * padded[j +
+					stride + 1];
+			if (value >= center) code |= 1 << i;
+		}
+		return code;
+	}
+
+	/**
+	 * Snaps sample coordinates which are integral up to rounding errors, so
+	 * that they are not interpolated.
+	 */
+	private static double snap(final double v) {
+		final double r = Math.rint(v);
+		return Math.abs(v - r) < 1e-6 ? r : v;
+	}
+
+}
@@ -33,15 +33,14 @@ import java.util.ArrayList;
 import java.util.Iterator;
 
 import net.imagej.ops.Ops;
-import net.imagej.ops.image.histogram.HistogramCreate;
-import net.imagej.ops.special.function.Functions;
-import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imglib2.Cursor;
 import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.histogram.Histogram1d;
+import net.imglib2.histogram.Real1dBinMapper;
 import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.integer.LongType;
+import net.imglib2.util.Intervals;
 import net.imglib2.view.Views;
 
 import org.scijava.plugin.Parameter;
@@ -63,26 +62,21 @@ public class DefaultLBP2D<I extends RealType<I>> extends AbstractLBP2DFeature<I>
 	@Parameter(required = true)
 	private int histogramSize = 256;
 
-	@SuppressWarnings("rawtypes")
-	private UnaryFunctionOp<ArrayList, Histogram1d> histOp;
-
-	@Override
-	public void initialize() {
-		histOp = Functions.unary(ops(), HistogramCreate.class, Histogram1d.class,
-			ArrayList.class, histogramSize);
-	}
-
 	@Override
 	public ArrayList<LongType> createOutput(RandomAccessibleInterval<I> input) {
 		return new ArrayList<>();
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public void compute(RandomAccessibleInterval<I> input,
 		ArrayList<LongType> output)
 	{
-		ArrayList<LongType> numberList = new ArrayList<>();
+		// NB: The codes are buffered as primitives, and binned between their
+		// minimum and maximum like stats.histogram does.
+		final int[] codes = new int[(int) Intervals.numElements(input)];
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+		int i = 0;
 		RandomAccess<I> raInput = Views.extendZero(input).randomAccess();
 		final Cursor<I> cInput = Views.flatIterable(input).cursor();
 		final ClockwiseDistanceNeighborhoodIterator<I> cNeigh =
@@ -102,10 +96,18 @@ public class DefaultLBP2D<I extends RealType<I>> extends AbstractLBP2DFeature<I>
 					resultBinaryValue |= (1 << pos);
 				}
 			}
-			numberList.add(new LongType(resultBinaryValue));
+			codes[i++] = resultBinaryValue;
+			min = Math.min(min, resultBinaryValue);
+			max = Math.max(max, resultBinaryValue);
 		}
 
-		Histogram1d<Integer> hist = histOp.calculate(numberList);
+		final Histogram1d<LongType> hist = new Histogram1d<>(
+			new Real1dBinMapper<LongType>(min, max, histogramSize, false));
+		final LongType code = new LongType();
+		for (final int value : codes) {
+			code.set(value);
+			hist.increment(code);
+		}
 		Iterator<LongType> c = hist.iterator();
 		while (c.hasNext()) {
 			output.add(new LongType(c.next().get()));
@@ -0,0 +1,117 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.features.lbp2d;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.RealType;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Image of the 2d local binary pattern codes of P neighbors on a circle of
+ * radius R, mapped by a {@link LBPMapping}. The codes are stored as
+ * {@link net.imglib2.type.numeric.integer.UnsignedByteType} if the mapping has
+ * at most 256 bins, and as
+ * {@link net.imglib2.type.numeric.integer.UnsignedShortType} otherwise. The
+ * rows of the image are processed in parallel.
+ * 
+ * @param <I> input type
+ */
+@Plugin(type = Ops.LBP.LBP2DCodes.class,
+	label = "2d Local Binary Pattern Codes")
+public class DefaultLBP2DCodes<I extends RealType<I>> extends
+	AbstractUnaryFunctionOp<RandomAccessibleInterval<I>, Img<? extends IntegerType<?>>>
+	implements Ops.LBP.LBP2DCodes, Contingent, Parallel
+{
+
+	@Parameter
+	private int radius;
+
+	@Parameter
+	private int neighbors;
+
+	@Parameter(required = false)
+	private LBPMapping mapping = LBPMapping.ROTATION_INVARIANT_UNIFORM;
+
+	@Override
+	public Img<? extends IntegerType<?>> calculate(
+		final RandomAccessibleInterval<I> input)
+	{
+		final CircularLBP lbp = new CircularLBP(input, new int[] { radius },
+			new int[] { neighbors });
+		final int[] table = mapping.table(neighbors);
+
+		final Img<? extends IntegerType<?>> codes;
+		if (mapping.bins(neighbors) <= 256) {
+			codes = ArrayImgs.unsignedBytes(lbp.width(), lbp.height());
+		}
+		else {
+			codes = ArrayImgs.unsignedShorts(lbp.width(), lbp.height());
+		}
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final RandomAccess<? extends IntegerType<?>> ra = codes.randomAccess();
+				for (long k = 0, y = startIndex; k < numSteps; k++, y += stepSize) {
+					final int row = lbp.index(0, (int) y);
+					ra.setPosition(0, 0);
+					ra.setPosition(y, 1);
+					for (int x = 0; x < lbp.width(); x++) {
+						ra.get().setInteger(table[lbp.code(0, row + x)]);
+						ra.fwd(0);
+					}
+				}
+			}
+		}, lbp.height());
+
+		return codes;
+	}
+
+	@Override
+	public boolean conforms() {
+		return in().numDimensions() == 2 && neighbors >= 1 &&
+			neighbors <= LBPMapping.MAX_NEIGHBORS;
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.features.lbp2d;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.numeric.RealType;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Multi-scale 2d local binary pattern histogram. For each radius R and number
+ * of neighbors P, the codes of all pixels are mapped by a lookup table of the
+ * {@link LBPMapping} and counted directly into a primitive histogram. The
+ * rows of the image are processed in parallel, each worker thread counting
+ * into a partial histogram of its own, and the histograms of all scales are
+ * concatenated.
+ * 
+ * @param <I> input type
+ */
+@Plugin(type = Ops.LBP.LBP2DHistogram.class,
+	label = "2d Local Binary Pattern Histogram")
+public class DefaultLBP2DHistogram<I extends RealType<I>> extends
+	AbstractUnaryFunctionOp<RandomAccessibleInterval<I>, long[]> implements
+	Ops.LBP.LBP2DHistogram, Contingent, Parallel
+{
+
+	@Parameter
+	private int[] radii;
+
+	@Parameter
+	private int[] neighbors;
+
+	@Parameter(required = false)
+	private LBPMapping mapping = LBPMapping.ROTATION_INVARIANT_UNIFORM;
+
+	@Override
+	public long[] calculate(final RandomAccessibleInterval<I> input) {
+		final CircularLBP lbp = new CircularLBP(input, radii, neighbors);
+
+		final int[][] tables = new int[radii.length][];
+		final int[] starts = new int[radii.length + 1];
+		for (int s = 0; s < radii.length; s++) {
+			tables[s] = mapping.table(neighbors[s]);
+			starts[s + 1] = starts[s] + mapping.bins(neighbors[s]);
+		}
+
+		final int length = starts[radii.length];
+		final Map<Thread, long[]> partials = new ConcurrentHashMap<>();
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				// NB: Chunks of one thread run sequentially and share a histogram.
+				final long[] partial = partials.computeIfAbsent(Thread.currentThread(),
+					t -> new long[length]);
+				for (long k = 0, y = startIndex; k < numSteps; k++, y += stepSize) {
+					final int row = lbp.index(0, (int) y);
+					for (int x = 0; x < lbp.width(); x++) {
+						for (int s = 0; s < tables.length; s++) {
+							partial[starts[s] + tables[s][lbp.code(s, row + x)]]++;
+						}
+					}
+				}
+			}
+		}, lbp.height());
+
+		final long[] histogram = new long[length];
+		for (final long[] partial : partials.values()) {
+			for (int i = 0; i < length; i++) {
+				histogram[i] += partial[i];
+			}
+		}
+		return histogram;
+	}
+
+	@Override
+	public boolean conforms() {
+		return in().numDimensions() == 2 && radii.length == neighbors.length;
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.features.lbp2d;
+
+import java.util.Arrays;
+
+/**
+ * Mappings of raw local binary pattern codes to histogram bins, as described
+ * by Ojala et al., "Multiresolution gray-scale and rotation invariant texture
+ * classification with local binary patterns", PAMI 2002.
+ */
+public enum LBPMapping {
+
+	/** Raw codes, one bin for each of the 2<sup>P</sup> patterns. */
+	NONE,
+
+	/** Rotation invariant codes, one bin per pattern up to rotation. */
+	ROTATION_INVARIANT,
+
+	/**
+	 * Uniform patterns (at most two 0/1 transitions) in a bin of their own,
+	 * all other patterns in one shared bin.
+	 */
+	UNIFORM,
+
+	/**
+	 * Rotation invariant uniform patterns, binned by their number of set bits,
+	 * and all other patterns in one shared bin, i.e. P + 2 bins.
+	 */
+	ROTATION_INVARIANT_UNIFORM;
+
+	/** Largest supported number of neighbors. */
+	public static final int MAX_NEIGHBORS = 16;
+
+	/**
+	 * Creates the lookup table from the raw codes of the given number of
+	 * neighbors to their bins.
+	 */
+	public int[] table(final int neighbors) {
+		if (neighbors < 1 || neighbors > MAX_NEIGHBORS) {
+			throw new IllegalArgumentException("Unsupported number of neighbors: " +
+				neighbors);
+		}
+		final int size = 1 << neighbors;
+		final int[] table = new int[size];
+		switch (this) {
+			case NONE:
+				for (int code = 0; code < size; code++) {
+					table[code] = code;
+				}
+				break;
+			case ROTATION_INVARIANT:
+				// NB: Number the minimal rotations in ascending order.
+				final int[] bins = new int[size];
+				Arrays.fill(bins, -1);
+				int next = 0;
+				for (int code = 0; code < size; code++) {
+					final int min = minRotation(code, neighbors);
+					if (bins[min] < 0) bins[min] = next++;
+					table[code] = bins[min];
+				}
+				break;
+			case UNIFORM:
+				int bin = 0;
+				final int other = neighbors * (neighbors - 1) + 2;
+				for (int code = 0; code < size; code++) {
+					table[code] = transitions(code, neighbors) <= 2 ? bin++ : other;
+				}
+				break;
+			case ROTATION_INVARIANT_UNIFORM:
+				for (int code = 0; code < size; code++) {
+					table[code] = transitions(code, neighbors) <= 2 ? Integer.bitCount(
+						code) : neighbors + 1;
+				}
+				break;
+		}
+		return table;
+	}
+
+	/** Number of bins of the mapped codes of the given number of neighbors. */
+	public int bins(final int neighbors) {
+		switch (this) {
+			case NONE:
+				return 1 << neighbors;
+			case ROTATION_INVARIANT:
+				int max = 0;
+				for (final int bin : table(neighbors)) {
+					max = Math.max(max, bin);
+				}
+				return max + 1;
+			case UNIFORM:
+				return neighbors * (neighbors - 1) + 3;
+			default:
+				return neighbors + 2;
+		}
+	}
+
+	// -- Helper methods --
+
+	private static int minRotation(final int code, final int neighbors) {
+		final int mask = (1 << neighbors) - 1;
+		int min = code;
+		int rotated = code;
+		for (int i = 1; i < neighbors; i++) {
+			rotated = ((rotated >>> 1) | (rotated << (neighbors - 1))) & mask;
+			min = Math.min(min, rotated);
+		}
+		return min;
+	}
+
+	/** Number of circular 0/1 transitions of the code. */
+	private static int transitions(final int code, final int neighbors) {
+		final int mask = (1 << neighbors) - 1;
+		final int rotated = ((code >>> 1) | (code << (neighbors - 1))) & mask;
+		return Integer.bitCount(code ^ rotated);
+	}
+
+}
@@ -35,6 +35,8 @@ import net.imagej.ops.AbstractNamespace;
 import net.imagej.ops.Namespace;
 import net.imagej.ops.OpMethod;
 import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.Img;
+import net.imglib2.type.numeric.IntegerType;
 import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.integer.LongType;
 
@@ -76,4 +78,50 @@ public class LBPNamespace extends AbstractNamespace {
 			histogramSize);
 		return result;
 	}
+
+	@OpMethod(op = net.imagej.ops.features.lbp2d.DefaultLBP2DHistogram.class)
+	public <T extends RealType<T>> long[] lbp2DHistogram(
+		final RandomAccessibleInterval<T> in, final int[] radii,
+		final int[] neighbors)
+	{
+		final long[] result = (long[]) ops().run(
+			net.imagej.ops.Ops.LBP.LBP2DHistogram.class, in, radii, neighbors);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.features.lbp2d.DefaultLBP2DHistogram.class)
+	public <T extends RealType<T>> long[] lbp2DHistogram(
+		final RandomAccessibleInterval<T> in, final int[] radii,
+		final int[] neighbors, final LBPMapping mapping)
+	{
+		final long[] result = (long[]) ops().run(
+			net.imagej.ops.Ops.LBP.LBP2DHistogram.class, in, radii, neighbors,
+			mapping);
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	@OpMethod(op = net.imagej.ops.features.lbp2d.DefaultLBP2DCodes.class)
+	public <T extends RealType<T>> Img<? extends IntegerType<?>> lbp2DCodes(
+		final RandomAccessibleInterval<T> in, final int radius,
+		final int neighbors)
+	{
+		final Img<? extends IntegerType<?>> result =
+			(Img<? extends IntegerType<?>>) ops().run(
+				net.imagej.ops.Ops.LBP.LBP2DCodes.class, in, radius, neighbors);
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	@OpMethod(op = net.imagej.ops.features.lbp2d.DefaultLBP2DCodes.class)
+	public <T extends RealType<T>> Img<? extends IntegerType<?>> lbp2DCodes(
+		final RandomAccessibleInterval<T> in, final int radius,
+		final int neighbors, final LBPMapping mapping)
+	{
+		final Img<? extends IntegerType<?>> result =
+			(Img<? extends IntegerType<?>>) ops().run(
+				net.imagej.ops.Ops.LBP.LBP2DCodes.class, in, radius, neighbors,
+				mapping);
+		return result;
+	}
 }
@@ -28,23 +28,18 @@
  */
 package net.imagej.ops.features.tamura2d;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 import net.imagej.ops.Ops;
-import net.imagej.ops.filter.mean.MeanFilterOp;
-import net.imglib2.Cursor;
-import net.imglib2.FinalInterval;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
 import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessibleInterval;
-import net.imglib2.algorithm.neighborhood.RectangleShape;
-import net.imglib2.img.Img;
-import net.imglib2.img.array.ArrayImgs;
-import net.imglib2.outofbounds.OutOfBoundsMirrorFactory;
-import net.imglib2.outofbounds.OutOfBoundsMirrorFactory.Boundary;
 import net.imglib2.type.numeric.RealType;
-import net.imglib2.type.numeric.integer.ByteType;
-import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.util.IntervalIndexer;
 import net.imglib2.util.Intervals;
 
 import org.scijava.plugin.Plugin;
@@ -52,6 +47,12 @@ import org.scijava.plugin.Plugin;
 /**
  * 
  * Implementation of Tamura's Coarseness feature
+ * <p>
+ * The means of the neighborhoods (excluding their center) of all sizes are
+ * read in constant time from a single integral image of the input, mirrored at
+ * its borders. The leading differences of all pixels are computed in parallel
+ * and averaged on the fly. Both 2-D and 3-D inputs are supported.
+ * </p>
  * 
  * @author Andreas Graumann (University of Konstanz)
  *
@@ -60,113 +61,209 @@ import org.scijava.plugin.Plugin;
  */
 @Plugin(type = Ops.Tamura.Coarseness.class, label = "Tamura 2D: Coarseness")
 public class DefaultCoarsenessFeature<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractTamuraFeature<I, O> implements Ops.Tamura.Coarseness {
+		extends AbstractTamuraFeature<I, O> implements Ops.Tamura.Coarseness, Parallel {
+
+	/** Radius of the largest neighborhood. */
+	private static final int MAX_SCALE = 5;
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public void compute(final RandomAccessibleInterval<I> input, final O output) {
-		HashMap<Integer, Img<I>> meanImages = new HashMap<>();
+		final int n = input.numDimensions();
+		final long[] dim = Intervals.dimensionsAsLongArray(input);
 
-		// get mean images
-		for (int i = 1; i <= 5; i++) {
-			meanImages.put(i, mean(input, i));
+		// integral image of the input, extended by MAX_SCALE on each side
+		final long[] integralDims = new long[n];
+		for (int d = 0; d < n; d++) {
+			integralDims[d] = dim[d] + 2 * MAX_SCALE + 1;
+		}
+		final double[] integral = integralImage(input, integralDims);
+		final int[] stride = new int[n];
+		stride[0] = 1;
+		for (int d = 1; d < n; d++) {
+			stride[d] = stride[d - 1] * (int) integralDims[d - 1];
 		}
 
-		ArrayList<Double> maxDifferences = sizedLeadDiffValues(input, meanImages);
-
-		double out = 0.0;
-		for (Double i : maxDifferences) {
-			out += i;
+		// offsets and signs of the corners of the neighborhoods of each size
+		final int corners = 1 << n;
+		final int[][] offsets = new int[MAX_SCALE + 1][corners];
+		final double[] signs = new double[corners];
+		for (int c = 0; c < corners; c++) {
+			signs[c] = Integer.bitCount(c) % 2 == n % 2 ? 1 : -1;
+			for (int i = 0; i <= MAX_SCALE; i++) {
+				for (int d = 0; d < n; d++) {
+					offsets[i][c] += ((c >> d & 1) == 1 ? i + 1 : -i) * stride[d];
+				}
+			}
 		}
 
-		out /= maxDifferences.size();
+		final Map<Long, double[]> partials = new TreeMap<>();
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				// NB: The mean images of the original implementation were of
+				// UnsignedByteType, so the means are rounded like them.
+				final UnsignedByteType rounded = new UnsignedByteType();
+				final long[] pos = new long[n];
+				double sum = 0;
+				for (long k = 0, index = startIndex; k < numSteps; k++, index +=
+					stepSize)
+				{
+					IntervalIndexer.indexToPosition(index, dim, pos);
+					int base = 0;
+					for (int d = 0; d < n; d++) {
+						base += (pos[d] + MAX_SCALE) * stride[d];
+					}
+					final double center = boxSum(integral, base, offsets[0], signs);
+
+					// NB: the smallest possible value for maxDiff is 0
+					double maxDiff = 0;
+					for (int i = 1; i <= MAX_SCALE; i++) {
+						final double count = Math.pow(2 * i + 1, n) - 1;
+						final double val1 = mean(rounded, boxSum(integral, base, offsets[i],
+							signs) - center, count);
+						for (int d = 0; d < n; d++) {
+							if (pos[d] + 2 * i + 1 < dim[d]) {
+								final int shifted = base + (2 * i + 1) * stride[d];
+								final double val2 = mean(rounded, boxSum(integral, shifted,
+									offsets[i], signs) - boxSum(integral, shifted, offsets[0],
+										signs), count);
+								final double diff = Math.abs(val2 - val1);
+								maxDiff = diff >= maxDiff ? diff : maxDiff;
+							}
+						}
+					}
+					sum += maxDiff;
+				}
+				synchronized (partials) {
+					partials.put(startIndex, new double[] { sum, numSteps });
+				}
+			}
+		}, Intervals.numElements(dim));
+
+		double sum = 0;
+		double count = 0;
+		for (final double[] partial : partials.values()) {
+			sum += partial[0];
+			count += partial[1];
+		}
+		output.setReal(sum / count);
+	}
 
-		output.set((O) new DoubleType(out));
+	@Override
+	public boolean conforms() {
+		return in().numDimensions() == 2 || in().numDimensions() == 3;
 	}
 
 	/**
-	 * 
-	 * For every point calculate differences between the not overlapping
-	 * neighborhoods on opposite sides of the point in horizontal and vertical
-	 * direction. At each point take the highest difference value when
-	 * considering all directions together.
-	 * 
-	 * @param input
-	 *            Input image
-	 * @param meanImages
-	 *            Mean images
-	 * @return Array containing all leadding difference values
+	 * Computes the integral image of the input, mirrored at its borders (without
+	 * repeating the border pixels) by {@link #MAX_SCALE} pixels. The value at
+	 * position x is the sum of the extended input over all positions below x.
 	 */
-	private ArrayList<Double> sizedLeadDiffValues(final RandomAccessibleInterval<I> input,
-			final HashMap<Integer, Img<I>> meanImages) {
-
-		long[] pos = new long[input.numDimensions()];
-		long[] dim = new long[input.numDimensions()];
-		input.dimensions(dim);
-
-		ArrayList<Double> maxDifferences = new ArrayList<>();
-		Cursor<I> cursor = meanImages.get(1).cursor();
-
-		while (cursor.hasNext()) {
-
-			cursor.next();
-
-			// NB: the smallest possible value for maxDiff is 0
-			double maxDiff = 0;
-
-			for (int i = 1; i <= 5; i++) {
-
-				RandomAccess<I> ra1 = meanImages.get(i).randomAccess();
-				RandomAccess<I> ra2 = meanImages.get(i).randomAccess();
-
-				for (int d = 0; d < input.numDimensions(); d++) {
-
-					cursor.localize(pos);
-
-					if ((pos[d] + 2 * i + 1) < dim[d]) {
-
-						ra1.setPosition(pos);
-						double val1 = ra1.get().getRealDouble();
-
-						pos[d] += 2 * i + 1;
-						ra2.setPosition(pos);
-						double val2 = ra2.get().getRealDouble();
-
-						double diff = Math.abs(val2 - val1);
-						maxDiff = diff >= maxDiff ? diff : maxDiff;
+	private double[] integralImage(final RandomAccessibleInterval<I> input,
+		final long[] integralDims)
+	{
+		final int n = input.numDimensions();
+		final long size = Intervals.numElements(integralDims);
+		if (size > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Image too large: " + size +
+				" pixels in the integral image");
+		}
+		final double[] integral = new double[(int) size];
+		final int width = (int) integralDims[0];
+		final long numLines = size / width;
+
+		// fill each line with the prefix sums of the mirrored input along dim 0
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final RandomAccess<I> ra = input.randomAccess();
+				final long[] line = new long[n];
+				for (long k = 0, l = startIndex; k < numSteps; k++, l += stepSize) {
+					IntervalIndexer.indexToPosition(l * width, integralDims, line);
+					boolean border = false;
+					for (int d = 1; d < n; d++) {
+						if (line[d] == 0) border = true;
+						else ra.setPosition(input.min(d) + mirror(line[d] - 1 -
+							MAX_SCALE, input.dimension(d)), d);
+					}
+					if (border) continue;
+					final int offset = (int) (l * width);
+					for (int x = 1; x < width; x++) {
+						ra.setPosition(input.min(0) + mirror(x - 1 - MAX_SCALE, input
+							.dimension(0)), 0);
+						integral[offset + x] = integral[offset + x - 1] + ra.get()
+							.getRealDouble();
 					}
 				}
 			}
+		}, numLines);
+
+		// accumulate along the other dimensions, in blocks of consecutive values
+		final int block = 4096;
+		int stride = width;
+		for (int d = 1; d < n; d++) {
+			final int s = stride;
+			final int len = (int) integralDims[d];
+			final long outer = size / ((long) s * len);
+			final int blocks = (s + block - 1) / block;
+			ops().run(ChunkerOp.class, new Chunk() {
+
+				@Override
+				public void execute(final long startIndex, final long stepSize,
+					final long numSteps)
+				{
+					for (long k = 0, c = startIndex; k < numSteps; k++, c += stepSize) {
+						final int o = (int) (c / blocks);
+						final int from = (int) (c % blocks) * block;
+						final int to = Math.min(s, from + block);
+						for (int j = 1; j < len; j++) {
+							final int row = (o * len + j) * s;
+							for (int x = from; x < to; x++) {
+								integral[row + x] += integral[row - s + x];
+							}
+						}
+					}
+				}
+			}, outer * blocks);
+			stride *= len;
+		}
+		return integral;
+	}
 
-			maxDifferences.add(maxDiff);
+	/** Sum of the box with the given corner offsets around the base index. */
+	private static double boxSum(final double[] integral, final int base,
+		final int[] offsets, final double[] signs)
+	{
+		double sum = 0;
+		for (int c = 0; c < offsets.length; c++) {
+			sum += signs[c] * integral[base + offsets[c]];
 		}
-		return maxDifferences;
+		return sum;
+	}
+
+	private static double mean(final UnsignedByteType rounded, final double sum,
+		final double count)
+	{
+		rounded.setReal(sum / count);
+		return rounded.getRealDouble();
 	}
 
 	/**
-	 * Apply mean filter with given size of reactangle shape
-	 * 
-	 * @param input
-	 *            Input image
-	 * @param i
-	 *            Size of rectangle shape
-	 * @return Filered mean image
+	 * Mirrors the position x into [0, size), without repeating the border
+	 * pixels.
 	 */
-	@SuppressWarnings("unchecked")
-	private Img<I> mean(final RandomAccessibleInterval<I> input, final int i) {
-
-		long[] dims = new long[input.numDimensions()];
-		input.dimensions(dims);
-
-		final byte[] array = new byte[(int) Intervals.numElements(new FinalInterval(dims))];
-		Img<I> meanImg = (Img<I>) ArrayImgs.unsignedBytes(array, dims);
-
-		OutOfBoundsMirrorFactory<ByteType, Img<ByteType>> oobFactory = new OutOfBoundsMirrorFactory<>(
-				Boundary.SINGLE);
-
-		ops().run(MeanFilterOp.class, meanImg, input, new RectangleShape(i, true), oobFactory);
-
-		return meanImg;
+	private static long mirror(final long x, final long size) {
+		if (size == 1) return 0;
+		final long period = 2 * size - 2;
+		long p = x % period;
+		if (p < 0) p += period;
+		return p < size ? p : period - p;
 	}
 
 }
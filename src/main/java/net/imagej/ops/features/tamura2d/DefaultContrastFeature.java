@@ -29,15 +29,19 @@
 package net.imagej.ops.features.tamura2d;
 
 import net.imagej.ops.Ops;
-import net.imagej.ops.special.chain.RTs;
+import net.imagej.ops.special.function.Functions;
 import net.imagej.ops.special.function.UnaryFunctionOp;
+import net.imagej.ops.stats.SummaryStatistics;
+import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.type.numeric.RealType;
+import net.imglib2.view.Views;
 
 import org.scijava.plugin.Plugin;
 
 /**
- * Default implementation of tamura feature contrast.
+ * Default implementation of tamura feature contrast. The required moments are
+ * computed in a single, parallel {@code stats.summary} pass.
  * 
  * @author Andreas Graumann (University of Konstanz)
  */
@@ -45,24 +49,25 @@ import org.scijava.plugin.Plugin;
 public class DefaultContrastFeature<I extends RealType<I>, O extends RealType<O>>
 		extends AbstractTamuraFeature<I, O> implements Ops.Tamura.Contrast {
 
-	private UnaryFunctionOp<RandomAccessibleInterval<I>, O> m4Op;
-	private UnaryFunctionOp<RandomAccessibleInterval<I>, O> varOp;
-	private UnaryFunctionOp<RandomAccessibleInterval<I>, O> stdOp;
+	private UnaryFunctionOp<IterableInterval<I>, SummaryStatistics> summaryOp;
 
+	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@Override
 	public void initialize() {
-		m4Op = RTs.function(ops(), Ops.Stats.Moment4AboutMean.class, in());
-		varOp = RTs.function(ops(), Ops.Stats.Variance.class, in());
-		stdOp = RTs.function(ops(), Ops.Stats.StdDev.class, in());
+		summaryOp = (UnaryFunctionOp) Functions.unary(ops(),
+			Ops.Stats.Summary.class, SummaryStatistics.class,
+			in() == null ? IterableInterval.class : Views.iterable(in()), 4);
 	}
 
 	@Override
 	public void compute(final RandomAccessibleInterval<I> input, final O output) {
 
+		final SummaryStatistics stats = summaryOp.calculate(Views.iterable(input));
+
 		// Get fourth moment about mean
-		double m4 = m4Op.calculate(input).getRealDouble();
-		double var = varOp.calculate(input).getRealDouble();
-		double std = stdOp.calculate(input).getRealDouble();
+		double m4 = stats.getMoment4AboutMean();
+		double var = stats.getVariance();
+		double std = stats.getStdDev();
 
 		double l4 = m4 / (var * var);
 
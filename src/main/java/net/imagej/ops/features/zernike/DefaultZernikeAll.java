@@ -0,0 +1,69 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.features.zernike;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.features.zernike.helper.ZernikeBasis;
+import net.imagej.ops.features.zernike.helper.ZernikeMoments;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imglib2.IterableInterval;
+import net.imglib2.type.numeric.RealType;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Computes all zernike moments up to a maximum order in a single pass over
+ * the input, using the {@link ZernikeBasis} of the input size.
+ * 
+ * @param <T> input type
+ */
+@Plugin(type = Ops.Zernike.All.class, label = "Zernike: All")
+public class DefaultZernikeAll<T extends RealType<T>> extends
+	AbstractUnaryFunctionOp<IterableInterval<T>, ZernikeMoments> implements
+	Ops.Zernike.All, Contingent
+{
+
+	@Parameter
+	private int maxOrder;
+
+	@Override
+	public ZernikeMoments calculate(final IterableInterval<T> input) {
+		return ZernikeBasis.get(input.dimension(0), input.dimension(1), maxOrder)
+			.calculate(input);
+	}
+
+	@Override
+	public boolean conforms() {
+		return in().numDimensions() == 2 && maxOrder >= 0;
+	}
+
+}
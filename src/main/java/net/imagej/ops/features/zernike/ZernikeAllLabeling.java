@@ -0,0 +1,105 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.features.zernike;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.features.zernike.helper.ZernikeBasis;
+import net.imagej.ops.features.zernike.helper.ZernikeMoments;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.roi.labeling.ImgLabeling;
+import net.imglib2.roi.labeling.LabelRegion;
+import net.imglib2.roi.labeling.LabelRegions;
+import net.imglib2.type.numeric.IntegerType;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Computes all zernike moments up to a maximum order of each region of a
+ * labeling, processing the regions in parallel.
+ * 
+ * @param <L> label type
+ * @param <I> index type of the labeling
+ */
+@Plugin(type = Ops.Zernike.All.class, label = "Zernike: All")
+public class ZernikeAllLabeling<L, I extends IntegerType<I>> extends
+	AbstractUnaryFunctionOp<ImgLabeling<L, I>, Map<L, ZernikeMoments>>
+	implements Ops.Zernike.All, Contingent, Parallel
+{
+
+	@Parameter
+	private int maxOrder;
+
+	@Override
+	public Map<L, ZernikeMoments> calculate(final ImgLabeling<L, I> input) {
+		// NB: Collect the regions first, as LabelRegions creates them lazily.
+		final LabelRegions<L> regions = new LabelRegions<>(input);
+		final List<LabelRegion<L>> list = new ArrayList<>();
+		for (final LabelRegion<L> region : regions) {
+			list.add(region);
+		}
+
+		final ZernikeMoments[] moments = new ZernikeMoments[list.size()];
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				for (long i = startIndex, j = 0; j < numSteps; i += stepSize, j++) {
+					final LabelRegion<L> region = list.get((int) i);
+					moments[(int) i] = ZernikeBasis.get(region.dimension(0), region
+						.dimension(1), maxOrder).calculateMask(region);
+				}
+			}
+		}, list.size());
+
+		final Map<L, ZernikeMoments> result = new HashMap<>();
+		for (int i = 0; i < moments.length; i++) {
+			result.put(list.get(i).getLabel(), moments[i]);
+		}
+		return result;
+	}
+
+	@Override
+	public boolean conforms() {
+		return in().numDimensions() == 2 && maxOrder >= 0;
+	}
+
+}
@@ -28,10 +28,15 @@
  */
 package net.imagej.ops.features.zernike;
 
+import java.util.Map;
+
 import net.imagej.ops.AbstractNamespace;
 import net.imagej.ops.Namespace;
 import net.imagej.ops.OpMethod;
+import net.imagej.ops.features.zernike.helper.ZernikeMoments;
 import net.imglib2.IterableInterval;
+import net.imglib2.roi.labeling.ImgLabeling;
+import net.imglib2.type.numeric.IntegerType;
 import net.imglib2.type.numeric.RealType;
 
 import org.scijava.plugin.Plugin;
@@ -50,6 +55,22 @@ public class ZernikeNamespace extends AbstractNamespace {
 	public String getName() {
 		return "zernike";
 	}
+
+	@OpMethod(op = net.imagej.ops.features.zernike.DefaultZernikeAll.class)
+	public <T extends RealType<T>> ZernikeMoments all(final IterableInterval<T> in,
+			final int maxOrder) {
+		final ZernikeMoments result = (ZernikeMoments) ops().run(
+				net.imagej.ops.Ops.Zernike.All.class, in, maxOrder);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.features.zernike.ZernikeAllLabeling.class)
+	public <L, I extends IntegerType<I>> Map<L, ZernikeMoments> all(
+			final ImgLabeling<L, I> in, final int maxOrder) {
+		final Map<L, ZernikeMoments> result = (Map<L, ZernikeMoments>) ops().run(
+				net.imagej.ops.Ops.Zernike.All.class, in, maxOrder);
+		return result;
+	}
 	
 	@OpMethod(op = net.imagej.ops.features.zernike.DefaultPhaseFeature.class)
 	public <T extends RealType<T>, O extends RealType<O>> O phase(final IterableInterval<T> in, final int order,
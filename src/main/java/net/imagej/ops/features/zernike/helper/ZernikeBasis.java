@@ -0,0 +1,294 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.features.zernike.helper;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.type.numeric.RealType;
+
+/**
+ * Precomputed zernike basis functions of all moments up to a maximum order,
+ * sampled at the pixels of a region of a given width and height.
+ * <p>
+ * The radial polynomials are evaluated with the recurrence
+ * R<sub>n</sub><sup>m</sup>(r) = r (R<sub>n-1</sub><sup>|m-1|</sup>(r) +
+ * R<sub>n-1</sub><sup>m+1</sup>(r)) - R<sub>n-2</sub><sup>m</sup>(r), and the
+ * angular terms cos(m&theta;) and sin(m&theta;) by repeated complex
+ * multiplication, so that no trigonometric function is evaluated.
+ * </p>
+ * <p>
+ * As the tables only depend on the size of the region, tables of sizes which
+ * are requested repeatedly are cached and shared between regions of equal
+ * size, up to a total of {@value #MAX_CACHED_VALUES} values. The first request
+ * of a size is not cached, as most regions of a labeling have a size of their
+ * own.
+ * </p>
+ */
+public final class ZernikeBasis {
+
+	/** Maximum total number of values of all cached tables. */
+	private static final long MAX_CACHED_VALUES = 1 << 23;
+
+	/** Maximum number of remembered sizes, see {@link #get}. */
+	private static final int MAX_SEEN = 1 << 12;
+
+	private static final Map<String, ZernikeBasis> CACHE =
+		new ConcurrentHashMap<>();
+
+	private static final AtomicLong CACHED_VALUES = new AtomicLong();
+
+	/** Keys of the tables which have been requested before. */
+	private static final Map<String, Boolean> SEEN = new ConcurrentHashMap<>();
+
+	private final int width;
+	private final int height;
+	private final int maxOrder;
+	private final int numMoments;
+
+	/** Number of pixels within the unit disk, for normalization. */
+	private final long count;
+
+	/**
+	 * Offset of the values of each pixel in {@link #basis}, or -1 for pixels
+	 * outside of the unit disk.
+	 */
+	private final int[] offsets;
+
+	/**
+	 * Real and imaginary parts of the basis functions of all pixels within the
+	 * unit disk, one pixel after the other.
+	 */
+	private final double[] basis;
+
+	private ZernikeBasis(final int width, final int height, final int maxOrder) {
+		this.width = width;
+		this.height = height;
+		this.maxOrder = maxOrder;
+		numMoments = ZernikeMoments.count(maxOrder);
+
+		final double width2 = (width - 1) / 2.0;
+		final double height2 = (height - 1) / 2.0;
+		final double radius = Math.sqrt(width2 * width2 + height2 * height2);
+		count = getNumberOfPixelsInUnitDisk(radius);
+
+		offsets = new int[width * height];
+		int inside = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				final double r = distance(x - width2, y - height2, radius);
+				offsets[y * width + x] = r <= 1 ? 2 * numMoments * inside++ : -1;
+			}
+		}
+
+		basis = new double[2 * numMoments * inside];
+		final double[][] radial = new double[maxOrder + 3][maxOrder + 3];
+		final double[] cos = new double[maxOrder + 1];
+		final double[] sin = new double[maxOrder + 1];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int offset = offsets[y * width + x];
+				if (offset < 0) continue;
+
+				final double xm = radius == 0 ? 0 : (x - width2) / radius;
+				final double ym = radius == 0 ? 0 : (y - height2) / radius;
+				final double r = Math.sqrt(xm * xm + ym * ym);
+				radialPolynomials(r, radial);
+
+				// NB: theta = atan2(xm, ym), as in ZernikeComputer.
+				cos[0] = 1;
+				sin[0] = 0;
+				final double c = r == 0 ? 1 : ym / r;
+				final double s = r == 0 ? 0 : xm / r;
+				for (int m = 1; m <= maxOrder; m++) {
+					cos[m] = cos[m - 1] * c - sin[m - 1] * s;
+					sin[m] = sin[m - 1] * c + cos[m - 1] * s;
+				}
+
+				for (int n = 0; n <= maxOrder; n++) {
+					for (int m = n % 2; m <= n; m += 2) {
+						basis[offset++] = radial[n][m] * cos[m];
+						basis[offset++] = -radial[n][m] * sin[m];
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the basis of the given maximum order for regions of the given size,
+	 * from the cache if possible.
+	 */
+	public static ZernikeBasis get(final long width, final long height,
+		final int maxOrder)
+	{
+		final long values = width * height * 2 * ZernikeMoments.count(maxOrder);
+		if (values > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Region too large: " + width + "x" +
+				height);
+		}
+		final String key = width + "x" + height + ":" + maxOrder;
+		final ZernikeBasis cached = CACHE.get(key);
+		if (cached != null) return cached;
+
+		if (SEEN.putIfAbsent(key, Boolean.TRUE) == null ||
+			CACHED_VALUES.get() + values > MAX_CACHED_VALUES)
+		{
+			// NB: Keep one-off sizes from displacing the reused ones.
+			if (SEEN.size() > MAX_SEEN) SEEN.clear();
+			return new ZernikeBasis((int) width, (int) height, maxOrder);
+		}
+		// NB: Only blocks concurrent requests of the same (or a colliding) key.
+		return CACHE.computeIfAbsent(key, k -> {
+			CACHED_VALUES.addAndGet(values);
+			return new ZernikeBasis((int) width, (int) height, maxOrder);
+		});
+	}
+
+	/**
+	 * Computes all moments up to the maximum order of the given region, whose
+	 * size must match this basis. Like {@link ZernikeComputer}, each pixel of
+	 * the unit disk with a non-zero value contributes with weight 1.
+	 */
+	public ZernikeMoments calculate(
+		final IterableInterval<? extends RealType<?>> ii)
+	{
+		checkSize(ii);
+		final ZernikeMoments moments = new ZernikeMoments(maxOrder);
+		final Cursor<? extends RealType<?>> cur = ii.localizingCursor();
+		while (cur.hasNext()) {
+			cur.fwd();
+			if (cur.get().getRealDouble() == 0.0) continue;
+			add(moments, cur, ii);
+		}
+		return normalize(moments);
+	}
+
+	/**
+	 * Computes all moments up to the maximum order of the given mask, e.g. a
+	 * {@link net.imglib2.roi.labeling.LabelRegion}, whose size must match this
+	 * basis. Only the positions of the mask are used: each of its pixels within
+	 * the unit disk contributes with weight 1.
+	 */
+	public ZernikeMoments calculateMask(final IterableInterval<?> mask) {
+		checkSize(mask);
+		final ZernikeMoments moments = new ZernikeMoments(maxOrder);
+		final Cursor<?> cur = mask.localizingCursor();
+		while (cur.hasNext()) {
+			cur.fwd();
+			add(moments, cur, mask);
+		}
+		return normalize(moments);
+	}
+
+	// -- Helper methods --
+
+	private void checkSize(final IterableInterval<?> ii) {
+		if (ii.dimension(0) != width || ii.dimension(1) != height) {
+			throw new IllegalArgumentException("Basis of size " + width + "x" +
+				height + " does not match the region");
+		}
+	}
+
+	/** Adds the basis functions at the position of the cursor, if any. */
+	private void add(final ZernikeMoments moments, final Cursor<?> cur,
+		final IterableInterval<?> ii)
+	{
+		final int x = (int) (cur.getLongPosition(0) - ii.min(0));
+		final int y = (int) (cur.getLongPosition(1) - ii.min(1));
+		int offset = offsets[y * width + x];
+		if (offset < 0) return;
+		final double[] real = moments.getReal();
+		final double[] imag = moments.getImaginary();
+		for (int i = 0; i < numMoments; i++) {
+			real[i] += basis[offset++];
+			imag[i] += basis[offset++];
+		}
+	}
+
+	private ZernikeMoments normalize(final ZernikeMoments moments) {
+		final double[] real = moments.getReal();
+		final double[] imag = moments.getImaginary();
+		for (int n = 0, i = 0; n <= maxOrder; n++) {
+			final double factor = (double) (n + 1) / count;
+			for (int m = n % 2; m <= n; m += 2, i++) {
+				real[i] *= factor;
+				imag[i] *= factor;
+			}
+		}
+		return moments;
+	}
+
+	/** Distance of a pixel to the center, relative to the given radius. */
+	private static double distance(final double dx, final double dy,
+		final double radius)
+	{
+		if (radius == 0) return 0;
+		final double xm = dx / radius;
+		final double ym = dy / radius;
+		return Math.sqrt(xm * xm + ym * ym);
+	}
+
+	/**
+	 * Evaluates all radial polynomials R<sub>n</sub><sup>m</sup> up to the
+	 * maximum order at r, leaving zero for invalid combinations of n and m.
+	 */
+	private void radialPolynomials(final double r, final double[][] radial) {
+		for (final double[] row : radial) {
+			Arrays.fill(row, 0);
+		}
+		radial[0][0] = 1;
+		for (int n = 1; n <= maxOrder; n++) {
+			for (int m = n % 2; m <= n; m += 2) {
+				final double previous = n >= 2 ? radial[n - 2][m] : 0;
+				radial[n][m] = r * (radial[n - 1][Math.abs(m - 1)] +
+					radial[n - 1][m + 1]) - previous;
+			}
+		}
+	}
+
+	/**
+	 * Computes the number of whole pixels within a disk with radius r, see
+	 * {@link ZernikeComputer}.
+	 */
+	private static long getNumberOfPixelsInUnitDisk(final double r) {
+		long tmp = 0;
+		for (int i = 1; i <= Math.floor(r); i++) {
+			tmp += Math.floor(Math.sqrt(r * r - i * i));
+		}
+
+		return (long) (1 + 4 * Math.floor(r)) + 4 * tmp;
+	}
+
+}
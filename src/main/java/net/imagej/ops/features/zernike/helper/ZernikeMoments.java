@@ -0,0 +1,120 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.features.zernike.helper;
+
+/**
+ * All zernike moments of an image up to a maximum order, i.e. the moments of
+ * each order n and non-negative repetition m with m &lt;= n and n - m even.
+ */
+public class ZernikeMoments {
+
+	private final int maxOrder;
+	private final double[] real;
+	private final double[] imag;
+
+	public ZernikeMoments(final int maxOrder) {
+		this.maxOrder = maxOrder;
+		real = new double[count(maxOrder)];
+		imag = new double[count(maxOrder)];
+	}
+
+	/**
+	 * @return Maximum order n of the moments
+	 */
+	public int getMaxOrder() {
+		return maxOrder;
+	}
+
+	/**
+	 * @return Real part of the moment of order n and repetition m
+	 */
+	public double getReal(final int n, final int m) {
+		return real[index(n, m)];
+	}
+
+	/**
+	 * @return Imaginary part of the moment of order n and repetition m
+	 */
+	public double getImaginary(final int n, final int m) {
+		return imag[index(n, m)];
+	}
+
+	/**
+	 * @return Magnitude of the moment of order n and repetition m
+	 */
+	public double getMagnitude(final int n, final int m) {
+		final int i = index(n, m);
+		return Math.sqrt(real[i] * real[i] + imag[i] * imag[i]);
+	}
+
+	/**
+	 * @return Phase of the moment of order n and repetition m * 180/PI
+	 */
+	public double getPhase(final int n, final int m) {
+		final int i = index(n, m);
+		return Math.atan2(imag[i], real[i]) * 180 / Math.PI;
+	}
+
+	/**
+	 * Real parts of all moments, ordered by order n and then repetition m.
+	 */
+	public double[] getReal() {
+		return real;
+	}
+
+	/**
+	 * Imaginary parts of all moments, ordered by order n and then repetition m.
+	 */
+	public double[] getImaginary() {
+		return imag;
+	}
+
+	/**
+	 * Index of the moment of order n and repetition m in {@link #getReal()} and
+	 * {@link #getImaginary()}.
+	 */
+	public int index(final int n, final int m) {
+		if (n < 0 || n > maxOrder || m < 0 || m > n || (n - m) % 2 != 0) {
+			throw new IllegalArgumentException("No zernike moment of order " + n +
+				" and repetition " + m + " up to order " + maxOrder);
+		}
+		return count(n - 1) + m / 2;
+	}
+
+	/**
+	 * Number of moments up to the given order.
+	 */
+	public static int count(final int maxOrder) {
+		// NB: Order n has n / 2 + 1 repetitions.
+		final int h = (maxOrder + 1) / 2;
+		return h * (h + 1) + ((maxOrder + 1) % 2 == 1 ? h + 1 : 0);
+	}
+
+}
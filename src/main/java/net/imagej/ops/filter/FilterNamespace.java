@@ -144,7 +144,8 @@ public class FilterNamespace extends AbstractNamespace {
 	 * @param radius
 	 * @return
 	 */
-	@OpMethod(op = net.imagej.ops.filter.bilateral.DefaultBilateral.class)
+	@OpMethod(ops = { net.imagej.ops.filter.bilateral.ParallelBilateral.class,
+		net.imagej.ops.filter.bilateral.DefaultBilateral.class })
 	public <I extends RealType<I>, O extends RealType<O>>
 		RandomAccessibleInterval<O> bilateral(final RandomAccessibleInterval<O> out,
 			final RandomAccessibleInterval<I> in, final double sigmaR,
@@ -1117,7 +1118,8 @@ public class FilterNamespace extends AbstractNamespace {
 	}
 
 	/** Executes the "median" filter operation on the given arguments. */
-	@OpMethod(op = net.imagej.ops.filter.median.DefaultMedianFilter.class)
+	@OpMethod(ops = { net.imagej.ops.filter.median.HistogramMedianFilter.class,
+		net.imagej.ops.filter.median.DefaultMedianFilter.class })
 	public <T extends RealType<T>> IterableInterval<T> median(
 		final IterableInterval<T> out, final RandomAccessibleInterval<T> in,
 		final Shape shape)
@@ -1129,7 +1131,8 @@ public class FilterNamespace extends AbstractNamespace {
 	}
 
 	/** Executes the "median" filter operation on the given arguments. */
-	@OpMethod(op = net.imagej.ops.filter.median.DefaultMedianFilter.class)
+	@OpMethod(ops = { net.imagej.ops.filter.median.HistogramMedianFilter.class,
+		net.imagej.ops.filter.median.DefaultMedianFilter.class })
 	public <T extends RealType<T>> IterableInterval<T> median(
 		final IterableInterval<T> out, final RandomAccessibleInterval<T> in,
 		final Shape shape, final OutOfBoundsFactory<T, T> outOfBoundsFactory)
@@ -0,0 +1,282 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.filter.bilateral;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Intervals;
+import net.imglib2.util.Util;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Performs a bilateral filter on an image of up to {@value #MAX_DIMS}
+ * dimensions, filtering across all dimensions.
+ * <p>
+ * Unlike {@link DefaultBilateral}, the spatial weights are precomputed once as
+ * a kernel, the range weights of integer types are looked up in a table, and
+ * the lines of the image are filtered in parallel. As in
+ * {@link DefaultBilateral}, the neighborhood is clipped at the image borders.
+ * The constant factors of the Gaussians cancel out and are omitted.
+ * </p>
+ *
+ * @param <I>
+ * @param <O>
+ */
+@Plugin(type = Ops.Filter.Bilateral.class, priority = Priority.HIGH)
+public class ParallelBilateral<I extends RealType<I>, O extends RealType<O>>
+	extends
+	AbstractUnaryComputerOp<RandomAccessibleInterval<I>, RandomAccessibleInterval<O>>
+	implements Ops.Filter.Bilateral, Parallel, Contingent
+{
+
+	public final static int MAX_DIMS = 3;
+
+	/** Maximum size of the table of range weights. */
+	private final static int MAX_LUT_SIZE = 1 << 16;
+
+	/**
+	 * refers to the range smoothing parameter; the greater the sigma, the greater
+	 * the effect of intensity differences.
+	 */
+	@Parameter
+	private double sigmaR;
+
+	/**
+	 * refers to the spatial smoothing parameter; the greater the sigma, the
+	 * smoother the image.
+	 */
+	@Parameter
+	private double sigmaS;
+
+	/**
+	 * refers to the square that is considered when doing the filter on each
+	 * individual picture.
+	 */
+	@Parameter
+	private int radius;
+
+	@Override
+	public void compute(final RandomAccessibleInterval<I> input,
+		final RandomAccessibleInterval<O> output)
+	{
+		final int n = input.numDimensions();
+		final double[] spatial = spatialKernel(n);
+		final double[] range = rangeTable(Util.getTypeFromInterval(input));
+
+		final long[] min = Intervals.minAsLongArray(input);
+		final long[] max = Intervals.maxAsLongArray(input);
+		long lines = 1;
+		for (int d = 1; d < n; d++) {
+			lines *= input.dimension(d);
+		}
+
+		ops().thread().chunker(new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final LineFilter filter = new LineFilter(input.randomAccess(), output
+					.randomAccess(), input.randomAccess(), min, max, spatial, range);
+				final long[] position = new long[n];
+				for (long l = 0; l < numSteps; l++) {
+					// compute the position of the line from its index
+					long index = startIndex + l * stepSize;
+					position[0] = min[0];
+					for (int d = 1; d < n; d++) {
+						final long size = max[d] - min[d] + 1;
+						position[d] = min[d] + index % size;
+						index /= size;
+					}
+					filter.filterLine(position);
+				}
+			}
+		}, lines);
+	}
+
+	@Override
+	public boolean conforms() {
+		return Intervals.equalDimensions(in(), out()) && in()
+			.numDimensions() <= MAX_DIMS;
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Computes the spatial weight of each offset of the (2 * radius + 1)^n
+	 * neighborhood, with dimension 0 varying fastest.
+	 */
+	private double[] spatialKernel(final int n) {
+		final int width = 2 * radius + 1;
+		int size = 1;
+		for (int d = 0; d < n; d++) {
+			size *= width;
+		}
+		final double[] kernel = new double[size];
+		final double scale = -0.5 / (sigmaS * sigmaS);
+		for (int i = 0; i < size; i++) {
+			double distance2 = 0;
+			int index = i;
+			for (int d = 0; d < n; d++) {
+				final int offset = index % width - radius;
+				distance2 += offset * offset;
+				index /= width;
+			}
+			kernel[i] = Math.exp(scale * distance2);
+		}
+		return kernel;
+	}
+
+	/**
+	 * Computes the range weight of each possible intensity difference, if the
+	 * input is of an integer type with few enough values; returns null
+	 * otherwise.
+	 */
+	private double[] rangeTable(final I type) {
+		if (!(type instanceof IntegerType)) return null;
+		final double values = type.getMaxValue() - type.getMinValue() + 1;
+		if (values > MAX_LUT_SIZE) return null;
+		final double[] table = new double[(int) values];
+		final double scale = -0.5 / (sigmaR * sigmaR);
+		for (int diff = 0; diff < table.length; diff++) {
+			table[diff] = Math.exp(scale * diff * diff);
+		}
+		return table;
+	}
+
+	// -- Helper classes --
+
+	/** Filters lines along dimension 0, reusing its accessors. */
+	private class LineFilter {
+
+		private final RandomAccess<I> center;
+		private final RandomAccess<O> out;
+		private final RandomAccess<I> neighbor;
+		private final long[] min;
+		private final long[] max;
+		private final double[] spatial;
+		private final double[] range;
+		private final double rangeScale;
+
+		private final int n;
+		private final int[] strides;
+		private final long[] lo;
+		private final long[] hi;
+		private final long[] q;
+
+		private LineFilter(final RandomAccess<I> center, final RandomAccess<O> out,
+			final RandomAccess<I> neighbor, final long[] min, final long[] max,
+			final double[] spatial, final double[] range)
+		{
+			this.center = center;
+			this.out = out;
+			this.neighbor = neighbor;
+			this.min = min;
+			this.max = max;
+			this.spatial = spatial;
+			this.range = range;
+			rangeScale = -0.5 / (sigmaR * sigmaR);
+
+			n = min.length;
+			strides = new int[n];
+			int stride = 1;
+			for (int d = 0; d < n; d++) {
+				strides[d] = stride;
+				stride *= 2 * radius + 1;
+			}
+			lo = new long[n];
+			hi = new long[n];
+			q = new long[n];
+		}
+
+		private void filterLine(final long[] p) {
+			center.setPosition(p);
+			out.setPosition(p);
+			for (int d = 1; d < n; d++) {
+				lo[d] = Math.max(min[d], p[d] - radius);
+				hi[d] = Math.min(max[d], p[d] + radius);
+			}
+			for (long x = min[0]; x <= max[0]; x++) {
+				center.setPosition(x, 0);
+				out.setPosition(x, 0);
+				lo[0] = Math.max(min[0], x - radius);
+				hi[0] = Math.min(max[0], x + radius);
+				out.get().setReal(filterPixel(x, p, center.get().getRealDouble()));
+			}
+		}
+
+		/** Computes the filtered value of the pixel at x along the line p. */
+		private double filterPixel(final long x, final long[] p, final double c) {
+			double v = 0, w = 0;
+			for (int d = 0; d < n; d++) {
+				q[d] = lo[d];
+			}
+			while (true) {
+				// filter the neighbors along dimension 0
+				int k = (int) (lo[0] - x + radius);
+				for (int d = 1; d < n; d++) {
+					k += (int) (q[d] - p[d] + radius) * strides[d];
+				}
+				neighbor.setPosition(q);
+				for (long x0 = lo[0]; x0 <= hi[0]; x0++) {
+					final double value = neighbor.get().getRealDouble();
+					final double diff = Math.abs(value - c);
+					final double weight = spatial[k++] * (range != null
+						? range[(int) diff] : Math.exp(rangeScale * diff * diff));
+					v += weight * value;
+					w += weight;
+					neighbor.fwd(0);
+				}
+
+				// move to the next row of the neighborhood
+				int d = 1;
+				for (; d < n; d++) {
+					if (q[d] < hi[d]) {
+						q[d]++;
+						break;
+					}
+					q[d] = lo[d];
+				}
+				if (d == n) return v / w;
+			}
+		}
+	}
+
+}
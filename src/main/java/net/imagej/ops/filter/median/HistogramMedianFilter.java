@@ -0,0 +1,251 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.filter.median;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessible;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.algorithm.neighborhood.RectangleShape;
+import net.imglib2.algorithm.neighborhood.Shape;
+import net.imglib2.outofbounds.OutOfBoundsBorderFactory;
+import net.imglib2.outofbounds.OutOfBoundsFactory;
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Intervals;
+import net.imglib2.util.Util;
+import net.imglib2.view.Views;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Sliding-window implementation of {@link MedianFilterOp} for integer types
+ * with at most {@value #MAX_BINS} values and rectangular neighborhoods.
+ * <p>
+ * The image is processed line by line along dimension 0. Each line keeps a
+ * histogram of its window, which is updated by removing the leaving and adding
+ * the entering slab of the window when moving to the next pixel, while the
+ * median bin is tracked incrementally (Huang et al., 1979). The lines are
+ * processed in parallel. The result is equal to the one of
+ * {@link DefaultMedianFilter}.
+ * </p>
+ * 
+ * @param <I> input type
+ * @param <O> output type
+ */
+@Plugin(type = Ops.Filter.Median.class)
+public class HistogramMedianFilter<I extends IntegerType<I>, O extends RealType<O>>
+	extends
+	AbstractUnaryComputerOp<RandomAccessibleInterval<I>, IterableInterval<O>>
+	implements MedianFilterOp<I, O>, Contingent
+{
+
+	/** Maximum number of histogram bins, i.e. of distinct input values. */
+	public static final int MAX_BINS = 1 << 16;
+
+	@Parameter
+	private Shape shape;
+
+	@Parameter(required = false)
+	private OutOfBoundsFactory<I, RandomAccessibleInterval<I>> outOfBoundsFactory =
+		new OutOfBoundsBorderFactory<>();
+
+	@Override
+	public void compute(final RandomAccessibleInterval<I> input,
+		final IterableInterval<O> output)
+	{
+		final int span = ((RectangleShape) shape).getSpan();
+		final int n = input.numDimensions();
+		final I type = Util.getTypeFromInterval(input);
+		final long offset = (long) type.getMinValue();
+		final int bins = (int) ((long) type.getMaxValue() - offset + 1);
+
+		final long[] min = Intervals.minAsLongArray(input);
+		final long[] max = Intervals.maxAsLongArray(input);
+		long lines = 1;
+		for (int d = 1; d < n; d++) {
+			lines *= input.dimension(d);
+		}
+
+		final RandomAccessible<I> extended = Views.extend(input,
+			outOfBoundsFactory);
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<O> out =
+			(RandomAccessibleInterval<O>) output;
+
+		ops().thread().chunker(new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final LineFilter filter = new LineFilter(extended.randomAccess(), out
+					.randomAccess(), span, offset, bins);
+				final long[] position = new long[n];
+				for (long l = 0; l < numSteps; l++) {
+					// compute the position of the line from its index
+					long index = startIndex + l * stepSize;
+					position[0] = min[0];
+					for (int d = 1; d < n; d++) {
+						final long size = max[d] - min[d] + 1;
+						position[d] = min[d] + index % size;
+						index /= size;
+					}
+					filter.filterLine(position, max[0]);
+				}
+			}
+		}, lines);
+	}
+
+	@Override
+	public boolean conforms() {
+		if (!(shape instanceof RectangleShape)) return false;
+		if (((RectangleShape) shape).isSkippingCenter()) return false;
+		if (in() == null || !(out() instanceof RandomAccessibleInterval))
+			return false;
+		final RandomAccessibleInterval<?> out = (RandomAccessibleInterval<?>) out();
+		if (in().numDimensions() != out.numDimensions()) return false;
+		for (int d = 0; d < in().numDimensions(); d++) {
+			if (in().min(d) != out.min(d) || in().max(d) != out.max(d)) return false;
+		}
+		if (Intervals.numElements(in()) == 0) return false;
+		final Object type = Util.getTypeFromInterval(in());
+		if (!(type instanceof IntegerType)) return false;
+		final IntegerType<?> t = (IntegerType<?>) type;
+		return t.getMaxValue() - t.getMinValue() + 1 <= MAX_BINS;
+	}
+
+	// -- Helper classes --
+
+	/** Filters lines with a sliding window histogram. */
+	private class LineFilter {
+
+		private final RandomAccess<I> in;
+		private final RandomAccess<O> out;
+		private final int span;
+		private final long offset;
+
+		private final int[] histogram;
+
+		/** Rank of the median in the sorted window, as in DefaultQuantile. */
+		private final long rank;
+
+		/** Current median bin. */
+		private int median;
+
+		/** Number of window values in bins below {@link #median}. */
+		private long below;
+
+		private LineFilter(final RandomAccess<I> in, final RandomAccess<O> out,
+			final int span, final long offset, final int bins)
+		{
+			this.in = in;
+			this.out = out;
+			this.span = span;
+			this.offset = offset;
+			histogram = new int[bins];
+			long windowSize = 1;
+			for (int d = 0; d < in.numDimensions(); d++) {
+				windowSize *= 2 * span + 1;
+			}
+			rank = (long) (windowSize * 0.5);
+		}
+
+		/**
+		 * Filters the line starting at the given position, up to the given
+		 * position along dimension 0. Leaves the histogram empty.
+		 */
+		private void filterLine(final long[] start, final long max0) {
+			final long min0 = start[0];
+			for (long x = min0 - span; x <= min0 + span; x++) {
+				addSlab(start, x, 1);
+			}
+			out.setPosition(start);
+			for (long x = min0; x <= max0; x++) {
+				if (x > min0) {
+					addSlab(start, x - span - 1, -1);
+					addSlab(start, x + span, 1);
+				}
+				updateMedian();
+				out.setPosition(x, 0);
+				out.get().setReal(median + offset);
+			}
+			for (long x = max0 - span; x <= max0 + span; x++) {
+				addSlab(start, x, -1);
+			}
+		}
+
+		/**
+		 * Adds (or removes, for a negative count) the values of the window slab at
+		 * the given position along dimension 0 to the histogram.
+		 */
+		private void addSlab(final long[] center, final long x, final int count) {
+			final int n = center.length;
+			in.setPosition(x, 0);
+			for (int d = 1; d < n; d++) {
+				in.setPosition(center[d] - span, d);
+			}
+			while (true) {
+				final int bin = (int) (in.get().getIntegerLong() - offset);
+				histogram[bin] += count;
+				if (bin < median) below += count;
+
+				// move to the next position of the slab
+				int d = 1;
+				for (; d < n; d++) {
+					if (in.getLongPosition(d) < center[d] + span) {
+						in.fwd(d);
+						break;
+					}
+					in.setPosition(center[d] - span, d);
+				}
+				if (d == n) return;
+			}
+		}
+
+		/** Moves the median bin to the bin containing the value of rank. */
+		private void updateMedian() {
+			while (below > rank) {
+				median--;
+				below -= histogram[median];
+			}
+			while (below + histogram[median] <= rank) {
+				below += histogram[median];
+				median++;
+			}
+		}
+	}
+
+}
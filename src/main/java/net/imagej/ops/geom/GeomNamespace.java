@@ -36,6 +36,7 @@ import net.imagej.ops.AbstractNamespace;
 import net.imagej.ops.Namespace;
 import net.imagej.ops.OpMethod;
 import net.imagej.ops.Ops.Geometric.Voxelization;
+import net.imagej.ops.geom.geom2d.CaliperMeasures;
 import net.imagej.ops.geom.geom3d.mesh.VertexInterpolator;
 import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccessibleInterval;
@@ -541,6 +542,13 @@ public class GeomNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.geom.geom2d.DefaultRotatingCalipers.class)
+	public CaliperMeasures rotatingCalipers(final Polygon2D in) {
+		final CaliperMeasures result =
+			(CaliperMeasures) ops().run(net.imagej.ops.Ops.Geometric.RotatingCalipers.class, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.geom.geom2d.DefaultSizePolygon.class)
 	public DoubleType size(final Polygon2D in) {
 		final DoubleType result =
@@ -790,6 +798,13 @@ public class GeomNamespace extends AbstractNamespace {
 			(Mesh) ops().run(net.imagej.ops.geom.geom3d.mesh.DefaultSmallestOrientedBoundingBox.class, in);
 		return result;
 	}
+
+	@OpMethod(op = net.imagej.ops.geom.geom3d.mesh.DefaultSmallestOrientedBoundingBox.class)
+	public Mesh smallestEnclosingBoundingBox(final Mesh in, final double tolerance) {
+		final Mesh result =
+			(Mesh) ops().run(net.imagej.ops.geom.geom3d.mesh.DefaultSmallestOrientedBoundingBox.class, in, tolerance);
+		return result;
+	}
 	
 	@OpMethod(op = net.imagej.ops.geom.geom3d.DefaultSparenessMesh.class)
 	public DoubleType spareness(final Mesh in) {
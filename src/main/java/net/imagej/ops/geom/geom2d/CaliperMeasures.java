@@ -0,0 +1,124 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imagej.ops.geom.geom2d;
+
+import java.util.Arrays;
+
+import net.imglib2.RealLocalizable;
+import net.imglib2.RealPoint;
+import net.imglib2.roi.geom.real.DefaultWritablePolygon2D;
+import net.imglib2.roi.geom.real.Polygon2D;
+import net.imglib2.util.Pair;
+import net.imglib2.util.ValuePair;
+
+/**
+ * Result of {@code geom.rotatingCalipers}: the minimum and maximum Feret of a
+ * convex polygon and its smallest enclosing rectangle.
+ * <p>
+ * The maximum Feret is the pair of vertices with the largest distance. The
+ * minimum Feret is the pair of a vertex and its projection onto the opposite
+ * edge with the smallest distance. The angles and diameters follow
+ * {@code geom.feretsAngle} and {@code geom.feretsDiameter} of these pairs.
+ * </p>
+ */
+public final class CaliperMeasures {
+
+	private final Pair<RealLocalizable, RealLocalizable> maximumFeret;
+	private final Pair<RealLocalizable, RealLocalizable> minimumFeret;
+	private final Polygon2D smallestEnclosingRectangle;
+
+	CaliperMeasures(final Pair<RealLocalizable, RealLocalizable> maximumFeret,
+		final Pair<RealLocalizable, RealLocalizable> minimumFeret,
+		final RealLocalizable... rectangle)
+	{
+		this.maximumFeret = maximumFeret;
+		this.minimumFeret = minimumFeret;
+		smallestEnclosingRectangle = new DefaultWritablePolygon2D(Arrays.asList(
+			rectangle));
+	}
+
+	public Pair<RealLocalizable, RealLocalizable> getMaximumFeret() {
+		return maximumFeret;
+	}
+
+	public double getMaximumFeretDiameter() {
+		return diameter(maximumFeret);
+	}
+
+	/** @return angle of the maximum Feret in degrees */
+	public double getMaximumFeretAngle() {
+		return angle(maximumFeret);
+	}
+
+	public Pair<RealLocalizable, RealLocalizable> getMinimumFeret() {
+		return minimumFeret;
+	}
+
+	public double getMinimumFeretDiameter() {
+		return diameter(minimumFeret);
+	}
+
+	/** @return angle of the minimum Feret in degrees */
+	public double getMinimumFeretAngle() {
+		return angle(minimumFeret);
+	}
+
+	/**
+	 * @return the rectangle of smallest area enclosing the polygon, one of its
+	 *         sides is collinear with an edge of the convex hull
+	 */
+	public Polygon2D getSmallestEnclosingRectangle() {
+		return smallestEnclosingRectangle;
+	}
+
+	// -- Helper methods --
+
+	static Pair<RealLocalizable, RealLocalizable> pair(final double ax,
+		final double ay, final double bx, final double by)
+	{
+		return new ValuePair<>(new RealPoint(ax, ay), new RealPoint(bx, by));
+	}
+
+	private static double diameter(
+		final Pair<RealLocalizable, RealLocalizable> feret)
+	{
+		return Math.hypot(feret.getA().getDoublePosition(0) - feret.getB()
+			.getDoublePosition(0), feret.getA().getDoublePosition(1) - feret.getB()
+				.getDoublePosition(1));
+	}
+
+	private static double angle(
+		final Pair<RealLocalizable, RealLocalizable> feret)
+	{
+		final double degree = Math.atan2(feret.getB().getDoublePosition(1) - feret
+			.getA().getDoublePosition(1), feret.getB().getDoublePosition(0) - feret
+				.getA().getDoublePosition(0)) * (180.0 / Math.PI);
+		return degree % 180;
+	}
+}
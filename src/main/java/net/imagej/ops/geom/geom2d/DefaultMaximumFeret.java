@@ -29,17 +29,13 @@
 
 package net.imagej.ops.geom.geom2d;
 
-import java.util.List;
-
 import net.imagej.ops.Ops;
-import net.imagej.ops.geom.GeomUtils;
 import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
 import net.imagej.ops.special.function.Functions;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imglib2.RealLocalizable;
 import net.imglib2.roi.geom.real.Polygon2D;
 import net.imglib2.util.Pair;
-import net.imglib2.util.ValuePair;
 
 import org.scijava.plugin.Plugin;
 
@@ -47,6 +43,7 @@ import org.scijava.plugin.Plugin;
  * Maximum Feret of a polygon.
  * 
  * @author Tim-Oliver Buchholz, University of Konstanz
+ * @see DefaultRotatingCalipers
  */
 @Plugin(type = Ops.Geometric.MaximumFeret.class)
 public class DefaultMaximumFeret extends
@@ -54,40 +51,17 @@ public class DefaultMaximumFeret extends
 	implements Ops.Geometric.MaximumFeret
 {
 
-	private UnaryFunctionOp<Polygon2D, Polygon2D> function;
+	private UnaryFunctionOp<Polygon2D, CaliperMeasures> function;
 
 	@Override
 	public void initialize() {
-		function = Functions.unary(ops(),
-			Ops.Geometric.ConvexHull.class, Polygon2D.class, in());
+		function = Functions.unary(ops(), Ops.Geometric.RotatingCalipers.class,
+			CaliperMeasures.class, in());
 	}
 
 	@Override
 	public Pair<RealLocalizable, RealLocalizable> calculate(Polygon2D input) {
-		final List<? extends RealLocalizable> points = GeomUtils.vertices(function
-			.calculate(input));
-
-		double distance = Double.NEGATIVE_INFINITY;
-		RealLocalizable p0 = points.get(0);
-		RealLocalizable p1 = points.get(0);
-		for (int i = 0; i < points.size(); i++) {
-			for (int j = i + 2; j < points.size(); j++) {
-				final RealLocalizable tmpP0 = points.get(i);
-				final RealLocalizable tmpP1 = points.get(j);
-
-				final double tmp = Math.sqrt(Math.pow(tmpP0.getDoublePosition(0) - tmpP1
-					.getDoublePosition(0), 2) + Math.pow(tmpP0.getDoublePosition(1) -
-						tmpP1.getDoublePosition(1), 2));
-
-				if (tmp > distance) {
-					distance = tmp;
-					p0 = tmpP0;
-					p1 = tmpP1;
-				}
-			}
-		}
-
-		return new ValuePair<>(p0, p1);
+		return function.calculate(input).getMaximumFeret();
 	}
 
 }
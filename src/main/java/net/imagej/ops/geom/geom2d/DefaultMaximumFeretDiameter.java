@@ -35,7 +35,6 @@ import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
 import net.imglib2.roi.geom.real.Polygon2D;
 import net.imglib2.type.numeric.real.DoubleType;
-import net.imglib2.util.Pair;
 
 import org.scijava.plugin.Plugin;
 
@@ -43,20 +42,16 @@ import org.scijava.plugin.Plugin;
 public class DefaultMaximumFeretDiameter extends AbstractUnaryHybridCF<Polygon2D, DoubleType>
 		implements MaximumFeretsDiameter {
 
-	@SuppressWarnings("rawtypes")
-	private UnaryFunctionOp<Polygon2D, Pair> maxFeret;
-	@SuppressWarnings("rawtypes")
-	private UnaryFunctionOp<Pair, DoubleType> feretDiameter;
+	private UnaryFunctionOp<Polygon2D, CaliperMeasures> calipers;
 
 	@Override
 	public void initialize() {
-		maxFeret = Functions.unary(ops(), Ops.Geometric.MaximumFeret.class, Pair.class, in());
-		feretDiameter = Functions.unary(ops(), Ops.Geometric.FeretsDiameter.class, DoubleType.class, Pair.class);
+		calipers = Functions.unary(ops(), Ops.Geometric.RotatingCalipers.class, CaliperMeasures.class, in());
 	}
 
 	@Override
 	public void compute(Polygon2D input, DoubleType output) {
-		output.set(feretDiameter.calculate(maxFeret.calculate(input)).get());
+		output.set(calipers.calculate(input).getMaximumFeretDiameter());
 	}
 
 	@Override
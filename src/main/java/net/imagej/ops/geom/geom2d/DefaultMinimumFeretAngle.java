@@ -35,27 +35,22 @@ import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
 import net.imglib2.roi.geom.real.Polygon2D;
 import net.imglib2.type.numeric.real.DoubleType;
-import net.imglib2.util.Pair;
 
 import org.scijava.plugin.Plugin;
 
 @Plugin(type = Ops.Geometric.MinimumFeretsAngle.class)
 public class DefaultMinimumFeretAngle extends AbstractUnaryHybridCF<Polygon2D, DoubleType> implements MinimumFeretsAngle {
 
-	@SuppressWarnings("rawtypes")
-	private UnaryFunctionOp<Polygon2D, Pair> minFeret;
-	@SuppressWarnings("rawtypes")
-	private UnaryFunctionOp<Pair, DoubleType> feretAngle;
+	private UnaryFunctionOp<Polygon2D, CaliperMeasures> calipers;
 
 	@Override
 	public void initialize() {
-		minFeret = Functions.unary(ops(), Ops.Geometric.MinimumFeret.class, Pair.class, in());
-		feretAngle = Functions.unary(ops(), Ops.Geometric.FeretsAngle.class, DoubleType.class, Pair.class);
+		calipers = Functions.unary(ops(), Ops.Geometric.RotatingCalipers.class, CaliperMeasures.class, in());
 	}
 
 	@Override
 	public void compute(Polygon2D input, DoubleType output) {
-		output.set(feretAngle.calculate(minFeret.calculate(input)).get());
+		output.set(calipers.calculate(input).getMinimumFeretAngle());
 	}
 
 	@Override
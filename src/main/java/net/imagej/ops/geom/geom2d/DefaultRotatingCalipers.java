@@ -0,0 +1,312 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imagej.ops.geom.geom2d;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.special.function.Functions;
+import net.imagej.ops.special.function.UnaryFunctionOp;
+import net.imglib2.RealLocalizable;
+import net.imglib2.RealPoint;
+import net.imglib2.roi.geom.real.Polygon2D;
+import net.imglib2.util.Pair;
+
+import org.scijava.plugin.Plugin;
+
+/**
+ * Generic implementation of {@code geom.rotatingCalipers}.
+ * <p>
+ * The convex hull is copied into a primitive array and swept once with four
+ * calipers per edge: the vertex farthest from the edge and the two extreme
+ * vertices along the edge. This yields the minimum Feret, the smallest
+ * enclosing rectangle and, from the antipodal vertex pairs, the maximum Feret
+ * in linear time.
+ * </p>
+ *
+ * @see <a href="https://doi.org/10.1109/MELCON.1983.25044">Toussaint, Solving
+ *      geometric problems with the rotating calipers</a>
+ */
+@Plugin(type = Ops.Geometric.RotatingCalipers.class,
+	label = "Geometric (2D): Rotating Calipers")
+public class DefaultRotatingCalipers extends
+	AbstractUnaryFunctionOp<Polygon2D, CaliperMeasures> implements
+	Ops.Geometric.RotatingCalipers
+{
+
+	private UnaryFunctionOp<Polygon2D, Polygon2D> convexHullFunc;
+
+	@Override
+	public void initialize() {
+		convexHullFunc = Functions.unary(ops(), Ops.Geometric.ConvexHull.class,
+			Polygon2D.class, in());
+	}
+
+	@Override
+	public CaliperMeasures calculate(final Polygon2D input) {
+		final Polygon2D hull = convexHullFunc.calculate(input);
+		final double[] xy = new double[2 * hull.numVertices()];
+		for (int i = 0; i < hull.numVertices(); i++) {
+			final RealLocalizable vertex = hull.vertex(i);
+			xy[2 * i] = vertex.getDoublePosition(0);
+			xy[2 * i + 1] = vertex.getDoublePosition(1);
+		}
+		return measure(xy);
+	}
+
+	/**
+	 * Measures a convex polygon in a single rotating calipers sweep.
+	 *
+	 * @param hull interleaved x- and y-coordinates of the vertices of a convex
+	 *          polygon, in either orientation
+	 */
+	public static CaliperMeasures measure(final double[] hull) {
+		final int n = hull.length / 2;
+		if (n == 0) {
+			throw new IllegalArgumentException("Polygon has no vertices");
+		}
+
+		// copy the vertices counter-clockwise and drop repeated ones
+		double area = 0;
+		for (int i = 0; i < n; i++) {
+			final int i1 = (i + 1) % n;
+			area += hull[2 * i] * hull[2 * i1 + 1] - hull[2 * i1] * hull[2 * i + 1];
+		}
+		final boolean ccw = area >= 0;
+		final double[] x = new double[n];
+		final double[] y = new double[n];
+		int m = 0;
+		for (int k = 0; k < n; k++) {
+			final int i = ccw ? k : n - 1 - k;
+			if (m > 0 && hull[2 * i] == x[m - 1] && hull[2 * i + 1] == y[m - 1]) {
+				continue;
+			}
+			x[m] = hull[2 * i];
+			y[m] = hull[2 * i + 1];
+			m++;
+		}
+		while (m > 1 && x[m - 1] == x[0] && y[m - 1] == y[0]) {
+			m--;
+		}
+		if (m < 3 || area == 0) return degenerate(x, y, m, ccw);
+
+		double maxDistance = -1;
+		int maxA = 0;
+		int maxB = 0;
+		double minWidth = Double.POSITIVE_INFINITY;
+		int minEdge = 0;
+		int minVertex = 0;
+		double minArea = Double.POSITIVE_INFINITY;
+		final int[] rectangle = new int[4];
+
+		// calipers: farthest from the edge (j), extreme along the edge (k, l)
+		int j = 0;
+		int k = 1;
+		int l = 0;
+		for (int i = 0; i < m; i++) {
+			final int i1 = (i + 1) % m;
+			final double ex = x[i1] - x[i];
+			final double ey = y[i1] - y[i];
+
+			for (int s = 0; s < m && dot(ex, ey, x, y, k, m) > 0; s++) {
+				k = (k + 1) % m;
+			}
+			if (i == 0) j = k;
+			for (int s = 0; s < m && cross(ex, ey, x, y, j, m) > 0; s++) {
+				j = (j + 1) % m;
+			}
+			if (i == 0) l = j;
+			for (int s = 0; s < m && dot(ex, ey, x, y, l, m) < 0; s++) {
+				l = (l + 1) % m;
+			}
+
+			// vertices of both edges are antipodal to j, and to the next
+			// vertex if the edge at j is parallel
+			final int j1 = (j + 1) % m;
+			final int candidates = cross(ex, ey, x, y, j, m) == 0 ? 4 : 2;
+			for (int c = 0; c < candidates; c++) {
+				final int a = c % 2 == 0 ? i : i1;
+				final int b = c < 2 ? j : j1;
+				final double dx = x[a] - x[b];
+				final double dy = y[a] - y[b];
+				final double distance = dx * dx + dy * dy;
+				final int lo = Math.min(a, b);
+				final int hi = Math.max(a, b);
+				if (distance > maxDistance || distance == maxDistance && (lo < maxA ||
+					lo == maxA && hi < maxB))
+				{
+					maxDistance = distance;
+					maxA = lo;
+					maxB = hi;
+				}
+			}
+
+			final double length = Math.hypot(ex, ey);
+			final double width = (ex * (y[j] - y[i]) - ey * (x[j] - x[i])) / length;
+			if (width < minWidth) {
+				minWidth = width;
+				minEdge = i;
+				minVertex = j;
+			}
+
+			final double extent = (ex * (x[k] - x[l]) + ey * (y[k] - y[l])) /
+				length;
+			if (width * extent < minArea) {
+				minArea = width * extent;
+				rectangle[0] = i;
+				rectangle[1] = j;
+				rectangle[2] = k;
+				rectangle[3] = l;
+			}
+		}
+
+		// keep the vertices of the maximum Feret in the order of the input
+		final Pair<RealLocalizable, RealLocalizable> maximumFeret = ccw
+			? CaliperMeasures.pair(x[maxA], y[maxA], x[maxB], y[maxB])
+			: CaliperMeasures.pair(x[maxB], y[maxB], x[maxA], y[maxA]);
+
+		final int e0 = minEdge;
+		final int e1 = (minEdge + 1) % m;
+		final double ex = x[e1] - x[e0];
+		final double ey = y[e1] - y[e0];
+		final double t = (ex * (x[minVertex] - x[e0]) + ey * (y[minVertex] -
+			y[e0])) / (ex * ex + ey * ey);
+		final Pair<RealLocalizable, RealLocalizable> minimumFeret = CaliperMeasures
+			.pair(x[e0] + t * ex, y[e0] + t * ey, x[minVertex], y[minVertex]);
+
+		return new CaliperMeasures(maximumFeret, minimumFeret, rectangle(x, y, m,
+			rectangle, ccw));
+	}
+
+	// -- Helper methods --
+
+	/** @return component of the edge at {@code k} along {@code (ex, ey)} */
+	private static double dot(final double ex, final double ey,
+		final double[] x, final double[] y, final int k, final int m)
+	{
+		final int k1 = (k + 1) % m;
+		return ex * (x[k1] - x[k]) + ey * (y[k1] - y[k]);
+	}
+
+	/** @return component of the edge at {@code k} normal to {@code (ex, ey)} */
+	private static double cross(final double ex, final double ey,
+		final double[] x, final double[] y, final int k, final int m)
+	{
+		final int k1 = (k + 1) % m;
+		return ex * (y[k1] - y[k]) - ey * (x[k1] - x[k]);
+	}
+
+	/**
+	 * Corners of the rectangle aligned with the edge at {@code support[0]} in the
+	 * direction of the input, touching the vertices at {@code support[1..3]}.
+	 */
+	private static RealLocalizable[] rectangle(final double[] x,
+		final double[] y, final int m, final int[] support, final boolean ccw)
+	{
+		final int i = support[0];
+		final int i1 = (i + 1) % m;
+		final double length = Math.hypot(x[i1] - x[i], y[i1] - y[i]) * (ccw ? 1
+			: -1);
+		final double ux = (x[i1] - x[i]) / length;
+		final double uy = (y[i1] - y[i]) / length;
+		return corners(ux, uy, new double[] { x[i], x[support[1]], x[support[2]],
+			x[support[3]] }, new double[] { y[i], y[support[1]], y[support[2]],
+				y[support[3]] });
+	}
+
+	/**
+	 * Measures a single point or a line segment, i.e. a polygon without area.
+	 */
+	private static CaliperMeasures degenerate(final double[] x,
+		final double[] y, final int m, final boolean ccw)
+	{
+		// the farthest vertex from any vertex is an end of the segment
+		final int b = farthest(x, y, m, 0);
+		final int a = farthest(x, y, m, b);
+		final int lo = Math.min(a, b);
+		final int hi = Math.max(a, b);
+		final int first = ccw ? lo : hi;
+		final int second = ccw ? hi : lo;
+		final double length = Math.hypot(x[second] - x[first], y[second] -
+			y[first]);
+		final double ux = length == 0 ? 1 : (x[second] - x[first]) / length;
+		final double uy = length == 0 ? 0 : (y[second] - y[first]) / length;
+		return new CaliperMeasures(CaliperMeasures.pair(x[first], y[first],
+			x[second], y[second]), CaliperMeasures.pair(x[first], y[first], x[first],
+				y[first]), corners(ux, uy, new double[] { x[first], x[second] },
+					new double[] { y[first], y[second] }));
+	}
+
+	private static int farthest(final double[] x, final double[] y,
+		final int m, final int from)
+	{
+		int farthest = from;
+		double max = 0;
+		for (int i = 0; i < m; i++) {
+			final double dx = x[i] - x[from];
+			final double dy = y[i] - y[from];
+			if (dx * dx + dy * dy > max) {
+				max = dx * dx + dy * dy;
+				farthest = i;
+			}
+		}
+		return farthest;
+	}
+
+	/**
+	 * Corners of the rectangle with sides along {@code u} and its normal which
+	 * encloses the given points, in the order of {@code geom.boundingBox} in
+	 * the rotated frame.
+	 */
+	private static RealLocalizable[] corners(final double ux, final double uy,
+		final double[] px, final double[] py)
+	{
+		final double vx = -uy;
+		final double vy = ux;
+		double minU = Double.POSITIVE_INFINITY;
+		double maxU = Double.NEGATIVE_INFINITY;
+		double minV = Double.POSITIVE_INFINITY;
+		double maxV = Double.NEGATIVE_INFINITY;
+		for (int p = 0; p < px.length; p++) {
+			final double u = ux * px[p] + uy * py[p];
+			final double v = vx * px[p] + vy * py[p];
+			minU = Math.min(minU, u);
+			maxU = Math.max(maxU, u);
+			minV = Math.min(minV, v);
+			maxV = Math.max(maxV, v);
+		}
+		return new RealLocalizable[] { corner(ux, uy, minU, minV), corner(ux, uy,
+			minU, maxV), corner(ux, uy, maxU, maxV), corner(ux, uy, maxU, minV) };
+	}
+
+	private static RealPoint corner(final double ux, final double uy,
+		final double u, final double v)
+	{
+		return new RealPoint(u * ux - v * uy, u * uy + v * ux);
+	}
+}
@@ -29,25 +29,16 @@
 
 package net.imagej.ops.geom.geom3d;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.Arrays;
 
 import net.imagej.mesh.Mesh;
+import net.imagej.mesh.Vertex;
 import net.imagej.mesh.naive.NaiveDoubleMesh;
 import net.imagej.ops.Ops;
-import net.imagej.ops.geom.geom3d.mesh.Horizon;
-import net.imagej.ops.geom.geom3d.mesh.TriangularFacet;
-import net.imagej.ops.geom.geom3d.mesh.Vertex;
+import net.imagej.ops.Parallel;
 import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
-import net.imglib2.util.Pair;
-import net.imglib2.util.ValuePair;
+import net.imagej.ops.thread.chunker.Chunk;
 
-import org.apache.commons.math3.geometry.euclidean.threed.Vector3D;
 import org.scijava.ItemIO;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
@@ -56,16 +47,27 @@ import org.scijava.plugin.Plugin;
  * This quickhull implementation is based on the paper
  * "The Quickhull Algorithm for Convex Hulls" by Barber, Dobkin and Huhdanpaa
  * (http://dpd.cs.princeton.edu/Papers/BarberDobkinHuhdanpaa.pdf). The
- * computation of the initial simplex is inspired by John Lloyd's quickhull
- * implementation (http://www.cs.ubc.ca/~lloyd/java/quickhull3d.html).
+ * computation of the initial simplex and of the horizon is inspired by John
+ * Lloyd's quickhull implementation
+ * (http://www.cs.ubc.ca/~lloyd/java/quickhull3d.html).
+ * <p>
+ * The vertices are copied once into a flat coordinate array. Facets are
+ * triangles stored in int arrays of vertex and neighbor indices, and the points
+ * in front of a facet are kept in a linked list of point indices. Large inputs
+ * are assigned to the facets of the initial simplex in parallel. The output
+ * contains only the vertices of the hull.
+ * </p>
  * 
  * @author Tim-Oliver Buchholz (University of Konstanz)
  */
 @Plugin(type = Ops.Geometric.ConvexHull.class)
 public class DefaultConvexHull3D extends AbstractUnaryFunctionOp<Mesh, Mesh>
-	implements Ops.Geometric.ConvexHull
+	implements Ops.Geometric.ConvexHull, Parallel
 {
 
+	/** Number of points from which they are partitioned in parallel. */
+	private static final int PARALLEL_SIZE = 1 << 16;
+
 	@Parameter(type = ItemIO.OUTPUT)
 	private double epsilon;
 
@@ -81,531 +83,423 @@ public class DefaultConvexHull3D extends AbstractUnaryFunctionOp<Mesh, Mesh>
 
 	@Override
 	public Mesh calculate(final Mesh input) {
-		Mesh output = new NaiveDoubleMesh();
-		Set<Vertex> vertices = new LinkedHashSet<>();
-		for (final net.imagej.mesh.Vertex v : input.vertices()) {
-			final Vertex vertex = new Vertex(v.x(), v.y(), v.z());
-			vertices.add(vertex);
-		}
-		List<TriangularFacet> facets = new ArrayList<>();
-		List<TriangularFacet> facetsWithPointInFront = new ArrayList<>();
-		epsilon = computeHull(vertices, facets, facetsWithPointInFront);
-
-		final Map<Vertex, Long> vertexIndices = new HashMap<>();
-		for (final TriangularFacet f : facets) {
-			final Vertex v0 = f.getP0();
-			final Vertex v1 = f.getP1();
-			final Vertex v2 = f.getP2();
-			final long vIndex0 = vertexIndices.computeIfAbsent(v0, //
-				v -> output.vertices().add(v0.getX(), v0.getY(), v0.getZ()));
-			final long vIndex1 = vertexIndices.computeIfAbsent(v1, //
-				v -> output.vertices().add(v1.getX(), v1.getY(), v1.getZ()));
-			final long vIndex2 = vertexIndices.computeIfAbsent(v2, //
-				v -> output.vertices().add(v2.getX(), v2.getY(), v2.getZ()));
-			final Vector3D normal = f.getNormal();
-			final double nx = normal.getX();
-			final double ny = normal.getY();
-			final double nz = normal.getZ();
-			output.triangles().add(vIndex0, vIndex1, vIndex2, nx, ny, nz);
+		final long size = input.vertices().size();
+		if (size > Integer.MAX_VALUE / 3) {
+			throw new IllegalArgumentException("Too many vertices: " + size);
 		}
-		return output;
-	}
-
-	/**
-	 * Compute the convex hull.
-	 * 
-	 * @param facetsWithPointInFront
-	 */
-	private double computeHull(final Set<Vertex> vertices,
-		final List<TriangularFacet> facets,
-		final List<TriangularFacet> facetsWithPointInFront)
-	{
-		final double eps = createSimplex(vertices, facets,
-			facetsWithPointInFront);
-		while (!facetsWithPointInFront.isEmpty()) {
-			replaceFacet(eps, vertices, facets, facetsWithPointInFront,
-				facetsWithPointInFront.remove(0));
+		final double[] xyz = new double[3 * (int) size];
+		int i = 0;
+		for (final Vertex v : input.vertices()) {
+			xyz[i++] = v.x();
+			xyz[i++] = v.y();
+			xyz[i++] = v.z();
 		}
 
-		return eps;
+		final Hull hull = new Hull(xyz);
+		epsilon = hull.eps;
+		hull.createSimplex();
+		hull.partition();
+		hull.expand();
+		return hull.toMesh();
 	}
 
-	/**
-	 * Replaces a facet with at least three new facets.
-	 * 
-	 * @param facet the facet to replace. At least one point must be in front of
-	 *          next.
-	 */
-	private void replaceFacet(final double eps, final Set<Vertex> vertices,
-		final List<TriangularFacet> facets,
-		final List<TriangularFacet> facetsPointInFront,
-		final TriangularFacet facet)
-	{
-		final Vertex v = facet.getMaximumDistanceVertex();
-		final Horizon horizon = computeHorizon(eps, vertices, facets,
-			facetsPointInFront, facet, v);
-		assignPointsToFacets(eps, vertices, createFacets(horizon, v), facets,
-			facetsPointInFront);
-	}
+	// -- Helper classes --
 
 	/**
-	 * Adds for each edge of the horizon and vTop a new facet.
-	 * 
-	 * @param horizon facet of all facets seen from point vTop
-	 * @param vTop point which is added to the convex hull
-	 * @return new created facets
+	 * State of one hull computation. Edge {@code k} of facet {@code f} goes from
+	 * vertex {@code vertices[3 * f + k]} to the next vertex of the facet, and
+	 * {@code neighbors[3 * f + k]} is the facet on the other side of it.
 	 */
-	private List<TriangularFacet> createFacets(final Horizon horizon,
-		final Vertex vTop)
-	{
-		List<TriangularFacet> newFacets = new ArrayList<>();
-		Vertex vLeft, vRight;
-
-		// triangles 1 to n
-		for (int i = 1; i < horizon.size(); i++) {
-			vLeft = horizon.getVertex(i - 1);
-			vRight = horizon.getVertex(i);
-
-			TriangularFacet f = new TriangularFacet(vRight, vTop, vLeft);
-
-			setNeighborZero(f, horizon.getNeighbor(i));
-
-			newFacets.add(f);
+	private final class Hull {
+
+		private final double[] xyz;
+		private final int n;
+		private final double eps;
+
+		private int facetCount;
+		private int[] vertices = new int[3 * 64];
+		private int[] neighbors = new int[3 * 64];
+		private double[] normals = new double[3 * 64];
+		private double[] offsets = new double[64];
+		private boolean[] deleted = new boolean[64];
+
+		/** First point in front of each facet and its farthest point. */
+		private int[] head = new int[64];
+		private int[] farthest = new int[64];
+		private double[] farthestDistance = new double[64];
+
+		/** Next point in front of the same facet. */
+		private final int[] next;
+
+		/** Iteration in which a facet was last found to be visible. */
+		private int[] visited = new int[64];
+		private int iteration;
+
+		/** Visible facet and edge index of each edge of the horizon. */
+		private int[] horizon = new int[64];
+		private int horizonSize;
+
+		private Hull(final double[] xyz) {
+			this.xyz = xyz;
+			n = xyz.length / 3;
+			next = new int[n];
+			// This epsilon formula comes from John Lloyd's quickhull
+			// implementation http://www.cs.ubc.ca/~lloyd/java/quickhull3d.html
+			final double[] max = new double[3];
+			for (int i = 0; i < xyz.length; i++) {
+				max[i % 3] = Math.max(max[i % 3], Math.abs(xyz[i]));
+			}
+			eps = 3 * DOUBLE_PREC * (max[0] + max[1] + max[2]);
 		}
 
-		// triangle 0, this triangle connects the n-th triangle with
-		// triangle number 1
-		vRight = horizon.getVertex(0);
-		vLeft = horizon.getLastVertex();
-
-		TriangularFacet f = new TriangularFacet(vRight, vTop, vLeft);
-
-		setNeighborZero(f, horizon.getNeighbor(0));
-
-		newFacets.add(f);
+		/**
+		 * Computes an initial simplex of four facets. The simplex consists of
+		 * the four points v0-v3. v0 and v1 have the largest possible distance in
+		 * one dimension. v2 is the point with the largest distance to v0----v1.
+		 * v3 is the point with the largest distance to the plane described by
+		 * v0, v1, v2.
+		 */
+		private void createSimplex() {
+			if (n < 4) {
+				throw new IllegalArgumentException(
+					"At least four points are required: " + n);
+			}
+			final int[] min = new int[3];
+			final int[] max = new int[3];
+			for (int p = 1; p < n; p++) {
+				for (int d = 0; d < 3; d++) {
+					if (xyz[3 * p + d] < xyz[3 * min[d] + d]) min[d] = p;
+					if (xyz[3 * p + d] > xyz[3 * max[d] + d]) max[d] = p;
+				}
+			}
+			int axis = 0;
+			for (int d = 1; d < 3; d++) {
+				if (xyz[3 * max[d] + d] - xyz[3 * min[d] + d] > xyz[3 * max[axis] +
+					axis] - xyz[3 * min[axis] + axis]) axis = d;
+			}
+			final int v0 = min[axis];
+			final int v1 = max[axis];
+
+			// v2 maximizes |(v - v0) x (v - v1)|, the doubled area of the
+			// triangle v0, v1, v2
+			int v2 = -1;
+			double maxArea = eps;
+			final double[] cross = new double[3];
+			for (int p = 0; p < n; p++) {
+				cross(v0, v1, p, cross);
+				final double area = Math.sqrt(cross[0] * cross[0] + cross[1] *
+					cross[1] + cross[2] * cross[2]);
+				if (area > maxArea) {
+					maxArea = area;
+					v2 = p;
+				}
+			}
+			if (v2 < 0) {
+				throw new IllegalArgumentException("All points are collinear");
+			}
 
-		// set neighbors 1 and 2 of each triangle
-		// triangle 0 has triangle n and 1 as neighbors.
-		connectTriangles(newFacets);
-		return newFacets;
-	}
+			cross(v0, v1, v2, cross);
+			final double norm = Math.sqrt(cross[0] * cross[0] + cross[1] *
+				cross[1] + cross[2] * cross[2]);
+			int v3 = -1;
+			double maxDistance = eps;
+			double side = 0;
+			for (int p = 0; p < n; p++) {
+				final double distance = (cross[0] * (xyz[3 * p] - xyz[3 * v0]) +
+					cross[1] * (xyz[3 * p + 1] - xyz[3 * v0 + 1]) + cross[2] * (xyz[3 *
+						p + 2] - xyz[3 * v0 + 2])) / norm;
+				if (Math.abs(distance) > maxDistance) {
+					maxDistance = Math.abs(distance);
+					v3 = p;
+					side = distance;
+				}
+			}
+			if (v3 < 0) {
+				throw new IllegalArgumentException("All points are coplanar");
+			}
 
-	/**
-	 * Sets neighbors for each new triangle. The triangles build a cone.
-	 * 
-	 * @param newFacets the triangles
-	 */
-	private void connectTriangles(final List<TriangularFacet> newFacets) {
-		int lastFacetIndex = newFacets.size() - 1;
-		for (int i = 1; i < lastFacetIndex; i++) {
-			newFacets.get(i).setNeighbor(1, newFacets.get(i + 1));
-			newFacets.get(i).setNeighbor(2, newFacets.get(i - 1));
+			// v3 has to be behind the counter clockwise facet v0, v1, v2
+			if (side > 0) {
+				addFacet(v0, v2, v1);
+				addFacet(v2, v0, v3);
+				addFacet(v1, v2, v3);
+				addFacet(v0, v1, v3);
+			}
+			else {
+				addFacet(v0, v1, v2);
+				addFacet(v1, v0, v3);
+				addFacet(v2, v1, v3);
+				addFacet(v0, v2, v3);
+			}
+			for (int f = 0; f < 4; f++) {
+				for (int k = 0; k < 3; k++) {
+					for (int g = 0; g < 4; g++) {
+						final int j = edgeIndex(g, vertices[3 * f + (k + 1) % 3]);
+						if (g != f && j >= 0 && vertices[3 * g + (j + 1) % 3] ==
+							vertices[3 * f + k])
+						{
+							neighbors[3 * f + k] = g;
+						}
+					}
+				}
+			}
 		}
-		newFacets.get(0).setNeighbor(1, newFacets.get(1));
-		newFacets.get(0).setNeighbor(2, newFacets.get(lastFacetIndex));
-		newFacets.get(lastFacetIndex).setNeighbor(1, newFacets.get(0));
-		newFacets.get(lastFacetIndex).setNeighbor(2, newFacets.get(newFacets
-			.size() - 2));
-	}
 
-	/**
-	 * Sets the first neighbor of a new created triangle.
-	 * 
-	 * @param f the new facet.
-	 * @param n the neighbor facet.
-	 */
-	private void setNeighborZero(final TriangularFacet f,
-		final TriangularFacet n)
-	{
-		int vertexIndex = n.indexOfVertex(f.getVertex(2));
-		n.replaceNeighbor(vertexIndex, f);
-
-		f.setNeighbor(0, n);
-	}
+		/**
+		 * Assigns each point to the facet of the simplex it is farthest in front
+		 * of. Points behind all facets are inside of the hull and dropped.
+		 */
+		private void partition() {
+			final byte[] owners = new byte[n];
+			final double[] distances = new double[n];
+			final Chunk chunk = new Chunk() {
+
+				@Override
+				public void execute(final long startIndex, final long stepSize,
+					final long numSteps)
+				{
+					for (long k = 0, p = startIndex; k < numSteps; k++, p +=
+						stepSize)
+					{
+						final int point = (int) p;
+						byte owner = -1;
+						double max = eps;
+						for (byte f = 0; f < 4; f++) {
+							final double distance = distance(f, point);
+							if (distance > max) {
+								max = distance;
+								owner = f;
+							}
+						}
+						owners[point] = owner;
+						distances[point] = max;
+					}
+				}
+			};
+			if (n < PARALLEL_SIZE) chunk.execute(0, 1, n);
+			else ops().thread().chunker(chunk, n);
 
-	/**
-	 * Computes the horizon of vTop. The horizon is the merged facet of all facets
-	 * which are in front of the point vTop.
-	 * 
-	 * @param frontFacet a face which is in front of vTop
-	 * @param vTop a point outside of the convex hull
-	 * @return facet containing all facets which are in front of vTop
-	 */
-	private Horizon computeHorizon(final double eps,
-		final Set<Vertex> vertices, final List<TriangularFacet> facets,
-		final List<TriangularFacet> facetsWithPointInFront,
-		final TriangularFacet frontFacet, final Vertex vTop)
-	{
-		// Points which are in front have to be reassigned after all new facets
-		// are constructed.
-		vertices.addAll(frontFacet.getVerticesInFront());
-
-		// frontFacet is not a result facet. Remove it from result list.
-		facets.remove(frontFacet);
-
-		Horizon h = new Horizon(frontFacet);
-		TriangularFacet merge = nextFacetToMerge(eps, h, vTop);
-		while (merge != null) {
-			// This points have to be reassigned as well.
-			vertices.addAll(merge.getVerticesInFront());
-			// This face has some points in front and therefore is not a result
-			// face.
-			facets.remove(merge);
-			// After this step this facet is merged with another facet.
-			facetsWithPointInFront.remove(merge);
-
-			if (h.containsAll(merge.getVertices())) {
-				updateNeighbors(frontFacet, merge);
-				h.complexMerge(merge);
+			// link in reverse so that the lists are in input order
+			for (int p = n - 1; p >= 0; p--) {
+				if (owners[p] >= 0) link(owners[p], p, distances[p]);
 			}
-			else {
-				updateNeighbors(frontFacet, merge);
-				h.simpleMerge(merge);
+		}
+
+		/**
+		 * Adds the farthest point in front of each facet to the hull until no
+		 * points are left. Facets are processed in the order of their creation.
+		 */
+		private void expand() {
+			for (int f = 0; f < facetCount; f++) {
+				if (!deleted[f] && head[f] >= 0) addPoint(f, farthest[f]);
 			}
-			merge = nextFacetToMerge(eps, h, vTop);
 		}
 
-		return h;
-	}
+		/**
+		 * Replaces all facets which {@code eye} is in front of by a cone of new
+		 * facets from the horizon to {@code eye}, and reassigns their points.
+		 */
+		private void addPoint(final int front, final int eye) {
+			iteration++;
+			horizonSize = 0;
+			final int[] visible = computeHorizon(front, eye);
+
+			final int first = facetCount;
+			for (int h = 0; h < horizonSize; h++) {
+				final int f = horizon[2 * h];
+				final int k = horizon[2 * h + 1];
+				final int a = vertices[3 * f + k];
+				final int b = vertices[3 * f + (k + 1) % 3];
+				final int outer = neighbors[3 * f + k];
+				final int facet = addFacet(a, b, eye);
+				neighbors[3 * facet] = outer;
+				neighbors[3 * outer + edgeIndex(outer, b)] = facet;
+				neighbors[3 * facet + 1] = first + (h + 1) % horizonSize;
+				neighbors[3 * facet + 2] = first + (h + horizonSize - 1) %
+					horizonSize;
+			}
 
-	/**
-	 * After the merge step the facet merge is part of frontFacet. Therefore the
-	 * neighbors of merge must point to frontFacet and not to merge.
-	 * 
-	 * @param frontFacet the facet to which merge will be added.
-	 * @param merge the facet which will be merged with frontFacet.
-	 */
-	private void updateNeighbors(final TriangularFacet frontFacet,
-		final TriangularFacet merge)
-	{
-		for (TriangularFacet f : merge.getNeighbors()) {
-			if (!f.equals(frontFacet)) {
-				f.replaceNeighbor(f.indexOfNeighbor(merge), frontFacet);
+			// points in front of removed facets can only be in front of new ones
+			for (int i = 1; i <= visible[0]; i++) {
+				final int f = visible[i];
+				deleted[f] = true;
+				int p = head[f];
+				while (p >= 0) {
+					final int nextPoint = next[p];
+					if (p != eye) {
+						int owner = -1;
+						double max = eps;
+						for (int g = first; g < facetCount; g++) {
+							final double distance = distance(g, p);
+							if (distance > max) {
+								max = distance;
+								owner = g;
+							}
+						}
+						if (owner >= 0) link(owner, p, max);
+					}
+					p = nextPoint;
+				}
+				head[f] = -1;
 			}
 		}
-	}
 
-	/**
-	 * Returns a facet which is in front of vTop and neighbor of front.
-	 * 
-	 * @param frontFacet facet in front of vTop
-	 * @param vTop point which is added to the convex hull
-	 * @return neighboring facet of front or null if no facet is in front
-	 */
-	private TriangularFacet nextFacetToMerge(final double eps,
-		final Horizon frontFacet, final Vertex vTop)
-	{
-		Iterator<TriangularFacet> it = frontFacet.getNeighbors().iterator();
-		while (it.hasNext()) {
-			TriangularFacet f = it.next();
-			if (f.distanceToPlane(vTop) > eps) {
-				// if frontFacet contains all vertices of f it either is
-				// connected
-				// with two edges or one edge
-				if (frontFacet.containsAll(f.getVertices())) {
-					Vertex v0 = f.getVertex(0);
-					Vertex v1 = f.getVertex(1);
-					Vertex v2 = f.getVertex(2);
-					int numEdges = 0;
-					if (frontFacet.hasEdge(v0, v2)) {
-						numEdges++;
-					}
-					if (frontFacet.hasEdge(v2, v1)) {
-						numEdges++;
+		/**
+		 * Collects the facets visible from {@code eye} by a depth-first search
+		 * from {@code front}, and the edges of the horizon between visible and
+		 * hidden facets in counter clockwise order.
+		 *
+		 * @return number of visible facets followed by their indices
+		 */
+		private int[] computeHorizon(final int front, final int eye) {
+			int[] visible = new int[16];
+			int visibleCount = 0;
+			// facet, first edge and number of remaining edges of each frame
+			int[] stack = new int[3 * 16];
+			stack[0] = front;
+			stack[1] = 0;
+			stack[2] = 3;
+			int depth = 1;
+
+			visited[front] = iteration;
+			visible[++visibleCount] = front;
+			while (depth > 0) {
+				final int top = 3 * (depth - 1);
+				if (stack[top + 2] == 0) {
+					depth--;
+					continue;
+				}
+				final int f = stack[top];
+				final int k = stack[top + 1];
+				stack[top + 1] = (k + 1) % 3;
+				stack[top + 2]--;
+
+				final int g = neighbors[3 * f + k];
+				if (visited[g] == iteration) continue;
+				if (distance(g, eye) > eps) {
+					visited[g] = iteration;
+					if (visibleCount + 1 == visible.length) {
+						visible = Arrays.copyOf(visible, 2 * visible.length);
 					}
-					if (frontFacet.hasEdge(v1, v0)) {
-						numEdges++;
+					visible[++visibleCount] = g;
+					if (3 * depth == stack.length) {
+						stack = Arrays.copyOf(stack, 2 * stack.length);
 					}
-					if (numEdges == 1) {
-						// If a facet is only connected to the frontFacet with
-						// one edge but all three vertices are part of
-						// frontFacet another facet with two edges connected to
-						// the frontFacet is available.
-						// After all facets with two connected edges are merged
-						// this facet will be connected with two edges as well
-						// and will be merged.
-						continue;
+					// continue after the edge through which g was entered
+					stack[3 * depth] = g;
+					stack[3 * depth + 1] = (edgeIndex(g, vertices[3 * f + (k + 1) %
+						3]) + 1) % 3;
+					stack[3 * depth + 2] = 2;
+					depth++;
+				}
+				else {
+					if (2 * horizonSize + 2 > horizon.length) {
+						horizon = Arrays.copyOf(horizon, 2 * horizon.length);
 					}
+					horizon[2 * horizonSize] = f;
+					horizon[2 * horizonSize + 1] = k;
+					horizonSize++;
 				}
-				// f is connected with one edge and the third vertex of f is
-				// not part of frontFacet.
-				return f;
 			}
+			visible[0] = visibleCount;
+			return visible;
 		}
-		return null;
-	}
 
-	/**
-	 * Assigns all points which are not part of the convex hull to a facet. A
-	 * point is assigned to a facet if the point is in front of this facet. Every
-	 * point is assigned to only one facet. If a facet has a point in front the
-	 * facet is added to {@code facetsWithPointInFront}. After this call
-	 * {@code vertices} is empty. Points which are behind all facets are removed
-	 * because they are on the inside of the convex hull.
-	 * 
-	 * @param newFacets which could have a point in front
-	 * @param facetsWithPointInFront
-	 */
-	private void assignPointsToFacets(final double eps,
-		final Set<Vertex> vertices, final List<TriangularFacet> newFacets,
-		final List<TriangularFacet> facets,
-		final List<TriangularFacet> facetsWithPointInFront)
-	{
-		Iterator<Vertex> vertexIt = vertices.iterator();
-		while (vertexIt.hasNext()) {
-			Vertex v = vertexIt.next();
-
-			Iterator<TriangularFacet> facetIt = newFacets.iterator();
-			TriangularFacet maxFacet = null;
-			double maxdis = eps;
-
-			while (facetIt.hasNext()) {
-				TriangularFacet f = facetIt.next();
-				double distanceToPlane = f.distanceToPlane(v);
-				// point is assigned to the facet with maximum distance
-				if (distanceToPlane > maxdis) {
-					maxdis = distanceToPlane;
-					maxFacet = f;
-				}
+		/** Adds the facet {@code a, b, c} with the plane through its vertices. */
+		private int addFacet(final int a, final int b, final int c) {
+			if (facetCount == deleted.length) {
+				final int capacity = 2 * facetCount;
+				vertices = Arrays.copyOf(vertices, 3 * capacity);
+				neighbors = Arrays.copyOf(neighbors, 3 * capacity);
+				normals = Arrays.copyOf(normals, 3 * capacity);
+				offsets = Arrays.copyOf(offsets, capacity);
+				deleted = Arrays.copyOf(deleted, capacity);
+				head = Arrays.copyOf(head, capacity);
+				farthest = Arrays.copyOf(farthest, capacity);
+				farthestDistance = Arrays.copyOf(farthestDistance, capacity);
+				visited = Arrays.copyOf(visited, capacity);
 			}
-
-			// If maxFacet == null this vertex is behind all facets and
-			// therefore on the inside of the convex hull.
-			if (maxFacet != null) {
-				maxFacet.setVertexInFront(v, maxdis);
-				if (!facetsWithPointInFront.contains(maxFacet)) {
-					facetsWithPointInFront.add(maxFacet);
-				}
+			final int f = facetCount++;
+			vertices[3 * f] = a;
+			vertices[3 * f + 1] = b;
+			vertices[3 * f + 2] = c;
+			head[f] = -1;
+			farthestDistance[f] = 0;
+
+			final double[] normal = new double[3];
+			cross(a, b, c, normal);
+			final double norm = Math.sqrt(normal[0] * normal[0] + normal[1] *
+				normal[1] + normal[2] * normal[2]);
+			double offset = 0;
+			for (int d = 0; d < 3; d++) {
+				normals[3 * f + d] = normal[d] / norm;
+				offset += normals[3 * f + d] * (xyz[3 * a + d] + xyz[3 * b + d] +
+					xyz[3 * c + d]) / 3;
 			}
+			offsets[f] = offset;
+			return f;
 		}
 
-		facets.addAll(newFacets);
-
-		// All vertices are reassigned or are inside of the convex hull.
-		vertices.clear();
-	}
-
-	/**
-	 * Computes an initial simplex of four facets. The simplex consists of the
-	 * four points v0-v3. v0 and v1 have the largest possible distance in one
-	 * dimension. v2 is the point with the largest distance to v0----v1. v3 is the
-	 * point with the largest distance to the plane described by v0, v1, v2.
-	 */
-	private double createSimplex(final Set<Vertex> vertices,
-		final List<TriangularFacet> facets,
-		final List<TriangularFacet> facetsWithPointInFront)
-	{
-
-		final Pair<Double, Vertex[]> minMax = computeMinMax(vertices);
-		final double eps = minMax.getA();
-
-		int i = getMaxDistPointIndex(minMax.getB());
-
-		Vertex v0 = minMax.getB()[i];
-		Vertex v1 = minMax.getB()[i + 3];
-
-		vertices.remove(v0);
-		vertices.remove(v1);
-
-		Vertex v2 = getV2(eps, vertices, v0, v1);
-
-		vertices.remove(v2);
-
-		Vertex v3 = getV3(eps, vertices, v0, v1, v2);
-
-		vertices.remove(v3);
-
-		TriangularFacet f0 = new TriangularFacet(v0, v1, v2);
-		if (f0.distanceToPlane(v3) > eps) {
-			// change triangle orientation to counter clockwise
-			Vertex tmp = v1;
-			v1 = v2;
-			v2 = tmp;
-			f0 = new TriangularFacet(v0, v1, v2);
-		}
-		// v3 is behind f0
-		assert f0.distanceToPlane(v3) < eps;
-
-		TriangularFacet f1 = new TriangularFacet(v1, v0, v3);
-
-		TriangularFacet f2 = new TriangularFacet(v2, v1, v3);
-
-		TriangularFacet f3 = new TriangularFacet(v0, v2, v3);
-
-		f0.setNeighbor(0, f3);
-		f0.setNeighbor(1, f1);
-		f0.setNeighbor(2, f2);
-
-		f1.setNeighbor(0, f2);
-		f1.setNeighbor(1, f0);
-		f1.setNeighbor(2, f3);
-
-		f2.setNeighbor(0, f3);
-		f2.setNeighbor(1, f0);
-		f2.setNeighbor(2, f1);
-
-		f3.setNeighbor(0, f1);
-		f3.setNeighbor(1, f0);
-		f3.setNeighbor(2, f2);
-
-		assert f0.distanceToPlane(v3) < eps;
-		assert f1.distanceToPlane(v2) < eps;
-		assert f2.distanceToPlane(v0) < eps;
-		assert f3.distanceToPlane(v1) < eps;
-
-		List<TriangularFacet> newFacets = new ArrayList<>();
-		newFacets.add(f0);
-		newFacets.add(f1);
-		newFacets.add(f2);
-		newFacets.add(f3);
-		assignPointsToFacets(eps, vertices, newFacets, facets,
-			facetsWithPointInFront);
-
-		return eps;
-	}
-
-	/**
-	 * Finds the point with the largest distance to the plane described by v0, v1,
-	 * v2.
-	 * 
-	 * @param v0 Vertex of the plane.
-	 * @param v1 Vertex of the plane.
-	 * @param v2 Vertex of the plane.
-	 * @return Vertex with the largest distance.
-	 */
-	private Vertex getV3(final double eps, final Set<Vertex> vertices,
-		final Vertex v0, final Vertex v1, final Vertex v2)
-	{
-		double distPlanePoint = eps;
-		Vertex v3 = null;
-		Vector3D d0 = v1.subtract(v0);
-		Vector3D d1 = v2.subtract(v0);
-		Vector3D normal = d0.crossProduct(d1).normalize();
-		for (final Vertex v : vertices) {
-			double d = Math.abs(normal.dotProduct(v.subtract(v0)));
-			if (d > distPlanePoint) {
-				distPlanePoint = d;
-				v3 = v;
+		/** Adds point {@code p} to the points in front of facet {@code f}. */
+		private void link(final int f, final int p, final double distance) {
+			next[p] = head[f];
+			head[f] = p;
+			if (distance > farthestDistance[f]) {
+				farthestDistance[f] = distance;
+				farthest[f] = p;
 			}
 		}
-		return v3;
-	}
 
-	/**
-	 * Finds the vertex with the largest distance to the line described by v0, v1.
-	 * 
-	 * @param v0 Vertex of the line.
-	 * @param v1 Vertex of the line.
-	 * @return Vertex with the largest distance.
-	 */
-	private Vertex getV2(final double eps, final Set<Vertex> vertices,
-		final Vertex v0, final Vertex v1)
-	{
-		Iterator<Vertex> it = vertices.iterator();
-
-		// v0 -------------------------------------v1
-		// |
-		// | d
-		// |
-		// * v
-		//
-		// d = |(v - v0) x (v - v1)| / |(v1 - v0)|
-		// We can omit the common denominator because it does not change over
-		// all computations.
-		double distLinePoint = eps;
-		Vertex v2 = null;
-		while (it.hasNext()) {
-			Vertex v = it.next();
-			Vector3D d0 = v.subtract(v1);
-			Vector3D d1 = v.subtract(v0);
-
-			double lengthSq = d0.crossProduct(d1).getNormSq();
-			if (lengthSq > distLinePoint) {
-				distLinePoint = lengthSq;
-				v2 = v;
-			}
+		/** @return signed distance of point {@code p} to the plane of facet f */
+		private double distance(final int f, final int p) {
+			return normals[3 * f] * xyz[3 * p] + normals[3 * f + 1] * xyz[3 * p +
+				1] + normals[3 * f + 2] * xyz[3 * p + 2] - offsets[f];
 		}
-		return v2;
-	}
 
-	/**
-	 * Computes the index of the dimension containing the points with the largest
-	 * distance.
-	 * 
-	 * @param minMax Vertices with the min and max coordinates of each dimension.
-	 * @return index of the dimension with the largest distance between two
-	 *         points.
-	 */
-	private int getMaxDistPointIndex(final Vertex[] minMax) {
-		double[] diff = new double[] { minMax[3].getX() - minMax[0].getX(),
-			minMax[4].getY() - minMax[1].getY(), minMax[5].getZ() - minMax[2]
-				.getZ() };
-
-		double max = 0;
-		int imax = 0;
-		for (int i = 0; i < diff.length; i++) {
-			if (diff[i] > max) {
-				max = diff[i];
-				imax = i;
+		/** @return index of the edge of facet {@code f} starting at {@code v} */
+		private int edgeIndex(final int f, final int v) {
+			for (int k = 0; k < 3; k++) {
+				if (vertices[3 * f + k] == v) return k;
 			}
+			return -1;
 		}
-		return imax;
-	}
 
-	/**
-	 * Finds for each dimension the min and max vertex.
-	 * 
-	 * @return min and max vertices of each dimension
-	 */
-	private Pair<Double, Vertex[]> computeMinMax(final Set<Vertex> vertices) {
-		Vertex[] minMax = new Vertex[6];
-		double maxX, maxY, maxZ;
-		double minX, minY, minZ;
-		Iterator<Vertex> it = vertices.iterator();
-
-		Vertex initPoint = it.next();
-		for (int i = 0; i < minMax.length; i++) {
-			minMax[i] = initPoint;
+		/** Computes {@code (b - a) x (c - a)}. */
+		private void cross(final int a, final int b, final int c,
+			final double[] out)
+		{
+			final double ux = xyz[3 * b] - xyz[3 * a];
+			final double uy = xyz[3 * b + 1] - xyz[3 * a + 1];
+			final double uz = xyz[3 * b + 2] - xyz[3 * a + 2];
+			final double vx = xyz[3 * c] - xyz[3 * a];
+			final double vy = xyz[3 * c + 1] - xyz[3 * a + 1];
+			final double vz = xyz[3 * c + 2] - xyz[3 * a + 2];
+			out[0] = uy * vz - uz * vy;
+			out[1] = uz * vx - ux * vz;
+			out[2] = ux * vy - uy * vx;
 		}
-		minX = maxX = initPoint.getX();
-		minY = maxY = initPoint.getY();
-		minZ = maxZ = initPoint.getZ();
-
-		while (it.hasNext()) {
-			Vertex v = it.next();
-			if (v.getX() > maxX) {
-				maxX = v.getX();
-				minMax[3] = v;
-			}
-			else if (v.getX() < minX) {
-				minX = v.getX();
-				minMax[0] = v;
-			}
-			if (v.getY() > maxY) {
-				maxY = v.getY();
-				minMax[4] = v;
-			}
-			else if (v.getY() < minY) {
-				minY = v.getY();
-				minMax[2] = v;
-			}
-			if (v.getZ() > maxZ) {
-				maxZ = v.getZ();
-				minMax[5] = v;
-			}
-			else if (v.getZ() < minZ) {
-				minZ = v.getZ();
-				minMax[3] = v;
+
+		/** Copies the remaining facets and their vertices into a new mesh. */
+		private Mesh toMesh() {
+			final Mesh output = new NaiveDoubleMesh();
+			final long[] indices = new long[n];
+			Arrays.fill(indices, -1);
+			for (int f = 0; f < facetCount; f++) {
+				if (deleted[f]) continue;
+				final long[] triangle = new long[3];
+				for (int k = 0; k < 3; k++) {
+					final int v = vertices[3 * f + k];
+					if (indices[v] < 0) {
+						indices[v] = output.vertices().add(xyz[3 * v], xyz[3 * v + 1],
+							xyz[3 * v + 2]);
+					}
+					triangle[k] = indices[v];
+				}
+				output.triangles().add(triangle[0], triangle[1], triangle[2],
+					normals[3 * f], normals[3 * f + 1], normals[3 * f + 2]);
 			}
+			return output;
 		}
-
-		// This epsilon formula comes from John Lloyd's quickhull
-		// implementation http://www.cs.ubc.ca/~lloyd/java/quickhull3d.html
-		final double eps = 3 * DOUBLE_PREC * (Math.max(Math.abs(maxX), Math.abs(
-			minX)) + Math.max(Math.abs(maxY), Math.abs(minY)) + Math.max(Math.abs(
-				maxZ), Math.abs(minZ)));
-
-		return new ValuePair<>(eps, minMax);
 	}
 
 }
@@ -29,6 +29,8 @@
 
 package net.imagej.ops.geom.geom3d;
 
+import java.util.Arrays;
+
 import net.imagej.mesh.Mesh;
 import net.imagej.mesh.naive.NaiveDoubleMesh;
 import net.imagej.ops.Contingent;
@@ -36,13 +38,11 @@ import net.imagej.ops.Ops;
 import net.imagej.ops.geom.geom3d.mesh.DefaultVertexInterpolator;
 import net.imagej.ops.geom.geom3d.mesh.VertexInterpolator;
 import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
-import net.imglib2.Cursor;
-import net.imglib2.FinalInterval;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.type.BooleanType;
-import net.imglib2.type.logic.BoolType;
-import net.imglib2.view.ExtendedRandomAccessibleInterval;
-import net.imglib2.view.Views;
 
 import org.apache.commons.math3.util.MathArrays;
 import org.scijava.ItemIO;
@@ -70,126 +70,92 @@ public class DefaultMarchingCubes<T extends BooleanType<T>> extends
 	private VertexInterpolator interpolatorClass =
 		new DefaultVertexInterpolator();
 
-	@SuppressWarnings({ "unchecked" })
+	/** Number of cube layers which are meshed by one task. */
+	private static final int SLAB_DEPTH = 16;
+
+	/**
+	 * Corners of a cube in the order of the lookup tables, as offsets from the
+	 * cube origin.
+	 */
+	private static final int[][] CORNERS = { { 0, 0, 1 }, { 1, 0, 1 }, { 1, 0,
+		0 }, { 0, 0, 0 }, { 0, 1, 1 }, { 1, 1, 1 }, { 1, 1, 0 }, { 0, 1, 0 } };
+
+	/**
+	 * Edges of a cube in the order of the lookup tables: the axis of the edge
+	 * (0 = x, 1 = y, 2 = z) and the offset of its lower end from the cube
+	 * origin.
+	 */
+	private static final int[][] EDGES = { { 0, 0, 0, 1 }, { 2, 1, 0, 0 }, { 0,
+		0, 0, 0 }, { 2, 0, 0, 0 }, { 0, 0, 1, 1 }, { 2, 1, 1, 0 }, { 0, 0, 1, 0 },
+		{ 2, 0, 1, 0 }, { 1, 0, 0, 1 }, { 1, 1, 0, 1 }, { 1, 1, 0, 0 }, { 1, 0, 0,
+			0 } };
+
 	@Override
 	public Mesh calculate(final RandomAccessibleInterval<T> input) {
-		Mesh output = new NaiveDoubleMesh();
-		ExtendedRandomAccessibleInterval<T, RandomAccessibleInterval<T>> extended =
-			Views.extendValue(input, (T) new BoolType(false));
-		Cursor<T> c = Views.interval(extended, new FinalInterval(new long[] { input
-			.min(0) - 1, input.min(1) - 1, input.min(2) - 1 }, new long[] { input.max(
-				0) + 1, input.max(1) + 1, input.max(2) + 1 })).localizingCursor();
-
-		while (c.hasNext()) {
-			c.next();
-
-			int cursorX = c.getIntPosition(0);
-			int cursorY = c.getIntPosition(1);
-			int cursorZ = c.getIntPosition(2);
-			Cursor<T> cu = getCube(extended, cursorX, cursorY, cursorZ);
-			int i = 0;
-			double[] vertex_values = new double[8];
-			while (cu.hasNext()) {
-				vertex_values[i++] = (cu.next().get()) ? 1 : 0;
-			}
-			// 6------7
-			// /| /|
-			// 2-----3 |
-			// | 4---|-5
-			// |/ |/
-			// 0-----1
-			vertex_values = mapFlatIterableToLookUpCube(vertex_values);
-			// 4------5
-			// /| /|
-			// 7-----6 |
-			// | 0---|-1
-			// |/ |/
-			// 3-----2
-			int cubeindex = getCubeIndex(vertex_values);
-
-			if (EDGE_TABLE[cubeindex] != 0) {
-				int[] p0 = new int[] { 0 + cursorX, 0 + cursorY, 1 + cursorZ };
-				int[] p1 = new int[] { 1 + cursorX, 0 + cursorY, 1 + cursorZ };
-				int[] p2 = new int[] { 1 + cursorX, 0 + cursorY, 0 + cursorZ };
-				int[] p3 = new int[] { 0 + cursorX, 0 + cursorY, 0 + cursorZ };
-				int[] p4 = new int[] { 0 + cursorX, 1 + cursorY, 1 + cursorZ };
-				int[] p5 = new int[] { 1 + cursorX, 1 + cursorY, 1 + cursorZ };
-				int[] p6 = new int[] { 1 + cursorX, 1 + cursorY, 0 + cursorZ };
-				int[] p7 = new int[] { 0 + cursorX, 1 + cursorY, 0 + cursorZ };
-
-				double[][] vertlist = new double[12][];
-
-				/* Find the vertices where the surface intersects the cube */
-				if (0 != (EDGE_TABLE[cubeindex] & 1)) {
-					vertlist[0] = interpolatePoint(p0, p1, vertex_values[0],
-						vertex_values[1]);
-				}
-				if (0 != (EDGE_TABLE[cubeindex] & 2)) {
-					vertlist[1] = interpolatePoint(p1, p2, vertex_values[1],
-						vertex_values[2]);
-				}
-				if (0 != (EDGE_TABLE[cubeindex] & 4)) {
-					vertlist[2] = interpolatePoint(p2, p3, vertex_values[2],
-						vertex_values[3]);
-				}
-				if (0 != (EDGE_TABLE[cubeindex] & 8)) {
-					vertlist[3] = interpolatePoint(p3, p0, vertex_values[3],
-						vertex_values[0]);
-				}
-				if (0 != (EDGE_TABLE[cubeindex] & 16)) {
-					vertlist[4] = interpolatePoint(p4, p5, vertex_values[4],
-						vertex_values[5]);
-				}
-				if (0 != (EDGE_TABLE[cubeindex] & 32)) {
-					vertlist[5] = interpolatePoint(p5, p6, vertex_values[5],
-						vertex_values[6]);
-				}
-				if (0 != (EDGE_TABLE[cubeindex] & 64)) {
-					vertlist[6] = interpolatePoint(p6, p7, vertex_values[6],
-						vertex_values[7]);
-				}
-				if (0 != (EDGE_TABLE[cubeindex] & 128)) {
-					vertlist[7] = interpolatePoint(p7, p4, vertex_values[7],
-						vertex_values[4]);
-				}
-				if (0 != (EDGE_TABLE[cubeindex] & 256)) {
-					vertlist[8] = interpolatePoint(p0, p4, vertex_values[0],
-						vertex_values[4]);
-				}
-				if (0 != (EDGE_TABLE[cubeindex] & 512)) {
-					vertlist[9] = interpolatePoint(p1, p5, vertex_values[1],
-						vertex_values[5]);
-				}
-				if (0 != (EDGE_TABLE[cubeindex] & 1024)) {
-					vertlist[10] = interpolatePoint(p2, p6, vertex_values[2],
-						vertex_values[6]);
-				}
-				if (0 != (EDGE_TABLE[cubeindex] & 2048)) {
-					vertlist[11] = interpolatePoint(p3, p7, vertex_values[3],
-						vertex_values[7]);
+		// the corner values are 0 or 1, so the interpolator only needs to be
+		// asked for the two possible transitions along an edge
+		final double[] fractions = { fraction(0, 1), fraction(1, 0) };
+
+		// cubes start at min - 1 and end at max, to close the surface at the
+		// border of the image
+		final int layers = (int) input.dimension(2) + 1;
+		final int numSlabs = (layers + SLAB_DEPTH - 1) / SLAB_DEPTH;
+		final Slab[] slabs = new Slab[numSlabs];
+		ops().run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				for (long k = 0, s = startIndex; k < numSteps; k++, s += stepSize) {
+					final int start = (int) s * SLAB_DEPTH;
+					slabs[(int) s] = new Slab(input, fractions, start, Math.min(layers,
+						start + SLAB_DEPTH));
 				}
+			}
+		}, numSlabs);
 
-				/* Create the triangle */
-				for (i = 0; TRIANGLE_TABLE[cubeindex][i] != -1; i += 3) {
-					final double v0x = vertlist[TRIANGLE_TABLE[cubeindex][i + 2]][0];
-					final double v0y = vertlist[TRIANGLE_TABLE[cubeindex][i + 2]][1];
-					final double v0z = vertlist[TRIANGLE_TABLE[cubeindex][i + 2]][2];
-					final double v1x = vertlist[TRIANGLE_TABLE[cubeindex][i + 1]][0];
-					final double v1y = vertlist[TRIANGLE_TABLE[cubeindex][i + 1]][1];
-					final double v1z = vertlist[TRIANGLE_TABLE[cubeindex][i + 1]][2];
-					final double v2x = vertlist[TRIANGLE_TABLE[cubeindex][i]][0];
-					final double v2y = vertlist[TRIANGLE_TABLE[cubeindex][i]][1];
-					final double v2z = vertlist[TRIANGLE_TABLE[cubeindex][i]][2];
-					if (positiveArea(v0x, v0y, v0z, v1x, v1y, v1z, v2x, v2y, v2z)) {
-						output.triangles().add(v0x, v0y, v0z, v1x, v1y, v1z, v2x, v2y, v2z);
+		// join the slabs, sharing the vertices on the planes between them
+		final Mesh output = new NaiveDoubleMesh();
+		long[] previous = null;
+		for (int s = 0; s < numSlabs; s++) {
+			final Slab slab = slabs[s];
+			final long[] global = new long[slab.numVertices];
+			Arrays.fill(global, -1);
+			if (s > 0) {
+				final Slab last = slabs[s - 1];
+				for (int i = 0, j = 0; i < last.lastKeys.size && j <
+					slab.firstKeys.size;)
+				{
+					final int a = last.lastKeys.data[i];
+					final int b = slab.firstKeys.data[j];
+					if (a == b) {
+						global[slab.firstIds.data[j]] = previous[last.lastIds.data[i]];
 					}
+					if (a <= b) i++;
+					if (b <= a) j++;
 				}
 			}
+			// vertices are added when first used, vertices of degenerate
+			// triangles are dropped
+			final long[] triangle = new long[3];
+			for (int t = 0; t < slab.triangles.size; t += 3) {
+				for (int k = 0; k < 3; k++) {
+					final int v = slab.triangles.data[t + k];
+					if (global[v] < 0) {
+						global[v] = output.vertices().add(slab.vertices[3 * v],
+							slab.vertices[3 * v + 1], slab.vertices[3 * v + 2]);
+					}
+					triangle[k] = global[v];
+				}
+				output.triangles().add(triangle[0], triangle[1], triangle[2]);
+			}
+			previous = global;
 		}
 		return output;
 	}
 
-	private boolean positiveArea(double v0x, double v0y, double v0z, //
+	private static boolean positiveArea(double v0x, double v0y, double v0z, //
 		double v1x, double v1y, double v1z, //
 		double v2x, double v2y, double v2z)
 	{
@@ -208,48 +174,255 @@ public class DefaultMarchingCubes<T extends BooleanType<T>> extends
 		return cpx != 0 || cpy != 0 || cpz != 0;
 	}
 
-	private double[] interpolatePoint(int[] p0, int[] p1, double v0, double v1) {
-		interpolatorClass.setPoint1(p0);
-		interpolatorClass.setPoint2(p1);
+	/**
+	 * Computes where the interpolated vertex lies on an edge of unit length,
+	 * given the values at its ends.
+	 */
+	private double fraction(final double v0, final double v1) {
+		interpolatorClass.setPoint1(new int[] { 0, 0, 0 });
+		interpolatorClass.setPoint2(new int[] { 1, 0, 0 });
 		interpolatorClass.setValue1(v0);
 		interpolatorClass.setValue2(v1);
 		interpolatorClass.setIsoLevel(isolevel);
 		interpolatorClass.run();
 
-		return interpolatorClass.getOutput();
+		return interpolatorClass.getOutput()[0];
 	}
 
-	private int getCubeIndex(final double[] vertex_values) {
-		int cubeindex = 0;
-		for (int i = 0; i < 8; i++) {
-			if (vertex_values[i] < isolevel) {
-				cubeindex |= (int) Math.pow(2, i);
+	/**
+	 * Mesh of a range of cube layers. Two planes of the image are kept at a time,
+	 * together with the indices of the vertices created on their grid points and
+	 * edges, so that every vertex is created once. The vertices on the first and
+	 * last plane are recorded by a key to share them with the adjacent slabs.
+	 */
+	private class Slab {
+
+		private final RandomAccessibleInterval<T> input;
+		private final double[] fractions;
+		private final int width;
+		private final int height;
+		private final long minX;
+		private final long minY;
+		private final long minZ;
+
+		/** Values of the lower and upper plane, 0 outside of the image. */
+		private byte[] values0, values1;
+
+		/** Indices of the vertices at the grid points of the planes. */
+		private int[] corners0, corners1;
+
+		/** Indices of the vertices on the x- and y-edges of the planes. */
+		private int[] xEdges0, xEdges1, yEdges0, yEdges1;
+
+		/** Indices of the vertices on the z-edges between the planes. */
+		private int[] zEdges;
+
+		private double[] vertices = new double[3 * 1024];
+		private int numVertices;
+		private final IntArray triangles = new IntArray();
+
+		private final IntArray firstKeys = new IntArray();
+		private final IntArray firstIds = new IntArray();
+		private final IntArray lastKeys = new IntArray();
+		private final IntArray lastIds = new IntArray();
+
+		public Slab(final RandomAccessibleInterval<T> input,
+			final double[] fractions, final int start, final int end)
+		{
+			this.input = input;
+			this.fractions = fractions;
+			width = (int) input.dimension(0) + 2;
+			height = (int) input.dimension(1) + 2;
+			minX = input.min(0) - 1;
+			minY = input.min(1) - 1;
+			minZ = input.min(2) - 1;
+			final int size = width * height;
+			values0 = new byte[size];
+			values1 = new byte[size];
+			corners0 = new int[size];
+			corners1 = new int[size];
+			xEdges0 = new int[size];
+			xEdges1 = new int[size];
+			yEdges0 = new int[size];
+			yEdges1 = new int[size];
+			zEdges = new int[size];
+
+			readPlane(start, values0);
+			clear(corners0, xEdges0, yEdges0);
+			final int[] cube = new int[12];
+			for (int layer = start; layer < end; layer++) {
+				readPlane(layer + 1, values1);
+				clear(corners1, xEdges1, yEdges1);
+				Arrays.fill(zEdges, -1);
+
+				for (int y = 0; y < height - 1; y++) {
+					for (int x = 0; x < width - 1; x++) {
+						march(x, y, layer, cube);
+					}
+				}
+
+				if (layer == start) record(corners0, xEdges0, yEdges0, firstKeys,
+					firstIds);
+				if (layer == end - 1) record(corners1, xEdges1, yEdges1, lastKeys,
+					lastIds);
+
+				// the upper plane becomes the lower one
+				byte[] b = values0;
+				values0 = values1;
+				values1 = b;
+				int[] i = corners0;
+				corners0 = corners1;
+				corners1 = i;
+				i = xEdges0;
+				xEdges0 = xEdges1;
+				xEdges1 = i;
+				i = yEdges0;
+				yEdges0 = yEdges1;
+				yEdges1 = i;
+			}
+
+			// only the mesh and the seams are kept
+			values0 = values1 = null;
+			corners0 = corners1 = xEdges0 = xEdges1 = yEdges0 = yEdges1 = zEdges =
+				null;
+		}
+
+		private void march(final int x, final int y, final int layer,
+			final int[] cube)
+		{
+			int cubeindex = 0;
+			for (int c = 0; c < 8; c++) {
+				if (value(x + CORNERS[c][0], y + CORNERS[c][1], CORNERS[c][2]) <
+					isolevel)
+				{
+					cubeindex |= 1 << c;
+				}
+			}
+			final int edges = EDGE_TABLE[cubeindex];
+			if (edges == 0) return;
+
+			/* Find the vertices where the surface intersects the cube */
+			for (int e = 0; e < 12; e++) {
+				if (0 != (edges & (1 << e))) cube[e] = vertex(x, y, layer, e);
+			}
+
+			/* Create the triangle */
+			final int[] triangle = TRIANGLE_TABLE[cubeindex];
+			for (int t = 0; triangle[t] != -1; t += 3) {
+				final int v0 = cube[triangle[t + 2]];
+				final int v1 = cube[triangle[t + 1]];
+				final int v2 = cube[triangle[t]];
+				if (positiveArea(vertices[3 * v0], vertices[3 * v0 + 1], vertices[3 *
+					v0 + 2], vertices[3 * v1], vertices[3 * v1 + 1], vertices[3 * v1 +
+						2], vertices[3 * v2], vertices[3 * v2 + 1], vertices[3 * v2 + 2]))
+				{
+					triangles.add(v0);
+					triangles.add(v1);
+					triangles.add(v2);
+				}
 			}
 		}
-		return cubeindex;
-	}
 
-	private double[] mapFlatIterableToLookUpCube(final double[] vertex_values) {
-		double[] vv = new double[8];
-		vv[0] = vertex_values[4];
-		vv[1] = vertex_values[5];
-		vv[2] = vertex_values[1];
-		vv[3] = vertex_values[0];
-		vv[4] = vertex_values[6];
-		vv[5] = vertex_values[7];
-		vv[6] = vertex_values[3];
-		vv[7] = vertex_values[2];
-		
-		return vv;
+		/** Returns the index of the vertex on edge {@code e} of a cube. */
+		private int vertex(final int x, final int y, final int layer,
+			final int e)
+		{
+			final int axis = EDGES[e][0];
+			final int x0 = x + EDGES[e][1];
+			final int y0 = y + EDGES[e][2];
+			final int z0 = EDGES[e][3];
+			final int x1 = axis == 0 ? x0 + 1 : x0;
+			final int y1 = axis == 1 ? y0 + 1 : y0;
+			final int z1 = axis == 2 ? z0 + 1 : z0;
+			final double f = fractions[value(x0, y0, z0) == 0 ? 0 : 1];
+
+			// vertices at the ends of an edge belong to the grid point
+			final int[] ids;
+			final int index;
+			if (f == 0 || f == 1) {
+				final boolean upper = f == 1;
+				ids = (upper ? z1 : z0) == 0 ? corners0 : corners1;
+				index = upper ? x1 + width * y1 : x0 + width * y0;
+			}
+			else {
+				ids = axis == 2 ? zEdges : axis == 0 ? (z0 == 0 ? xEdges0
+					: xEdges1) : (z0 == 0 ? yEdges0 : yEdges1);
+				index = x0 + width * y0;
+			}
+			if (ids[index] < 0) {
+				ids[index] = addVertex(minX + x0 + f * (x1 - x0), minY + y0 + f *
+					(y1 - y0), minZ + layer + z0 + f * (z1 - z0));
+			}
+			return ids[index];
+		}
+
+		private int addVertex(final double x, final double y, final double z) {
+			if (3 * numVertices == vertices.length) {
+				vertices = Arrays.copyOf(vertices, 2 * vertices.length);
+			}
+			vertices[3 * numVertices] = x;
+			vertices[3 * numVertices + 1] = y;
+			vertices[3 * numVertices + 2] = z;
+			return numVertices++;
+		}
+
+		private double value(final int x, final int y, final int z) {
+			return (z == 0 ? values0 : values1)[x + width * y];
+		}
+
+		/** Reads the plane of the given layer, 0 outside of the image. */
+		private void readPlane(final int layer, final byte[] values) {
+			Arrays.fill(values, (byte) 0);
+			final long z = minZ + layer;
+			if (z < input.min(2) || z > input.max(2)) return;
+			final RandomAccess<T> ra = input.randomAccess();
+			ra.setPosition(z, 2);
+			for (int y = 1; y < height - 1; y++) {
+				ra.setPosition(minX + 1, 0);
+				ra.setPosition(minY + y, 1);
+				for (int x = 1; x < width - 1; x++, ra.fwd(0)) {
+					values[x + width * y] = (byte) (ra.get().get() ? 1 : 0);
+				}
+			}
+		}
+
+		private void clear(final int[]... ids) {
+			for (final int[] i : ids) {
+				Arrays.fill(i, -1);
+			}
+		}
+
+		/** Records the vertices of a plane, sorted by their key. */
+		private void record(final int[] corners, final int[] xEdges,
+			final int[] yEdges, final IntArray keys, final IntArray ids)
+		{
+			for (int i = 0; i < corners.length; i++) {
+				if (corners[i] >= 0) {
+					keys.add(3 * i);
+					ids.add(corners[i]);
+				}
+				if (xEdges[i] >= 0) {
+					keys.add(3 * i + 1);
+					ids.add(xEdges[i]);
+				}
+				if (yEdges[i] >= 0) {
+					keys.add(3 * i + 2);
+					ids.add(yEdges[i]);
+				}
+			}
+		}
 	}
 
-	private Cursor<T> getCube(
-		final ExtendedRandomAccessibleInterval<T, RandomAccessibleInterval<T>> extended,
-		final int cursorX, final int cursorY, final int cursorZ)
-	{
-		return Views.flatIterable(Views.interval(extended, new FinalInterval(
-			new long[] { cursorX, cursorY, cursorZ }, new long[] { cursorX + 1,
-				cursorY + 1, cursorZ + 1 }))).cursor();
+	/** Growable array of ints. */
+	private static class IntArray {
+
+		private int[] data = new int[1024];
+		private int size;
+
+		private void add(final int value) {
+			if (size == data.length) data = Arrays.copyOf(data, 2 * size);
+			data[size++] = value;
+		}
 	}
 
 	// For any edge, if one vertex is inside of the surface and the other is
@@ -1,4 +1,4 @@
-/*-
+/*
  * #%L
  * ImageJ software for multidimensional image processing and analysis.
  * %%
@@ -28,36 +28,470 @@
  */
 package net.imagej.ops.geom.geom3d.mesh;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
 import net.imagej.mesh.Mesh;
+import net.imagej.mesh.Vertex;
 import net.imagej.ops.Contingent;
+import net.imagej.ops.OpEnvironment;
 import net.imagej.ops.Ops;
+import net.imagej.ops.geom.geom2d.CaliperMeasures;
+import net.imagej.ops.geom.geom2d.DefaultRotatingCalipers;
 import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.special.function.Functions;
+import net.imagej.ops.special.function.UnaryFunctionOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imglib2.RealLocalizable;
+import net.imglib2.roi.geom.real.Polygon2D;
 
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 
 /**
  * Generic implementation of {@code geom.smallestBoundingBox}.
- * 
- * This paper looks promising: http://clb.demon.fi/minobb/minobb.html 
- * c++ implementation:
- * https://github.com/juj/MathGeoLib/blob/master/src/Geometry/OBB.cpp (Licensed
- * under the Apache License, Version 2.0) example:
- * http://clb.demon.fi/minobb/test/ModelView.html
+ * <p>
+ * The box is searched for on the vertices of the convex hull, copied into a
+ * primitive array. For a fixed direction of one box axis, the smallest box is
+ * found exactly by projecting the hull onto the plane normal to it and running
+ * {@code geom.rotatingCalipers} on the projection. This is done in parallel for
+ * the principal axes, the coordinate axes and a grid of directions on the
+ * hemisphere whose covering angle is the given tolerance, and the best
+ * direction is refined by a local search.
+ * </p>
+ * <p>
+ * The grid contains a direction within the tolerance {@code t} of an axis of
+ * the smallest box, which bounds the error of the result as described in
+ * {@link OrientedBox} with an error bound of {@code sqrt(2) * sin(t)}. The
+ * running time grows with {@code 1 / t^2}.
+ * </p>
  * 
  * @author Tim-Oliver Buchholz, University of Konstanz
+ * @see <a href="https://doi.org/10.1007/BF00991005">O'Rourke, Finding minimal
+ *      enclosing boxes</a>
  */
 @Plugin(type = Ops.Geometric.SmallestEnclosingBoundingBox.class, label = "Geometric (3D): Smallest OBB")
 public class DefaultSmallestOrientedBoundingBox extends AbstractUnaryFunctionOp<Mesh, Mesh>
 		implements Contingent, Ops.Geometric.SmallestEnclosingBoundingBox {
 
+	/** Smallest step of the local search, relative to the tolerance. */
+	private static final double REFINEMENT = 1e-3;
+
+	/** Directions of the extreme points filtering the projections. */
+	private static final double[] OCTAGON = { 1, 0, 1, 1, 0, 1, -1, 1, -1, 0,
+		-1, -1, 0, -1, 1, -1 };
+
+	/** Angle in radians between the directions of the search grid. */
+	@Parameter(required = false)
+	private double tolerance = 0.05;
+
+	private UnaryFunctionOp<Mesh, Mesh> convexHullFunc;
+
 	@Override
-	public Mesh calculate(Mesh input) {
-		return null;
+	public void initialize() {
+		convexHullFunc = Functions.unary(ops(), Ops.Geometric.ConvexHull.class,
+			Mesh.class, in());
+	}
+
+	@Override
+	public Mesh calculate(final Mesh input) {
+		final Mesh hull = convexHullFunc.calculate(input);
+		final double[] xyz = new double[3 * (int) hull.vertices().size()];
+		int i = 0;
+		for (final Vertex v : hull.vertices()) {
+			xyz[i++] = v.x();
+			xyz[i++] = v.y();
+			xyz[i++] = v.z();
+		}
+		return fit(ops(), xyz, tolerance).toMesh();
 	}
 
 	@Override
 	public boolean conforms() {
-		return false;
+		return tolerance > 0 && tolerance <= Math.PI / 2;
+	}
+
+	/**
+	 * Finds an approximately smallest box enclosing the given points.
+	 *
+	 * @param ops environment running the search in parallel
+	 * @param xyz interleaved coordinates of the points, usually the vertices of
+	 *          their convex hull
+	 * @param tolerance angle in radians between the searched directions
+	 */
+	public static OrientedBox fit(final OpEnvironment ops, final double[] xyz,
+		final double tolerance)
+	{
+		if (xyz.length < 3) {
+			throw new IllegalArgumentException("No points to enclose");
+		}
+		final double[] directions = directions(xyz, tolerance);
+		final int count = directions.length / 3;
+
+		// best volume and direction of each chunk
+		final Map<Long, double[]> partials = new TreeMap<>();
+		ops.thread().chunker(new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final Projection projection = new Projection(xyz);
+				final double[] best = { Double.POSITIVE_INFINITY, -1 };
+				for (long k = 0, d = startIndex; k < numSteps; k++, d += stepSize) {
+					final int i = 3 * (int) d;
+					final double volume = projection.volume(directions[i],
+						directions[i + 1], directions[i + 2]);
+					if (volume < best[0]) {
+						best[0] = volume;
+						best[1] = d;
+					}
+				}
+				synchronized (partials) {
+					partials.put(startIndex, best);
+				}
+			}
+		}, count);
+
+		double volume = Double.POSITIVE_INFINITY;
+		int best = 0;
+		for (final double[] partial : partials.values()) {
+			if (partial[0] < volume) {
+				volume = partial[0];
+				best = (int) partial[1];
+			}
+		}
+
+		// hill climbing on the direction with decreasing step
+		final Projection projection = new Projection(xyz);
+		final double[] w = { directions[3 * best], directions[3 * best + 1],
+			directions[3 * best + 2] };
+		final double[] a = new double[3];
+		final double[] b = new double[3];
+		final double[] candidate = new double[3];
+		for (double step = tolerance / 2; step > tolerance * REFINEMENT; step /=
+			2)
+		{
+			boolean improved = true;
+			for (int iteration = 0; improved && iteration < 16; iteration++) {
+				improved = false;
+				basis(w, a, b);
+				for (int k = 0; k < 8; k++) {
+					final double ca = step * Math.cos(k * Math.PI / 4);
+					final double cb = step * Math.sin(k * Math.PI / 4);
+					for (int i = 0; i < 3; i++) {
+						candidate[i] = w[i] + ca * a[i] + cb * b[i];
+					}
+					normalize(candidate);
+					final double v = projection.volume(candidate[0], candidate[1],
+						candidate[2]);
+					if (v < volume) {
+						volume = v;
+						System.arraycopy(candidate, 0, w, 0, 3);
+						improved = true;
+					}
+				}
+			}
+		}
+
+		projection.volume(w[0], w[1], w[2]);
+		return projection.box(w, Math.sqrt(2) * Math.sin(tolerance));
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * The principal and coordinate axes, followed by a grid of directions on the
+	 * upper hemisphere: rings of constant polar angle {@code tolerance} apart,
+	 * each sampled with an arc length of at most {@code tolerance}. Every
+	 * direction is within {@code tolerance} of a direction of the grid or its
+	 * opposite.
+	 */
+	private static double[] directions(final double[] xyz,
+		final double tolerance)
+	{
+		final int rings = (int) Math.ceil(Math.PI / 2 / tolerance);
+		int count = 6;
+		for (int k = 0; k <= rings; k++) {
+			count += ringSize(k, tolerance);
+		}
+		final double[] directions = new double[3 * count];
+
+		final double[] principal = principalAxes(xyz);
+		System.arraycopy(principal, 0, directions, 0, 9);
+		for (int d = 0; d < 3; d++) {
+			directions[9 + 4 * d] = 1;
+		}
+
+		int i = 18;
+		for (int k = 0; k <= rings; k++) {
+			final double polar = Math.min(k * tolerance, Math.PI / 2);
+			final int size = ringSize(k, tolerance);
+			for (int l = 0; l < size; l++) {
+				final double azimuth = 2 * Math.PI * l / size;
+				directions[i++] = Math.sin(polar) * Math.cos(azimuth);
+				directions[i++] = Math.sin(polar) * Math.sin(azimuth);
+				directions[i++] = Math.cos(polar);
+			}
+		}
+		return directions;
+	}
+
+	private static int ringSize(final int k, final double tolerance) {
+		if (k == 0) return 1;
+		final double outer = Math.min(k * tolerance + tolerance / 2, Math.PI / 2);
+		return Math.max(1, (int) Math.ceil(2 * Math.PI * Math.sin(outer) /
+			tolerance));
 	}
 
+	/** @return eigenvectors of the covariance of the points, row by row */
+	private static double[] principalAxes(final double[] xyz) {
+		final int n = xyz.length / 3;
+		final double[] mean = new double[3];
+		for (int p = 0; p < n; p++) {
+			for (int d = 0; d < 3; d++) {
+				mean[d] += xyz[3 * p + d] / n;
+			}
+		}
+		final double[][] covariance = new double[3][3];
+		for (int p = 0; p < n; p++) {
+			for (int d = 0; d < 3; d++) {
+				for (int e = 0; e < 3; e++) {
+					covariance[d][e] += (xyz[3 * p + d] - mean[d]) * (xyz[3 * p + e] -
+						mean[e]);
+				}
+			}
+		}
+		final EigenDecomposition ed = new EigenDecomposition(
+			new Array2DRowRealMatrix(covariance, false));
+		final double[] axes = new double[9];
+		for (int d = 0; d < 3; d++) {
+			for (int e = 0; e < 3; e++) {
+				axes[3 * d + e] = ed.getEigenvector(d).getEntry(e);
+			}
+			normalize(axes, 3 * d);
+		}
+		return axes;
+	}
+
+	/** Sets {@code a} and {@code b} such that {@code (a, b, w)} is a frame. */
+	private static void basis(final double[] w, final double[] a,
+		final double[] b)
+	{
+		// cross w with the coordinate axis least aligned with it
+		final int axis = Math.abs(w[0]) <= Math.abs(w[1]) && Math.abs(w[0]) <= Math
+			.abs(w[2]) ? 0 : Math.abs(w[1]) <= Math.abs(w[2]) ? 1 : 2;
+		a[0] = axis == 0 ? 0 : axis == 1 ? w[2] : -w[1];
+		a[1] = axis == 0 ? -w[2] : axis == 1 ? 0 : w[0];
+		a[2] = axis == 0 ? w[1] : axis == 1 ? -w[0] : 0;
+		normalize(a);
+		b[0] = w[1] * a[2] - w[2] * a[1];
+		b[1] = w[2] * a[0] - w[0] * a[2];
+		b[2] = w[0] * a[1] - w[1] * a[0];
+	}
+
+	private static void normalize(final double[] v) {
+		normalize(v, 0);
+	}
+
+	private static void normalize(final double[] v, final int offset) {
+		final double length = Math.sqrt(v[offset] * v[offset] + v[offset + 1] *
+			v[offset + 1] + v[offset + 2] * v[offset + 2]);
+		for (int i = offset; i < offset + 3; i++) {
+			v[i] /= length;
+		}
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Projects the points onto planes and finds the smallest box for a given
+	 * axis. Holds the scratch arrays of one thread.
+	 */
+	private static final class Projection {
+
+		private final double[] xyz;
+		private final int n;
+		private final double[] px;
+		private final double[] py;
+		private final int[] order;
+		private final double[] hull;
+
+		private final double[] a = new double[3];
+		private final double[] b = new double[3];
+
+		/** In-plane axes of the last box. */
+		private final double[] u = new double[3];
+		private final double[] v = new double[3];
+
+		private Projection(final double[] xyz) {
+			this.xyz = xyz;
+			n = xyz.length / 3;
+			px = new double[n];
+			py = new double[n];
+			order = new int[n];
+			hull = new double[4 * n + 2];
+		}
+
+		/** @return volume of the smallest box with an axis along {@code w} */
+		private double volume(final double wx, final double wy, final double wz) {
+			final double[] w = { wx, wy, wz };
+			basis(w, a, b);
+			double minH = Double.POSITIVE_INFINITY;
+			double maxH = Double.NEGATIVE_INFINITY;
+			for (int p = 0; p < n; p++) {
+				final double x = xyz[3 * p];
+				final double y = xyz[3 * p + 1];
+				final double z = xyz[3 * p + 2];
+				px[p] = a[0] * x + a[1] * y + a[2] * z;
+				py[p] = b[0] * x + b[1] * y + b[2] * z;
+				final double h = wx * x + wy * y + wz * z;
+				if (h < minH) minH = h;
+				if (h > maxH) maxH = h;
+			}
+
+			final int size = convexHull();
+			final CaliperMeasures calipers = DefaultRotatingCalipers.measure(
+				size == hull.length ? hull : Arrays.copyOf(hull, size));
+			final Polygon2D rectangle = calipers.getSmallestEnclosingRectangle();
+			final RealLocalizable r0 = rectangle.vertex(0);
+			final double vx = rectangle.vertex(1).getDoublePosition(0) - r0
+				.getDoublePosition(0);
+			final double vy = rectangle.vertex(1).getDoublePosition(1) - r0
+				.getDoublePosition(1);
+			final double ux = rectangle.vertex(3).getDoublePosition(0) - r0
+				.getDoublePosition(0);
+			final double uy = rectangle.vertex(3).getDoublePosition(1) - r0
+				.getDoublePosition(1);
+			final double width = Math.hypot(ux, uy);
+			final double cos = width == 0 ? 1 : ux / width;
+			final double sin = width == 0 ? 0 : uy / width;
+			for (int i = 0; i < 3; i++) {
+				u[i] = cos * a[i] + sin * b[i];
+				v[i] = -sin * a[i] + cos * b[i];
+			}
+			return width * Math.hypot(vx, vy) * (maxH - minH);
+		}
+
+		/** @return the box of the last call to {@link #volume} */
+		private OrientedBox box(final double[] w, final double errorBound) {
+			final double[] axes = { u[0], u[1], u[2], v[0], v[1], v[2], w[0], w[1],
+				w[2] };
+			final double[] min = { Double.POSITIVE_INFINITY,
+				Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY };
+			final double[] max = { Double.NEGATIVE_INFINITY,
+				Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY };
+			for (int p = 0; p < n; p++) {
+				for (int d = 0; d < 3; d++) {
+					final double t = axes[3 * d] * xyz[3 * p] + axes[3 * d + 1] * xyz[3 *
+						p + 1] + axes[3 * d + 2] * xyz[3 * p + 2];
+					if (t < min[d]) min[d] = t;
+					if (t > max[d]) max[d] = t;
+				}
+			}
+			return new OrientedBox(axes, min, max, errorBound);
+		}
+
+		/**
+		 * Computes the convex hull of the projected points with the monotone
+		 * chain algorithm of Andrew, after discarding the points inside the
+		 * octagon of the extreme points as proposed by Akl and Toussaint.
+		 *
+		 * @return number of coordinates written to {@link #hull}
+		 */
+		private int convexHull() {
+			final int count = filter();
+			sort(count);
+			int m = 0;
+			// lower hull, then upper hull
+			for (int pass = 0; pass < 2; pass++) {
+				final int start = m;
+				for (int k = 0; k < count; k++) {
+					final int p = order[pass == 0 ? k : count - 1 - k];
+					while (m >= start + 4 && cross(m - 4, m - 2, p) <= 0) {
+						m -= 2;
+					}
+					hull[m++] = px[p];
+					hull[m++] = py[p];
+				}
+				// the last point is the first of the other chain
+				m -= 2;
+			}
+			return Math.max(m, 2);
+		}
+
+		/**
+		 * Writes the points which are not strictly inside the octagon of the
+		 * extreme points to {@link #order}.
+		 *
+		 * @return number of points written
+		 */
+		private int filter() {
+			// extreme points in the directions 0, 45, ..., 315 degrees
+			final int[] extremes = new int[8];
+			final double[] max = new double[8];
+			Arrays.fill(max, Double.NEGATIVE_INFINITY);
+			for (int p = 0; p < n; p++) {
+				for (int k = 0; k < 8; k++) {
+					final double t = OCTAGON[2 * k] * px[p] + OCTAGON[2 * k + 1] *
+						py[p];
+					if (t > max[k]) {
+						max[k] = t;
+						extremes[k] = p;
+					}
+				}
+			}
+			int count = 0;
+			for (int p = 0; p < n; p++) {
+				boolean inside = false;
+				for (int k = 0; k < 8; k++) {
+					final int o = extremes[k];
+					final int i = extremes[(k + 1) % 8];
+					if (px[o] == px[i] && py[o] == py[i]) continue;
+					inside = (px[i] - px[o]) * (py[p] - py[o]) - (py[i] - py[o]) *
+						(px[p] - px[o]) > 0;
+					if (!inside) break;
+				}
+				if (!inside) order[count++] = p;
+			}
+			return count;
+		}
+
+		private double cross(final int o, final int i, final int p) {
+			return (hull[i] - hull[o]) * (py[p] - hull[o + 1]) - (hull[i + 1] -
+				hull[o + 1]) * (px[p] - hull[o]);
+		}
+
+		/** Heap sort of {@link #order} by x- and then y-coordinate. */
+		private void sort(final int count) {
+			for (int i = count / 2 - 1; i >= 0; i--) {
+				siftDown(i, count);
+			}
+			for (int end = count - 1; end > 0; end--) {
+				final int tmp = order[0];
+				order[0] = order[end];
+				order[end] = tmp;
+				siftDown(0, end);
+			}
+		}
+
+		private void siftDown(int i, final int end) {
+			final int value = order[i];
+			while (2 * i + 1 < end) {
+				int child = 2 * i + 1;
+				if (child + 1 < end && less(order[child], order[child + 1])) child++;
+				if (!less(value, order[child])) break;
+				order[i] = order[child];
+				i = child;
+			}
+			order[i] = value;
+		}
+
+		private boolean less(final int p, final int q) {
+			return px[p] < px[q] || px[p] == px[q] && py[p] < py[q];
+		}
+	}
 }
@@ -0,0 +1,126 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imagej.ops.geom.geom3d.mesh;
+
+import net.imagej.mesh.Mesh;
+import net.imagej.mesh.naive.NaiveDoubleMesh;
+
+/**
+ * An oriented box, given by a right-handed orthonormal frame and the minimum
+ * and maximum coordinates along each of its axes, as computed by
+ * {@code geom.smallestEnclosingBoundingBox} for meshes.
+ * <p>
+ * The box is a {@code (1 + errorBound)}-approximation in the following sense:
+ * its volume is at most the volume of the smallest enclosing box after each
+ * extent of that box has been grown by {@link #getErrorBound()} times its
+ * largest extent.
+ * </p>
+ */
+public final class OrientedBox {
+
+	/** Triangles of the box, as corner indices {@code x + 2y + 4z}. */
+	private static final int[] TRIANGLES = { //
+		0, 4, 6, 0, 6, 2, // x = min
+		1, 3, 7, 1, 7, 5, // x = max
+		0, 1, 5, 0, 5, 4, // y = min
+		2, 6, 7, 2, 7, 3, // y = max
+		0, 2, 3, 0, 3, 1, // z = min
+		4, 5, 7, 4, 7, 6 // z = max
+	};
+
+	private final double[] axes;
+	private final double[] min;
+	private final double[] max;
+	private final double errorBound;
+
+	OrientedBox(final double[] axes, final double[] min, final double[] max,
+		final double errorBound)
+	{
+		this.axes = axes;
+		this.min = min;
+		this.max = max;
+		this.errorBound = errorBound;
+	}
+
+	/** @return unit vector of axis {@code d} of the box */
+	public double[] getAxis(final int d) {
+		return new double[] { axes[3 * d], axes[3 * d + 1], axes[3 * d + 2] };
+	}
+
+	/** @return length of the box along axis {@code d} */
+	public double getExtent(final int d) {
+		return max[d] - min[d];
+	}
+
+	public double[] getCenter() {
+		final double[] center = new double[3];
+		for (int d = 0; d < 3; d++) {
+			final double c = 0.5 * (min[d] + max[d]);
+			for (int i = 0; i < 3; i++) {
+				center[i] += c * axes[3 * d + i];
+			}
+		}
+		return center;
+	}
+
+	public double getVolume() {
+		return getExtent(0) * getExtent(1) * getExtent(2);
+	}
+
+	/**
+	 * @return relative error bound of the approximation, see
+	 *         {@link OrientedBox}; {@code 0} if the box is known to be minimal
+	 */
+	public double getErrorBound() {
+		return errorBound;
+	}
+
+	/** @return the surface of the box as a closed mesh with outward triangles */
+	public Mesh toMesh() {
+		final Mesh mesh = new NaiveDoubleMesh();
+		final long[] corners = new long[8];
+		for (int c = 0; c < 8; c++) {
+			double x = 0;
+			double y = 0;
+			double z = 0;
+			for (int d = 0; d < 3; d++) {
+				final double t = (c >> d & 1) == 0 ? min[d] : max[d];
+				x += t * axes[3 * d];
+				y += t * axes[3 * d + 1];
+				z += t * axes[3 * d + 2];
+			}
+			corners[c] = mesh.vertices().add(x, y, z);
+		}
+		for (int t = 0; t < TRIANGLES.length; t += 3) {
+			mesh.triangles().add(corners[TRIANGLES[t]], corners[TRIANGLES[t + 1]],
+				corners[TRIANGLES[t + 2]]);
+		}
+		return mesh;
+	}
+}
@@ -45,6 +45,7 @@ import net.imglib2.type.BooleanType;
 import net.imglib2.type.Type;
 import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.integer.IntType;
+import net.imglib2.type.numeric.integer.LongType;
 
 import org.scijava.plugin.Plugin;
 
@@ -136,6 +137,22 @@ public class ImageNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	/** Executes the "distancetransform" operation on the given arguments. */
+	@OpMethod(
+		op = net.imagej.ops.image.distancetransform.DefaultDistanceTransform.class)
+	public <B extends BooleanType<B>, T extends RealType<T>>
+		RandomAccessibleInterval<T> distancetransform(
+			final RandomAccessibleInterval<T> out,
+			final RandomAccessibleInterval<B> in,
+			final RandomAccessibleInterval<LongType> nearest)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<T> result =
+			(RandomAccessibleInterval<T>) ops().run(Ops.Image.DistanceTransform.class,
+				out, in, nearest);
+		return result;
+	}
+
 	/** Executes the "distancetransform" operation on the given arguments. */
 	@OpMethod(ops = {
 		net.imagej.ops.image.distancetransform.DefaultDistanceTransformCalibration.class,
@@ -169,6 +186,23 @@ public class ImageNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	/** Executes the "distancetransform" operation on the given arguments. */
+	@OpMethod(
+		op = net.imagej.ops.image.distancetransform.DefaultDistanceTransformCalibration.class)
+	public <B extends BooleanType<B>, T extends RealType<T>>
+		RandomAccessibleInterval<T> distancetransform(
+			final RandomAccessibleInterval<T> out,
+			final RandomAccessibleInterval<B> in,
+			final RandomAccessibleInterval<LongType> nearest,
+			final double... calibration)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<T> result =
+			(RandomAccessibleInterval<T>) ops().run(Ops.Image.DistanceTransform.class,
+				out, in, nearest, calibration);
+		return result;
+	}
+
 	// -- equation --
 
 	/** Executes the "equation" operation on the given arguments. */
@@ -250,6 +284,28 @@ public class ImageNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	/** Executes the "histogram" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.image.histogram.HistogramCreateParallel.class)
+	public <T extends RealType<T>> Histogram1d<T> histogram(
+		final IterableInterval<T> in)
+	{
+		@SuppressWarnings("unchecked")
+		final Histogram1d<T> result = (Histogram1d<T>) ops().run(
+			net.imagej.ops.Ops.Image.Histogram.class, in);
+		return result;
+	}
+
+	/** Executes the "histogram" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.image.histogram.HistogramCreateParallel.class)
+	public <T extends RealType<T>> Histogram1d<T> histogram(
+		final IterableInterval<T> in, final int numBins)
+	{
+		@SuppressWarnings("unchecked")
+		final Histogram1d<T> result = (Histogram1d<T>) ops().run(
+			net.imagej.ops.Ops.Image.Histogram.class, in, numBins);
+		return result;
+	}
+
 	// -- integral --
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
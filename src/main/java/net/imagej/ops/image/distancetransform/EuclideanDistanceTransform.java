@@ -0,0 +1,322 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imagej.ops.image.distancetransform;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.BooleanType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.integer.LongType;
+import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.type.numeric.real.FloatType;
+import net.imglib2.util.Intervals;
+import net.imglib2.view.Views;
+
+/**
+ * Exact Euclidean distance transform of n-d images with long indexing.
+ * <p>
+ * The squared distances are computed by one pass of lower parabola envelopes
+ * per dimension (Felzenszwalb and Huttenlocher, Distance Transforms of Sampled
+ * Functions, Theory of Computing 8 (2012)). Each pass works line by line, the
+ * lines are distributed in batches over the available cores, and the last
+ * pass writes the square roots. Between the passes, the squared distances are
+ * kept in the output itself if it holds them exactly: if it is a
+ * {@link DoubleType} image, or a {@link FloatType} image whose squared
+ * distances are integers of at most 2<sup>24</sup>. Otherwise they are kept
+ * in a temporary {@link DoubleType} image, so that they are never rounded
+ * between the passes. Optionally, the index of the nearest background pixel
+ * is tracked in the same passes.
+ * </p>
+ */
+final class EuclideanDistanceTransform {
+
+	private EuclideanDistanceTransform() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/**
+	 * Computes the distance of every foreground pixel to the nearest background
+	 * pixel.
+	 * 
+	 * @param ops environment used for image creation and parallelization
+	 * @param in the binary input image, {@code false} is background
+	 * @param out receives the distances
+	 * @param calibration the pixel spacing per dimension, or {@code null} for
+	 *          unit spacing
+	 * @param nearest if not {@code null}, receives for every pixel the flat
+	 *          index (relative to the minimum of {@code in}) of its nearest
+	 *          background pixel, or -1 if there is no background pixel
+	 */
+	static <B extends BooleanType<B>, T extends RealType<T>> void compute(
+		final OpEnvironment ops, final RandomAccessibleInterval<B> in,
+		final RandomAccessibleInterval<T> out, final double[] calibration,
+		final RandomAccessibleInterval<LongType> nearest)
+	{
+		final int n = in.numDimensions();
+		final long[] dims = Intervals.dimensionsAsLongArray(in);
+		final RandomAccessibleInterval<B> input = Views.zeroMin(in);
+		final RandomAccessibleInterval<T> output = Views.zeroMin(out);
+		final RandomAccessibleInterval<LongType> indices = nearest == null ? null
+			: Views.zeroMin(nearest);
+
+		// keep the squared distances exact between the passes
+		final RandomAccessibleInterval<? extends RealType<?>> squares;
+		if (n == 1 || holdsSquares(out.randomAccess().get(), dims,
+			calibration))
+		{
+			squares = output;
+		}
+		else {
+			squares = ops.create().img(dims);
+		}
+
+		for (int d = 0; d < n; d++) {
+			final int dim = d;
+			final double spacing = calibration == null ? 1 : calibration[d];
+			// the last pass writes the distances, i.e. the square roots
+			final boolean last = d == n - 1;
+			linewise(ops, dims, dim, () -> new EnvelopeLine<>(dim == 0 ? input
+				: null, squares, last ? output : squares, indices,
+				(int) dims[dim], spacing * spacing, last));
+		}
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Checks whether all squared distances are stored exactly in the given
+	 * type.
+	 */
+	private static boolean holdsSquares(final RealType<?> type,
+		final long[] dims, final double[] calibration)
+	{
+		if (type instanceof DoubleType) return true;
+		if (!(type instanceof FloatType)) return false;
+		// NB: Integers up to 2^24 are exact in float precision.
+		double max = 0;
+		for (int d = 0; d < dims.length; d++) {
+			final double w2 = calibration == null ? 1 : calibration[d] *
+				calibration[d];
+			if (w2 != Math.rint(w2)) return false;
+			max += w2 * (dims[d] - 1) * (dims[d] - 1);
+		}
+		return max <= 1 << 24;
+	}
+
+	/**
+	 * Processes every line along dimension {@code d}, distributing batches of
+	 * lines over the available cores. Each batch uses its own {@link LineOp}.
+	 */
+	private static void linewise(final OpEnvironment ops, final long[] dims,
+		final int d, final Supplier<LineOp> lineOps)
+	{
+		final int n = dims.length;
+		final long[] strides = new long[n];
+		long numLines = 1;
+		for (int i = 0; i < n; i++) {
+			strides[i] = i == 0 ? 1 : strides[i - 1] * dims[i - 1];
+			if (i != d) numLines *= dims[i];
+		}
+		ops.run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final LineOp lineOp = lineOps.get();
+				final long[] start = new long[n];
+				for (long k = 0, line = startIndex; k < numSteps; k++, line +=
+					stepSize)
+				{
+					// position of the first pixel of the line
+					long l = line;
+					long index = 0;
+					for (int i = 0; i < n; i++) {
+						if (i == d) {
+							start[i] = 0;
+							continue;
+						}
+						start[i] = l % dims[i];
+						l /= dims[i];
+						index += start[i] * strides[i];
+					}
+					lineOp.line(d, start, index, strides[d]);
+				}
+			}
+		}, numLines);
+	}
+
+	// -- Helper classes --
+
+	/** Operation on one line of pixels. */
+	private interface LineOp {
+
+		/**
+		 * Processes the line along dimension {@code d} starting at
+		 * {@code start}, whose first pixel has the flat index {@code index} and
+		 * whose pixels are {@code step} flat indices apart.
+		 */
+		void line(int d, long[] start, long index, long step);
+	}
+
+	/**
+	 * Replaces the squared distances of a line by the lower envelope of the
+	 * parabolas rooted at them, or by its square root in the last pass.
+	 */
+	private static class EnvelopeLine<B extends BooleanType<B>> implements
+		LineOp
+	{
+
+		private final double[] f;
+		private final double[] g;
+		private final long[] fi;
+		private final long[] gi;
+		private final int[] v;
+		private final double[] z;
+		private final double w2;
+		private final boolean sqrt;
+		private final RandomAccess<B> raIn;
+		private final RandomAccess<? extends RealType<?>> raSquares;
+		private final RandomAccess<? extends RealType<?>> raTarget;
+		private final RandomAccess<LongType> raIndices;
+
+		/**
+		 * @param in the binary input for the first pass, {@code null} for the
+		 *          following passes, which start from the squared distances
+		 * @param target receives the squared distances, or the distances if
+		 *          {@code sqrt} is set
+		 * @param w2 the squared pixel spacing along the line
+		 */
+		public EnvelopeLine(final RandomAccessibleInterval<B> in,
+			final RandomAccessibleInterval<? extends RealType<?>> squares,
+			final RandomAccessibleInterval<? extends RealType<?>> target,
+			final RandomAccessibleInterval<LongType> indices, final int length,
+			final double w2, final boolean sqrt)
+		{
+			f = new double[length];
+			g = new double[length];
+			fi = new long[length];
+			gi = new long[length];
+			v = new int[length];
+			z = new double[length + 1];
+			this.w2 = w2;
+			this.sqrt = sqrt;
+			raIn = in == null ? null : in.randomAccess();
+			raSquares = squares.randomAccess();
+			raTarget = target.randomAccess();
+			raIndices = indices == null ? null : indices.randomAccess();
+		}
+
+		@Override
+		public void line(final int d, final long[] start, final long index,
+			final long step)
+		{
+			final int length = f.length;
+			if (raIn != null) {
+				raIn.setPosition(start);
+				for (int x = 0; x < length; x++, raIn.fwd(d)) {
+					final boolean background = !raIn.get().get();
+					f[x] = background ? 0 : Double.POSITIVE_INFINITY;
+					fi[x] = background ? index + x * step : -1;
+				}
+			}
+			else {
+				raSquares.setPosition(start);
+				for (int x = 0; x < length; x++, raSquares.fwd(d)) {
+					f[x] = raSquares.get().getRealDouble();
+				}
+				if (raIndices != null) {
+					raIndices.setPosition(start);
+					for (int x = 0; x < length; x++, raIndices.fwd(d)) {
+						fi[x] = raIndices.get().get();
+					}
+				}
+			}
+
+			envelope();
+
+			raTarget.setPosition(start);
+			for (int x = 0; x < length; x++, raTarget.fwd(d)) {
+				raTarget.get().setReal(sqrt ? Math.sqrt(g[x]) : g[x]);
+			}
+			if (raIndices != null) {
+				raIndices.setPosition(start);
+				for (int x = 0; x < length; x++, raIndices.fwd(d)) {
+					raIndices.get().set(gi[x]);
+				}
+			}
+		}
+
+		/**
+		 * Computes the lower envelope of the parabolas rooted at the finite
+		 * values of {@code f}, and samples it into {@code g}.
+		 */
+		private void envelope() {
+			int k = -1;
+			for (int q = 0; q < f.length; q++) {
+				if (f[q] == Double.POSITIVE_INFINITY) continue;
+				double s = Double.NEGATIVE_INFINITY;
+				while (k >= 0) {
+					// intersection of the parabolas rooted at v[k] and q
+					s = ((f[q] + w2 * q * q) - (f[v[k]] + w2 * v[k] * v[k])) / (2 * w2 *
+						(q - v[k]));
+					if (s > z[k]) break;
+					k--;
+					s = Double.NEGATIVE_INFINITY;
+				}
+				k++;
+				v[k] = q;
+				z[k] = s;
+			}
+			if (k < 0) {
+				// no background pixel on this line
+				Arrays.fill(g, Double.POSITIVE_INFINITY);
+				Arrays.fill(gi, -1);
+				return;
+			}
+			z[k + 1] = Double.POSITIVE_INFINITY;
+			k = 0;
+			for (int p = 0; p < f.length; p++) {
+				while (z[k + 1] < p) {
+					k++;
+				}
+				final double delta = p - v[k];
+				g[p] = w2 * delta * delta + f[v[k]];
+				gi[p] = fi[v[k]];
+			}
+		}
+	}
+
+}
@@ -0,0 +1,253 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+
+package net.imagej.ops.image.histogram;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.histogram.Histogram1d;
+import net.imglib2.histogram.Real1dBinMapper;
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.RealType;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Creates the same {@link Histogram1d} as {@link HistogramCreate}, but counts
+ * the data in parallel partial histograms which are merged afterwards.
+ * <p>
+ * For integer types with at most {@value #MAX_INTEGER_RANGE} possible values,
+ * the input is traversed only once: every worker thread counts the occurrences
+ * of each value, and minimum, maximum and bins are derived from the merged
+ * counts. For all other types, minimum and maximum are computed in a first
+ * parallel pass, the bins in a second one.
+ * </p>
+ * <p>
+ * Chunks executed by the same thread share one partial histogram, so the
+ * number of partial histograms is bounded by the number of threads rather than
+ * the number of chunks.
+ * </p>
+ */
+@Plugin(type = Ops.Image.Histogram.class, priority = Priority.HIGH)
+public class HistogramCreateParallel<T extends RealType<T>> extends
+	AbstractUnaryFunctionOp<IterableInterval<T>, Histogram1d<T>> implements
+	Ops.Image.Histogram, Parallel
+{
+
+	/** Largest value range of an integer type which is counted per value. */
+	static final int MAX_INTEGER_RANGE = 1 << 16;
+
+	@Parameter(required = false)
+	private int numBins = 256;
+
+	@Override
+	public Histogram1d<T> calculate(final IterableInterval<T> input) {
+		if (input.size() == 0) {
+			// NB: Nothing to parallelize, keep the behavior of the default op.
+			@SuppressWarnings("unchecked")
+			final Histogram1d<T> histogram = (Histogram1d<T>) ops().run(
+				HistogramCreate.class, input, numBins);
+			return histogram;
+		}
+
+		final T type = input.firstElement();
+		if (type instanceof IntegerType && type.getMaxValue() - type
+			.getMinValue() < MAX_INTEGER_RANGE)
+		{
+			return countIntegers(input, type.createVariable());
+		}
+		return countReals(input);
+	}
+
+	// -- Helper methods --
+
+	/** Counts each value of an integer type in a single parallel pass. */
+	private Histogram1d<T> countIntegers(final IterableInterval<T> input,
+		final T var)
+	{
+		final double typeMin = var.getMinValue();
+		final int range = (int) (var.getMaxValue() - typeMin) + 1;
+
+		final Map<Thread, long[]> partials = new ConcurrentHashMap<>();
+		ops().thread().chunker(new CursorBasedChunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final long[] counts = partial(partials, range);
+				final Cursor<T> cursor = input.cursor();
+				setToStart(cursor, startIndex);
+				for (long i = 0; i < numSteps; i++) {
+					counts[(int) (cursor.get().getRealDouble() - typeMin)]++;
+					cursor.jumpFwd(stepSize);
+				}
+			}
+		}, input.size());
+
+		final long[] counts = merge(partials.values(), range);
+		int first = 0;
+		while (counts[first] == 0) first++;
+		int last = range - 1;
+		while (counts[last] == 0) last--;
+
+		final Histogram1d<T> histogram = new Histogram1d<>(new Real1dBinMapper<T>(
+			typeMin + first, typeMin + last, numBins, false));
+		final long[] bins = new long[numBins];
+		for (int v = first; v <= last; v++) {
+			if (counts[v] == 0) continue;
+			var.setReal(typeMin + v);
+			final long bin = histogram.map(var);
+			if (bin >= 0 && bin < numBins) {
+				bins[(int) bin] += counts[v];
+			}
+			else {
+				// NB: Let the histogram keep track of values it ignores.
+				for (long c = 0; c < counts[v]; c++) {
+					histogram.increment(var);
+				}
+			}
+		}
+		setFrequencies(histogram, bins);
+		return histogram;
+	}
+
+	/** Computes minimum and maximum, then the bins, in two parallel passes. */
+	private Histogram1d<T> countReals(final IterableInterval<T> input) {
+		final List<double[]> ranges = new ArrayList<>();
+		ops().thread().chunker(new CursorBasedChunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				double min = Double.POSITIVE_INFINITY;
+				double max = Double.NEGATIVE_INFINITY;
+				final Cursor<T> cursor = input.cursor();
+				setToStart(cursor, startIndex);
+				for (long i = 0; i < numSteps; i++) {
+					final double value = cursor.get().getRealDouble();
+					if (value < min) min = value;
+					if (value > max) max = value;
+					cursor.jumpFwd(stepSize);
+				}
+				synchronized (ranges) {
+					ranges.add(new double[] { min, max });
+				}
+			}
+		}, input.size());
+
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (final double[] r : ranges) {
+			if (r[0] < min) min = r[0];
+			if (r[1] > max) max = r[1];
+		}
+
+		final Histogram1d<T> histogram = new Histogram1d<>(new Real1dBinMapper<T>(
+			min, max, numBins, false));
+
+		final Map<Thread, long[]> partials = new ConcurrentHashMap<>();
+		ops().thread().chunker(new CursorBasedChunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final long[] counts = partial(partials, numBins + 1);
+				final Cursor<T> cursor = input.cursor();
+				setToStart(cursor, startIndex);
+				for (long i = 0; i < numSteps; i++) {
+					final long bin = histogram.map(cursor.get());
+					// NB: The last entry counts values the histogram ignores.
+					counts[bin >= 0 && bin < numBins ? (int) bin : numBins]++;
+					cursor.jumpFwd(stepSize);
+				}
+			}
+		}, input.size());
+
+		final long[] counts = merge(partials.values(), numBins + 1);
+		setFrequencies(histogram, counts);
+		if (counts[numBins] > 0) {
+			// NB: Rare (e.g. NaN values), count them the slow way.
+			for (final T value : input) {
+				final long bin = histogram.map(value);
+				if (bin < 0 || bin >= numBins) histogram.increment(value);
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * Gets the partial histogram of the current thread. Chunks run sequentially
+	 * on a thread, so the returned array needs no further synchronization.
+	 */
+	private static long[] partial(final Map<Thread, long[]> partials,
+		final int length)
+	{
+		return partials.computeIfAbsent(Thread.currentThread(),
+			t -> new long[length]);
+	}
+
+	private static long[] merge(final Collection<long[]> partials,
+		final int length)
+	{
+		final long[] merged = new long[length];
+		for (final long[] partial : partials) {
+			for (int i = 0; i < length; i++) {
+				merged[i] += partial[i];
+			}
+		}
+		return merged;
+	}
+
+	private void setFrequencies(final Histogram1d<T> histogram,
+		final long[] counts)
+	{
+		final long[] pos = new long[1];
+		for (int bin = 0; bin < numBins; bin++) {
+			if (counts[bin] == 0) continue;
+			pos[0] = bin;
+			histogram.dfd().setFrequency(pos, counts[bin]);
+		}
+	}
+}
@@ -29,8 +29,6 @@
 package net.imagej.ops.image.watershed;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
 
 import net.imagej.ops.Contingent;
@@ -42,22 +40,13 @@ import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
 import net.imglib2.Cursor;
 import net.imglib2.Interval;
 import net.imglib2.RandomAccess;
-import net.imglib2.RandomAccessible;
 import net.imglib2.RandomAccessibleInterval;
-import net.imglib2.algorithm.neighborhood.DiamondShape;
-import net.imglib2.algorithm.neighborhood.Neighborhood;
-import net.imglib2.algorithm.neighborhood.RectangleShape;
-import net.imglib2.algorithm.neighborhood.Shape;
-import net.imglib2.outofbounds.OutOfBounds;
-import net.imglib2.roi.Regions;
 import net.imglib2.roi.labeling.ImgLabeling;
 import net.imglib2.roi.labeling.LabelingType;
 import net.imglib2.type.BooleanType;
 import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.integer.IntType;
-import net.imglib2.util.IntervalIndexer;
 import net.imglib2.util.Intervals;
-import net.imglib2.view.ExtendedRandomAccessibleInterval;
 import net.imglib2.view.Views;
 
 import org.scijava.plugin.Parameter;
@@ -119,209 +108,109 @@ public class Watershed<T extends RealType<T>, B extends BooleanType<B>>
 
 	@Override
 	public void compute(final RandomAccessibleInterval<T> in, final ImgLabeling<Integer, IntType> out) {
-		final RandomAccess<T> raIn = in.randomAccess();
+		final WatershedEngine engine = new WatershedEngine(ops(), in, useEightConnectivity);
+		final int[] neighbors = engine.neighbors();
+		final boolean[] inMask = mask == null ? null : engine.mask(mask);
 
-		RandomAccess<B> raMask = null;
-		if (mask != null) {
-			raMask = mask.randomAccess();
-		}
-		// stores the size of each dimension
-		final long[] dimensSizes = new long[in.numDimensions()];
-		in.dimensions(dimensSizes);
-
-		// calculates the number of points in the n-d space
-		long numPixels = Intervals.numElements(in);
-
-		// the pixels indices are stored in an array, which is sorted depending
-		// on the pixel values
-		final List<Long> imiList = new ArrayList<>();
-
-		if (mask != null) {
-			final Cursor<Void> c = Regions.iterable(mask).localizingCursor();
-			while (c.hasNext()) {
-				c.next();
-				imiList.add(IntervalIndexer.positionToIndex(c, in));
-			}
-		} else {
-			for (long i = 0; i < numPixels; i++) {
-				imiList.add(i);
-			}
-		}
-		final Long[] imi = imiList.toArray(new Long[imiList.size()]);
-		
 		/*
-		 * Sort the pixels of imi in the increasing order of their grey value
-		 * (only the pixel indices are stored)
+		 * Sort the pixels in the increasing order of their grey value (only the
+		 * pixel indices are stored)
 		 */
-		Arrays.sort(imi, new Comparator<Long>() {
-			@Override
-			public int compare(final Long o1, final Long o2) {
-				IntervalIndexer.indexToPosition(o1, in, raIn);
-				final T value = raIn.get().copy();
-				IntervalIndexer.indexToPosition(o2, in, raIn);
-				return value.compareTo(raIn.get());
-			}
-		});
+		final int[] imi = engine.sortedPixels(inMask);
 
 		// lab and dist store the values calculated after each phase
-		final RandomAccessibleInterval<IntType> lab = ops().create().img(in, new IntType());
-		// extend border to be able to do a quick check, if a voxel is inside
-		final ExtendedRandomAccessibleInterval<IntType, RandomAccessibleInterval<IntType>> labExt = Views
-				.extendBorder(lab);
-		final OutOfBounds<IntType> raLab = labExt.randomAccess();
-		final RandomAccessibleInterval<IntType> dist = ops().create().img(in, new IntType());
-		final RandomAccess<IntType> raDist = dist.randomAccess();
+		final int[] lab = engine.labels(INIT);
+		final int[] dist = new int[engine.size()];
 
-		// initial values
-		for (final IntType pixel : Views.flatIterable(lab)) {
-			pixel.set(INIT);
-		}
 		int current_label = 0;
 		int current_dist;
-		final ArrayList<Long> fifo = new ArrayList<>();
-
-		// RandomAccess for Neighborhoods
-		final Shape shape;
-		if (useEightConnectivity) {
-			shape = new RectangleShape(1, true);
-		} else {
-			shape = new DiamondShape(1);
-		}
-		final RandomAccessible<Neighborhood<T>> neighborhoods = shape.neighborhoodsRandomAccessible(in);
-		final RandomAccess<Neighborhood<T>> raNeighbor = neighborhoods.randomAccess();
+		final WatershedEngine.IntFifo fifo = new WatershedEngine.IntFifo();
 
 		/*
 		 * Start flooding
 		 */
 		for (int j = 0; j < imi.length; j++) {
-			IntervalIndexer.indexToPosition(imi[j], in, raIn);
-			final T actualH = raIn.get().copy();
 			int i = j;
-			while (actualH.compareTo(raIn.get()) == 0) {
-				final long p = imi[i];
-				IntervalIndexer.indexToPosition(p, in, raIn);
-				raLab.setPosition(raIn);
-				raLab.get().set(MASK);
-				raNeighbor.setPosition(raIn);
-				final Cursor<T> neighborHood = raNeighbor.get().cursor();
-
-				while (neighborHood.hasNext()) {
-					neighborHood.fwd();
-					raLab.setPosition(neighborHood);
-					if (!raLab.isOutOfBounds()) {
-						final int f = raLab.get().get();
-						if ((f > 0) || (f == WSHED)) {
-							raDist.setPosition(raIn);
-							raDist.get().set(1);
-							fifo.add(p);
-							break;
-						}
+			while (i < imi.length && engine.sameValue(imi[i], imi[j])) {
+				final int p = imi[i];
+				lab[p] = MASK;
+				for (final int offset : neighbors) {
+					final int f = lab[p + offset];
+					if ((f > 0) || (f == WSHED)) {
+						dist[p] = 1;
+						fifo.add(p);
+						break;
 					}
 				}
 				i++;
-				if (i == imi.length) {
-					break;
-				}
-				IntervalIndexer.indexToPosition(imi[i], in, raIn);
 			}
 
 			current_dist = 1;
-			fifo.add(-1l); // add fictitious pixel
+			fifo.add(-1); // add fictitious pixel
 			while (true) {
-				long p = fifo.remove(0);
+				int p = fifo.remove();
 				if (p == -1) {
 					if (fifo.isEmpty()) {
 						break;
 					}
-					fifo.add(-1l);
+					fifo.add(-1);
 					current_dist++;
-					p = fifo.remove(0);
+					p = fifo.remove();
 				}
 
-				IntervalIndexer.indexToPosition(p, in, raNeighbor);
-
-				final Cursor<T> neighborHood = raNeighbor.get().cursor();
-
-				raLab.setPosition(raNeighbor);
-				int labp = raLab.get().get();
-
-				final long[] posNeighbor = new long[neighborHood.numDimensions()];
-				while (neighborHood.hasNext()) {
-					neighborHood.fwd();
-					neighborHood.localize(posNeighbor);
-					raLab.setPosition(posNeighbor);
-					if (!raLab.isOutOfBounds()) {
-						raDist.setPosition(posNeighbor);
-						final int labq = raLab.get().get();
-						final int distq = raDist.get().get();
-						if ((distq < current_dist) && ((labq > 0) || (labq == WSHED))) {
-							// i.e. q belongs to an already labeled basin or to
-							// the watersheds
-							if (labq > 0) {
-								if ((labp == MASK) || (labp == WSHED)) {
-									labp = labq;
-								} else {
-									if (labp != labq) {
-										labp = WSHED;
-									}
-								}
+				int labp = lab[p];
+				for (final int offset : neighbors) {
+					final int q = p + offset;
+					final int labq = lab[q];
+					if (labq == WatershedEngine.OUTSIDE) continue;
+					final int distq = dist[q];
+					if ((distq < current_dist) && ((labq > 0) || (labq == WSHED))) {
+						// i.e. q belongs to an already labeled basin or to
+						// the watersheds
+						if (labq > 0) {
+							if ((labp == MASK) || (labp == WSHED)) {
+								labp = labq;
 							} else {
-								if (labp == MASK) {
+								if (labp != labq) {
 									labp = WSHED;
 								}
 							}
-							raLab.setPosition(raNeighbor);
-							raLab.get().set(labp);
 						} else {
-							if ((labq == MASK) && (distq == 0)) {
-								raDist.setPosition(posNeighbor);
-								raDist.get().set(current_dist + 1);
-								fifo.add(IntervalIndexer.positionToIndex(posNeighbor, dimensSizes));
+							if (labp == MASK) {
+								labp = WSHED;
 							}
 						}
+						lab[p] = labp;
+					} else {
+						if ((labq == MASK) && (distq == 0)) {
+							dist[q] = current_dist + 1;
+							fifo.add(q);
+						}
 					}
 				}
 			}
 
 			// checks if new minima have been discovered
-			IntervalIndexer.indexToPosition(imi[j], in, raIn);
-			i = j;
-			while (actualH.compareTo(raIn.get()) == 0) {
-				final long p = imi[i];
-				IntervalIndexer.indexToPosition(p, dist, raDist);
+			for (i = j; i < imi.length && engine.sameValue(imi[i], imi[j]); i++) {
+				final int p = imi[i];
 				// the distance associated with p is reseted to 0
-				raDist.get().set(0);
-				raLab.setPosition(raDist);
+				dist[p] = 0;
 
-				if (raLab.get().get() == MASK) {
+				if (lab[p] == MASK) {
 					current_label++;
 					fifo.add(p);
-					raLab.get().set(current_label);
+					lab[p] = current_label;
 					while (!fifo.isEmpty()) {
-						final long q = fifo.remove(0);
-						IntervalIndexer.indexToPosition(q, in, raNeighbor);
-						final Cursor<T> neighborHood = raNeighbor.get().cursor();
-
-						final long[] posNeighbor = new long[neighborHood.numDimensions()];
-						while (neighborHood.hasNext()) {
-							neighborHood.fwd();
-							neighborHood.localize(posNeighbor);
-							raLab.setPosition(posNeighbor);
-							if (!raLab.isOutOfBounds()) {
-								final long r = IntervalIndexer.positionToIndex(posNeighbor, dimensSizes);
-								if (raLab.get().get() == MASK) {
-									fifo.add(r);
-									raLab.get().set(current_label);
-								}
+						final int q = fifo.remove();
+						for (final int offset : neighbors) {
+							final int r = q + offset;
+							if (lab[r] == MASK) {
+								fifo.add(r);
+								lab[r] = current_label;
 							}
 						}
 					}
 				}
-				i++;
-				if (i == imi.length) {
-					break;
-				}
-				IntervalIndexer.indexToPosition(imi[i], in, raIn);
 			}
 			j = i - 1;
 		}
@@ -329,41 +218,31 @@ public class Watershed<T extends RealType<T>, B extends BooleanType<B>>
 		/*
 		 * Draw output and remove as the case may be the watersheds
 		 */
-		final Cursor<LabelingType<Integer>> cursorOut = out.cursor();
-		while (cursorOut.hasNext()) {
-			cursorOut.fwd();
-			boolean maskValue = true;
-			if (mask != null) {
-				raMask.setPosition(cursorOut);
-				if (!raMask.get().get()) {
-					maskValue = false;
-				}
-			}
-			raLab.setPosition(cursorOut);
-			if (!maskValue) {
-				cursorOut.get().clear();
-			} else {
-				if (!drawWatersheds && raLab.get().get() == WSHED) {
-					raNeighbor.setPosition(cursorOut);
-					final Cursor<T> neighborHood = raNeighbor.get().cursor();
+		final Cursor<LabelingType<Integer>> cursorOut = Views.flatIterable(out).cursor();
+		final long[] pos = new long[in.numDimensions()];
+		for (long row = 0; row < engine.numRows(); row++) {
+			final int start = engine.rowStart(row, pos);
+			for (int p = start; p < start + engine.rowLength(); p++) {
+				final LabelingType<Integer> labeling = cursorOut.next();
+				if (inMask != null && !inMask[p]) {
+					labeling.clear();
+				} else if (!drawWatersheds && lab[p] == WSHED) {
 					int newLab = WSHED;
-					while (neighborHood.hasNext()) {
-						neighborHood.fwd();
-						raLab.setPosition(neighborHood);
-						if (!raLab.isOutOfBounds()) {
-							newLab = raLab.get().get();
-							if (newLab > WSHED) {
-								break;
-							}
+					for (final int offset : neighbors) {
+						final int labq = lab[p + offset];
+						if (labq == WatershedEngine.OUTSIDE) continue;
+						newLab = labq;
+						if (newLab > WSHED) {
+							break;
 						}
 					}
 					if (newLab == WSHED) {
-						cursorOut.get().clear();
+						labeling.clear();
 					} else {
-						cursorOut.get().add(newLab);
+						labeling.add(newLab);
 					}
 				} else {
-					cursorOut.get().add(raLab.get().get());
+					labeling.add(lab[p]);
 				}
 			}
 		}
@@ -0,0 +1,438 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imagej.ops.image.watershed;
+
+import java.util.Arrays;
+
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.BooleanType;
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Intervals;
+
+/**
+ * Primitive data structures shared by the watershed ops.
+ * <p>
+ * The image is copied into a flat array with a border of one pixel, so that
+ * the neighbors of every pixel are found at precomputed index offsets and
+ * pixels outside of the image are recognized by their {@link #OUTSIDE} label.
+ * Integer images with less than {@link #MAX_LEVELS} distinct gray levels are
+ * stored as levels and queued in a bucketed hierarchical queue; all other
+ * images are queued in a primitive binary heap. Both queues order pixels by
+ * gray value and then by insertion order.
+ * </p>
+ */
+final class WatershedEngine {
+
+	/** Label of the border pixels outside of the image. */
+	static final int OUTSIDE = -4;
+
+	/** Maximum number of gray levels stored in a hierarchical queue. */
+	static final int MAX_LEVELS = 1 << 16;
+
+	private final int numDimensions;
+	private final long[] dims;
+	private final int[] strides;
+	private final int size;
+	private final long numRows;
+
+	/** Index offsets of the neighbors, in flat iteration order. */
+	private final int[] neighbors;
+
+	/** Gray levels of the pixels, or {@code null} if {@link #values} are used. */
+	private final int[] levels;
+	private final int numLevels;
+
+	/** Gray values of the pixels, or {@code null} if {@link #levels} are used. */
+	private final double[] values;
+
+	WatershedEngine(final OpEnvironment ops,
+		final RandomAccessibleInterval<? extends RealType<?>> in,
+		final boolean useEightConnectivity)
+	{
+		numDimensions = in.numDimensions();
+		dims = Intervals.dimensionsAsLongArray(in);
+		strides = new int[numDimensions];
+		long s = 1;
+		for (int d = 0; d < numDimensions; d++) {
+			strides[d] = (int) s;
+			s *= dims[d] + 2;
+			if (s > Integer.MAX_VALUE - 8) {
+				throw new IllegalArgumentException("Image too large: " + Intervals
+					.numElements(in) + " pixels");
+			}
+		}
+		size = (int) s;
+		numRows = Intervals.numElements(in) / dims[0];
+		neighbors = neighborOffsets(useEightConnectivity);
+
+		// read the gray values, row by row
+		final double[] v = new double[size];
+		final double[] minMax = { Double.POSITIVE_INFINITY,
+			Double.NEGATIVE_INFINITY };
+		ops.run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final RandomAccess<? extends RealType<?>> ra = in.randomAccess();
+				final long[] pos = new long[numDimensions];
+				double min = Double.POSITIVE_INFINITY;
+				double max = Double.NEGATIVE_INFINITY;
+				for (long k = 0, row = startIndex; k < numSteps; k++, row +=
+					stepSize)
+				{
+					final int start = rowStart(row, pos);
+					for (int d = 0; d < numDimensions; d++) {
+						ra.setPosition(in.min(d) + pos[d], d);
+					}
+					for (int x = 0; x < dims[0]; x++) {
+						final double value = ra.get().getRealDouble();
+						v[start + x] = value;
+						min = Math.min(min, value);
+						max = Math.max(max, value);
+						ra.fwd(0);
+					}
+				}
+				synchronized (minMax) {
+					minMax[0] = Math.min(minMax[0], min);
+					minMax[1] = Math.max(minMax[1], max);
+				}
+			}
+		}, numRows);
+
+		if (in.randomAccess().get() instanceof IntegerType && minMax[1] -
+			minMax[0] < MAX_LEVELS)
+		{
+			// NB: Subtract before the cast, values may exceed the int range.
+			levels = new int[size];
+			for (int p = 0; p < size; p++) {
+				levels[p] = (int) (v[p] - minMax[0]);
+			}
+			numLevels = (int) (minMax[1] - minMax[0]) + 1;
+			values = null;
+		}
+		else {
+			levels = null;
+			numLevels = 0;
+			values = v;
+		}
+	}
+
+	/** Number of pixels including the border. */
+	int size() {
+		return size;
+	}
+
+	/** Number of rows of the image, i.e. lines along dimension 0. */
+	long numRows() {
+		return numRows;
+	}
+
+	/** Number of pixels in a row. */
+	int rowLength() {
+		return (int) dims[0];
+	}
+
+	/** Index offsets of the neighbors, in flat iteration order. */
+	int[] neighbors() {
+		return neighbors;
+	}
+
+	/**
+	 * Computes the index of the first pixel of the given row, storing the
+	 * position of that pixel in {@code pos}.
+	 */
+	int rowStart(final long row, final long[] pos) {
+		long r = row;
+		int index = strides[0];
+		pos[0] = 0;
+		for (int d = 1; d < numDimensions; d++) {
+			pos[d] = r % dims[d];
+			r /= dims[d];
+			index += (pos[d] + 1) * strides[d];
+		}
+		return index;
+	}
+
+	/**
+	 * Creates a label array with {@link #OUTSIDE} at the border and the given
+	 * label at all pixels of the image.
+	 */
+	int[] labels(final int label) {
+		final int[] labels = new int[size];
+		Arrays.fill(labels, OUTSIDE);
+		final long[] pos = new long[numDimensions];
+		for (long row = 0; row < numRows; row++) {
+			final int start = rowStart(row, pos);
+			Arrays.fill(labels, start, start + (int) dims[0], label);
+		}
+		return labels;
+	}
+
+	/** Copies the mask into a flat array, {@code false} at the border. */
+	boolean[] mask(final RandomAccessibleInterval<? extends BooleanType<?>> mask) {
+		final boolean[] inside = new boolean[size];
+		final RandomAccess<? extends BooleanType<?>> ra = mask.randomAccess();
+		final long[] pos = new long[numDimensions];
+		for (long row = 0; row < numRows; row++) {
+			final int start = rowStart(row, pos);
+			for (int d = 0; d < numDimensions; d++) {
+				ra.setPosition(mask.min(d) + pos[d], d);
+			}
+			for (int x = 0; x < dims[0]; x++) {
+				inside[start + x] = ra.get().get();
+				ra.fwd(0);
+			}
+		}
+		return inside;
+	}
+
+	/** Checks whether two pixels have the same gray value. */
+	boolean sameValue(final int p, final int q) {
+		return levels != null ? levels[p] == levels[q] : Double.compare(values[p],
+			values[q]) == 0;
+	}
+
+	/** Creates an empty queue ordered by gray value and insertion. */
+	PixelQueue newQueue() {
+		return levels != null ? new BucketQueue() : new PixelHeap();
+	}
+
+	/**
+	 * Sorts the pixels of the image (within the mask, if not {@code null}) by
+	 * their gray value and then by their index.
+	 */
+	int[] sortedPixels(final boolean[] mask) {
+		final long[] pos = new long[numDimensions];
+		if (levels != null) {
+			// counting sort
+			final int[] starts = new int[numLevels + 1];
+			int count = 0;
+			for (long row = 0; row < numRows; row++) {
+				final int start = rowStart(row, pos);
+				for (int p = start; p < start + dims[0]; p++) {
+					if (mask == null || mask[p]) {
+						starts[levels[p] + 1]++;
+						count++;
+					}
+				}
+			}
+			for (int l = 0; l < numLevels; l++) {
+				starts[l + 1] += starts[l];
+			}
+			final int[] sorted = new int[count];
+			for (long row = 0; row < numRows; row++) {
+				final int start = rowStart(row, pos);
+				for (int p = start; p < start + dims[0]; p++) {
+					if (mask == null || mask[p]) sorted[starts[levels[p]]++] = p;
+				}
+			}
+			return sorted;
+		}
+		final PixelQueue heap = newQueue();
+		for (long row = 0; row < numRows; row++) {
+			final int start = rowStart(row, pos);
+			for (int p = start; p < start + dims[0]; p++) {
+				if (mask == null || mask[p]) heap.add(p);
+			}
+		}
+		final int[] sorted = new int[heap.size()];
+		for (int i = 0; i < sorted.length; i++) {
+			sorted[i] = heap.poll();
+		}
+		return sorted;
+	}
+
+	// -- Helper methods --
+
+	private int[] neighborOffsets(final boolean useEightConnectivity) {
+		final int count = (int) Math.pow(3, numDimensions);
+		final int[] offsets = new int[count];
+		int num = 0;
+		for (int i = 0; i < count; i++) {
+			int offset = 0;
+			int nonZero = 0;
+			for (int d = 0, r = i; d < numDimensions; d++, r /= 3) {
+				final int delta = r % 3 - 1;
+				offset += delta * strides[d];
+				if (delta != 0) nonZero++;
+			}
+			if (nonZero == 0 || (!useEightConnectivity && nonZero > 1)) continue;
+			offsets[num++] = offset;
+		}
+		return Arrays.copyOf(offsets, num);
+	}
+
+	// -- Helper classes --
+
+	/** Queue of pixels, ordered by gray value and then by insertion. */
+	abstract static class PixelQueue {
+
+		abstract void add(int pixel);
+
+		abstract int poll();
+
+		abstract int size();
+
+		boolean isEmpty() {
+			return size() == 0;
+		}
+	}
+
+	/** Growable FIFO queue of pixels. */
+	static final class IntFifo {
+
+		private int[] buffer = new int[16];
+		private int head;
+		private int size;
+
+		void add(final int pixel) {
+			if (size == buffer.length) {
+				final int[] grown = new int[2 * buffer.length];
+				for (int i = 0; i < size; i++) {
+					grown[i] = buffer[(head + i) % buffer.length];
+				}
+				buffer = grown;
+				head = 0;
+			}
+			buffer[(head + size) % buffer.length] = pixel;
+			size++;
+		}
+
+		int remove() {
+			final int pixel = buffer[head];
+			head = (head + 1) % buffer.length;
+			size--;
+			return pixel;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+	}
+
+	/** Hierarchical queue with one FIFO bucket per gray level. */
+	private final class BucketQueue extends PixelQueue {
+
+		private final IntFifo[] buckets = new IntFifo[numLevels];
+		private int current = numLevels;
+		private int size;
+
+		@Override
+		void add(final int pixel) {
+			final int level = levels[pixel];
+			if (buckets[level] == null) buckets[level] = new IntFifo();
+			buckets[level].add(pixel);
+			if (level < current) current = level;
+			size++;
+		}
+
+		@Override
+		int poll() {
+			while (buckets[current] == null || buckets[current].isEmpty()) {
+				current++;
+			}
+			size--;
+			return buckets[current].remove();
+		}
+
+		@Override
+		int size() {
+			return size;
+		}
+	}
+
+	/** Binary min-heap of pixels, keyed by gray value and insertion number. */
+	private final class PixelHeap extends PixelQueue {
+
+		private int[] pixels = new int[16];
+		private long[] seqs = new long[16];
+		private int size;
+		private long seq;
+
+		@Override
+		void add(final int pixel) {
+			if (size == pixels.length) {
+				pixels = Arrays.copyOf(pixels, 2 * size);
+				seqs = Arrays.copyOf(seqs, 2 * size);
+			}
+			int i = size++;
+			final long s = seq++;
+			while (i > 0) {
+				final int parent = (i - 1) >>> 1;
+				if (!less(pixel, s, pixels[parent], seqs[parent])) break;
+				pixels[i] = pixels[parent];
+				seqs[i] = seqs[parent];
+				i = parent;
+			}
+			pixels[i] = pixel;
+			seqs[i] = s;
+		}
+
+		@Override
+		int poll() {
+			final int result = pixels[0];
+			final int pixel = pixels[--size];
+			final long s = seqs[size];
+			int i = 0;
+			while (true) {
+				int child = 2 * i + 1;
+				if (child >= size) break;
+				if (child + 1 < size && less(pixels[child + 1], seqs[child + 1],
+					pixels[child], seqs[child])) child++;
+				if (!less(pixels[child], seqs[child], pixel, s)) break;
+				pixels[i] = pixels[child];
+				seqs[i] = seqs[child];
+				i = child;
+			}
+			pixels[i] = pixel;
+			seqs[i] = s;
+			return result;
+		}
+
+		@Override
+		int size() {
+			return size;
+		}
+
+		private boolean less(final int p, final long sp, final int q,
+			final long sq)
+		{
+			final int c = Double.compare(values[p], values[q]);
+			return c < 0 || (c == 0 && sp < sq);
+		}
+	}
+
+}
@@ -29,14 +29,9 @@
 package net.imagej.ops.image.watershed;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 import net.imagej.ops.Contingent;
 import net.imagej.ops.Ops;
@@ -46,27 +41,14 @@ import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
 import net.imglib2.Cursor;
 import net.imglib2.Interval;
-import net.imglib2.IterableInterval;
-import net.imglib2.Point;
 import net.imglib2.RandomAccess;
-import net.imglib2.RandomAccessible;
 import net.imglib2.RandomAccessibleInterval;
-import net.imglib2.algorithm.neighborhood.DiamondShape;
-import net.imglib2.algorithm.neighborhood.Neighborhood;
-import net.imglib2.algorithm.neighborhood.RectangleShape;
-import net.imglib2.algorithm.neighborhood.Shape;
-import net.imglib2.outofbounds.OutOfBounds;
-import net.imglib2.roi.IterableRegion;
-import net.imglib2.roi.Regions;
 import net.imglib2.roi.labeling.ImgLabeling;
 import net.imglib2.roi.labeling.LabelingType;
 import net.imglib2.type.BooleanType;
-import net.imglib2.type.logic.BitType;
 import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.integer.IntType;
-import net.imglib2.util.IntervalIndexer;
 import net.imglib2.util.Intervals;
-import net.imglib2.view.ExtendedRandomAccessibleInterval;
 import net.imglib2.view.Views;
 
 import org.scijava.plugin.Parameter;
@@ -128,101 +110,71 @@ public class WatershedSeeded<T extends RealType<T>, B extends BooleanType<B>>
 	/** Default label for in queue, must be lower than WSHED */
 	private static final int INQUEUE = -3;
 
-	/** Default label for in out of bounds, must be lower than WSHED */
-	private static final int OUTSIDE = -4;
+	/** Label of pixels which are excluded by the mask, must be lower than WSHED */
+	private static final int NONE = Integer.MIN_VALUE;
 
-	/** Used by {@link WatershedSeeded.WatershedVoxel} */
-	private static final AtomicLong seq = new AtomicLong();
-
-	@SuppressWarnings("unchecked")
 	@Override
 	public void compute(final RandomAccessibleInterval<T> in, final ImgLabeling<Integer, IntType> out) {
-		// extend border to be able to do a quick check, if a voxel is inside
-		final LabelingType<Integer> oustide = out.firstElement().copy();
-		oustide.clear();
-		oustide.add(OUTSIDE);
-		final ExtendedRandomAccessibleInterval<LabelingType<Integer>, ImgLabeling<Integer, IntType>> outExt = Views
-				.extendValue(out, oustide);
-		final OutOfBounds<LabelingType<Integer>> raOut = outExt.randomAccess();
-
-		// if no mask provided, set the mask to the whole image
-		if (mask == null) {
-			mask = (RandomAccessibleInterval<B>) ops().create().img(in, new BitType());
-			for (B b : Views.flatIterable(mask)) {
-				b.set(true);
-			}
-		}
+		final WatershedEngine engine = new WatershedEngine(ops(), in, useEightConnectivity);
+		final int[] neighbors = engine.neighbors();
+		final long[] pos = new long[in.numDimensions()];
 
-		// initialize output labels
-		final Cursor<B> maskCursor = Views.flatIterable(mask).cursor();
-		while (maskCursor.hasNext()) {
-			maskCursor.fwd();
-			if (maskCursor.get().get()) {
-				raOut.setPosition(maskCursor);
-				raOut.get().clear();
-				raOut.get().add(INIT);
+		// initialize labels, only pixels inside the mask are considered
+		final int[] lab = engine.labels(INIT);
+		if (mask != null) {
+			final boolean[] inMask = engine.mask(mask);
+			for (int p = 0; p < lab.length; p++) {
+				if (lab[p] == INIT && !inMask[p]) lab[p] = NONE;
 			}
 		}
 
-		// RandomAccess for Mask, Seeds and Neighborhoods
-		final RandomAccess<B> raMask = mask.randomAccess();
-		final RandomAccess<LabelingType<Integer>> raSeeds = seeds.randomAccess();
-		final Shape shape;
-		if (useEightConnectivity) {
-			shape = new RectangleShape(1, true);
-		} else {
-			shape = new DiamondShape(1);
-		}
-		final RandomAccessible<Neighborhood<T>> neighborhoods = shape.neighborhoodsRandomAccessible(in);
-		final RandomAccess<Neighborhood<T>> raNeigh = neighborhoods.randomAccess();
-
 		/*
 		 * Carry over the seeding points to the new label and adds them to a
 		 * voxel priority queue
 		 */
-		final PriorityQueue<WatershedVoxel> pq = new PriorityQueue<>();
-
-		// Only iterate seeds that are not excluded by the mask
-		final IterableRegion<B> maskRegions = Regions.iterable(mask);
-		final IterableInterval<LabelingType<Integer>> seedsMasked = Regions.sample(maskRegions, seeds);
-		final Cursor<LabelingType<Integer>> cursorSeeds = seedsMasked.localizingCursor();
+		final WatershedEngine.PixelQueue pq = engine.newQueue();
+		int[] seedPixels = new int[16];
+		int numSeeds = 0;
 
-		while (cursorSeeds.hasNext()) {
-			final Set<Integer> l = cursorSeeds.next();
-			if (l.isEmpty()) {
-				continue;
-			}
-			if (l.size() > 1) {
-				throw new IllegalArgumentException("Seeds must have exactly one label!");
-			}
-			final Integer label = l.iterator().next();
-			if (label < 0) {
-				throw new IllegalArgumentException("Seeds must have positive integers as labels!");
+		// Only consider seeds that are not excluded by the mask
+		final RandomAccess<LabelingType<Integer>> raSeeds = seeds.randomAccess();
+		for (long row = 0; row < engine.numRows(); row++) {
+			final int start = engine.rowStart(row, pos);
+			for (int d = 0; d < pos.length; d++) {
+				raSeeds.setPosition(seeds.min(d) + pos[d], d);
 			}
-			raNeigh.setPosition(cursorSeeds);
-
-			final Cursor<T> neighborhood = raNeigh.get().cursor();
-
-			// Add unlabeled neighbors to priority queue
-			while (neighborhood.hasNext()) {
-				neighborhood.fwd();
-				raSeeds.setPosition(neighborhood);
-				raMask.setPosition(neighborhood);
-				raOut.setPosition(neighborhood);
-				final Integer labelNeigh = raOut.get().iterator().next();
-				if (labelNeigh != INQUEUE && labelNeigh != OUTSIDE && !raOut.isOutOfBounds() && raMask.get().get() 
-						&& raSeeds.get().isEmpty()) {
-					raOut.setPosition(neighborhood);
-					pq.add(new WatershedVoxel(IntervalIndexer.positionToIndex(neighborhood, in), neighborhood.get().getRealDouble()));
-					raOut.get().clear();
-					raOut.get().add(INQUEUE);
+			for (int p = start; p < start + engine.rowLength(); p++, raSeeds.fwd(0)) {
+				final Set<Integer> l = raSeeds.get();
+				if (l.isEmpty() || lab[p] == NONE) {
+					continue;
+				}
+				if (l.size() > 1) {
+					throw new IllegalArgumentException("Seeds must have exactly one label!");
+				}
+				final Integer label = l.iterator().next();
+				if (label < 0) {
+					throw new IllegalArgumentException("Seeds must have positive integers as labels!");
 				}
+				// NB: Labeling the seeds right away marks them as no candidates
+				// for the queue.
+				lab[p] = label;
+				if (numSeeds == seedPixels.length) {
+					seedPixels = Arrays.copyOf(seedPixels, 2 * numSeeds);
+				}
+				seedPixels[numSeeds++] = p;
 			}
+		}
 
-			// Overwrite label in output with the seed label
-			raOut.setPosition(cursorSeeds);
-			raOut.get().clear();
-			raOut.get().add(label);
+		// Add unlabeled neighbors of the seeds to priority queue
+		for (int s = 0; s < numSeeds; s++) {
+			final int p = seedPixels[s];
+			for (final int offset : neighbors) {
+				final int q = p + offset;
+				if (lab[q] == INIT) {
+					pq.add(q);
+					lab[q] = INQUEUE;
+				}
+			}
 		}
 
 		/*
@@ -230,89 +182,69 @@ public class WatershedSeeded<T extends RealType<T>, B extends BooleanType<B>>
 		 * neighbored pixels.
 		 */
 
-		// list to store neighbor labels
-		final ArrayList<Integer> neighborLabels = new ArrayList<>();
-		// list to store neighbor voxels
-		final ArrayList<WatershedVoxel> neighborVoxels = new ArrayList<>();
+		// stores labels of neighbors
+		final int[] neighborLabels = new int[neighbors.length];
+		// stores neighbor voxels
+		final int[] neighborVoxels = new int[neighbors.length];
 
 		// iterate the queue
-		final Point pos = new Point(in.numDimensions());
 		while (!pq.isEmpty()) {
-			IntervalIndexer.indexToPosition(pq.poll().getPos(), out, pos);
-
-			// reset list of neighbor labels
-			neighborLabels.clear();
-
-			// reset list of neighbor voxels
-			neighborVoxels.clear();
+			final int p = pq.poll();
+			int numLabels = 0;
+			int numVoxels = 0;
 
 			// iterate the neighborhood of the pixel
-			raNeigh.setPosition(pos);
-			final Cursor<T> neighborhood = raNeigh.get().cursor();
-			while (neighborhood.hasNext()) {
-				neighborhood.fwd();
+			for (final int offset : neighbors) {
+				final int q = p + offset;
 				// Unlabeled neighbors go into the queue if they are not there
 				// yet
-				raOut.setPosition(neighborhood);
-				raMask.setPosition(raOut);
-				if (!raOut.get().isEmpty()) {
-					final Integer label = raOut.get().iterator().next();
-					if (label == INIT && raMask.get().get()) {
-						neighborVoxels.add(new WatershedVoxel(IntervalIndexer.positionToIndex(neighborhood, out),
-							neighborhood.get().getRealDouble()));
-					} else {
-						if (label > WSHED && (!drawWatersheds || !neighborLabels.contains(label))) {
-							// store labels of neighbors in a list
-							neighborLabels.add(label);
-						}
-					}
+				final int label = lab[q];
+				if (label == INIT) {
+					neighborVoxels[numVoxels++] = q;
+				}
+				else if (label > WSHED && (!drawWatersheds || !contains(
+					neighborLabels, numLabels, label)))
+				{
+					// store labels of neighbors in a list
+					neighborLabels[numLabels++] = label;
 				}
-
 			}
 
 			if (drawWatersheds) {
 				// if the neighbors of the extracted voxel that have already
-				// been labeled
-				// all have the same label, then the voxel is labeled with their
-				// label.
-				raOut.setPosition(pos);
-				raOut.get().clear();
-				if (neighborLabels.size() == 1) {
-					raOut.get().add(neighborLabels.get(0));
-					// now that we know the voxel is labeled, add neighbors to
-					// list
-					for (final WatershedVoxel v : neighborVoxels) {
-						IntervalIndexer.indexToPosition(v.getPos(), out, raOut);
-						raOut.get().clear();
-						raOut.get().add(INQUEUE);
-						pq.add(v);
-					}
-				} else if (neighborLabels.size() > 1)
-					raOut.get().add(WSHED);
-			} else {
-				if (neighborLabels.size() > 0) {
-					raOut.setPosition(pos);
-					raOut.get().clear();
-
-					// take the label which most of the neighbors have
-					if (neighborLabels.size() > 2) {
-						final Map<Integer, Long> countLabels = neighborLabels.stream()
-								.collect(Collectors.groupingBy(e -> e, Collectors.counting()));
-						final Integer keyMax = Collections
-								.max(countLabels.entrySet(), Comparator.comparingLong(Map.Entry::getValue)).getKey();
-						raOut.get().add(keyMax);
-					} else {
-						raOut.get().add(neighborLabels.get(0));
-					}
-					// now that we know the voxel is labeled, add neighbors to
-					// list
-					for (final WatershedVoxel v : neighborVoxels) {
-						IntervalIndexer.indexToPosition(v.getPos(), out, raOut);
-						raOut.get().clear();
-						raOut.get().add(INQUEUE);
-						pq.add(v);
-					}
+				// been labeled all have the same label, then the voxel is
+				// labeled with their label.
+				if (numLabels == 1) {
+					lab[p] = neighborLabels[0];
 				}
+				else {
+					lab[p] = numLabels > 1 ? WSHED : NONE;
+					continue;
+				}
+			}
+			else {
+				if (numLabels == 0) {
+					continue;
+				}
+				// take the label which most of the neighbors have
+				lab[p] = numLabels > 2 ? majority(neighborLabels, numLabels)
+					: neighborLabels[0];
+			}
+			// now that we know the voxel is labeled, add neighbors to queue
+			for (int v = 0; v < numVoxels; v++) {
+				lab[neighborVoxels[v]] = INQUEUE;
+				pq.add(neighborVoxels[v]);
+			}
+		}
+
+		// write the labels to the output
+		final Cursor<LabelingType<Integer>> cursorOut = Views.flatIterable(out).cursor();
+		for (long row = 0; row < engine.numRows(); row++) {
+			final int start = engine.rowStart(row, pos);
+			for (int p = start; p < start + engine.rowLength(); p++) {
+				final LabelingType<Integer> labeling = cursorOut.next();
+				labeling.clear();
+				if (lab[p] != NONE) labeling.add(lab[p]);
 			}
 		}
 
@@ -321,6 +253,7 @@ public class WatershedSeeded<T extends RealType<T>, B extends BooleanType<B>>
 		 */
 		if (out() != null) {
 			final Cursor<LabelingType<Integer>> cursor = out().cursor();
+			final RandomAccess<LabelingType<Integer>> raOut = out.randomAccess();
 			while (cursor.hasNext()) {
 				cursor.fwd();
 				raOut.setPosition(cursor);
@@ -353,40 +286,33 @@ public class WatershedSeeded<T extends RealType<T>, B extends BooleanType<B>>
 		createOp = Functions.unary(ops(), CreateImgLabelingFromInterval.class, ImgLabeling.class, in());
 	}
 
-	/**
-	 * Used to store the voxels in the priority queue. "Lower" voxels will be
-	 * given out first. If two voxels have the same value, the one which joined
-	 * the queue earlier will be given out.
-	 */
-	class WatershedVoxel implements Comparable<WatershedVoxel> {
-
-		private final long pos;
-		private final double value;
-		private final long seqNum;
-
-		public WatershedVoxel(final long pos, final double value) {
-			this.pos = pos;
-			this.value = value;
-			seqNum = seq.getAndIncrement();
+	private static boolean contains(final int[] labels, final int num,
+		final int label)
+	{
+		for (int i = 0; i < num; i++) {
+			if (labels[i] == label) return true;
 		}
+		return false;
+	}
 
-		public long getPos() {
-			return pos;
-		}
-
-		public double getValue() {
-			return value;
-		}
-
-		@Override
-		public int compareTo(WatershedVoxel o) {
-			int res = Double.compare(value, o.value);
-			if (res == 0)
-				res = (seqNum < o.seqNum ? -1 : 1);
-
-			return res;
+	/**
+	 * Returns the most frequent of the given labels, the smallest one if
+	 * several are equally frequent.
+	 */
+	private static int majority(final int[] labels, final int num) {
+		int best = 0;
+		int bestCount = 0;
+		for (int i = 0; i < num; i++) {
+			int count = 0;
+			for (int j = 0; j < num; j++) {
+				if (labels[j] == labels[i]) count++;
+			}
+			if (count > bestCount || (count == bestCount && labels[i] < best)) {
+				best = labels[i];
+				bestCount = count;
+			}
 		}
-
+		return best;
 	}
 
 }
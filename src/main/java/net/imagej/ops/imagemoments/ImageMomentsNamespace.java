@@ -725,6 +725,24 @@ public class ImageMomentsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.imagemoments.moments.DefaultRawMoments.class)
+	public <I extends RealType<I>> MomentTensor rawMoments(
+		final IterableInterval<I> in)
+	{
+		final MomentTensor result = (MomentTensor) ops().run(
+			net.imagej.ops.Ops.ImageMoments.RawMoments.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.imagemoments.moments.DefaultRawMoments.class)
+	public <I extends RealType<I>> MomentTensor rawMoments(
+		final IterableInterval<I> in, final int order)
+	{
+		final MomentTensor result = (MomentTensor) ops().run(
+			net.imagej.ops.Ops.ImageMoments.RawMoments.class, in, order);
+		return result;
+	}
+
 	// -- Named methods --
 	@Override
 	public String getName() {
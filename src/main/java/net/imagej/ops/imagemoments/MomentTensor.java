@@ -0,0 +1,255 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imagej.ops.imagemoments;
+
+/**
+ * Mergeable accumulator for all raw image moments of a 2-D or 3-D region up to
+ * a given order, i.e. the sums of {@code value * x^p * y^q * z^r} with
+ * {@code p + q + r <= order}.
+ * <p>
+ * The sums are accumulated relative to a fixed origin, usually the center of
+ * the bounding box of the region, which keeps the powers of the coordinates
+ * small and avoids most of the cancellation when the central moments are
+ * derived. Raw, central and normalized central moments are computed
+ * algebraically from these sums by translating them with the binomial theorem.
+ * Two accumulators with the same origin and order can be combined with
+ * {@link #merge(MomentTensor)}, which allows to accumulate chunks of an image in
+ * parallel.
+ * </p>
+ */
+public final class MomentTensor {
+
+	private final int numDimensions;
+	private final int order;
+	private final int stride;
+	private final double[] origin;
+
+	/** Sums relative to the origin, indexed by {@link #index(int, int, int)}. */
+	private final double[] sums;
+
+	/** Binomial coefficients up to the order, row by row. */
+	private final double[] binomials;
+
+	// NB: Reused while adding values, each accumulator belongs to one thread.
+	private final double[] px;
+	private final double[] py;
+	private final double[] pz;
+
+	/**
+	 * @param order highest total order {@code p + q + r} to accumulate
+	 * @param origin position the sums are accumulated relative to, with 2 or 3
+	 *          dimensions
+	 */
+	public MomentTensor(final int order, final double... origin) {
+		if (origin.length < 2 || origin.length > 3) {
+			throw new IllegalArgumentException(
+				"Only 2-D and 3-D moments are supported: " + origin.length);
+		}
+		if (order < 0) {
+			throw new IllegalArgumentException("Order must not be negative: " +
+				order);
+		}
+		this.numDimensions = origin.length;
+		this.order = order;
+		this.stride = order + 1;
+		this.origin = new double[3];
+		System.arraycopy(origin, 0, this.origin, 0, numDimensions);
+		sums = new double[stride * stride * stride];
+		binomials = new double[stride * stride];
+		for (int n = 0; n <= order; n++) {
+			binomials[n * stride] = 1;
+			for (int k = 1; k <= n; k++) {
+				binomials[n * stride + k] = binomials[(n - 1) * stride + k - 1] +
+					binomials[(n - 1) * stride + k];
+			}
+		}
+		px = new double[stride];
+		py = new double[stride];
+		pz = new double[stride];
+	}
+
+	/**
+	 * Adds a single value at the given position.
+	 *
+	 * @param position coordinates of the value, at least {@link #numDimensions()}
+	 *          of them are used
+	 */
+	public void add(final double[] position, final double value) {
+		if (value == 0) return;
+		powers(px, position[0] - origin[0]);
+		powers(py, position[1] - origin[1]);
+		if (numDimensions == 2) {
+			for (int p = 0; p <= order; p++) {
+				final double vx = value * px[p];
+				final int offset = p * stride * stride;
+				for (int q = 0; q <= order - p; q++) {
+					sums[offset + q * stride] += vx * py[q];
+				}
+			}
+			return;
+		}
+		powers(pz, position[2] - origin[2]);
+		for (int p = 0; p <= order; p++) {
+			final double vx = value * px[p];
+			for (int q = 0; q <= order - p; q++) {
+				final double vxy = vx * py[q];
+				final int offset = index(p, q, 0);
+				for (int r = 0; r <= order - p - q; r++) {
+					sums[offset + r] += vxy * pz[r];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Merges the values accumulated by another instance into this one. Both
+	 * instances need the same order and origin.
+	 */
+	public void merge(final MomentTensor other) {
+		if (other.order != order || other.numDimensions != numDimensions) {
+			throw new IllegalArgumentException("Cannot merge order " + other.order +
+				" in " + other.numDimensions + "-D into order " + order + " in " +
+				numDimensions + "-D");
+		}
+		for (int d = 0; d < numDimensions; d++) {
+			if (other.origin[d] != origin[d]) {
+				throw new IllegalArgumentException(
+					"Cannot merge moments with different origins");
+			}
+		}
+		for (int i = 0; i < sums.length; i++) {
+			sums[i] += other.sums[i];
+		}
+	}
+
+	// -- Getters --
+
+	public int numDimensions() {
+		return numDimensions;
+	}
+
+	/** @return highest accumulated total order */
+	public int getOrder() {
+		return order;
+	}
+
+	/** @return coordinate of the center of mass in dimension {@code d} */
+	public double getCentroid(final int d) {
+		return origin[d] + delta(d);
+	}
+
+	/** @return raw moment {@code m_pq} */
+	public double getRaw(final int p, final int q) {
+		return getRaw(p, q, 0);
+	}
+
+	/** @return raw moment {@code m_pqr} */
+	public double getRaw(final int p, final int q, final int r) {
+		return translate(p, q, r, origin[0], origin[1], origin[2]);
+	}
+
+	/** @return central moment {@code mu_pq} */
+	public double getCentral(final int p, final int q) {
+		return getCentral(p, q, 0);
+	}
+
+	/** @return central moment {@code mu_pqr} */
+	public double getCentral(final int p, final int q, final int r) {
+		return translate(p, q, r, -delta(0), -delta(1), -delta(2));
+	}
+
+	/**
+	 * @return normalized central moment {@code eta_pq}, i.e. the central moment
+	 *         divided by {@code mu_00^(1 + (p + q) / 2)}
+	 */
+	public double getNormalizedCentral(final int p, final int q) {
+		return getNormalizedCentral(p, q, 0);
+	}
+
+	/**
+	 * @return normalized central moment {@code eta_pqr}, i.e. the central moment
+	 *         divided by {@code mu_000^(1 + (p + q + r) / n)} in {@code n}
+	 *         dimensions
+	 */
+	public double getNormalizedCentral(final int p, final int q, final int r) {
+		return getCentral(p, q, r) / Math.pow(sums[0], 1 + (p + q + r) /
+			(double) numDimensions);
+	}
+
+	// -- Helper methods --
+
+	private int index(final int p, final int q, final int r) {
+		return (p * stride + q) * stride + r;
+	}
+
+	private void powers(final double[] powers, final double x) {
+		powers[0] = 1;
+		for (int i = 1; i <= order; i++) {
+			powers[i] = powers[i - 1] * x;
+		}
+	}
+
+	/** @return offset of the center of mass from the origin */
+	private double delta(final int d) {
+		if (d >= numDimensions) return 0;
+		final int i = d == 0 ? index(1, 0, 0) : d == 1 ? index(0, 1, 0) : index(
+			0, 0, 1);
+		return sums[i] / sums[0];
+	}
+
+	/**
+	 * Moment of order {@code (p, q, r)} of the coordinates relative to the origin
+	 * shifted by {@code (sx, sy, sz)}, i.e. the sum of
+	 * {@code value * (x' + sx)^p * (y' + sy)^q * (z' + sz)^r}.
+	 */
+	private double translate(final int p, final int q, final int r,
+		final double sx, final double sy, final double sz)
+	{
+		if (p < 0 || q < 0 || r < 0 || p + q + r > order || r > 0 &&
+			numDimensions < 3)
+		{
+			throw new IllegalArgumentException("Moment (" + p + ", " + q + ", " +
+				r + ") was not accumulated, order is " + order + " in " +
+				numDimensions + "-D");
+		}
+		double result = 0;
+		for (int i = 0; i <= p; i++) {
+			final double cx = binomials[p * stride + i] * Math.pow(sx, p - i);
+			for (int j = 0; j <= q; j++) {
+				final double cxy = cx * binomials[q * stride + j] * Math.pow(sy, q -
+					j);
+				for (int k = 0; k <= r; k++) {
+					result += cxy * binomials[r * stride + k] * Math.pow(sz, r - k) *
+						sums[index(i, j, k)];
+				}
+			}
+		}
+		return result;
+	}
+}
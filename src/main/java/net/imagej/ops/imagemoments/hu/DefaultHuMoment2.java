@@ -32,7 +32,8 @@ package net.imagej.ops.imagemoments.hu;
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
 import net.imagej.ops.imagemoments.AbstractImageMomentOp;
-import net.imagej.ops.special.chain.RTs;
+import net.imagej.ops.imagemoments.MomentTensor;
+import net.imagej.ops.special.function.Functions;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imglib2.IterableInterval;
 import net.imglib2.type.numeric.RealType;
@@ -52,28 +53,20 @@ public class DefaultHuMoment2<I extends RealType<I>, O extends RealType<O>>
 	extends AbstractImageMomentOp<I, O> implements Ops.ImageMoments.HuMoment2
 {
 
-	private UnaryFunctionOp<IterableInterval<I>, O> normalizedCentralMoment20Func;
-
-	private UnaryFunctionOp<IterableInterval<I>, O> normalizedCentralMoment02Func;
-
-	private UnaryFunctionOp<IterableInterval<I>, O> normalizedCentralMoment11Func;
+	private UnaryFunctionOp<IterableInterval<I>, MomentTensor> rawMomentsFunc;
 
 	@Override
 	public void initialize() {
-		normalizedCentralMoment11Func =
-			RTs.function(ops(), Ops.ImageMoments.NormalizedCentralMoment11.class, in());
-		normalizedCentralMoment20Func =
-			RTs.function(ops(), Ops.ImageMoments.NormalizedCentralMoment20.class, in());
-		normalizedCentralMoment02Func =
-			RTs.function(ops(), Ops.ImageMoments.NormalizedCentralMoment02.class, in());
+		rawMomentsFunc = Functions.unary(ops(), Ops.ImageMoments.RawMoments.class,
+			MomentTensor.class, in());
 	}
 
 	@Override
 	public void compute(final IterableInterval<I> input, final O output) {
-
-		double n11 = normalizedCentralMoment11Func.calculate(input).getRealDouble();
-		double n20 = normalizedCentralMoment20Func.calculate(input).getRealDouble();
-		double n02 = normalizedCentralMoment02Func.calculate(input).getRealDouble();
+		final MomentTensor moments = rawMomentsFunc.calculate(input);
+		final double n11 = moments.getNormalizedCentral(1, 1);
+		final double n20 = moments.getNormalizedCentral(2, 0);
+		final double n02 = moments.getNormalizedCentral(0, 2);
 
 		output.setReal(Math.pow(n20 - n02, 2) + 4 * (Math.pow(n11, 2)));
 	}
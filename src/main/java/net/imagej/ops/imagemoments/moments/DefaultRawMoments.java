@@ -0,0 +1,127 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imagej.ops.imagemoments.moments;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Op;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.imagemoments.MomentTensor;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.type.numeric.RealType;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * {@link Op} to calculate the {@code imageMoments.rawMoments}: all raw moments
+ * of a 2-D or 3-D region up to the given order in a single pass.
+ * <p>
+ * The sums are accumulated relative to the center of the bounding box of the
+ * region. Large regions are split into chunks which are accumulated in
+ * parallel, the partial results are merged in the order of the chunks
+ * afterwards.
+ * </p>
+ *
+ * @param <I> input type
+ */
+@Plugin(type = Ops.ImageMoments.RawMoments.class,
+	label = "Image Moment: RawMoments")
+public class DefaultRawMoments<I extends RealType<I>> extends
+	AbstractUnaryFunctionOp<IterableInterval<I>, MomentTensor> implements
+	Ops.ImageMoments.RawMoments, Parallel, Contingent
+{
+
+	/** Size from which the region is accumulated in parallel. */
+	private static final long PARALLEL_SIZE = 1 << 16;
+
+	/** Highest total order of the moments to accumulate. */
+	@Parameter(required = false)
+	private int order = 3;
+
+	@Override
+	public MomentTensor calculate(final IterableInterval<I> input) {
+		final double[] origin = new double[input.numDimensions()];
+		for (int d = 0; d < origin.length; d++) {
+			origin[d] = 0.5 * (input.min(d) + input.max(d));
+		}
+
+		if (input.size() < PARALLEL_SIZE) {
+			final MomentTensor tensor = new MomentTensor(order, origin);
+			final Cursor<I> cursor = input.localizingCursor();
+			final double[] position = new double[origin.length];
+			while (cursor.hasNext()) {
+				cursor.fwd();
+				cursor.localize(position);
+				tensor.add(position, cursor.get().getRealDouble());
+			}
+			return tensor;
+		}
+
+		final Map<Long, MomentTensor> partials = new TreeMap<>();
+		ops().thread().chunker(new CursorBasedChunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final MomentTensor partial = new MomentTensor(order, origin);
+				final Cursor<I> cursor = input.localizingCursor();
+				final double[] position = new double[origin.length];
+				setToStart(cursor, startIndex);
+				for (long i = 0; i < numSteps; i++) {
+					cursor.localize(position);
+					partial.add(position, cursor.get().getRealDouble());
+					cursor.jumpFwd(stepSize);
+				}
+				synchronized (partials) {
+					partials.put(startIndex, partial);
+				}
+			}
+		}, input.size());
+
+		final MomentTensor tensor = new MomentTensor(order, origin);
+		for (final MomentTensor partial : partials.values()) {
+			tensor.merge(partial);
+		}
+		return tensor;
+	}
+
+	@Override
+	public boolean conforms() {
+		final int n = in().numDimensions();
+		return (n == 2 || n == 3) && order >= 0;
+	}
+}
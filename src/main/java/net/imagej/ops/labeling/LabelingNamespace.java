@@ -30,11 +30,13 @@
 package net.imagej.ops.labeling;
 
 import java.util.Iterator;
+import java.util.function.Consumer;
 
 import net.imagej.ops.AbstractNamespace;
 import net.imagej.ops.Namespace;
 import net.imagej.ops.Op;
 import net.imagej.ops.OpMethod;
+import net.imagej.ops.labeling.cca.ConnectedComponent;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.labeling.ConnectedComponents.StructuringElement;
 import net.imglib2.roi.labeling.ImgLabeling;
@@ -93,6 +95,32 @@ public class LabelingNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.labeling.cca.ParallelCCA.class)
+	public <T extends IntegerType<T>, I extends IntegerType<I>>
+		RandomAccessibleInterval<I> cca(final RandomAccessibleInterval<I> out,
+			final RandomAccessibleInterval<T> in, final StructuringElement element)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<I> result =
+			(RandomAccessibleInterval<I>) ops().run(
+				net.imagej.ops.Ops.Labeling.CCA.class, out, in, element);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.labeling.cca.ParallelCCA.class)
+	public <T extends IntegerType<T>, I extends IntegerType<I>>
+		RandomAccessibleInterval<I> cca(final RandomAccessibleInterval<I> out,
+			final RandomAccessibleInterval<T> in, final StructuringElement element,
+			final Consumer<ConnectedComponent> componentConsumer)
+	{
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<I> result =
+			(RandomAccessibleInterval<I>) ops().run(
+				net.imagej.ops.Ops.Labeling.CCA.class, out, in, element,
+				componentConsumer);
+		return result;
+	}
+
 	// -- merge --
 
 	@OpMethod(op = net.imagej.ops.labeling.MergeLabeling.class)
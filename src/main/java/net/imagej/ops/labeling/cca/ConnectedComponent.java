@@ -0,0 +1,86 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.labeling.cca;
+
+import net.imglib2.FinalInterval;
+import net.imglib2.Interval;
+import net.imglib2.RealLocalizable;
+import net.imglib2.RealPoint;
+
+/**
+ * Summary of a single connected component as reported by
+ * {@link ParallelCCA}: its label in the index image, its size in pixels, its
+ * bounding box and its centroid.
+ */
+public class ConnectedComponent {
+
+	private final long label;
+
+	private final long size;
+
+	private final FinalInterval boundingBox;
+
+	private final RealPoint centroid;
+
+	public ConnectedComponent(final long label, final long size,
+		final long[] min, final long[] max, final double[] centroid)
+	{
+		this.label = label;
+		this.size = size;
+		this.boundingBox = new FinalInterval(min, max);
+		this.centroid = new RealPoint(centroid);
+	}
+
+	/** Gets the value of the component in the index image. */
+	public long getLabel() {
+		return label;
+	}
+
+	/** Gets the number of pixels of the component. */
+	public long getSize() {
+		return size;
+	}
+
+	/** Gets the smallest interval containing all pixels of the component. */
+	public Interval getBoundingBox() {
+		return boundingBox;
+	}
+
+	/** Gets the mean position of the pixels of the component. */
+	public RealLocalizable getCentroid() {
+		return centroid;
+	}
+
+	@Override
+	public String toString() {
+		return "ConnectedComponent[label=" + label + ", size=" + size + "]";
+	}
+
+}
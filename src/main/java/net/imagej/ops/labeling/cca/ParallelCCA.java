@@ -0,0 +1,463 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.labeling.cca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imglib2.Cursor;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.algorithm.labeling.ConnectedComponents.StructuringElement;
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.integer.IntType;
+import net.imglib2.util.Intervals;
+import net.imglib2.util.Util;
+import net.imglib2.view.Views;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Labels the connected components of the non-zero pixels of an image into a
+ * primitive index image, in which background is zero and the components are
+ * numbered consecutively from one.
+ * <p>
+ * The image is cut into slabs along its last dimension which are labeled
+ * independently and in parallel with a two-pass raster scan. Provisional
+ * labels of adjacent slabs are then merged along the slab seams using a
+ * lock-free union-find, and a final parallel pass writes the consecutive
+ * component numbers. If a component consumer is given, size, bounding box and
+ * centroid of every component are accumulated during that final pass and
+ * handed to the consumer once labeling is complete.
+ * </p>
+ * <p>
+ * The output needs to be able to hold 32-bit labels, e.g. {@link IntType} or
+ * {@link net.imglib2.type.numeric.integer.LongType}.
+ * </p>
+ */
+@Plugin(type = Ops.Labeling.CCA.class)
+public class ParallelCCA<T extends IntegerType<T>, I extends IntegerType<I>>
+	extends
+	AbstractUnaryHybridCF<RandomAccessibleInterval<T>, RandomAccessibleInterval<I>>
+	implements Contingent, Parallel, Ops.Labeling.CCA
+{
+
+	@Parameter
+	private StructuringElement se;
+
+	@Parameter(required = false)
+	private Consumer<ConnectedComponent> componentConsumer;
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Override
+	public RandomAccessibleInterval<I> createOutput(
+		final RandomAccessibleInterval<T> input)
+	{
+		return (RandomAccessibleInterval) ops().create().img(input,
+			new IntType());
+	}
+
+	@Override
+	public void compute(final RandomAccessibleInterval<T> input,
+		final RandomAccessibleInterval<I> output)
+	{
+		final int n = input.numDimensions();
+		final int last = n - 1;
+		final long[] min = Intervals.minAsLongArray(input);
+		final long[] max = Intervals.maxAsLongArray(input);
+		final long[][] backward = backwardOffsets(n, se);
+		final long[][] seam = seamOffsets(backward, last);
+
+		// cut the image into slabs along the last dimension
+		final long depth = input.dimension(last);
+		final int numSlabs = (int) Math.min(depth, Runtime.getRuntime()
+			.availableProcessors() * 4L);
+		final List<Slab> slabs = new ArrayList<>(numSlabs);
+		for (int s = 0; s < numSlabs; s++) {
+			final long[] slabMin = min.clone();
+			final long[] slabMax = max.clone();
+			slabMin[last] = min[last] + depth * s / numSlabs;
+			slabMax[last] = min[last] + depth * (s + 1) / numSlabs - 1;
+			final Slab previous = s == 0 ? null : slabs.get(s - 1);
+			slabs.add(new Slab(slabMin, slabMax, previous));
+		}
+
+		// first pass: provisional labels within each slab
+		forEachSlab(slabs, slab -> slab.label(input, output, min, max, backward));
+
+		// collect the provisional labels into a single union-find forest
+		long total = 0;
+		for (final Slab slab : slabs) {
+			slab.offset = (int) total;
+			total += slab.count;
+			if (total >= Integer.MAX_VALUE) {
+				throw new IllegalArgumentException(
+					"Too many provisional labels: " + total);
+			}
+		}
+		final AtomicIntegerArray parent = new AtomicIntegerArray((int) total);
+		for (final Slab slab : slabs) {
+			for (int l = 1; l <= slab.count; l++) {
+				parent.set(slab.offset + l - 1, slab.offset + slab.parent[l] - 1);
+			}
+			slab.parent = null;
+		}
+
+		// merge labels across the seams between adjacent slabs
+		if (numSlabs > 1 && seam.length > 0) {
+			forEachSlab(slabs.subList(1, numSlabs), slab -> slab.merge(output, min,
+				max, seam, parent));
+		}
+
+		// number the components consecutively
+		final int[] ids = new int[(int) total];
+		int count = 0;
+		for (int i = 0; i < ids.length; i++) {
+			final int root = find(parent, i);
+			ids[i] = root == i ? ++count : ids[root];
+		}
+
+		// final pass: write component numbers and gather statistics
+		final boolean stats = componentConsumer != null;
+		forEachSlab(slabs, slab -> slab.relabel(output, ids, stats));
+		if (stats) emit(slabs, count, n);
+	}
+
+	@Override
+	public boolean conforms() {
+		if (out() == null) return true;
+		return Intervals.equalDimensions(in(), out()) && Util.getTypeFromInterval(
+			out()).getMaxValue() >= Integer.MAX_VALUE;
+	}
+
+	// -- Helper methods --
+
+	private void forEachSlab(final List<Slab> slabs,
+		final Consumer<Slab> action)
+	{
+		ops().thread().chunker(new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				for (long i = 0; i < numSteps; i++) {
+					action.accept(slabs.get((int) (startIndex + i * stepSize)));
+				}
+			}
+		}, slabs.size());
+	}
+
+	/** Merges the per-slab statistics and hands them to the consumer. */
+	private void emit(final List<Slab> slabs, final int count, final int n) {
+		final long[] sizes = new long[count + 1];
+		final long[] mins = new long[(count + 1) * n];
+		final long[] maxs = new long[(count + 1) * n];
+		final double[] sums = new double[(count + 1) * n];
+		for (final Slab slab : slabs) {
+			for (int l = 1; l <= slab.count; l++) {
+				if (slab.sizes[l] == 0) continue;
+				final int id = slab.ids[l];
+				for (int d = 0; d < n; d++) {
+					final int i = l * n + d;
+					final int j = id * n + d;
+					if (sizes[id] == 0 || slab.mins[i] < mins[j]) mins[j] = slab.mins[i];
+					if (sizes[id] == 0 || slab.maxs[i] > maxs[j]) maxs[j] = slab.maxs[i];
+					sums[j] += slab.sums[i];
+				}
+				sizes[id] += slab.sizes[l];
+			}
+		}
+		for (int id = 1; id <= count; id++) {
+			final long[] bbMin = new long[n];
+			final long[] bbMax = new long[n];
+			final double[] centroid = new double[n];
+			for (int d = 0; d < n; d++) {
+				bbMin[d] = mins[id * n + d];
+				bbMax[d] = maxs[id * n + d];
+				centroid[d] = sums[id * n + d] / sizes[id];
+			}
+			componentConsumer.accept(new ConnectedComponent(id, sizes[id], bbMin,
+				bbMax, centroid));
+		}
+	}
+
+	/**
+	 * Gets the neighbor offsets which precede a pixel in raster order, i.e.
+	 * whose last non-zero coordinate is negative.
+	 */
+	private static long[][] backwardOffsets(final int n,
+		final StructuringElement se)
+	{
+		final List<long[]> offsets = new ArrayList<>();
+		if (se == StructuringElement.FOUR_CONNECTED) {
+			for (int d = 0; d < n; d++) {
+				final long[] offset = new long[n];
+				offset[d] = -1;
+				offsets.add(offset);
+			}
+		}
+		else {
+			final long[] offset = new long[n];
+			final long size = (long) Math.pow(3, n);
+			for (long index = 0; index < size; index++) {
+				long i = index;
+				for (int d = 0; d < n; d++) {
+					offset[d] = i % 3 - 1;
+					i /= 3;
+				}
+				int d = n - 1;
+				while (d >= 0 && offset[d] == 0)
+					d--;
+				if (d >= 0 && offset[d] < 0) offsets.add(offset.clone());
+			}
+		}
+		return offsets.toArray(new long[offsets.size()][]);
+	}
+
+	/** Gets the offsets which reach into the previous slab. */
+	private static long[][] seamOffsets(final long[][] backward,
+		final int last)
+	{
+		final List<long[]> offsets = new ArrayList<>();
+		for (final long[] offset : backward) {
+			if (offset[last] < 0) offsets.add(offset);
+		}
+		return offsets.toArray(new long[offsets.size()][]);
+	}
+
+	private static boolean inside(final long[] position, final long[] offset,
+		final long[] min, final long[] max)
+	{
+		for (int d = 0; d < position.length; d++) {
+			final long p = position[d] + offset[d];
+			if (p < min[d] || p > max[d]) return false;
+		}
+		return true;
+	}
+
+	/** Finds the root of a label, halving the path on the way. */
+	private static int find(final AtomicIntegerArray parent, int x) {
+		while (true) {
+			final int p = parent.get(x);
+			if (p == x) return x;
+			final int g = parent.get(p);
+			if (g != p) parent.compareAndSet(x, p, g);
+			x = g;
+		}
+	}
+
+	/**
+	 * Joins the sets of two labels. Roots are only ever linked to smaller roots
+	 * by compare-and-set, so concurrent unions never form cycles.
+	 */
+	private static void union(final AtomicIntegerArray parent, int a, int b) {
+		while (true) {
+			a = find(parent, a);
+			b = find(parent, b);
+			if (a == b) return;
+			if (a < b) {
+				if (parent.compareAndSet(b, b, a)) return;
+			}
+			else if (parent.compareAndSet(a, a, b)) return;
+		}
+	}
+
+	// -- Helper classes --
+
+	/** A block of consecutive hyperplanes along the last dimension. */
+	private class Slab {
+
+		private final long[] min;
+
+		private final long[] max;
+
+		private final Slab previous;
+
+		/** Local union-find forest; labels start at one. */
+		private int[] parent = new int[64];
+
+		private int count;
+
+		private int offset;
+
+		private int[] ids;
+
+		private long[] sizes;
+
+		private long[] mins;
+
+		private long[] maxs;
+
+		private double[] sums;
+
+		public Slab(final long[] min, final long[] max, final Slab previous) {
+			this.min = min;
+			this.max = max;
+			this.previous = previous;
+		}
+
+		/** Writes provisional local labels of the slab into the output. */
+		public void label(final RandomAccessibleInterval<T> input,
+			final RandomAccessibleInterval<I> output, final long[] imgMin,
+			final long[] imgMax, final long[][] backward)
+		{
+			// neighbors in previous slabs are handled by merge()
+			final long[] clipMin = imgMin.clone();
+			clipMin[clipMin.length - 1] = min[min.length - 1];
+
+			final Cursor<T> c = Views.flatIterable(Views.interval(input, min, max))
+				.localizingCursor();
+			final RandomAccess<I> out = output.randomAccess();
+			final RandomAccess<I> neighbor = output.randomAccess();
+			final long[] position = new long[min.length];
+			while (c.hasNext()) {
+				c.fwd();
+				c.localize(position);
+				out.setPosition(position);
+				if (c.get().getIntegerLong() == 0) {
+					out.get().setZero();
+					continue;
+				}
+				int label = 0;
+				for (final long[] step : backward) {
+					if (!inside(position, step, clipMin, imgMax)) continue;
+					neighbor.setPosition(position);
+					neighbor.move(step);
+					final int l = (int) neighbor.get().getIntegerLong();
+					if (l == 0) continue;
+					label = label == 0 ? root(l) : join(label, l);
+				}
+				if (label == 0) label = newLabel();
+				out.get().setInteger(label);
+			}
+
+			// flatten: parents always have smaller labels
+			for (int l = 1; l <= count; l++) {
+				parent[l] = parent[parent[l]];
+			}
+		}
+
+		/** Joins the labels on the first plane with those of the previous slab. */
+		public void merge(final RandomAccessibleInterval<I> output,
+			final long[] imgMin, final long[] imgMax,
+			final long[][] seam, final AtomicIntegerArray forest)
+		{
+			final int last = min.length - 1;
+			final long[] planeMax = max.clone();
+			planeMax[last] = min[last];
+			final Cursor<I> c = Views.flatIterable(Views.interval(output, min,
+				planeMax)).localizingCursor();
+			final RandomAccess<I> neighbor = output.randomAccess();
+			final long[] position = new long[min.length];
+			while (c.hasNext()) {
+				final int a = (int) c.next().getIntegerLong();
+				if (a == 0) continue;
+				c.localize(position);
+				for (final long[] step : seam) {
+					if (!inside(position, step, imgMin, imgMax)) continue;
+					neighbor.setPosition(position);
+					neighbor.move(step);
+					final int b = (int) neighbor.get().getIntegerLong();
+					if (b == 0) continue;
+					union(forest, offset + a - 1, previous.offset + b - 1);
+				}
+			}
+		}
+
+		/** Replaces local labels by component numbers. */
+		public void relabel(final RandomAccessibleInterval<I> output,
+			final int[] globalIds, final boolean stats)
+		{
+			final int n = min.length;
+			if (stats) {
+				ids = new int[count + 1];
+				sizes = new long[count + 1];
+				mins = new long[(count + 1) * n];
+				maxs = new long[(count + 1) * n];
+				sums = new double[(count + 1) * n];
+			}
+			final Cursor<I> c = Views.flatIterable(Views.interval(output, min, max))
+				.localizingCursor();
+			while (c.hasNext()) {
+				final I value = c.next();
+				final int l = (int) value.getIntegerLong();
+				if (l == 0) continue;
+				final int id = globalIds[offset + l - 1];
+				value.setInteger(id);
+				if (!stats) continue;
+				ids[l] = id;
+				for (int d = 0; d < n; d++) {
+					final long p = c.getLongPosition(d);
+					final int i = l * n + d;
+					if (sizes[l] == 0 || p < mins[i]) mins[i] = p;
+					if (sizes[l] == 0 || p > maxs[i]) maxs[i] = p;
+					sums[i] += p;
+				}
+				sizes[l]++;
+			}
+		}
+
+		private int newLabel() {
+			if (++count == parent.length) {
+				parent = Arrays.copyOf(parent, 2 * parent.length);
+			}
+			parent[count] = count;
+			return count;
+		}
+
+		private int root(int l) {
+			while (parent[l] != l) {
+				l = parent[l] = parent[parent[l]];
+			}
+			return l;
+		}
+
+		private int join(final int a, final int b) {
+			final int ra = root(a);
+			final int rb = root(b);
+			if (ra < rb) {
+				parent[rb] = ra;
+				return ra;
+			}
+			parent[ra] = rb;
+			return rb;
+		}
+	}
+}
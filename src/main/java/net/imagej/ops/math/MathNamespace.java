@@ -105,6 +105,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.AbsFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.AbsDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> abs(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Abs.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.AbsFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.AbsDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> abs(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Abs.class, out, in);
+		return result;
+	}
+
 	@OpMethod(ops = {
 		net.imagej.ops.math.ConstantToArrayImageP.MultiplyByte.class,
 		net.imagej.ops.math.ConstantToArrayImage.MultiplyByte.class,
@@ -221,6 +246,48 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.ArrayImageToArrayImageP.AddByte.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.AddInt.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.AddLong.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.AddShort.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.AddFloat.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.AddDouble.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.AddUnsignedByte.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.AddUnsignedInt.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.AddUnsignedLong.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.AddUnsignedShort.class })
+	public <T extends NumericType<T> & NativeType<T>, A> ArrayImg<T, A> add(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in1,
+		final ArrayImg<T, A> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Add.class, out, in1, in2);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.PlanarImageToPlanarImageP.AddByte.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.AddInt.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.AddLong.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.AddShort.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.AddFloat.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.AddDouble.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.AddUnsignedByte.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.AddUnsignedInt.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.AddUnsignedLong.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.AddUnsignedShort.class })
+	public <T extends NumericType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> add(final PlanarImg<T, A> out, final PlanarImg<T, A> in1,
+			final PlanarImg<T, A> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Add.class, out, in1, in2);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.IntegerAdd.class)
 	public int add(final int a, final int b) {
 		final int result = (Integer) ops().run(
@@ -425,6 +492,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.ArccosFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.ArccosDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> arccos(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Arccos.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.ArccosFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.ArccosDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> arccos(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Arccos.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Arccosh.class)
 	public <I extends RealType<I>, O extends RealType<O>> O arccosh(final O out,
 		final I in)
@@ -512,6 +604,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.ArcsinFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.ArcsinDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> arcsin(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Arcsin.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.ArcsinFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.ArcsinDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> arcsin(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Arcsin.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Arcsinh.class)
 	public <I extends RealType<I>, O extends RealType<O>> O arcsinh(final O out,
 		final I in)
@@ -539,6 +656,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.ArctanFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.ArctanDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> arctan(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Arctan.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.ArctanFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.ArctanDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> arctan(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Arctan.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Arctanh.class)
 	public <I extends RealType<I>, O extends RealType<O>> O arctanh(final O out,
 		final I in)
@@ -573,6 +715,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.CeilFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.CeilDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> ceil(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Ceil.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.CeilFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.CeilDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> ceil(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Ceil.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.IntegerComplement.class)
 	public int complement(final int a) {
 		final int result = (Integer) ops().run(
@@ -603,6 +770,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.CosFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.CosDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> cos(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Cos.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.CosFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.CosDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> cos(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Cos.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.DoubleCosh.class)
 	public double cosh(final double a) {
 		final double result = (Double) ops().run(
@@ -619,6 +811,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.CoshFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.CoshDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> cosh(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Cosh.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.CoshFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.CoshDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> cosh(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Cosh.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Cot.class)
 	public <I extends RealType<I>, O extends RealType<O>> O cot(final O out,
 		final I in)
@@ -628,6 +845,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.CotFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.CotDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> cot(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Cot.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.CotFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.CotDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> cot(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Cot.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Coth.class)
 	public <I extends RealType<I>, O extends RealType<O>> O coth(final O out,
 		final I in)
@@ -637,6 +879,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.CothFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.CothDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> coth(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Coth.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.CothFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.CothDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> coth(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Coth.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Csc.class)
 	public <I extends RealType<I>, O extends RealType<O>> O csc(final O out,
 		final I in)
@@ -646,6 +913,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.CscFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.CscDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> csc(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Csc.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.CscFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.CscDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> csc(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Csc.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Csch.class)
 	public <I extends RealType<I>, O extends RealType<O>> O csch(final O out,
 		final I in)
@@ -655,6 +947,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.CschFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.CschDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> csch(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Csch.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.CschFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.CschDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> csch(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Csch.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.DoubleCubeRoot.class)
 	public double cubeRoot(final double a) {
 		final double result = (Double) ops().run(
@@ -672,6 +989,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.CubeRootFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.CubeRootDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> cubeRoot(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.CubeRoot.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.CubeRootFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.CubeRootDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> cubeRoot(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.CubeRoot.class, out, in);
+		return result;
+	}
+
 	@OpMethod(ops = { net.imagej.ops.math.ConstantToArrayImageP.DivideByte.class,
 		net.imagej.ops.math.ConstantToArrayImage.DivideByte.class,
 		net.imagej.ops.math.ConstantToArrayImageP.DivideUnsignedByte.class,
@@ -784,6 +1126,48 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.ArrayImageToArrayImageP.DivideByte.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.DivideInt.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.DivideLong.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.DivideShort.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.DivideFloat.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.DivideDouble.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.DivideUnsignedByte.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.DivideUnsignedInt.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.DivideUnsignedLong.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.DivideUnsignedShort.class })
+	public <T extends NumericType<T> & NativeType<T>, A> ArrayImg<T, A> divide(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in1,
+		final ArrayImg<T, A> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Divide.class, out, in1, in2);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.PlanarImageToPlanarImageP.DivideByte.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.DivideInt.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.DivideLong.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.DivideShort.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.DivideFloat.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.DivideDouble.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.DivideUnsignedByte.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.DivideUnsignedInt.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.DivideUnsignedLong.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.DivideUnsignedShort.class })
+	public <T extends NumericType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> divide(final PlanarImg<T, A> out, final PlanarImg<T, A> in1,
+			final PlanarImg<T, A> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Divide.class, out, in1, in2);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.IntegerDivide.class)
 	public int divide(final int a, final int b) {
 		final int result = (Integer) ops().run(
@@ -962,6 +1346,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.ExpFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.ExpDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> exp(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Exp.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.ExpFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.ExpDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> exp(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Exp.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.ExpMinusOne.class)
 	public <I extends RealType<I>, O extends RealType<O>> O expMinusOne(
 		final O out, final I in)
@@ -972,6 +1381,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.ExpMinusOneFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.ExpMinusOneDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> expMinusOne(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.ExpMinusOne.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.ExpMinusOneFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.ExpMinusOneDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> expMinusOne(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.ExpMinusOne.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.DoubleFloor.class)
 	public double floor(final double a) {
 		final double result = (Double) ops().run(
@@ -989,6 +1423,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.FloorFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.FloorDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> floor(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Floor.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.FloorFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.FloorDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> floor(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Floor.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.GammaConstant.class)
 	public <I extends RealType<I>, O extends RealType<O>> O gamma(final O out,
 		final I in, final double constant)
@@ -1039,6 +1498,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.LogFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.LogDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> log(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Log.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.LogFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.LogDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> log(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Log.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.DoubleLog10.class)
 	public double log10(final double a) {
 		final double result = (Double) ops().run(
@@ -1056,6 +1540,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.Log10Float.class,
+		net.imagej.ops.math.UnaryArrayImageP.Log10Double.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> log10(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Log10.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.Log10Float.class,
+		net.imagej.ops.math.UnaryPlanarImageP.Log10Double.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> log10(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Log10.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Log2.class)
 	public <I extends RealType<I>, O extends RealType<O>> O log2(final O out,
 		final I in)
@@ -1065,6 +1574,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.Log2Float.class,
+		net.imagej.ops.math.UnaryArrayImageP.Log2Double.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> log2(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Log2.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.Log2Float.class,
+		net.imagej.ops.math.UnaryPlanarImageP.Log2Double.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> log2(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Log2.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.DoubleLogOnePlusX.class)
 	public double logOnePlusX(final double a) {
 		final double result = (Double) ops().run(
@@ -1082,6 +1616,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.LogOnePlusXFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.LogOnePlusXDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> logOnePlusX(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.LogOnePlusX.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.LogOnePlusXFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.LogOnePlusXDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> logOnePlusX(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.LogOnePlusX.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.DoubleMax.class)
 	public double max(final double a, final double b) {
 		final double result = (Double) ops().run(
@@ -1269,6 +1828,48 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.ArrayImageToArrayImageP.MultiplyByte.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.MultiplyInt.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.MultiplyLong.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.MultiplyShort.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.MultiplyFloat.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.MultiplyDouble.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.MultiplyUnsignedByte.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.MultiplyUnsignedInt.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.MultiplyUnsignedLong.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.MultiplyUnsignedShort.class })
+	public <T extends NumericType<T> & NativeType<T>, A> ArrayImg<T, A> multiply(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in1,
+		final ArrayImg<T, A> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Multiply.class, out, in1, in2);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.PlanarImageToPlanarImageP.MultiplyByte.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.MultiplyInt.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.MultiplyLong.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.MultiplyShort.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.MultiplyFloat.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.MultiplyDouble.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.MultiplyUnsignedByte.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.MultiplyUnsignedInt.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.MultiplyUnsignedLong.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.MultiplyUnsignedShort.class })
+	public <T extends NumericType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> multiply(final PlanarImg<T, A> out, final PlanarImg<T, A> in1,
+			final PlanarImg<T, A> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Multiply.class, out, in1, in2);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.IntegerMultiply.class)
 	public int multiply(final int a, final int b) {
 		final int result = (Integer) ops().run(
@@ -1445,6 +2046,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.NearestIntFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.NearestIntDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> nearestInt(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.NearestInt.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.NearestIntFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.NearestIntDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> nearestInt(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.NearestInt.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.DoubleNegate.class)
 	public double negate(final double a) {
 		final double result = (Double) ops().run(
@@ -1483,6 +2109,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.NegateFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.NegateDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> negate(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Negate.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.NegateFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.NegateDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> negate(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Negate.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.IntegerOr.class)
 	public int or(final int a, final int b) {
 		final int result = (Integer) ops().run(
@@ -1641,6 +2292,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.RoundFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.RoundDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> round(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Round.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.RoundFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.RoundDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> round(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Round.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Sec.class)
 	public <I extends RealType<I>, O extends RealType<O>> O sec(final O out,
 		final I in)
@@ -1650,6 +2326,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.SecFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.SecDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> sec(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Sec.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.SecFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.SecDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> sec(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Sec.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Sech.class)
 	public <I extends RealType<I>, O extends RealType<O>> O sech(final O out,
 		final I in)
@@ -1659,6 +2360,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.SechFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.SechDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> sech(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Sech.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.SechFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.SechDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> sech(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Sech.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.DoubleSignum.class)
 	public double signum(final double a) {
 		final double result = (Double) ops().run(
@@ -1683,6 +2409,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.SignumFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.SignumDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> signum(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Signum.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.SignumFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.SignumDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> signum(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Signum.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.DoubleSin.class)
 	public double sin(final double a) {
 		final double result = (Double) ops().run(
@@ -1699,6 +2450,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.SinFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.SinDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> sin(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Sin.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.SinFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.SinDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> sin(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Sin.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Sinc.class)
 	public <I extends RealType<I>, O extends RealType<O>> O sinc(final O out,
 		final I in)
@@ -1734,6 +2510,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.SinhFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.SinhDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> sinh(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Sinh.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.SinhFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.SinhDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> sinh(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Sinh.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Sqr.class)
 	public <I extends RealType<I>, O extends RealType<O>> O sqr(final O out,
 		final I in)
@@ -1743,6 +2544,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.SqrFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.SqrDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> sqr(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Sqr.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.SqrFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.SqrDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> sqr(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Sqr.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.DoubleSqrt.class)
 	public double sqrt(final double a) {
 		final double result = (Double) ops().run(
@@ -1759,6 +2585,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.SqrtFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.SqrtDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> sqrt(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Sqrt.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.SqrtFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.SqrtDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> sqrt(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Sqrt.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Step.class)
 	public <I extends RealType<I>, O extends RealType<O>> O step(final O out,
 		final I in)
@@ -1884,6 +2735,48 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.ArrayImageToArrayImageP.SubtractByte.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.SubtractInt.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.SubtractLong.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.SubtractShort.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.SubtractFloat.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.SubtractDouble.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.SubtractUnsignedByte.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.SubtractUnsignedInt.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.SubtractUnsignedLong.class,
+		net.imagej.ops.math.ArrayImageToArrayImageP.SubtractUnsignedShort.class })
+	public <T extends NumericType<T> & NativeType<T>, A> ArrayImg<T, A> subtract(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in1,
+		final ArrayImg<T, A> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Subtract.class, out, in1, in2);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.PlanarImageToPlanarImageP.SubtractByte.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.SubtractInt.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.SubtractLong.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.SubtractShort.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.SubtractFloat.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.SubtractDouble.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.SubtractUnsignedByte.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.SubtractUnsignedInt.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.SubtractUnsignedLong.class,
+		net.imagej.ops.math.PlanarImageToPlanarImageP.SubtractUnsignedShort.class })
+	public <T extends NumericType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> subtract(final PlanarImg<T, A> out, final PlanarImg<T, A> in1,
+			final PlanarImg<T, A> in2)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Subtract.class, out, in1, in2);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.IntegerSubtract.class)
 	public int subtract(final int a, final int b) {
 		final int result = (Integer) ops().run(
@@ -2066,6 +2959,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.TanFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.TanDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> tan(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Tan.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.TanFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.TanDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> tan(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Tan.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.PrimitiveMath.DoubleTanh.class)
 	public double tanh(final double a) {
 		final double result = (Double) ops().run(net.imagej.ops.Ops.Math.Tanh.class,
@@ -2082,6 +3000,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.TanhFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.TanhDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> tanh(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Tanh.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.TanhFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.TanhDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> tanh(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Tanh.class, out, in);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.math.UnaryRealTypeMath.Ulp.class)
 	public <I extends RealType<I>, O extends RealType<O>> O ulp(final O out,
 		final I in)
@@ -2091,6 +3034,31 @@ public class MathNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryArrayImageP.UlpFloat.class,
+		net.imagej.ops.math.UnaryArrayImageP.UlpDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A> ArrayImg<T, A> ulp(
+		final ArrayImg<T, A> out, final ArrayImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final ArrayImg<T, A> result = (ArrayImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Ulp.class, out, in);
+		return result;
+	}
+
+	@OpMethod(ops = {
+		net.imagej.ops.math.UnaryPlanarImageP.UlpFloat.class,
+		net.imagej.ops.math.UnaryPlanarImageP.UlpDouble.class })
+	public <T extends RealType<T> & NativeType<T>, A extends ArrayDataAccess<A>>
+		PlanarImg<T, A> ulp(final PlanarImg<T, A> out,
+			final PlanarImg<T, A> in)
+	{
+		@SuppressWarnings("unchecked")
+		final PlanarImg<T, A> result = (PlanarImg<T, A>) ops().run(
+			net.imagej.ops.Ops.Math.Ulp.class, out, in);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.math.PrimitiveMath.IntegerUnsignedRightShift.class)
 	public int unsignedRightShift(final int a, final int b) {
@@ -390,6 +390,16 @@ public class MorphologyNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.morphology.extractHoles.DefaultExtractHolesComputer.class)
+	public <T extends BooleanType<T>> RandomAccessibleInterval<T> extractHoles(final RandomAccessibleInterval<T> out,
+			final RandomAccessibleInterval<T> in, final Shape structElement, final boolean sliceWise) {
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<T> result = (RandomAccessibleInterval<T>) ops()
+				.run(net.imagej.ops.morphology.extractHoles.DefaultExtractHolesComputer.class, out, in, structElement,
+						sliceWise);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.morphology.extractHoles.DefaultExtractHolesFunction.class)
 	public <T extends BooleanType<T>> RandomAccessibleInterval<T> extractHoles(final RandomAccessibleInterval<T> in) {
 		@SuppressWarnings("unchecked")
@@ -407,6 +417,16 @@ public class MorphologyNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.morphology.extractHoles.DefaultExtractHolesFunction.class)
+	public <T extends BooleanType<T>> RandomAccessibleInterval<T> extractHoles(final RandomAccessibleInterval<T> in,
+			final Shape structElement, final boolean sliceWise) {
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<T> result = (RandomAccessibleInterval<T>) ops()
+				.run(net.imagej.ops.morphology.extractHoles.DefaultExtractHolesFunction.class, in, structElement,
+						sliceWise);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.morphology.fillHoles.DefaultFillHoles.class)
 	public <T extends BooleanType<T>> RandomAccessibleInterval<T> fillHoles(final RandomAccessibleInterval<T> in) {
 		@SuppressWarnings("unchecked")
@@ -433,6 +453,15 @@ public class MorphologyNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.morphology.fillHoles.DefaultFillHoles.class)
+	public <T extends BooleanType<T>> RandomAccessibleInterval<T> fillHoles(final RandomAccessibleInterval<T> out,
+			final RandomAccessibleInterval<T> in, final Shape structElement, final boolean sliceWise) {
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<T> result = (RandomAccessibleInterval<T>) ops()
+				.run(net.imagej.ops.morphology.fillHoles.DefaultFillHoles.class, out, in, structElement, sliceWise);
+		return result;
+	}
+
 	@OpMethod(op = net.imagej.ops.morphology.floodFill.DefaultFloodFill.class)
 	public <T extends Type<T> & Comparable<T>> RandomAccessibleInterval<T>
 		floodFill(final RandomAccessibleInterval<T> out,
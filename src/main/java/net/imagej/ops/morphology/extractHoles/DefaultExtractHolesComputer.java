@@ -30,9 +30,8 @@
 package net.imagej.ops.morphology.extractHoles;
 
 import net.imagej.ops.Ops;
-import net.imagej.ops.special.chain.RAIs;
+import net.imagej.ops.morphology.fillHoles.BorderReconstruction;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
-import net.imagej.ops.special.computer.UnaryComputerOp;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.neighborhood.RectangleShape;
 import net.imglib2.algorithm.neighborhood.Shape;
@@ -56,32 +55,16 @@ public class DefaultExtractHolesComputer<T extends BooleanType<T>> extends
 	@Parameter(required=false)
 	private Shape structElement = new RectangleShape(1, false);
 
-	private UnaryComputerOp<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>> xorMapOp;
-
-	private UnaryComputerOp<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>> fillHolesComp;
-
-	@Override
-	public void initialize() {
-		fillHolesComp = RAIs.computer(ops(), Ops.Morphology.FillHoles.class, in(), structElement);
-		xorMapOp = RAIs.computer(ops(), Ops.Map.class, in(),
-			new AbstractUnaryComputerOp<T, T>()
-		{
-
-				@Override
-				public void compute(T input, T output) {
-					output.set((input.get()) ^ (output
-						.get()));
-				}
-			});
-
-	}
+	/** Whether the holes of each plane of a stack are extracted independently. */
+	@Parameter(required = false)
+	private boolean sliceWise;
 
 	@Override
 	public void compute(final RandomAccessibleInterval<T> input,
 		final RandomAccessibleInterval<T> output)
 	{
-		fillHolesComp.compute(input, output);
-		xorMapOp.compute(input, output);
+		BorderReconstruction.fillHoles(ops(), input, output, structElement, true,
+			sliceWise);
 	}
 
 }
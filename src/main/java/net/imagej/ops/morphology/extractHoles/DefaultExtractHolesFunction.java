@@ -55,6 +55,10 @@ public class DefaultExtractHolesFunction<T extends BooleanType<T>> extends
 	@Parameter(required = false)
 	private Shape structElement = new RectangleShape(1, false);
 
+	/** Whether the holes of each plane of a stack are extracted independently. */
+	@Parameter(required = false)
+	private boolean sliceWise;
+
 	private UnaryFunctionOp<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>> createFunc;
 
 	@Override
@@ -69,7 +73,7 @@ public class DefaultExtractHolesFunction<T extends BooleanType<T>> extends
 		createWorker(final RandomAccessibleInterval<T> t)
 	{
 		return RAIs.computer(ops(), Ops.Morphology.ExtractHoles.class, t,
-			structElement);
+			structElement, sliceWise);
 	}
 
 	@Override
@@ -0,0 +1,242 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imagej.ops.morphology.fillHoles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.Cursor;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.algorithm.morphology.MorphologyUtils;
+import net.imglib2.algorithm.neighborhood.Neighborhood;
+import net.imglib2.algorithm.neighborhood.Shape;
+import net.imglib2.type.BooleanType;
+import net.imglib2.type.logic.BitType;
+import net.imglib2.util.IntervalIndexer;
+import net.imglib2.util.Intervals;
+import net.imglib2.view.Views;
+
+/**
+ * Finds the holes of a binary image, i.e. the background pixels which are not
+ * connected to the image border.
+ * <p>
+ * All background pixels on the border are put into a queue of flat indices,
+ * from which the background connected to the border is reconstructed in a
+ * single breadth-first pass. Every pixel is queued at most once.
+ * </p>
+ */
+public final class BorderReconstruction {
+
+	private BorderReconstruction() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/**
+	 * Fills or extracts the holes of a binary image.
+	 * 
+	 * @param ops environment used to process slices in parallel
+	 * @param in the binary input image
+	 * @param out receives the input with filled holes, or only the holes
+	 * @param structElement the neighborhood defining the connectivity
+	 * @param holesOnly whether only the holes are written to the output
+	 * @param sliceWise whether each plane of dimensions 0 and 1 is processed
+	 *          independently, in parallel
+	 */
+	public static <T extends BooleanType<T>, U extends BooleanType<U>> void
+		fillHoles(final OpEnvironment ops, final RandomAccessibleInterval<T> in,
+			final RandomAccessibleInterval<U> out, final Shape structElement,
+			final boolean holesOnly, final boolean sliceWise)
+	{
+		if (!sliceWise || in.numDimensions() <= 2) {
+			fillHoles(in, out, structElement, holesOnly);
+			return;
+		}
+
+		final RandomAccessibleInterval<T> input = Views.zeroMin(in);
+		final RandomAccessibleInterval<U> output = Views.zeroMin(out);
+		final long[] dims = Intervals.dimensionsAsLongArray(in);
+		final long[] planes = new long[dims.length - 2];
+		System.arraycopy(dims, 2, planes, 0, planes.length);
+		ops.run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final long[] pos = new long[planes.length];
+				for (long k = 0, plane = startIndex; k < numSteps; k++, plane +=
+					stepSize)
+				{
+					IntervalIndexer.indexToPosition(plane, planes, pos);
+					RandomAccessibleInterval<T> inPlane = input;
+					RandomAccessibleInterval<U> outPlane = output;
+					for (int d = dims.length - 1; d >= 2; d--) {
+						inPlane = Views.hyperSlice(inPlane, d, pos[d - 2]);
+						outPlane = Views.hyperSlice(outPlane, d, pos[d - 2]);
+					}
+					fillHoles(inPlane, outPlane, structElement, holesOnly);
+				}
+			}
+		}, Intervals.numElements(planes));
+	}
+
+	// -- Helper methods --
+
+	private static <T extends BooleanType<T>, U extends BooleanType<U>> void
+		fillHoles(final RandomAccessibleInterval<T> in,
+			final RandomAccessibleInterval<U> out, final Shape structElement,
+			final boolean holesOnly)
+	{
+		final RandomAccessibleInterval<T> input = Views.zeroMin(in);
+		final RandomAccessibleInterval<U> output = Views.zeroMin(out);
+		final int n = in.numDimensions();
+		final long[] dims = Intervals.dimensionsAsLongArray(in);
+		final long[][] offsets = offsets(structElement, input);
+
+		// queue the background on the border, everything else is filled
+		final LongFifo queue = new LongFifo();
+		final Cursor<T> inCursor = Views.flatIterable(input).localizingCursor();
+		final Cursor<U> outCursor = Views.flatIterable(output).cursor();
+		for (long index = 0; inCursor.hasNext(); index++) {
+			final boolean background = !inCursor.next().get();
+			final U o = outCursor.next();
+			if (background && isBorder(inCursor, dims)) {
+				o.set(false);
+				queue.add(index);
+			}
+			else {
+				o.set(true);
+			}
+		}
+
+		// remove the background which is connected to the border
+		final RandomAccess<T> raIn = input.randomAccess();
+		final RandomAccess<U> raOut = output.randomAccess();
+		final long[] pos = new long[n];
+		final long[] neighbor = new long[n];
+		while (!queue.isEmpty()) {
+			IntervalIndexer.indexToPosition(queue.remove(), dims, pos);
+			for (final long[] offset : offsets) {
+				boolean inside = true;
+				for (int d = 0; d < n; d++) {
+					neighbor[d] = pos[d] + offset[d];
+					if (neighbor[d] < 0 || neighbor[d] >= dims[d]) {
+						inside = false;
+						break;
+					}
+				}
+				if (!inside) continue;
+				raOut.setPosition(neighbor);
+				if (!raOut.get().get()) continue;
+				raIn.setPosition(neighbor);
+				if (!raIn.get().get()) {
+					raOut.get().set(false);
+					queue.add(IntervalIndexer.positionToIndex(neighbor, dims));
+				}
+			}
+		}
+
+		if (holesOnly) {
+			inCursor.reset();
+			outCursor.reset();
+			while (inCursor.hasNext()) {
+				if (inCursor.next().get()) outCursor.next().set(false);
+				else outCursor.fwd();
+			}
+		}
+	}
+
+	private static boolean isBorder(final Cursor<?> c, final long[] dims) {
+		for (int d = 0; d < dims.length; d++) {
+			final long p = c.getLongPosition(d);
+			if (p == 0 || p == dims[d] - 1) return true;
+		}
+		return false;
+	}
+
+	/** Computes the offsets of the neighbors, without the center. */
+	private static long[][] offsets(final Shape structElement,
+		final RandomAccessibleInterval<?> interval)
+	{
+		final Neighborhood<BitType> neighborhood = MorphologyUtils
+			.getNeighborhood(structElement, interval);
+		final List<long[]> offsets = new ArrayList<>();
+		final Cursor<BitType> c = neighborhood.localizingCursor();
+		while (c.hasNext()) {
+			c.fwd();
+			final long[] offset = new long[c.numDimensions()];
+			c.localize(offset);
+			boolean center = true;
+			for (final long o : offset) {
+				center &= o == 0;
+			}
+			if (!center) offsets.add(offset);
+		}
+		return offsets.toArray(new long[offsets.size()][]);
+	}
+
+	// -- Helper classes --
+
+	/** Growable FIFO queue of flat indices. */
+	private static final class LongFifo {
+
+		private long[] buffer = new long[64];
+		private int head;
+		private int size;
+
+		void add(final long index) {
+			if (size == buffer.length) {
+				final long[] grown = new long[2 * buffer.length];
+				for (int i = 0; i < size; i++) {
+					grown[i] = buffer[(head + i) % buffer.length];
+				}
+				buffer = grown;
+				head = 0;
+			}
+			buffer[(head + size) % buffer.length] = index;
+			size++;
+		}
+
+		long remove() {
+			final long index = buffer[head];
+			head = (head + 1) % buffer.length;
+			size--;
+			return index;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+	}
+
+}
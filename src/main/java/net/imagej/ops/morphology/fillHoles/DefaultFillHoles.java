@@ -32,25 +32,23 @@ package net.imagej.ops.morphology.fillHoles;
 import net.imagej.ops.Ops;
 import net.imagej.ops.create.img.CreateImgFromDimsAndType;
 import net.imagej.ops.special.chain.RAIs;
-import net.imagej.ops.special.computer.BinaryComputerOp;
-import net.imagej.ops.special.computer.Computers;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
-import net.imglib2.Cursor;
-import net.imglib2.IterableInterval;
-import net.imglib2.Localizable;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.neighborhood.RectangleShape;
 import net.imglib2.algorithm.neighborhood.Shape;
 import net.imglib2.type.BooleanType;
 import net.imglib2.type.logic.BitType;
-import net.imglib2.view.Views;
 
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 
 /**
  * Fills the holes of a BooleanType image.
+ * <p>
+ * The background connected to the border is reconstructed in one pass, see
+ * {@link BorderReconstruction}. Stacks can be filled plane by plane.
+ * </p>
  * 
  * @author Martin Horn (University of Konstanz)
  * @author Daniel Seebacher (University of Konstanz)
@@ -64,55 +62,23 @@ public class DefaultFillHoles<T extends BooleanType<T>> extends
 	@Parameter(required = false)
 	private Shape structElement = new RectangleShape(1, false);
 
+	/** Whether each plane of a stack is filled independently. */
+	@Parameter(required = false)
+	private boolean sliceWise;
+
 	private UnaryFunctionOp<RandomAccessibleInterval<T>, RandomAccessibleInterval<T>> createFunc;
-	private BinaryComputerOp<RandomAccessibleInterval<T>, Localizable, RandomAccessibleInterval<T>> floodFillComp;
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@Override
 	public void initialize() {
 		createFunc = RAIs.function(ops(), CreateImgFromDimsAndType.class, in(), new BitType());
-		floodFillComp = (BinaryComputerOp) Computers.binary(ops(),
-			Ops.Morphology.FloodFill.class, RandomAccessibleInterval.class, in(),
-			Localizable.class, structElement);
 	}
 
 	@Override
 	public void compute(final RandomAccessibleInterval<T> op,
 		final RandomAccessibleInterval<T> r)
 	{
-		final IterableInterval<T> iterOp = Views.flatIterable(op);
-		final IterableInterval<T> iterR = Views.flatIterable(r);
-
-		long[] dim = new long[r.numDimensions()];
-		r.dimensions(dim);
-		Cursor<T> rc = iterR.cursor();
-		Cursor<T> opc = iterOp.localizingCursor();
-		// Fill with non background marker
-		while (rc.hasNext()) {
-			rc.next().setOne();
-		}
-
-		rc.reset();
-		boolean border;
-		// Flood fill from every background border voxel
-		while (rc.hasNext()) {
-			rc.next();
-			opc.next();
-			if (rc.get().get() && !opc.get().get()) {
-				border = false;
-				for (int i = 0; i < r.numDimensions(); i++) {
-					if (rc.getLongPosition(i) == 0 || rc.getLongPosition(i) == dim[i] -
-						1)
-					{
-						border = true;
-						break;
-					}
-				}
-				if (border) {
-					floodFillComp.compute(op, rc, r);
-				}
-			}
-		}
+		BorderReconstruction.fillHoles(ops(), op, r, structElement, false,
+			sliceWise);
 	}
 
 	@Override
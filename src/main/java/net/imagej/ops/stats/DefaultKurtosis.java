@@ -63,6 +63,12 @@ public class DefaultKurtosis<I extends RealType<I>, O extends RealType<O>>
 	
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
+		if (DefaultSummary.isLarge(input)) {
+			output.setReal(DefaultSummary.summarize(ops(), input, 4)
+				.getKurtosis());
+			return;
+		}
+
 		output.setReal(Double.NaN);
 
 		final double std = stdDevFunc.calculate(input).getRealDouble();
@@ -55,15 +55,23 @@ public class DefaultMinMax<I extends RealType<I>> extends
 		double tmpMin = Double.POSITIVE_INFINITY;
 		double tmpMax = Double.NEGATIVE_INFINITY;
 
-		for (final I in : input) {
-			final double n = in.getRealDouble();
+		if (DefaultSummary.isLarge(input)) {
+			final SummaryStatistics summary = DefaultSummary.summarize(ops(), input,
+				0);
+			tmpMin = summary.getMin();
+			tmpMax = summary.getMax();
+		}
+		else {
+			for (final I in : input) {
+				final double n = in.getRealDouble();
 
-			if (tmpMin > n) {
-				tmpMin = n;
-			}
+				if (tmpMin > n) {
+					tmpMin = n;
+				}
 
-			if (tmpMax < n) {
-				tmpMax = n;
+				if (tmpMax < n) {
+					tmpMax = n;
+				}
 			}
 		}
 
@@ -62,6 +62,12 @@ public class DefaultMoment4AboutMean<I extends RealType<I>, O extends RealType<O
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
+		if (DefaultSummary.isLarge(input)) {
+			output.setReal(DefaultSummary.summarize(ops(), input, 4)
+				.getMoment4AboutMean());
+			return;
+		}
+
 		final double mean = meanFunc.calculate(input).getRealDouble();
 		final double size = sizeFunc.calculate(input).getRealDouble();
 		
@@ -29,12 +29,11 @@
 
 package net.imagej.ops.stats;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.Arrays;
 
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imglib2.IterableInterval;
 import net.imglib2.type.numeric.RealType;
 
 import org.scijava.plugin.Parameter;
@@ -42,6 +41,11 @@ import org.scijava.plugin.Plugin;
 
 /**
  * {@link Op} to calculate the n-th {@code stats.percentile}.
+ * <p>
+ * The samples are copied into a primitive buffer and the quantile is selected
+ * in place. Buffers of up to {@value #RETAINED_CAPACITY} samples are reused by
+ * later computations of the same thread; larger ones are allocated per call.
+ * </p>
  * 
  * @author Daniel Seebacher (University of Konstanz)
  * @author Christian Dietz (University of Konstanz)
@@ -56,25 +60,56 @@ public class DefaultQuantile<I extends RealType<I>, O extends RealType<O>>
 
 	@Parameter(min = "0.0", max = "1.0")
 	private double quantile;
-	
+
+	/** Initial capacity of the per-thread sample buffers. */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/** Maximum capacity of the sample buffers kept by each thread. */
+	private static final int RETAINED_CAPACITY = 1 << 12;
+
+	/** Reusable sample buffer of each thread computing with this op. */
+	private final ThreadLocal<double[]> buffers = ThreadLocal.withInitial(
+		() -> new double[INITIAL_CAPACITY]);
+
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
-		final ArrayList<Double> statistics = new ArrayList<>();
+		double[] values = buffers.get();
+		if (input instanceof IterableInterval) {
+			final long size = ((IterableInterval<?>) input).size();
+			if (size > values.length && size <= Integer.MAX_VALUE - 8) {
+				values = new double[(int) size];
+				retain(values);
+			}
+		}
+
+		int n = 0;
+		for (final I t : input) {
+			if (n == values.length) {
+				values = Arrays.copyOf(values, grow(values.length));
+				retain(values);
+			}
+			values[n++] = t.getRealDouble();
+		}
 
-		final Iterator<I> it = input.iterator();
-		while (it.hasNext()) {
-			statistics.add(it.next().getRealDouble());
+		if (n == 0) {
+			output.setReal(Double.NaN);
+			return;
 		}
+		final int k = Math.min(n - 1, (int) (n * quantile));
+		output.setReal(select(values, 0, n - 1, k));
+	}
 
-		output.setReal(select(statistics, 0, statistics.size() - 1, (int) (statistics
-			.size() * quantile)));
+	/** Keeps the given buffer for this thread, unless it is too large. */
+	private void retain(final double[] values) {
+		if (values.length <= RETAINED_CAPACITY) buffers.set(values);
 	}
 
 	/**
-	 * Returns the value of the kth lowest element. Do note that for nth lowest
+	 * Returns the value of the kth lowest element of the given range of the
+	 * array, partially reordering the range. Do note that for nth lowest
 	 * element, k = n - 1.
 	 */
-	private double select(final ArrayList<Double> array, final int inLeft,
+	public static double select(final double[] array, final int inLeft,
 		final int inRight, final int k)
 	{
 
@@ -85,39 +120,39 @@ public class DefaultQuantile<I extends RealType<I>, O extends RealType<O>>
 
 			if (right <= left + 1) {
 
-				if (right == left + 1 && array.get(right) < array.get(left)) {
+				if (right == left + 1 && array[right] < array[left]) {
 					swap(array, left, right);
 				}
 
-				return array.get(k);
+				return array[k];
 
 			}
 			final int middle = (left + right) >>> 1;
 			swap(array, middle, left + 1);
 
-			if (array.get(left) > array.get(right)) {
+			if (array[left] > array[right]) {
 				swap(array, left, right);
 			}
 
-			if (array.get(left + 1) > array.get(right)) {
+			if (array[left + 1] > array[right]) {
 				swap(array, left + 1, right);
 			}
 
-			if (array.get(left) > array.get(left + 1)) {
+			if (array[left] > array[left + 1]) {
 				swap(array, left, left + 1);
 			}
 
 			int i = left + 1;
 			int j = right;
-			final double pivot = array.get(left + 1);
+			final double pivot = array[left + 1];
 
 			while (true) {
 				do
 					++i;
-				while (array.get(i) < pivot);
+				while (array[i] < pivot);
 				do
 					--j;
-				while (array.get(j) > pivot);
+				while (array[j] > pivot);
 
 				if (j < i) {
 					break;
@@ -126,8 +161,8 @@ public class DefaultQuantile<I extends RealType<I>, O extends RealType<O>>
 				swap(array, i, j);
 			}
 
-			array.set(left + 1, array.get(j));
-			array.set(j, pivot);
+			array[left + 1] = array[j];
+			array[j] = pivot;
 
 			if (j >= k) {
 				right = j - 1;
@@ -139,10 +174,21 @@ public class DefaultQuantile<I extends RealType<I>, O extends RealType<O>>
 		}
 	}
 
+	// -- Helper methods --
+
 	/** Helper method for swapping array entries */
-	private void swap(final List<Double> array, final int a, final int b) {
-		final double temp = array.get(a);
-		array.set(a, array.get(b));
-		array.set(b, temp);
+	private static void swap(final double[] array, final int a, final int b) {
+		final double temp = array[a];
+		array[a] = array[b];
+		array[b] = temp;
+	}
+
+	/** Helper method computing the grown capacity of a sample buffer */
+	private static int grow(final int capacity) {
+		final long grown = 2L * capacity;
+		if (capacity >= Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Too many samples");
+		}
+		return (int) Math.min(grown, Integer.MAX_VALUE - 8);
 	}
 }
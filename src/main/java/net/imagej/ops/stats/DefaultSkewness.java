@@ -62,6 +62,12 @@ public class DefaultSkewness<I extends RealType<I>, O extends RealType<O>>
 	
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
+		if (DefaultSummary.isLarge(input)) {
+			output.setReal(DefaultSummary.summarize(ops(), input, 3)
+				.getSkewness());
+			return;
+		}
+
 		final double moment3 =
 				moment3AboutMeanFunc.calculate(input).getRealDouble();
 		final double std = stdDevFunc.calculate(input).getRealDouble();
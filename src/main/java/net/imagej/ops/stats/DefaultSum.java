@@ -50,6 +50,12 @@ public class DefaultSum<I extends RealType<I>, O extends RealType<O>> extends
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
+		if (DefaultSummary.isLarge(input)) {
+			output.setReal(DefaultSummary.summarize(ops(), input, 0)
+				.getSum());
+			return;
+		}
+
 		double sum = 0;
 		for (final I in : input) {
 			sum += in.getRealDouble();
@@ -0,0 +1,133 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+
+package net.imagej.ops.stats;
+
+import net.imagej.ops.Op;
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.type.numeric.RealType;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * {@link Op} to calculate the {@code stats.summary}: size, minimum, maximum,
+ * sum and the central moments up to the given order in a single parallel pass.
+ * <p>
+ * The input is partitioned into blocks of {@value #BLOCK_SIZE} elements
+ * independently of the threads. Each block is accumulated into its own
+ * {@link SummaryStatistics}, and the partial results are merged in the order of
+ * the blocks afterwards, so the result does not depend on how the chunker
+ * distributes the blocks.
+ * </p>
+ *
+ * @param <I> input type
+ */
+@Plugin(type = Ops.Stats.Summary.class, label = "Statistics: Summary")
+public class DefaultSummary<I extends RealType<I>> extends
+	AbstractUnaryFunctionOp<IterableInterval<I>, SummaryStatistics> implements
+	Ops.Stats.Summary, Parallel
+{
+
+	/**
+	 * Size from which the single-value statistics ops delegate to
+	 * {@code stats.summary}.
+	 */
+	public static final long LARGE_INPUT_SIZE = 1 << 20;
+
+	/** Number of consecutive elements accumulated into one partial result. */
+	static final int BLOCK_SIZE = 1 << 14;
+
+	/** Highest central moment to accumulate, between 0 and 4. */
+	@Parameter(required = false)
+	private int order = 4;
+
+	@Override
+	public SummaryStatistics calculate(final IterableInterval<I> input) {
+		final long size = input.size();
+		final SummaryStatistics[] partials =
+			new SummaryStatistics[(int) ((size + BLOCK_SIZE - 1) / BLOCK_SIZE)];
+		ops().thread().chunker(new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final Cursor<I> cursor = input.cursor();
+				long block = startIndex;
+				for (long b = 0; b < numSteps; b++) {
+					final long start = block * BLOCK_SIZE;
+					final long end = Math.min(start + BLOCK_SIZE, size);
+					final SummaryStatistics partial = new SummaryStatistics(order);
+					cursor.reset();
+					cursor.jumpFwd(start);
+					for (long i = start; i < end; i++) {
+						partial.add(cursor.next().getRealDouble());
+					}
+					partials[(int) block] = partial;
+					block += stepSize;
+				}
+			}
+		}, partials.length);
+
+		final SummaryStatistics summary = new SummaryStatistics(order);
+		for (final SummaryStatistics partial : partials) {
+			summary.merge(partial);
+		}
+		return summary;
+	}
+
+	// -- Utility methods --
+
+	/**
+	 * @return true if the input is an {@link IterableInterval} large enough to
+	 *         be worth accumulating in parallel with {@code stats.summary}
+	 */
+	public static boolean isLarge(final Iterable<?> input) {
+		return input instanceof IterableInterval &&
+			((IterableInterval<?>) input).size() >= LARGE_INPUT_SIZE;
+	}
+
+	/**
+	 * Runs {@code stats.summary} on a large input, as determined by
+	 * {@link #isLarge(Iterable)}.
+	 */
+	public static SummaryStatistics summarize(final OpEnvironment ops,
+		final Iterable<?> input, final int order)
+	{
+		return (SummaryStatistics) ops.run(Ops.Stats.Summary.class, input, order);
+	}
+}
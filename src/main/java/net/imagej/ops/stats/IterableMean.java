@@ -52,6 +52,11 @@ public class IterableMean<I extends RealType<I>, O extends RealType<O>> extends
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
+		if (DefaultSummary.isLarge(input)) {
+			output.setReal(DefaultSummary.summarize(ops(), input, 0)
+				.getMean());
+			return;
+		}
 
 		double sum = 0;
 		double size = 0;
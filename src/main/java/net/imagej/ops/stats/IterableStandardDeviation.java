@@ -52,6 +52,12 @@ public class IterableStandardDeviation<I extends RealType<I>, O extends RealType
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
+		if (DefaultSummary.isLarge(input)) {
+			output.setReal(DefaultSummary.summarize(ops(), input, 2)
+				.getStdDev());
+			return;
+		}
+
 		double sum = 0;
 		double sumSqr = 0;
 		int n = 0;
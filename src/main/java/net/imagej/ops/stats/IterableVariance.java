@@ -56,6 +56,12 @@ public class IterableVariance<I extends RealType<I>, O extends RealType<O>>
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
+		if (DefaultSummary.isLarge(input)) {
+			output.setReal(DefaultSummary.summarize(ops(), input, 2)
+				.getVariance());
+			return;
+		}
+
 		int n = 0;
 		double mean = 0.0;
 		double M2 = 0.0;
@@ -466,6 +466,25 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.DefaultSummary.class)
+	public <T extends RealType<T>> SummaryStatistics summary(
+		final IterableInterval<T> in)
+	{
+		final SummaryStatistics result =
+			(SummaryStatistics) ops().run(net.imagej.ops.Ops.Stats.Summary.class, in);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.stats.DefaultSummary.class)
+	public <T extends RealType<T>> SummaryStatistics summary(
+		final IterableInterval<T> in, final int order)
+	{
+		final SummaryStatistics result =
+			(SummaryStatistics) ops().run(net.imagej.ops.Ops.Stats.Summary.class, in,
+				order);
+		return result;
+	}
+
 	@OpMethod(ops = { net.imagej.ops.stats.DefaultVariance.class,
 		net.imagej.ops.stats.IterableVariance.class })
 	public <T extends RealType<T>, O extends RealType<O>> O variance(
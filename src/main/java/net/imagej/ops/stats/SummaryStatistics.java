@@ -0,0 +1,230 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+
+package net.imagej.ops.stats;
+
+/**
+ * Mergeable accumulator for the size, minimum, maximum, sum and the central
+ * moments of a set of values.
+ * <p>
+ * Values are added with the online update of Welford, extended to the third
+ * and fourth central moment. Two accumulators over disjoint sets of values can
+ * be combined with {@link #merge(SummaryStatistics)}, following Chan et al. and
+ * Pébay. This allows to accumulate chunks of an image in parallel and to merge
+ * the partial results afterwards.
+ * </p>
+ * <p>
+ * Only central moments up to the given order are accumulated, as each further
+ * moment makes adding a value more expensive. Order {@code 0} only keeps track
+ * of size, minimum, maximum and sum.
+ * </p>
+ *
+ * @see <a href=
+ *      "https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Higher-order_statistics">
+ *      Wikipedia</a>
+ */
+public final class SummaryStatistics {
+
+	private final int order;
+
+	private long n;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+	private double sum;
+	private double mean;
+	private double m2;
+	private double m3;
+	private double m4;
+
+	/**
+	 * @param order highest central moment to accumulate, between {@code 0} and
+	 *          {@code 4}
+	 */
+	public SummaryStatistics(final int order) {
+		if (order < 0 || order > 4) {
+			throw new IllegalArgumentException("Order must be between 0 and 4: " +
+				order);
+		}
+		this.order = order;
+	}
+
+	/** Adds a single value. */
+	public void add(final double x) {
+		final long n1 = n++;
+		if (x < min) min = x;
+		if (x > max) max = x;
+		sum += x;
+		if (order == 0) return;
+
+		final double delta = x - mean;
+		final double deltaN = delta / n;
+		mean += deltaN;
+		if (order == 1) return;
+
+		final double term1 = delta * deltaN * n1;
+		if (order == 4) {
+			final double deltaN2 = deltaN * deltaN;
+			m4 += term1 * deltaN2 * ((double) n * n - 3 * n + 3) + 6 * deltaN2 *
+				m2 - 4 * deltaN * m3;
+		}
+		if (order >= 3) {
+			m3 += term1 * deltaN * (n - 2) - 3 * deltaN * m2;
+		}
+		m2 += term1;
+	}
+
+	/**
+	 * Merges the values accumulated by another instance into this one. Both
+	 * instances need to accumulate the same order.
+	 */
+	public void merge(final SummaryStatistics other) {
+		if (other.order != order) {
+			throw new IllegalArgumentException("Cannot merge order " + other.order +
+				" into order " + order);
+		}
+		if (other.n == 0) return;
+		if (n == 0) {
+			n = other.n;
+			min = other.min;
+			max = other.max;
+			sum = other.sum;
+			mean = other.mean;
+			m2 = other.m2;
+			m3 = other.m3;
+			m4 = other.m4;
+			return;
+		}
+
+		final double na = n;
+		final double nb = other.n;
+		final double nx = na + nb;
+		final double delta = other.mean - mean;
+		final double delta2 = delta * delta;
+
+		if (order == 4) {
+			m4 += other.m4 + delta2 * delta2 * na * nb * (na * na - na * nb + nb *
+				nb) / (nx * nx * nx) + 6 * delta2 * (na * na * other.m2 + nb * nb *
+					m2) / (nx * nx) + 4 * delta * (na * other.m3 - nb * m3) / nx;
+		}
+		if (order >= 3) {
+			m3 += other.m3 + delta2 * delta * na * nb * (na - nb) / (nx * nx) + 3 *
+				delta * (na * other.m2 - nb * m2) / nx;
+		}
+		if (order >= 2) {
+			m2 += other.m2 + delta2 * na * nb / nx;
+		}
+		mean += delta * nb / nx;
+
+		n += other.n;
+		if (other.min < min) min = other.min;
+		if (other.max > max) max = other.max;
+		sum += other.sum;
+	}
+
+	// -- Getters --
+
+	/** @return highest accumulated central moment */
+	public int getOrder() {
+		return order;
+	}
+
+	public long getSize() {
+		return n;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public double getSum() {
+		return sum;
+	}
+
+	public double getMean() {
+		return order >= 1 ? mean : sum / n;
+	}
+
+	/** @return sample variance as computed by {@code stats.variance} */
+	public double getVariance() {
+		checkOrder(2);
+		return n < 2 ? Double.NaN : m2 / (n - 1);
+	}
+
+	public double getStdDev() {
+		return Math.sqrt(getVariance());
+	}
+
+	public double getMoment1AboutMean() {
+		// NB: The first central moment vanishes by definition.
+		return 0;
+	}
+
+	public double getMoment2AboutMean() {
+		checkOrder(2);
+		return m2 / n;
+	}
+
+	public double getMoment3AboutMean() {
+		checkOrder(3);
+		return m3 / n;
+	}
+
+	public double getMoment4AboutMean() {
+		checkOrder(4);
+		return m4 / n;
+	}
+
+	/** @return skewness as computed by {@code stats.skewness} */
+	public double getSkewness() {
+		final double moment3 = getMoment3AboutMean();
+		final double std = getStdDev();
+		return std != 0 ? moment3 / (std * std * std) : Double.NaN;
+	}
+
+	/** @return kurtosis as computed by {@code stats.kurtosis} */
+	public double getKurtosis() {
+		final double moment4 = getMoment4AboutMean();
+		final double std = getStdDev();
+		return std != 0 ? moment4 / (std * std * std * std) : Double.NaN;
+	}
+
+	// -- Helper methods --
+
+	private void checkOrder(final int required) {
+		if (order < required) {
+			throw new IllegalStateException("Central moment " + required +
+				" was not accumulated, order is " + order);
+		}
+	}
+}
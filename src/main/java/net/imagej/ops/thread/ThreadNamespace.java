@@ -47,7 +47,8 @@ public class ThreadNamespace extends AbstractNamespace {
 	// -- Thread namespace ops --
 
 	/** Executes the "chunker" operation on the given arguments. */
-	@OpMethod(ops = { net.imagej.ops.thread.chunker.DefaultChunker.class,
+	@OpMethod(ops = { net.imagej.ops.thread.chunker.ForkJoinChunker.class,
+		net.imagej.ops.thread.chunker.DefaultChunker.class,
 		net.imagej.ops.thread.chunker.ChunkerInterleaved.class })
 	public void chunker(final Chunk chunkable, final long numberOfElements) {
 		ops().run(net.imagej.ops.Ops.Thread.Chunker.class, chunkable,
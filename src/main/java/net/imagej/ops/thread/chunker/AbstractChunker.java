@@ -60,7 +60,7 @@ public abstract class AbstractChunker extends AbstractOp implements ChunkerOp {
 	protected long numberOfElements;
 
 	/** Reason for cancelation, or null if not canceled. */
-	private String cancelReason;
+	private volatile String cancelReason;
 
 	// -- Chunker methods --
 
@@ -70,7 +70,7 @@ public abstract class AbstractChunker extends AbstractOp implements ChunkerOp {
 	}
 
 	@Override
-	public void setNumberOfElements(final int totalSize) {
+	public void setNumberOfElements(final long totalSize) {
 		this.numberOfElements = totalSize;
 	}
 
@@ -59,8 +59,8 @@ public class ChunkerInterleaved extends AbstractChunker {
 	public void run() {
 
 		final int numThreads = Runtime.getRuntime().availableProcessors();
-		final int numStepsFloor = (int) (numberOfElements / numThreads);
-		final int remainder = (int) numberOfElements - (numStepsFloor * numThreads);
+		final long numStepsFloor = numberOfElements / numThreads;
+		final long remainder = numberOfElements - (numStepsFloor * numThreads);
 
 		final ArrayList<Future<?>> futures = new ArrayList<>(numThreads);
 
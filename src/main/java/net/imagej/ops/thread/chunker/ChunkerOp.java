@@ -45,6 +45,6 @@ public interface ChunkerOp extends Ops.Thread.Chunker, Cancelable {
 	void setChunk(final Chunk executor);
 
 	/** Sets the total number of elements which should be processed in parallel. */
-	void setNumberOfElements(final int numberOfElements);
+	void setNumberOfElements(final long numberOfElements);
 
 }
@@ -50,7 +50,7 @@ import org.scijava.plugin.Plugin;
 @Plugin(type = Ops.Thread.Chunker.class)
 public class DefaultChunker extends AbstractChunker {
 
-	private final int STEP_SIZE = 1;
+	private final long STEP_SIZE = 1;
 
 	@Parameter
 	public LogService logService;
@@ -60,15 +60,15 @@ public class DefaultChunker extends AbstractChunker {
 
 		// TODO: is there a better way to determine the optimal chunk size?
 		
-		final int numSteps = Math.max(1, 
-			(int) (numberOfElements / Runtime.getRuntime().availableProcessors())) ;
+		final long numSteps = Math.max(1, 
+			numberOfElements / Runtime.getRuntime().availableProcessors());
 		
 		final int numChunks = (int) (numberOfElements / numSteps);
 
 		final ArrayList<Future<?>> futures = new ArrayList<>(numChunks);
 
 		for (int i = 0; i < numChunks - 1; i++) {
-			final int j = i;
+			final long j = i;
 
 			futures.add(threadService.run(new Runnable() {
 
@@ -84,8 +84,8 @@ public class DefaultChunker extends AbstractChunker {
 
 			@Override
 			public void run() {
-				chunkable.execute((numChunks - 1) * numSteps, STEP_SIZE,
-					(int) (numSteps + (numberOfElements % numSteps)));
+				chunkable.execute((numChunks - 1L) * numSteps, STEP_SIZE,
+					numSteps + (numberOfElements % numSteps));
 			}
 		}));
 
@@ -0,0 +1,145 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread.chunker;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import net.imagej.ops.Ops;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Work-stealing implementation of a {@link ChunkerOp}. The elements are split
+ * recursively into consecutive ranges which are processed on a
+ * {@link ForkJoinPool}. A range is only split further while the pool lacks
+ * queued work, so that threads which finish early steal the remaining work of
+ * the others (e.g. when the cost per element is uneven). Once the chunker is
+ * canceled, or a {@link Chunk} fails, no further ranges are started.
+ */
+@Plugin(type = Ops.Thread.Chunker.class, priority = Priority.HIGH)
+public class ForkJoinChunker extends AbstractChunker {
+
+	/**
+	 * Number of ranges per thread into which the elements are split at least,
+	 * to balance the load between the threads.
+	 */
+	private static final int RANGES_PER_THREAD = 16;
+
+	/**
+	 * Number of queued, unstolen ranges from which on a range is no longer
+	 * split. See {@link RecursiveAction#getSurplusQueuedTaskCount()}.
+	 */
+	private static final int SURPLUS_THRESHOLD = 3;
+
+	/**
+	 * Number of threads to use, or 0 to use the common {@link ForkJoinPool}.
+	 */
+	@Parameter(required = false)
+	private int parallelism;
+
+	@Override
+	public void run() {
+		if (numberOfElements <= 0) return;
+
+		final ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism)
+			: ForkJoinPool.commonPool();
+		final long grain = Math.max(1, numberOfElements / ((long) pool
+			.getParallelism() * RANGES_PER_THREAD));
+		try {
+			pool.invoke(new Range(0, numberOfElements, grain));
+		}
+		finally {
+			if (pool != ForkJoinPool.commonPool()) pool.shutdown();
+		}
+	}
+
+	/** Sets the number of threads to use, or 0 for the common pool. */
+	public void setParallelism(final int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	// -- Helper classes --
+
+	/** Consecutive range of elements, processed or split into halves. */
+	private class Range extends RecursiveAction {
+
+		private final long start;
+		private final long length;
+		private final long grain;
+
+		/** Previously forked range of the same parent, see {@link #compute()}. */
+		private Range next;
+
+		private Range(final long start, final long length, final long grain) {
+			this.start = start;
+			this.length = length;
+			this.grain = grain;
+		}
+
+		@Override
+		protected void compute() {
+			long remaining = length;
+			Range forked = null;
+
+			// fork the upper halves while there is no surplus work
+			while (remaining > grain &&
+				getSurplusQueuedTaskCount() <= SURPLUS_THRESHOLD)
+			{
+				final long half = remaining >>> 1;
+				final Range upper = new Range(start + half, remaining - half, grain);
+				upper.next = forked;
+				forked = upper;
+				upper.fork();
+				remaining = half;
+			}
+			if (!isCanceled()) {
+				try {
+					chunkable.execute(start, 1, remaining);
+				}
+				catch (final RuntimeException | Error exc) {
+					// NB: Keep the other threads from starting any new ranges.
+					ForkJoinChunker.this.cancel(String.valueOf(exc.getMessage()));
+					throw exc;
+				}
+			}
+
+			// join (or execute, if not stolen) the forked ranges
+			while (forked != null) {
+				if (forked.tryUnfork()) forked.compute();
+				else forked.join();
+				forked = forked.next;
+			}
+		}
+	}
+
+}
@@ -170,6 +170,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Huang.class)
+	public <T extends RealType<T>> IterableInterval<BitType> huang(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Huang.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Huang.class)
+	public <T extends RealType<T>> IterableInterval<BitType> huang(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Huang.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.ApplyThresholdMethodLocal.LocalHuangThreshold.class)
 	public <T extends RealType<T>, B extends BooleanType<B>> IterableInterval<B>
@@ -244,6 +270,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.IJ1.class)
+	public <T extends RealType<T>> IterableInterval<BitType> ij1(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.IJ1.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.IJ1.class)
+	public <T extends RealType<T>> IterableInterval<BitType> ij1(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.IJ1.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.ApplyThresholdMethodLocal.LocalIJ1Threshold.class)
 	public <T extends RealType<T>, B extends BooleanType<B>> IterableInterval<B>
@@ -325,6 +377,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Intermodes.class)
+	public <T extends RealType<T>> IterableInterval<BitType> intermodes(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Intermodes.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Intermodes.class)
+	public <T extends RealType<T>> IterableInterval<BitType> intermodes(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Intermodes.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.ApplyThresholdMethodLocal.LocalIntermodesThreshold.class)
 	public <T extends RealType<T>, B extends BooleanType<B>> IterableInterval<B>
@@ -377,6 +455,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.IsoData.class)
+	public <T extends RealType<T>> IterableInterval<BitType> isoData(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.IsoData.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.IsoData.class)
+	public <T extends RealType<T>> IterableInterval<BitType> isoData(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.IsoData.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.isoData.ComputeIsoDataThreshold.class)
 	public <T extends RealType<T>> List<Object> isoData(final Histogram1d<T> in) {
@@ -451,6 +555,30 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.threshold.ApplyThresholdMethod.Li.class)
+	public <T extends RealType<T>> IterableInterval<BitType> li(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Li.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(op = net.imagej.ops.threshold.ApplyThresholdMethod.Li.class)
+	public <T extends RealType<T>> IterableInterval<BitType> li(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Li.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.li.ComputeLiThreshold.class)
 	public <T extends RealType<T>> T li(final Histogram1d<T> in) {
@@ -984,6 +1112,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.MaxEntropy.class)
+	public <T extends RealType<T>> IterableInterval<BitType> maxEntropy(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.MaxEntropy.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.MaxEntropy.class)
+	public <T extends RealType<T>> IterableInterval<BitType> maxEntropy(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.MaxEntropy.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.maxEntropy.ComputeMaxEntropyThreshold.class)
 	public
@@ -1065,6 +1219,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.MaxLikelihood.class)
+	public <T extends RealType<T>> IterableInterval<BitType> maxLikelihood(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.MaxLikelihood.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.MaxLikelihood.class)
+	public <T extends RealType<T>> IterableInterval<BitType> maxLikelihood(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.MaxLikelihood.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.maxLikelihood.ComputeMaxLikelihoodThreshold.class)
 	public
@@ -1144,6 +1324,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Mean.class)
+	public <T extends RealType<T>> IterableInterval<BitType> mean(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Mean.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Mean.class)
+	public <T extends RealType<T>> IterableInterval<BitType> mean(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Mean.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.mean.ComputeMeanThreshold.class)
 	public <T extends RealType<T>> T mean(final Histogram1d<T> in) {
@@ -1189,6 +1395,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.MinError.class)
+	public <T extends RealType<T>> IterableInterval<BitType> minError(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.MinError.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.MinError.class)
+	public <T extends RealType<T>> IterableInterval<BitType> minError(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.MinError.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.minError.ComputeMinErrorThreshold.class)
 	public
@@ -1267,6 +1499,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Minimum.class)
+	public <T extends RealType<T>> IterableInterval<BitType> minimum(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Minimum.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Minimum.class)
+	public <T extends RealType<T>> IterableInterval<BitType> minimum(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Minimum.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.minimum.ComputeMinimumThreshold.class)
 	public <T extends RealType<T>> List<Object> minimum(final Histogram1d<T> in) {
@@ -1367,6 +1625,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Moments.class)
+	public <T extends RealType<T>> IterableInterval<BitType> moments(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Moments.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Moments.class)
+	public <T extends RealType<T>> IterableInterval<BitType> moments(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Moments.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.ApplyThresholdMethodLocal.LocalMomentsThreshold.class)
 	public <T extends RealType<T>, B extends BooleanType<B>> IterableInterval<B>
@@ -1438,6 +1722,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Otsu.class)
+	public <T extends RealType<T>> IterableInterval<BitType> otsu(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Otsu.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Otsu.class)
+	public <T extends RealType<T>> IterableInterval<BitType> otsu(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Otsu.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.ApplyThresholdMethodLocal.LocalOtsuThreshold.class)
 	public <T extends RealType<T>, B extends BooleanType<B>> IterableInterval<B>
@@ -1491,6 +1801,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Percentile.class)
+	public <T extends RealType<T>> IterableInterval<BitType> percentile(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Percentile.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Percentile.class)
+	public <T extends RealType<T>> IterableInterval<BitType> percentile(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Percentile.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.percentile.ComputePercentileThreshold.class)
 	public
@@ -1572,6 +1908,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.RenyiEntropy.class)
+	public <T extends RealType<T>> IterableInterval<BitType> renyiEntropy(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.RenyiEntropy.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.RenyiEntropy.class)
+	public <T extends RealType<T>> IterableInterval<BitType> renyiEntropy(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.RenyiEntropy.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.renyiEntropy.ComputeRenyiEntropyThreshold.class)
 	public
@@ -1652,6 +2014,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Shanbhag.class)
+	public <T extends RealType<T>> IterableInterval<BitType> shanbhag(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Shanbhag.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Shanbhag.class)
+	public <T extends RealType<T>> IterableInterval<BitType> shanbhag(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Shanbhag.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.shanbhag.ComputeShanbhagThreshold.class)
 	public
@@ -1727,6 +2115,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Triangle.class)
+	public <T extends RealType<T>> IterableInterval<BitType> triangle(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Triangle.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Triangle.class)
+	public <T extends RealType<T>> IterableInterval<BitType> triangle(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Triangle.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.triangle.ComputeTriangleThreshold.class)
 	public
@@ -1822,6 +2236,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Yen.class)
+	public <T extends RealType<T>> IterableInterval<BitType> yen(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Yen.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Yen.class)
+	public <T extends RealType<T>> IterableInterval<BitType> yen(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Yen.class, out,
+				in, histogram);
+		return result;
+	}
+
 	@OpMethod(
 		op = net.imagej.ops.threshold.ApplyThresholdMethodLocal.LocalYenThreshold.class)
 	public <T extends RealType<T>, B extends BooleanType<B>> IterableInterval<B>
@@ -1892,6 +2332,32 @@ public class ThresholdNamespace extends AbstractNamespace {
 				in);
 		return result;
 	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Rosin.class)
+	public <T extends RealType<T>> IterableInterval<BitType> rosin(final IterableInterval<T> in,
+		final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Rosin.class, in,
+				histogram);
+		return result;
+	}
+
+	@OpMethod(
+		op = net.imagej.ops.threshold.ApplyThresholdMethod.Rosin.class)
+	public <T extends RealType<T>> IterableInterval<BitType> rosin(final IterableInterval<BitType> out,
+		final IterableInterval<T> in, final Histogram1d<T> histogram)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<BitType> result =
+			(IterableInterval<BitType>) ops().run(
+				net.imagej.ops.Ops.Threshold.Rosin.class, out,
+				in, histogram);
+		return result;
+	}
         
         @OpMethod(
 		op = net.imagej.ops.threshold.ApplyThresholdMethodLocal.LocalRosinThreshold.class)
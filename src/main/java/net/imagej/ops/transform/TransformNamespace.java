@@ -684,6 +684,7 @@ public class TransformNamespace extends AbstractNamespace {
 	 * @return
 	 */
 	@OpMethod(ops = {
+		net.imagej.ops.transform.project.DefaultProjectStreaming.class,
 		net.imagej.ops.transform.project.DefaultProjectParallel.class,
 		net.imagej.ops.transform.project.ProjectRAIToIterableInterval.class,
 		net.imagej.ops.transform.project.ProjectRAIToII.class })
@@ -0,0 +1,54 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.transform.project;
+
+import net.imagej.ops.Ops;
+
+/**
+ * Statistics which a {@link StreamingProjection} computes for each projected
+ * line of samples.
+ */
+public enum ProjectionStatistic {
+	MIN, MAX, SUM, MEAN, VARIANCE, MEDIAN;
+
+	/**
+	 * Gets the statistic computed by the given op, or {@code null} if the op
+	 * computes none of the supported statistics.
+	 */
+	public static ProjectionStatistic of(final Object op) {
+		if (op instanceof Ops.Stats.Min) return MIN;
+		if (op instanceof Ops.Stats.Max) return MAX;
+		if (op instanceof Ops.Stats.Sum) return SUM;
+		if (op instanceof Ops.Stats.Mean) return MEAN;
+		if (op instanceof Ops.Stats.Variance) return VARIANCE;
+		if (op instanceof Ops.Stats.Median) return MEDIAN;
+		return null;
+	}
+}
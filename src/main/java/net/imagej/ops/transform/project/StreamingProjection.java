@@ -0,0 +1,281 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.transform.project;
+
+import java.util.Arrays;
+import java.util.List;
+
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.stats.DefaultQuantile;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imglib2.Cursor;
+import net.imglib2.FlatIterationOrder;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.numeric.RealType;
+
+/**
+ * Projects an image along one dimension in a single streaming pass.
+ * <p>
+ * Instead of collecting the samples of each output pixel by positioning a
+ * {@link net.imglib2.RandomAccess} along the projected dimension, the input is
+ * read in its storage order, and each sample updates the running state (min,
+ * max, sum, variance, or a sample buffer for the median) of its output pixel.
+ * The output pixels are split into consecutive tiles, whose states fit into
+ * the cache, and the tiles are processed in parallel. Several statistics can
+ * be computed in the same pass.
+ * </p>
+ * <p>
+ * Input and outputs need a {@link FlatIterationOrder}, as e.g. array and
+ * planar images have, see {@link #isSupported}.
+ * </p>
+ */
+public final class StreamingProjection {
+
+	private StreamingProjection() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/** Number of output pixels whose running states are updated together. */
+	private static final int TILE_SIZE = 4096;
+
+	/** Maximum number of samples buffered per tile to compute the median. */
+	private static final int MAX_BUFFERED_SAMPLES = 1 << 20;
+
+	/**
+	 * Checks whether the input can be projected along the given dimension into
+	 * an output by a {@link StreamingProjection}.
+	 */
+	public static boolean isSupported(final RandomAccessibleInterval<?> in,
+		final int dim, final IterableInterval<?> out)
+	{
+		if (!(in instanceof IterableInterval)) return false;
+		final IterableInterval<?> input = (IterableInterval<?>) in;
+		if (dim < 0 || dim >= in.numDimensions() || out.numDimensions() != in
+			.numDimensions() - 1) return false;
+		for (int d = 0; d < out.numDimensions(); d++) {
+			if (out.dimension(d) != in.dimension(d < dim ? d : d + 1)) return false;
+		}
+		return input.size() > 0 &&
+			input.iterationOrder() instanceof FlatIterationOrder &&
+			out.iterationOrder() instanceof FlatIterationOrder &&
+			input.firstElement() instanceof RealType &&
+			out.firstElement() instanceof RealType;
+	}
+
+	/**
+	 * Projects the input along the given dimension, computing one of the given
+	 * statistics into each of the outputs.
+	 * 
+	 * @param ops the environment whose chunker runs the tiles
+	 * @param in input to project, supported as checked by {@link #isSupported}
+	 * @param dim dimension to project along
+	 * @param statistics statistic to compute for each output
+	 * @param outs outputs, each with the dimensions of the input without
+	 *          {@code dim}
+	 */
+	public static <T extends RealType<T>> void project(final OpEnvironment ops,
+		final IterableInterval<T> in, final int dim,
+		final List<ProjectionStatistic> statistics,
+		final List<? extends IterableInterval<? extends RealType<?>>> outs)
+	{
+		if (statistics.size() != outs.size()) {
+			throw new IllegalArgumentException(
+				"Expected one output per statistic, but got " + outs.size() +
+					" outputs for " + statistics.size() + " statistics.");
+		}
+		final boolean median = statistics.contains(ProjectionStatistic.MEDIAN);
+		final long depth = in.dimension(dim);
+		if (median && depth > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException(
+				"Too many samples per pixel to compute the median: " + depth);
+		}
+
+		long inner = 1;
+		for (int d = 0; d < dim; d++) {
+			inner *= in.dimension(d);
+		}
+		final long size = in.size() / depth;
+		final int tileSize = median ? (int) Math.max(1, Math.min(TILE_SIZE,
+			MAX_BUFFERED_SAMPLES / depth)) : TILE_SIZE;
+		final Tiles<T> tiles = new Tiles<>(in, inner, depth, statistics, outs);
+
+		ops.run(ChunkerOp.class, new Chunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final Tiles<T>.Tile tile = tiles.new Tile(tileSize);
+				if (stepSize != 1) {
+					for (long k = 0; k < numSteps; k++) {
+						tile.process(startIndex + k * stepSize, 1);
+					}
+					return;
+				}
+				for (long k = 0; k < numSteps; k += tileSize) {
+					tile.process(startIndex + k, (int) Math.min(tileSize, numSteps -
+						k));
+				}
+			}
+		}, size);
+	}
+
+	// -- Helper classes --
+
+	/** Shared layout of the projection, creating the per-thread {@link Tile}s. */
+	private static final class Tiles<T extends RealType<T>> {
+
+		private final IterableInterval<T> in;
+		private final long inner;
+		private final long depth;
+		private final ProjectionStatistic[] statistics;
+		private final IterableInterval<? extends RealType<?>>[] outs;
+		private final boolean min, max, sum, variance, median;
+
+		@SuppressWarnings("unchecked")
+		private Tiles(final IterableInterval<T> in, final long inner,
+			final long depth, final List<ProjectionStatistic> statistics,
+			final List<? extends IterableInterval<? extends RealType<?>>> outs)
+		{
+			this.in = in;
+			this.inner = inner;
+			this.depth = depth;
+			this.statistics = statistics.toArray(new ProjectionStatistic[0]);
+			this.outs = outs.toArray(new IterableInterval[0]);
+			min = statistics.contains(ProjectionStatistic.MIN);
+			max = statistics.contains(ProjectionStatistic.MAX);
+			sum = statistics.contains(ProjectionStatistic.SUM) || statistics
+				.contains(ProjectionStatistic.MEAN);
+			variance = statistics.contains(ProjectionStatistic.VARIANCE);
+			median = statistics.contains(ProjectionStatistic.MEDIAN);
+		}
+
+		/**
+		 * Running states of a consecutive range of output pixels, reused by the
+		 * tiles of one chunk.
+		 */
+		private final class Tile {
+
+			private final Cursor<T> cursor = in.cursor();
+			private final double[] mins, maxs, sums, means, m2s, samples;
+
+			private Tile(final int tileSize) {
+				mins = min ? new double[tileSize] : null;
+				maxs = max ? new double[tileSize] : null;
+				sums = sum ? new double[tileSize] : null;
+				means = variance ? new double[tileSize] : null;
+				m2s = variance ? new double[tileSize] : null;
+				samples = median ? new double[tileSize * (int) depth] : null;
+			}
+
+			/**
+			 * Projects the output pixels with flat indices {@code start} to
+			 * {@code start + length - 1}.
+			 */
+			private void process(final long start, final int length) {
+				if (min) Arrays.fill(mins, 0, length, Double.POSITIVE_INFINITY);
+				if (max) Arrays.fill(maxs, 0, length, Double.NEGATIVE_INFINITY);
+				if (sum) Arrays.fill(sums, 0, length, 0);
+				if (variance) {
+					Arrays.fill(means, 0, length, 0);
+					Arrays.fill(m2s, 0, length, 0);
+				}
+
+				// NB: Iterate over the lines of the tile, and along each line over
+				// the projected dimension, so that the input is read in storage
+				// order.
+				cursor.reset();
+				long position = -1;
+				for (int offset = 0; offset < length;) {
+					final long index = start + offset;
+					final long outer = index / inner;
+					final long first = index % inner;
+					final int run = (int) Math.min(length - offset, inner - first);
+					for (long z = 0; z < depth; z++) {
+						final long target = (outer * depth + z) * inner + first;
+						cursor.jumpFwd(target - position);
+						position = target + run - 1;
+						final double n = z + 1;
+						for (int r = 0; r < run; r++) {
+							if (r > 0) cursor.fwd();
+							final double v = cursor.get().getRealDouble();
+							final int k = offset + r;
+							if (min && v < mins[k]) mins[k] = v;
+							if (max && v > maxs[k]) maxs[k] = v;
+							if (sum) sums[k] += v;
+							if (variance) {
+								final double delta = v - means[k];
+								means[k] += delta / n;
+								m2s[k] += delta * (v - means[k]);
+							}
+							if (median) samples[k * (int) depth + (int) z] = v;
+						}
+					}
+					offset += run;
+				}
+
+				for (int s = 0; s < statistics.length; s++) {
+					final Cursor<? extends RealType<?>> out = outs[s].cursor();
+					out.jumpFwd(start);
+					for (int k = 0; k < length; k++) {
+						out.next().setReal(value(statistics[s], k));
+					}
+				}
+			}
+
+			private double value(final ProjectionStatistic statistic,
+				final int k)
+			{
+				switch (statistic) {
+					case MIN:
+						return mins[k];
+					case MAX:
+						return maxs[k];
+					case SUM:
+						return sums[k];
+					case MEAN:
+						return sums[k] / depth;
+					case VARIANCE:
+						return depth < 2 ? Double.NaN : m2s[k] / (depth - 1);
+					case MEDIAN:
+						final int n = (int) depth;
+						final int from = k * n;
+						return DefaultQuantile.select(samples, from, from + n - 1, from +
+							Math.min(n - 1, (int) (n * 0.5d)));
+					default:
+						throw new IllegalArgumentException("Unsupported statistic: " +
+							statistic);
+				}
+			}
+		}
+	}
+}
@@ -35,6 +35,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import net.imglib2.type.numeric.real.DoubleType;
@@ -155,6 +156,44 @@ public class OpMatchingServiceTest extends AbstractOpTest {
 		}
 	}
 	
+	/** Tests that repeated requests are answered from the match cache. */
+	@Test
+	public void testMatchCache() {
+		final DefaultOpMatchingService cachingMatcher =
+			(DefaultOpMatchingService) matcher;
+		final DoubleType value = new DoubleType(1.5);
+
+		final OpCandidate first = matcher.findMatch(ops, OpRef.create("test.nan",
+			value));
+		final long hits = cachingMatcher.getCacheHits();
+		final long misses = cachingMatcher.getCacheMisses();
+
+		final DoubleType other = new DoubleType(2.5);
+		final OpCandidate second = matcher.findMatch(ops, OpRef.create("test.nan",
+			other));
+		assertEquals(hits + 1, cachingMatcher.getCacheHits());
+		assertEquals(misses, cachingMatcher.getCacheMisses());
+
+		// the cached match must be bound to the new arguments
+		assertSame(first.opInfo(), second.opInfo());
+		assertSame(other, second.getModule().getInput("arg"));
+		second.getModule().run();
+		assertTrue(Double.isNaN(other.get()));
+		assertFalse(Double.isNaN(value.get()));
+	}
+
+	/** Tests that an index notices replaced ops of an unchanged count. */
+	@Test
+	public void testIndexStaleness() {
+		final List<OpInfo> infos = new ArrayList<>(ops.infos());
+		final OpMatchingIndex index = new OpMatchingIndex(infos);
+		assertTrue(index.isIndexOf(infos));
+		assertTrue(index.isIndexOf(new ArrayList<>(infos)));
+
+		infos.set(0, infos.get(1));
+		assertFalse(index.isIndexOf(infos));
+	}
+
 	@Test
 	public void testLosslessMatch() {
 		// Not implemented yet
@@ -0,0 +1,131 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.cached;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link BoundedOpCache}.
+ */
+public class BoundedOpCacheTest {
+
+	@Test
+	public void testEntryBound() {
+		final BoundedOpCache cache = new BoundedOpCache(2, Long.MAX_VALUE, o -> 1,
+			1);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		assertEquals(1, cache.get("a"));
+		// "b" is now the least recently used entry
+		cache.put("c", 3);
+		assertNull(cache.get("b"));
+		assertEquals(1, cache.get("a"));
+		assertEquals(3, cache.get("c"));
+
+		final OpCacheStats stats = cache.stats();
+		assertEquals(3, stats.hits());
+		assertEquals(1, stats.misses());
+		assertEquals(1, stats.evictions());
+		assertEquals(2, stats.size());
+	}
+
+	@Test
+	public void testByteBound() {
+		final Img<UnsignedShortType> img = ArrayImgs.unsignedShorts(100, 100);
+		final long imgBytes = BoundedOpCache.estimateBytes(img);
+		assertEquals(20000, imgBytes, 64);
+
+		final BoundedOpCache cache = new BoundedOpCache(100, 2 * imgBytes,
+			BoundedOpCache::estimateBytes, 1);
+		cache.put(1, img);
+		cache.put(2, ArrayImgs.unsignedShorts(100, 100));
+		assertEquals(2 * imgBytes, cache.stats().bytes());
+		cache.put(3, ArrayImgs.unsignedShorts(100, 100));
+		assertNull(cache.get(1));
+		assertEquals(2 * imgBytes, cache.stats().bytes());
+
+		// a value exceeding the bounds is not cached at all
+		cache.put(4, ArrayImgs.unsignedShorts(1000, 100));
+		assertNull(cache.get(4));
+		assertEquals(2, cache.stats().size());
+	}
+
+	@Test
+	public void testInFlightDeduplication() throws Exception {
+		final BoundedOpCache cache = new BoundedOpCache(10, Long.MAX_VALUE);
+		final AtomicInteger computations = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch(1);
+		final ExecutorService es = Executors.newFixedThreadPool(4);
+		try {
+			@SuppressWarnings("unchecked")
+			final Future<Object>[] futures = new Future[4];
+			for (int i = 0; i < futures.length; i++) {
+				futures[i] = es.submit(() -> {
+					start.await();
+					return cache.get("key", () -> {
+						computations.incrementAndGet();
+						try {
+							Thread.sleep(100);
+						}
+						catch (final InterruptedException exc) {
+							Thread.currentThread().interrupt();
+						}
+						return new Object();
+					});
+				});
+			}
+			start.countDown();
+			final Object result = futures[0].get(10, TimeUnit.SECONDS);
+			for (final Future<Object> future : futures) {
+				assertSame(result, future.get(10, TimeUnit.SECONDS));
+			}
+			assertEquals(1, computations.get());
+		}
+		finally {
+			es.shutdown();
+		}
+	}
+
+}
@@ -109,6 +109,44 @@ public class CachedOpEnvironmentTest extends AbstractOpTest {
 		assertEquals(2.0, hybrid.calculate(imgB).getRealDouble(), 0.0);
 	}
 
+	@Test
+	public void testClearCache() {
+		ctr = 0;
+
+		assertEquals(1.0, func.calculate(imgA).get(), 0.0);
+		assertEquals(1.0, func.calculate(imgA).get(), 0.0);
+
+		// the default cache has to recompute after clearing
+		env.cache().clear();
+		assertEquals(2.0, func.calculate(imgA).get(), 0.0);
+		assertEquals(2.0, func.calculate(imgA).get(), 0.0);
+	}
+
+	@Test
+	public void testBoundedCache() {
+		ctr = 0;
+		final ArrayList<OpInfo> customOps = new ArrayList<>();
+		customOps.add(new OpInfo(MyMin.class));
+		final BoundedOpCache cache = new BoundedOpCache(1, Long.MAX_VALUE);
+		final CachedOpEnvironment boundedEnv = new CachedOpEnvironment(ops,
+			customOps, new ArrayList<>(), cache);
+		final UnaryFunctionOp<Img<ByteType>, DoubleType> boundedFunc = Functions
+			.unary(boundedEnv, Ops.Stats.Min.class, DoubleType.class, imgA);
+
+		assertEquals(1.0, boundedFunc.calculate(imgA).get(), 0.0);
+		assertEquals(1.0, boundedFunc.calculate(imgA).get(), 0.0);
+
+		// imgB evicts imgA, which has to be recomputed
+		assertEquals(2.0, boundedFunc.calculate(imgB).get(), 0.0);
+		assertEquals(3.0, boundedFunc.calculate(imgA).get(), 0.0);
+
+		final OpCacheStats stats = cache.stats();
+		assertEquals(1, stats.hits());
+		assertEquals(3, stats.misses());
+		assertEquals(2, stats.evictions());
+		assertEquals(1, stats.size());
+	}
+
 	@Test
 	public void testOptionalParameter() {
 		UnaryFunctionOp<DoubleType, Object> f = Functions.unary(env, OptionalParameterOp.class, Object.class, DoubleType.class);
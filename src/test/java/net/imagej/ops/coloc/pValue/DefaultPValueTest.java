@@ -29,13 +29,19 @@
 
 package net.imagej.ops.coloc.pValue;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 
 import net.imagej.ops.coloc.ColocalisationTest;
 import net.imagej.ops.special.function.AbstractBinaryFunctionOp;
 import net.imagej.ops.special.function.BinaryFunctionOp;
+import net.imglib2.FinalDimensions;
 import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.type.numeric.real.FloatType;
@@ -70,6 +76,39 @@ public class DefaultPValueTest extends ColocalisationTest {
 		assertColoc(0.6, 0.25, array, 0.25, 0.25, 0.25, 0.75, 0.75, 0.75);
 	}
 
+	@Test
+	public void testParallelReproducible() {
+		final Img<FloatType> ch1 = randomImage(0);
+		final Img<FloatType> ch2 = randomImage(1);
+		final BinaryFunctionOp<Iterable<FloatType>, Iterable<FloatType>, Double> op =
+			op(DefaultPValueTest::dotProduct);
+
+		final PValueResult first = ops.coloc().pValue(new PValueResult(), ch1,
+			ch2, op, 300);
+		final PValueResult second = ops.coloc().pValue(new PValueResult(), ch1,
+			ch2, op, 300);
+		assertEquals(300, first.getColocValuesArray().length);
+		assertArrayEquals(first.getColocValuesArray(), second
+			.getColocValuesArray(), 0.0);
+		assertEquals(first.getPValue(), second.getPValue(), 0.0);
+	}
+
+	@Test
+	public void testEarlyStopping() {
+		final Img<FloatType> ch1 = randomImage(2);
+		final Img<FloatType> ch2 = randomImage(3);
+		final BinaryFunctionOp<Iterable<FloatType>, Iterable<FloatType>, Double> op =
+			op(DefaultPValueTest::dotProduct);
+
+		final AtomicInteger streamed = new AtomicInteger();
+		final PValueResult result = ops.coloc().pValue(new PValueResult(), ch1,
+			ch2, op, 5000, new FinalDimensions(6, 6), 0x27372034, 0.05, sample -> streamed
+				.incrementAndGet());
+		final int n = result.getColocValuesArray().length;
+		assertTrue(n < 5000);
+		assertEquals(n, streamed.get());
+	}
+
 	/**
 	 * Function is called once with original images. Thereafter, each call is with
 	 * a shuffled version of the first image.
@@ -101,6 +140,26 @@ public class DefaultPValueTest extends ColocalisationTest {
 
 	// -- Utility methods --
 
+	private static Img<FloatType> randomImage(final long seed) {
+		final Img<FloatType> img = ArrayImgs.floats(36, 36);
+		final Random random = new Random(seed);
+		for (final FloatType t : img) {
+			t.set(random.nextFloat());
+		}
+		return img;
+	}
+
+	private static Double dotProduct(final Iterable<FloatType> input1,
+		final Iterable<FloatType> input2)
+	{
+		final Iterator<FloatType> it2 = input2.iterator();
+		double sum = 0;
+		for (final FloatType t : input1) {
+			sum += t.getRealDouble() * it2.next().getRealDouble();
+		}
+		return sum;
+	}
+
 	private static <I1, I2, O> BinaryFunctionOp<I1, I2, O> op(
 		final BiFunction<I1, I2, O> function)
 	{
@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.convert;
+
+import static org.junit.Assert.assertEquals;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.convert.imageType.ConvertArrayImgs;
+import net.imagej.ops.convert.imageType.ConvertIIs;
+import net.imagej.ops.convert.scale.ScaleRealTypes;
+import net.imglib2.Cursor;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.img.basictypeaccess.array.FloatArray;
+import net.imglib2.img.basictypeaccess.array.ShortArray;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+import net.imglib2.type.numeric.real.FloatType;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link ConvertArrayImages} and {@link ConvertArrayImgs}.
+ */
+public class ConvertArrayImagesTest extends AbstractOpTest {
+
+	private ArrayImg<UnsignedShortType, ShortArray> in;
+
+	@Before
+	public void createImage() {
+		final short[] data = new short[64];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (short) (i * 1031);
+		}
+		in = ArrayImgs.unsignedShorts(data, 8, 8);
+	}
+
+	@Test
+	public void testFloat32() {
+		final Img<FloatType> out = ops.convert().float32(in);
+		assertEquals(ConvertArrayImages.Float32.class, ops.op("convert.float32",
+			in).getClass());
+
+		final Cursor<UnsignedShortType> c = in.cursor();
+		final Cursor<FloatType> o = out.cursor();
+		while (c.hasNext()) {
+			assertEquals(c.next().get(), o.next().get(), 0);
+		}
+	}
+
+	@Test
+	public void testScale() {
+		final ArrayImg<FloatType, FloatArray> expected = ArrayImgs.floats(8, 8);
+		final ArrayImg<FloatType, FloatArray> actual = ArrayImgs.floats(8, 8);
+
+		ops.run(ConvertIIs.class, expected, in,
+			new ScaleRealTypes<UnsignedShortType, FloatType>());
+		ops.run(ConvertArrayImgs.class, actual, in,
+			new ScaleRealTypes<UnsignedShortType, FloatType>());
+
+		final Cursor<FloatType> e = expected.cursor();
+		final Cursor<FloatType> a = actual.cursor();
+		while (e.hasNext()) {
+			final float value = e.next().get();
+			assertEquals(value, a.next().get(), Math.ulp(value));
+		}
+	}
+
+}
@@ -39,6 +39,7 @@ import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.region.hypersphere.HyperSphere;
 import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImgFactory;
+import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.outofbounds.OutOfBoundsConstantValueFactory;
 import net.imglib2.type.numeric.real.FloatType;
 import net.imglib2.util.Util;
@@ -91,6 +92,64 @@ public class DeconvolveTest extends AbstractOpTest {
 		}
 	}
 
+	@Test
+	public void testRichardsonLucyUpdate() {
+		final Img<FloatType> estimate = ArrayImgs.floats(64, 48);
+		final Img<FloatType> correction = ArrayImgs.floats(64, 48);
+		int i = 0;
+		for (final FloatType value : correction) {
+			value.setReal(i++ % 7);
+		}
+		for (final FloatType value : estimate) {
+			value.setReal(0.5);
+		}
+
+		ops.run(RichardsonLucyUpdate.class, estimate, correction);
+
+		final Cursor<FloatType> c = correction.cursor();
+		for (final FloatType value : estimate) {
+			assertEquals(0.5f * c.next().get(), value.get(), 0.0f);
+		}
+	}
+
+	@Test
+	public void testFusedUpdate() {
+		final Img<FloatType> estimate = ArrayImgs.floats(64, 48);
+		final Img<FloatType> correction = ArrayImgs.floats(64, 48);
+		final Img<FloatType> variation = ArrayImgs.floats(64, 48);
+		final Img<FloatType> normalization = ArrayImgs.floats(64, 48);
+		int i = 0;
+		final Cursor<FloatType> c = correction.cursor();
+		final Cursor<FloatType> v = variation.cursor();
+		final Cursor<FloatType> n = normalization.cursor();
+		for (final FloatType value : estimate) {
+			value.setReal(i % 5 - 1);
+			c.next().setReal(i % 7);
+			v.next().setReal(i % 3 - 1);
+			n.next().setReal(1 + i % 4);
+			i++;
+		}
+		final Img<FloatType> expected = estimate.copy();
+
+		RichardsonLucyUpdate.update(ops, correction, estimate, variation, 0.1f,
+			normalization);
+
+		c.reset();
+		v.reset();
+		n.reset();
+		final Cursor<FloatType> e = estimate.cursor();
+		for (final FloatType value : expected) {
+			value.mul(c.next());
+			value.mul(1f / (1f - 0.1f * v.next().get()));
+			if (value.get() > 0) value.div(n.next());
+			else {
+				value.setZero();
+				n.fwd();
+			}
+			assertEquals(value.get(), e.next().get(), 0.0f);
+		}
+	}
+
 	// utility to place a small sphere at the center of the image
 	private void placeSphereInCenter(Img<FloatType> img) {
 
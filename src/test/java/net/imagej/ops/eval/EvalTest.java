@@ -30,13 +30,21 @@
 package net.imagej.ops.eval;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.HashMap;
 import java.util.Map;
 
 import net.imagej.ops.AbstractOpTest;
+import net.imglib2.Cursor;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.type.numeric.integer.ByteType;
+import net.imglib2.type.numeric.real.FloatType;
 
 import org.junit.Test;
+import org.scijava.parse.Variable;
 
 /**
  * Tests {@link net.imagej.ops.Ops.Eval}.
@@ -60,4 +68,70 @@ public class EvalTest extends AbstractOpTest {
 		assertEquals(17, ops.run(DefaultEval.class, "a+b*c", vars));
 	}
 
+	@Test
+	public void testImageMath() {
+		final Img<FloatType> a = ArrayImgs.floats(new float[] { 1, 2, 3, 4, 5, 6 },
+			3, 2);
+		final Img<FloatType> b = ArrayImgs.floats(new float[] { 6, 5, 4, 3, 2, 1 },
+			3, 2);
+		final Img<FloatType> c = ArrayImgs.floats(new float[] { 2, 2, 2, 3, 3, 3 },
+			3, 2);
+		final Map<String, Object> vars = new HashMap<>();
+		vars.put("a", a);
+		vars.put("b", b);
+		vars.put("c", c);
+
+		final Object result = ops.run(DefaultEval.class, "(a - b) * c / 2 + -a",
+			vars);
+		assertTrue(result instanceof ArrayImg);
+		@SuppressWarnings("unchecked")
+		final Cursor<FloatType> cursor = ((Img<FloatType>) result).cursor();
+		final float[] expected = { -6, -5, -4, -2.5f, -0.5f, 1.5f };
+		for (final float value : expected) {
+			assertEquals(value, cursor.next().get(), 0);
+		}
+	}
+
+	@Test
+	public void testImageAssignment() {
+		final Map<String, Object> vars = new HashMap<>();
+		vars.put("a", ArrayImgs.floats(new float[] { 1, 2, 3, 4, 5, 6 }, 3, 2));
+		vars.put("b", ArrayImgs.floats(new float[] { 6, 5, 4, 3, 2, 1 }, 3, 2));
+		final OpEvaluator e = new OpEvaluator(ops);
+		e.setAll(vars);
+
+		e.evaluate("c = a + b");
+		assertImage(e.get(new Variable("c")), 7, 7, 7, 7, 7, 7);
+
+		e.evaluate("c += a");
+		assertImage(e.get(new Variable("c")), 8, 9, 10, 11, 12, 13);
+	}
+
+	@Test
+	public void testImageMathInPixelType() {
+		// the arithmetic of the pixel type applies, as with the single ops
+		final Img<ByteType> a = ArrayImgs.bytes(new byte[] { 100, 7, -128 }, 3);
+		final Map<String, Object> vars = new HashMap<>();
+		vars.put("a", a);
+
+		@SuppressWarnings("unchecked")
+		final Img<ByteType> result = (Img<ByteType>) ops.run(DefaultEval.class,
+			"a * 2 / 2 - a / 2", vars);
+		final Cursor<ByteType> cursor = result.cursor();
+		assertEquals(-78, cursor.next().get());
+		assertEquals(4, cursor.next().get());
+		assertEquals(64, cursor.next().get());
+	}
+
+	// -- Helper methods --
+
+	private void assertImage(final Object image, final float... expected) {
+		assertTrue(image instanceof ArrayImg);
+		@SuppressWarnings("unchecked")
+		final Cursor<FloatType> cursor = ((Img<FloatType>) image).cursor();
+		for (final float value : expected) {
+			assertEquals(value, cursor.next().get(), 0);
+		}
+	}
+
 }
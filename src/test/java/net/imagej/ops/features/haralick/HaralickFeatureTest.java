@@ -30,11 +30,15 @@ package net.imagej.ops.features.haralick;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Map;
+
 import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Ops;
 import net.imagej.ops.features.AbstractFeatureTest;
 import net.imagej.ops.image.cooccurrenceMatrix.MatrixOrientation2D;
 import net.imglib2.img.Img;
 import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.real.DoubleType;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -164,4 +168,60 @@ public class HaralickFeatureTest extends AbstractOpTest {
 		assertEquals(5176.653047585449, ops.haralick().variance(img, 128, 1, MatrixOrientation2D.HORIZONTAL).get(),
 				EPSILON);
 	}
+
+	@Test
+	public void all() {
+		final Map<String, DoubleType> all = ops.haralick().all(img, 128,
+			new int[] { 1 }, MatrixOrientation2D.HORIZONTAL);
+		assertEquals(17, all.size());
+		assertEquals(0.002728531855956, all.get(Ops.Haralick.ASM.NAME).get(),
+			EPSILON);
+		assertEquals(2.829684210526314e+03, all.get(Ops.Haralick.Contrast.NAME)
+			.get(), EPSILON);
+		assertEquals(-6.957913328178969e-03, all.get(
+			Ops.Haralick.Correlation.NAME).get(), EPSILON);
+		assertEquals(5.914634251331289, all.get(Ops.Haralick.Entropy.NAME).get(),
+			EPSILON);
+		assertEquals(-1.138457766487823, all.get(Ops.Haralick.ICM1.NAME).get(),
+			EPSILON);
+		assertEquals(0.9995136931858095, all.get(Ops.Haralick.ICM2.NAME).get(),
+			EPSILON);
+		assertEquals(1.705010667439121e+04, all.get(Ops.Haralick.SumVariance.NAME)
+			.get(), EPSILON);
+		assertEquals(5176.653047585449, all.get(Ops.Haralick.Variance.NAME).get(),
+			EPSILON);
+		assertEquals(1.913756322645621e+07, all.get(
+			Ops.Haralick.ClusterPromenence.NAME).get(), EPSILON);
+	}
+
+	@Test
+	public void allAveraged() {
+		final Map<String, DoubleType> all = ops.haralick().all(img, 32,
+			new int[] { 1, 2 }, MatrixOrientation2D.HORIZONTAL,
+			MatrixOrientation2D.VERTICAL);
+		double expected = 0;
+		for (final int distance : new int[] { 1, 2 }) {
+			expected += ops.haralick().contrast(img, 32, distance,
+				MatrixOrientation2D.HORIZONTAL).get();
+			expected += ops.haralick().contrast(img, 32, distance,
+				MatrixOrientation2D.VERTICAL).get();
+		}
+		assertEquals(expected / 4, all.get(Ops.Haralick.Contrast.NAME).get(),
+			EPSILON);
+	}
+
+	@Test
+	public void allSparse() {
+		// more grey levels than the dense co-occurrence matrix supports
+		final Map<String, DoubleType> all = ops.haralick().all(img, 300,
+			new int[] { 1 }, MatrixOrientation2D.DIAGONAL);
+		assertEquals(ops.haralick().entropy(img, 300, 1,
+			MatrixOrientation2D.DIAGONAL).get(), all.get(Ops.Haralick.Entropy.NAME)
+				.get(), EPSILON);
+		assertEquals(ops.haralick().icm2(img, 300, 1, MatrixOrientation2D.DIAGONAL)
+			.get(), all.get(Ops.Haralick.ICM2.NAME).get(), EPSILON);
+		assertEquals(ops.haralick().sumAverage(img, 300, 1,
+			MatrixOrientation2D.DIAGONAL).get(), all.get(
+				Ops.Haralick.SumAverage.NAME).get(), EPSILON);
+	}
 }
@@ -34,7 +34,11 @@ import java.util.ArrayList;
 
 import net.imagej.ops.Ops;
 import net.imagej.ops.features.AbstractFeatureTest;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.type.numeric.IntegerType;
 import net.imglib2.type.numeric.integer.LongType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
 
 import org.junit.Test;
 
@@ -60,5 +64,79 @@ public class LBP2dFeatureTest extends AbstractFeatureTest {
 		assertEquals(Ops.LBP.LBP2D.NAME, 337.0, hist.get(3).getRealDouble(), 1e-3);
 		
 	}
-	
+
+	@Test
+	public void testMappings() {
+		assertEquals(256, LBPMapping.NONE.bins(8));
+		assertEquals(36, LBPMapping.ROTATION_INVARIANT.bins(8));
+		assertEquals(59, LBPMapping.UNIFORM.bins(8));
+		assertEquals(10, LBPMapping.ROTATION_INVARIANT_UNIFORM.bins(8));
+	}
+
+	@Test
+	public void testLbp2dCodes() {
+		// NB: Four neighbors of radius 1 (right, up, left, down) are not
+		// interpolated, so the codes are easily checked by hand. Pixels outside
+		// of the image are 0.
+		final Img<UnsignedByteType> pattern = ArrayImgs.unsignedBytes(new byte[] {
+			1, 1, 9, //
+			6, 5, 7, //
+			0, 2, 3 }, 3, 3);
+
+		assertCodes(new int[] { //
+			0b1001, 0b1101, 0b0000, //
+			0b0000, 0b0101, 0b0010, //
+			0b1111, 0b0011, 0b0010 }, //
+			ops.lbp().lbp2DCodes(pattern, 1, 4, LBPMapping.NONE));
+
+		// the default mapping bins uniform patterns by their number of set bits,
+		// and the non-uniform 0b0101 into the shared bin P + 1
+		assertCodes(new int[] { //
+			2, 3, 0, //
+			0, 5, 1, //
+			4, 2, 1 }, //
+			ops.lbp().lbp2DCodes(pattern, 1, 4));
+	}
+
+	@Test
+	public void testLbp2dHistogram() {
+		final int[] radii = { 1, 2 };
+		final int[] neighbors = { 8, 16 };
+		final long[] hist = ops.lbp().lbp2DHistogram(random, radii, neighbors);
+		assertEquals(10 + 18, hist.length);
+
+		long sum1 = 0;
+		long sum2 = 0;
+		for (int i = 0; i < 10; i++) {
+			sum1 += hist[i];
+		}
+		for (int i = 10; i < hist.length; i++) {
+			sum2 += hist[i];
+		}
+		assertEquals(random.size(), sum1);
+		assertEquals(random.size(), sum2);
+
+		// the code image has the same histogram as the first scale
+		final Img<? extends IntegerType<?>> codes = ops.lbp().lbp2DCodes(random,
+			1, 8);
+		assertEquals(UnsignedByteType.class, codes.firstElement().getClass());
+		final long[] expected = new long[10];
+		for (final IntegerType<?> code : codes) {
+			expected[code.getInteger()]++;
+		}
+		for (int i = 0; i < 10; i++) {
+			assertEquals(expected[i], hist[i]);
+		}
+	}
+
+	private static void assertCodes(final int[] expected,
+		final Img<? extends IntegerType<?>> codes)
+	{
+		assertEquals(expected.length, codes.size());
+		int i = 0;
+		for (final IntegerType<?> code : codes) {
+			assertEquals(expected[i++], code.getInteger());
+		}
+	}
+
 }
@@ -29,6 +29,7 @@
 package net.imagej.ops.features.tamura2d;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import net.imagej.ops.Ops;
 import net.imagej.ops.features.AbstractFeatureTest;
@@ -74,4 +75,22 @@ public class Tamura2dFeatureTest extends AbstractFeatureTest {
 			DefaultCoarsenessFeature.class, in)).getRealDouble(), 0.0);
 	}
 
+	@Test
+	public void testCoarsenessFeature3D() {
+		// a step along z only differs at the positions whose opposite
+		// neighborhoods lie on different sides of the step
+		final byte[] arr = new byte[16 * 16 * 16];
+		for (int i = arr.length / 2; i < arr.length; i++) {
+			arr[i] = 100;
+		}
+		final Img<ByteType> in = ArrayImgs.bytes(arr, 16, 16, 16);
+		final double coarseness = ((RealType<?>) ops.run(
+			DefaultCoarsenessFeature.class, in)).getRealDouble();
+		assertTrue(Ops.Tamura.Coarseness.NAME, coarseness > 0);
+
+		final Img<ByteType> constant = ArrayImgs.bytes(16, 16, 16);
+		assertEquals(Ops.Tamura.Coarseness.NAME, 0.0, ((RealType<?>) ops.run(
+			DefaultCoarsenessFeature.class, constant)).getRealDouble(), 0.0);
+	}
+
 }
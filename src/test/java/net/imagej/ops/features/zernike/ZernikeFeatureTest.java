@@ -30,9 +30,27 @@ package net.imagej.ops.features.zernike;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Map;
+
 import net.imagej.ops.Ops;
 import net.imagej.ops.features.AbstractFeatureTest;
+import net.imagej.ops.features.zernike.helper.ZernikeComputer;
+import net.imagej.ops.features.zernike.helper.ZernikeMoment;
+import net.imagej.ops.features.zernike.helper.ZernikeMoments;
+import net.imglib2.Cursor;
+import net.imglib2.RandomAccess;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.roi.Regions;
+import net.imglib2.roi.labeling.ImgLabeling;
+import net.imglib2.roi.labeling.LabelRegion;
+import net.imglib2.roi.labeling.LabelRegions;
+import net.imglib2.roi.labeling.LabelingType;
+import net.imglib2.type.logic.BitType;
 import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.integer.IntType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.util.Intervals;
 
 import org.junit.Test;
 
@@ -70,4 +88,55 @@ public class ZernikeFeatureTest extends AbstractFeatureTest {
 		assertEquals(Ops.Zernike.Magnitude.NAME, v1, v2, 1e-3);
 	}
 
+	@Test
+	public void testAll() {
+		final ZernikeMoments all = ops.zernike().all(ellipse, 6);
+		for (int n = 0; n <= 6; n++) {
+			for (int m = n % 2; m <= n; m += 2) {
+				final ZernikeMoment expected = (ZernikeMoment) ops.run(
+					ZernikeComputer.class, ellipse, n, m);
+				assertEquals(expected.getZm().getRealDouble(), all.getReal(n, m),
+					1e-10);
+				assertEquals(expected.getZm().getImaginaryDouble(), all
+					.getImaginary(n, m), 1e-10);
+				assertEquals(expected.getMagnitude(), all.getMagnitude(n, m), 1e-10);
+			}
+		}
+		assertEquals(0.10985876611295191, all.getMagnitude(4, 2), 1e-10);
+	}
+
+	@Test
+	public void testAllLabeling() {
+		final ImgLabeling<Integer, IntType> labeling = ops.create().imgLabeling(
+			ellipse);
+		final RandomAccess<LabelingType<Integer>> ra = labeling.randomAccess();
+		final Cursor<UnsignedByteType> c1 = ellipse.localizingCursor();
+		final Cursor<UnsignedByteType> c2 = rotatedEllipse.localizingCursor();
+		while (c1.hasNext()) {
+			c1.fwd();
+			c2.fwd();
+			ra.setPosition(c1);
+			if (c1.get().get() != 0) ra.get().add(1);
+			if (c2.get().get() != 0) ra.get().add(2);
+		}
+
+		final Img<BitType> mask = ArrayImgs.bits(Intervals.dimensionsAsLongArray(
+			ellipse));
+		for (final BitType b : mask) {
+			b.set(true);
+		}
+
+		final Map<Integer, ZernikeMoments> all = ops.zernike().all(labeling, 4);
+		assertEquals(2, all.size());
+		for (final LabelRegion<Integer> region : new LabelRegions<>(labeling)) {
+			final ZernikeMoments expected = ops.zernike().all(Regions.sample(region,
+				mask), 4);
+			final ZernikeMoments actual = all.get(region.getLabel());
+			for (int i = 0; i < ZernikeMoments.count(4); i++) {
+				assertEquals(expected.getReal()[i], actual.getReal()[i], 0);
+				assertEquals(expected.getImaginary()[i], actual.getImaginary()[i], 0);
+			}
+		}
+	}
+
 }
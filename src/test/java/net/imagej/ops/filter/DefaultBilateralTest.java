@@ -31,12 +31,15 @@ package net.imagej.ops.filter;
 import static org.junit.Assert.assertEquals;
 
 import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Ops;
 import net.imagej.ops.filter.bilateral.DefaultBilateral;
+import net.imagej.ops.filter.bilateral.ParallelBilateral;
 import net.imagej.ops.filter.gauss.GaussRAISingleSigma;
 import net.imglib2.Cursor;
 import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.type.numeric.integer.ByteType;
+import net.imglib2.type.numeric.real.DoubleType;
 
 import org.junit.Test;
 
@@ -177,4 +180,45 @@ public class DefaultBilateralTest extends AbstractOpTest {
 		}
 	}
 
+	@Test
+	public void testParallelVsDefault() {
+		final Img<ByteType> in = generateByteArrayTestImg(true, 23, 17);
+		final Img<DoubleType> expected = ArrayImgs.doubles(23, 17);
+		final Img<DoubleType> actual = ArrayImgs.doubles(23, 17);
+
+		ops.run(DefaultBilateral.class, expected, in, 15, 5, 3);
+		ops.run(ParallelBilateral.class, actual, in, 15, 5, 3);
+
+		final Cursor<DoubleType> e = expected.cursor();
+		final Cursor<DoubleType> a = actual.cursor();
+		while (e.hasNext()) {
+			assertEquals(e.next().get(), a.next().get(), 1e-9);
+		}
+
+		// float input, without lookup table for the range weights
+		final Img<DoubleType> actualFloat = ArrayImgs.doubles(23, 17);
+		ops.run(ParallelBilateral.class, actualFloat, expected, 15, 5, 3);
+		ops.run(DefaultBilateral.class, actual, expected, 15, 5, 3);
+		final Cursor<DoubleType> f = actualFloat.cursor();
+		final Cursor<DoubleType> d = actual.cursor();
+		while (f.hasNext()) {
+			assertEquals(d.next().get(), f.next().get(), 1e-9);
+		}
+	}
+
+	@Test
+	public void testParallel3D() {
+		final Img<ByteType> in = generateByteArrayTestImg(false, 5, 6, 7);
+		for (final ByteType t : in) {
+			t.set((byte) 3);
+		}
+		final Img<ByteType> out = generateByteArrayTestImg(false, 5, 6, 7);
+
+		ops.run(Ops.Filter.Bilateral.class, out, in, 15, 5, 2);
+
+		for (final ByteType t : out) {
+			assertEquals(3, t.get());
+		}
+	}
+
 }
@@ -30,6 +30,7 @@
 package net.imagej.ops.filter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -40,6 +41,7 @@ import net.imagej.ops.filter.max.MaxFilterOp;
 import net.imagej.ops.filter.mean.DefaultMeanFilter;
 import net.imagej.ops.filter.mean.MeanFilterOp;
 import net.imagej.ops.filter.median.DefaultMedianFilter;
+import net.imagej.ops.filter.median.HistogramMedianFilter;
 import net.imagej.ops.filter.median.MedianFilterOp;
 import net.imagej.ops.filter.min.DefaultMinFilter;
 import net.imagej.ops.filter.min.MinFilterOp;
@@ -47,6 +49,7 @@ import net.imagej.ops.filter.sigma.DefaultSigmaFilter;
 import net.imagej.ops.filter.sigma.SigmaFilterOp;
 import net.imagej.ops.filter.variance.DefaultVarianceFilter;
 import net.imagej.ops.filter.variance.VarianceFilterOp;
+import net.imglib2.Cursor;
 import net.imglib2.algorithm.neighborhood.RectangleShape;
 import net.imglib2.algorithm.neighborhood.RectangleShape.NeighborhoodsIterableInterval;
 import net.imglib2.img.Img;
@@ -143,6 +146,30 @@ public class NonLinearFiltersTest extends AbstractOpTest {
 		assertEquals(items.get(5).get(), out.firstElement().get());
 	}
 
+	/**
+	 * @see HistogramMedianFilter
+	 * @see DefaultMedianFilter
+	 */
+	@Test
+	public void testHistogramMedianFilter() {
+		final Img<ByteType> in3D = generateByteArrayTestImg(true, 13, 11, 7);
+		final Img<ByteType> expected = generateByteArrayTestImg(false, 13, 11, 7);
+		final Img<ByteType> actual = generateByteArrayTestImg(false, 13, 11, 7);
+		final RectangleShape shape2 = new RectangleShape(2, false);
+
+		ops.run(DefaultMedianFilter.class, expected, in3D, shape2, oobFactory);
+		final Object op = ops.op(MedianFilterOp.class, actual, in3D, shape2,
+			oobFactory);
+		assertTrue(op instanceof HistogramMedianFilter);
+		ops.run(HistogramMedianFilter.class, actual, in3D, shape2, oobFactory);
+
+		final Cursor<ByteType> e = expected.cursor();
+		final Cursor<ByteType> a = actual.cursor();
+		while (e.hasNext()) {
+			assertEquals(e.next().get(), a.next().get());
+		}
+	}
+
 	/**
 	 * @see MinFilterOp
 	 * @see DefaultMinFilter
@@ -31,10 +31,15 @@ package net.imagej.ops.geom;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import net.imagej.mesh.Mesh;
 import net.imagej.mesh.Triangle;
+import net.imagej.mesh.naive.NaiveDoubleMesh;
 import net.imagej.ops.Ops;
 import net.imagej.ops.features.AbstractFeatureTest;
 import net.imagej.ops.geom.geom3d.DefaultBoxivityMesh;
@@ -52,7 +57,14 @@ import net.imagej.ops.geom.geom3d.DefaultVerticesCountConvexHullMesh;
 import net.imagej.ops.geom.geom3d.DefaultVerticesCountMesh;
 import net.imagej.ops.geom.geom3d.DefaultVolumeConvexHullMesh;
 import net.imagej.ops.geom.geom3d.DefaultVolumeMesh;
+import net.imagej.ops.geom.geom3d.mesh.DefaultSmallestOrientedBoundingBox;
+import net.imagej.ops.geom.geom3d.mesh.DefaultVertexInterpolator;
+import net.imagej.ops.geom.geom3d.mesh.OrientedBox;
+import net.imglib2.Cursor;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.roi.labeling.LabelRegion;
+import net.imglib2.type.logic.BitType;
 import net.imglib2.type.numeric.real.DoubleType;
 
 import org.junit.BeforeClass;
@@ -71,11 +83,11 @@ public class MeshFeatureTests extends AbstractFeatureTest {
 
 	@Test
 	public void boxivityMesh() {
-		try {
-			ops.run(DefaultBoxivityMesh.class, mesh);
-		} catch (IllegalArgumentException e) {
-			// DefaultSmallestOrientedBoundingBox is not implemented.
-		}
+		// the box encloses the convex hull, whose volume is 304.5
+		final double boxivity = ((DoubleType) ops.run(DefaultBoxivityMesh.class,
+			mesh)).get();
+		assertTrue(Ops.Geometric.Boxivity.NAME, boxivity > 0);
+		assertTrue(Ops.Geometric.Boxivity.NAME, boxivity <= 257.5 / 304.5);
 	}
 
 	@Test
@@ -110,6 +122,7 @@ public class MeshFeatureTests extends AbstractFeatureTest {
 	public void marchingCubes() {
 		final Mesh result = (Mesh) ops.run(DefaultMarchingCubes.class, ROI);
 		assertEquals(mesh.triangles().size(), result.triangles().size());
+		assertEquals(mesh.vertices().size(), result.vertices().size());
 		final Iterator<Triangle> expectedFacets = mesh.triangles().iterator();
 		final Iterator<Triangle> actualFacets = result.triangles().iterator();
 		while (expectedFacets.hasNext() && actualFacets.hasNext()) {
@@ -128,6 +141,39 @@ public class MeshFeatureTests extends AbstractFeatureTest {
 		assertTrue(!expectedFacets.hasNext() && !actualFacets.hasNext());
 	}
 
+	@Test
+	public void marchingCubesClosedSurface() {
+		// an ellipsoid spanning several slabs must give a closed surface, i.e.
+		// every edge is shared by exactly two triangles
+		final Img<BitType> img = ArrayImgs.bits(12, 14, 50);
+		final Cursor<BitType> c = img.localizingCursor();
+		while (c.hasNext()) {
+			c.fwd();
+			final double x = (c.getDoublePosition(0) - 5.5) / 5;
+			final double y = (c.getDoublePosition(1) - 6.5) / 6;
+			final double z = (c.getDoublePosition(2) - 24.5) / 22;
+			c.get().set(x * x + y * y + z * z <= 1);
+		}
+		final Mesh result = (Mesh) ops.run(DefaultMarchingCubes.class, img, 0.5,
+			new DefaultVertexInterpolator());
+
+		final Map<List<Long>, Integer> edges = new HashMap<>();
+		for (long t = 0; t < result.triangles().size(); t++) {
+			final long[] v = { result.triangles().vertex0(t), result.triangles()
+				.vertex1(t), result.triangles().vertex2(t) };
+			for (int i = 0; i < 3; i++) {
+				final long a = v[i];
+				final long b = v[(i + 1) % 3];
+				edges.merge(Arrays.asList(Math.min(a, b), Math.max(a, b)), 1,
+					Integer::sum);
+			}
+		}
+		assertTrue(result.triangles().size() > 0);
+		for (final int count : edges.values()) {
+			assertEquals(2, count);
+		}
+	}
+
 	@Test
 	public void medianElongation() {
 		// formula verified and ground truth computed with matlab
@@ -149,6 +195,50 @@ public class MeshFeatureTests extends AbstractFeatureTest {
 				EPSILON);
 	}
 
+	@Test
+	public void smallestEnclosingBoundingBox() {
+		// rotated 2 x 3 x 4 box
+		final double[] a = { Math.cos(0.5), Math.sin(0.5), 0 };
+		final double[] b = { -Math.sin(0.5) * Math.cos(0.7), Math.cos(0.5) * Math
+			.cos(0.7), Math.sin(0.7) };
+		final double[] c = { Math.sin(0.5) * Math.sin(0.7), -Math.cos(0.5) * Math
+			.sin(0.7), Math.cos(0.7) };
+		final Mesh box = new NaiveDoubleMesh();
+		final double[] xyz = new double[24];
+		for (int i = 0; i < 8; i++) {
+			for (int d = 0; d < 3; d++) {
+				xyz[3 * i + d] = 5 + 2 * (i & 1) * a[d] + 3 * (i >> 1 & 1) * b[d] + 4 *
+					(i >> 2 & 1) * c[d];
+			}
+			box.vertices().add(xyz[3 * i], xyz[3 * i + 1], xyz[3 * i + 2]);
+		}
+		final int[] triangles = { 0, 4, 6, 0, 6, 2, 1, 3, 7, 1, 7, 5, 0, 1, 5, 0,
+			5, 4, 2, 6, 7, 2, 7, 3, 0, 2, 3, 0, 3, 1, 4, 5, 7, 4, 7, 6 };
+		for (int t = 0; t < triangles.length; t += 3) {
+			box.triangles().add(triangles[t], triangles[t + 1], triangles[t + 2]);
+		}
+
+		final Mesh result = (Mesh) ops.run(
+			DefaultSmallestOrientedBoundingBox.class, box);
+		assertEquals(Ops.Geometric.SmallestEnclosingBoundingBox.NAME, 24,
+			((DoubleType) ops.run(DefaultVolumeMesh.class, result)).get(), 24e-3);
+
+		final OrientedBox fit = DefaultSmallestOrientedBoundingBox.fit(ops, xyz,
+			0.1);
+		assertEquals(Math.sqrt(2) * Math.sin(0.1), fit.getErrorBound(), EPSILON);
+		assertEquals(24, fit.getVolume(), 24e-3);
+		final double[] extents = { fit.getExtent(0), fit.getExtent(1), fit
+			.getExtent(2) };
+		Arrays.sort(extents);
+		assertEquals(2, extents[0], 1e-2);
+		assertEquals(3, extents[1], 1e-2);
+		assertEquals(4, extents[2], 1e-2);
+		final double[] center = fit.getCenter();
+		for (int d = 0; d < 3; d++) {
+			assertEquals(5 + a[d] + 1.5 * b[d] + 2 * c[d], center[d], 1e-2);
+		}
+	}
+
 	@Test
 	public void solidityMesh() {
 		// formula verified and ground truth computed with matlab
@@ -35,6 +35,7 @@ import java.util.List;
 import net.imagej.ops.Ops;
 import net.imagej.ops.Ops.Geometric.BoundarySizeConvexHull;
 import net.imagej.ops.features.AbstractFeatureTest;
+import net.imagej.ops.geom.geom2d.CaliperMeasures;
 import net.imagej.ops.geom.geom2d.DefaultBoundingBox;
 import net.imagej.ops.geom.geom2d.DefaultBoxivityPolygon;
 import net.imagej.ops.geom.geom2d.DefaultCircularity;
@@ -51,6 +52,7 @@ import net.imagej.ops.geom.geom2d.DefaultMinimumFeretAngle;
 import net.imagej.ops.geom.geom2d.DefaultMinimumFeretDiameter;
 import net.imagej.ops.geom.geom2d.DefaultMinorAxis;
 import net.imagej.ops.geom.geom2d.DefaultPerimeterLength;
+import net.imagej.ops.geom.geom2d.DefaultRotatingCalipers;
 import net.imagej.ops.geom.geom2d.DefaultRoundness;
 import net.imagej.ops.geom.geom2d.DefaultSizeConvexHullPolygon;
 import net.imagej.ops.geom.geom2d.DefaultSizePolygon;
@@ -276,6 +278,27 @@ public class PolygonFeatureTests extends AbstractFeatureTest {
 		}
 	}
 
+	@Test
+	public void rotatingCalipers() {
+		final CaliperMeasures calipers = ops.geom().rotatingCalipers(contour);
+		assertEquals(Ops.Geometric.MaximumFeretsDiameter.NAME, 104.2353107157071,
+			calipers.getMaximumFeretDiameter(), EPSILON);
+		assertEquals(Ops.Geometric.MaximumFeretsAngle.NAME, 81.170255332091,
+			calipers.getMaximumFeretAngle(), EPSILON);
+		assertEquals(Ops.Geometric.MinimumFeretsDiameter.NAME, 58.5849810104945,
+			calipers.getMinimumFeretDiameter(), EPSILON);
+		assertEquals(Ops.Geometric.MinimumFeretsAngle.NAME, 153.434948822922,
+			calipers.getMinimumFeretAngle(), EPSILON);
+
+		// the diameter of a triangle is one of its edges
+		final CaliperMeasures triangle = DefaultRotatingCalipers.measure(
+			new double[] { 0, 0, 4, 0, 0, 3 });
+		assertEquals(5, triangle.getMaximumFeretDiameter(), EPSILON);
+		assertEquals(2.4, triangle.getMinimumFeretDiameter(), EPSILON);
+		assertEquals(12, ops.geom().size(triangle.getSmallestEnclosingRectangle())
+			.get(), EPSILON);
+	}
+
 	@Test
 	public void sizeConvexHullPolygon() {
 		assertEquals(Ops.Geometric.SizeConvexHull.NAME, 4731,
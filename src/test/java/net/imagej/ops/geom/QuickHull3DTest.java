@@ -178,6 +178,26 @@ public class QuickHull3DTest extends AbstractOpTest {
 		assertConvex(convexHull, epsilon);
 	}
 
+	@Test
+	public void quickhull_lattice_Test() {
+		// all points except the corners are on the faces or inside of the cube
+		final Mesh df = new NaiveDoubleMesh();
+		for (int z = 0; z < 10; z++) {
+			for (int y = 0; y < 10; y++) {
+				for (int x = 0; x < 10; x++) {
+					df.vertices().add(x, y, z);
+				}
+			}
+		}
+
+		final List<?> result = (List<?>) ops.run(DefaultConvexHull3D.class, df);
+		final Mesh convexHull = (Mesh) result.get(0);
+		final double epsilon = (Double) result.get(1);
+		assertEquals(8, convexHull.vertices().size());
+		assertEquals(12, convexHull.triangles().size());
+		assertConvex(convexHull, epsilon);
+	}
+
 	/**
 	 * Checks for each centroid of each facet if the centroid is behind all other
 	 * facets.
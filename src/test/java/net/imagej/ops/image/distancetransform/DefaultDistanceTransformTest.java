@@ -29,13 +29,21 @@
 package net.imagej.ops.image.distancetransform;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Ops;
+import net.imglib2.Cursor;
 import net.imglib2.FinalInterval;
 import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.type.logic.BitType;
+import net.imglib2.type.numeric.integer.LongType;
 import net.imglib2.type.numeric.real.FloatType;
+import net.imglib2.util.IntervalIndexer;
+import net.imglib2.util.Intervals;
+import net.imglib2.view.Views;
 
 import org.junit.Test;
 import org.scijava.util.MersenneTwisterFast;
@@ -71,6 +79,52 @@ public class DefaultDistanceTransformTest extends AbstractOpTest {
 		compareResults(out, in, calibration);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testNearest() {
+		final RandomAccessibleInterval<BitType> in = ops.create().img(new FinalInterval(20, 20, 5, 3), new BitType());
+		generate4DImg(in);
+
+		final double[] calibration = new double[] { 3.74, 5.19, 1.21, 2.21 };
+		final RandomAccessibleInterval<LongType> nearest = ops.create().img(in, new LongType());
+		final RandomAccessibleInterval<FloatType> out = (RandomAccessibleInterval<FloatType>) ops
+				.run(DefaultDistanceTransformCalibration.class, null, in, nearest, calibration);
+		compareResults(out, in, calibration);
+
+		// the nearest background pixel must be background and at the distance
+		final Cursor<LongType> c = Views.flatIterable(nearest).localizingCursor();
+		final RandomAccess<BitType> raIn = in.randomAccess();
+		final RandomAccess<FloatType> raOut = out.randomAccess();
+		final long[] pos = new long[in.numDimensions()];
+		while (c.hasNext()) {
+			c.fwd();
+			raOut.setPosition(c);
+			IntervalIndexer.indexToPosition(c.get().get(), Intervals.dimensionsAsLongArray(in), pos);
+			raIn.setPosition(pos);
+			assertFalse(raIn.get().get());
+			double dist = 0;
+			for (int d = 0; d < pos.length; d++) {
+				final double delta = calibration[d] * (pos[d] - c.getLongPosition(d));
+				dist += delta * delta;
+			}
+			assertEquals(Math.sqrt(dist), raOut.get().get(), EPSILON);
+		}
+	}
+
+	@Test
+	public void testMatching() {
+		// the default ops take precedence over the 2D and 3D implementations
+		final RandomAccessibleInterval<BitType> in2D = ops.create().img(new FinalInterval(20, 20), new BitType());
+		assertTrue(ops.op(Ops.Image.DistanceTransform.class, in2D) instanceof DefaultDistanceTransform);
+		assertTrue(ops.op(Ops.Image.DistanceTransform.class, in2D,
+				new double[] { 1, 2 }) instanceof DefaultDistanceTransformCalibration);
+
+		final RandomAccessibleInterval<BitType> in3D = ops.create().img(new FinalInterval(20, 20, 5), new BitType());
+		assertTrue(ops.op(Ops.Image.DistanceTransform.class, in3D) instanceof DefaultDistanceTransform);
+		assertTrue(ops.op(Ops.Image.DistanceTransform.class, in3D,
+				new double[] { 1, 2, 3 }) instanceof DefaultDistanceTransformCalibration);
+	}
+
 	/*
 	 * generate a random BitType image
 	 */
@@ -0,0 +1,141 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+
+package net.imagej.ops.image.histogram;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Ops;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+import net.imglib2.histogram.Histogram1d;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.type.logic.BitType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+import net.imglib2.type.numeric.real.FloatType;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link HistogramCreateParallel}.
+ */
+public class HistogramCreateParallelTest extends AbstractOpTest {
+
+	@Test
+	public void testUnsignedByte() {
+		final Img<UnsignedByteType> img = ArrayImgs.unsignedBytes(97, 61);
+		final Random rand = new Random(42);
+		for (final UnsignedByteType t : img) {
+			t.set(20 + rand.nextInt(200));
+		}
+		assertSameHistogram(img, 256);
+		assertSameHistogram(img, 17);
+	}
+
+	@Test
+	public void testUnsignedShort() {
+		final Img<UnsignedShortType> img = ArrayImgs.unsignedShorts(53, 47, 3);
+		final Random rand = new Random(7);
+		for (final UnsignedShortType t : img) {
+			t.set(rand.nextInt(65536));
+		}
+		assertSameHistogram(img, 256);
+		assertSameHistogram(img, 1000);
+	}
+
+	@Test
+	public void testFloat() {
+		final Img<FloatType> img = ArrayImgs.floats(101, 33);
+		final Random rand = new Random(3);
+		for (final FloatType t : img) {
+			t.set((float) rand.nextGaussian() * 100);
+		}
+		assertSameHistogram(img, 256);
+		assertSameHistogram(img, 5);
+	}
+
+	@Test
+	public void testThresholdWithHistogram() {
+		final Img<UnsignedShortType> img = ArrayImgs.unsignedShorts(40, 40);
+		final Img<UnsignedShortType> shifted = ArrayImgs.unsignedShorts(40, 40);
+		final Random rand = new Random(11);
+		final Cursor<UnsignedShortType> c = shifted.cursor();
+		for (final UnsignedShortType t : img) {
+			t.set(rand.nextInt(4000));
+			c.next().set(t.get() + 1000);
+		}
+
+		// the threshold must follow the given histogram, not the image
+		final Histogram1d<UnsignedShortType> histogram = ops.image().histogram(
+			shifted);
+		final UnsignedShortType threshold = ops.threshold().otsu(histogram);
+		final IterableInterval<BitType> expected = ops.threshold().apply(img,
+			threshold);
+		final IterableInterval<BitType> own = ops.threshold().otsu(img);
+		final IterableInterval<BitType> actual = ops.threshold().otsu(img,
+			histogram);
+
+		final Cursor<BitType> e = expected.cursor();
+		final Cursor<BitType> o = own.cursor();
+		final Cursor<BitType> a = actual.cursor();
+		int differences = 0;
+		while (e.hasNext()) {
+			final boolean value = a.next().get();
+			assertEquals(e.next().get(), value);
+			if (o.next().get() != value) differences++;
+		}
+		assertTrue(differences > 0);
+	}
+
+	private <T extends RealType<T>> void assertSameHistogram(
+		final IterableInterval<T> img, final int numBins)
+	{
+		@SuppressWarnings("unchecked")
+		final Histogram1d<T> expected = (Histogram1d<T>) ops.run(
+			HistogramCreate.class, img, numBins);
+		final Histogram1d<T> actual = ops.image().histogram(img, numBins);
+
+		assertEquals(HistogramCreateParallel.class, ops.op(
+			Ops.Image.Histogram.class, img, numBins).getClass());
+		assertEquals(expected.getBinCount(), actual.getBinCount());
+		assertEquals(expected.totalCount(), actual.totalCount());
+		for (int i = 0; i < expected.getBinCount(); i++) {
+			assertEquals(expected.frequency(i), actual.frequency(i));
+		}
+	}
+
+}
@@ -45,6 +45,8 @@ import net.imglib2.roi.labeling.ImgLabeling;
 import net.imglib2.roi.labeling.LabelingType;
 import net.imglib2.type.logic.BitType;
 import net.imglib2.type.numeric.integer.IntType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.integer.UnsignedIntType;
 import net.imglib2.type.numeric.real.FloatType;
 import net.imglib2.view.Views;
 
@@ -79,6 +81,72 @@ public class WatershedTest extends AbstractOpTest {
 		testWithMask(gauss);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testIntegerAndRealInputsAgree() {
+		// integer images are flooded with a hierarchical queue, real ones with
+		// a heap, both must give the same labels
+		final Img<UnsignedByteType> bytes = ArrayImgs.unsignedBytes(40, 30);
+		final Img<FloatType> floats = ArrayImgs.floats(40, 30);
+		final Cursor<UnsignedByteType> cb = bytes.localizingCursor();
+		final Cursor<FloatType> cf = floats.cursor();
+		while (cb.hasNext()) {
+			cb.fwd();
+			final double x = cb.getDoublePosition(0);
+			final double y = cb.getDoublePosition(1);
+			final int value = (int) (60 * (2 + Math.sin(x / 4) + Math.cos(y / 3)));
+			cb.get().set(value);
+			cf.next().set(value);
+		}
+
+		for (final boolean eight : new boolean[] { true, false }) {
+			for (final boolean draw : new boolean[] { true, false }) {
+				final ImgLabeling<Integer, IntType> outBytes =
+					(ImgLabeling<Integer, IntType>) ops.run(Watershed.class, null, bytes,
+						eight, draw);
+				final ImgLabeling<Integer, IntType> outFloats =
+					(ImgLabeling<Integer, IntType>) ops.run(Watershed.class, null, floats,
+						eight, draw);
+				final Cursor<LabelingType<Integer>> c1 = outBytes.cursor();
+				final Cursor<LabelingType<Integer>> c2 = outFloats.cursor();
+				while (c1.hasNext()) {
+					assertEquals(new HashSet<>(c1.next()), new HashSet<>(c2.next()));
+				}
+			}
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testLargeIntegerOffset() {
+		// gray values beyond the int range must be converted to the same levels
+		final long offset = 3L << 30;
+		final Img<UnsignedByteType> bytes = ArrayImgs.unsignedBytes(40, 30);
+		final Img<UnsignedIntType> ints = ArrayImgs.unsignedInts(40, 30);
+		final Cursor<UnsignedByteType> cb = bytes.localizingCursor();
+		final Cursor<UnsignedIntType> ci = ints.cursor();
+		while (cb.hasNext()) {
+			cb.fwd();
+			final double x = cb.getDoublePosition(0);
+			final double y = cb.getDoublePosition(1);
+			final int value = (int) (60 * (2 + Math.sin(x / 4) + Math.cos(y / 3)));
+			cb.get().set(value);
+			ci.next().set(offset + value);
+		}
+
+		final ImgLabeling<Integer, IntType> outBytes =
+			(ImgLabeling<Integer, IntType>) ops.run(Watershed.class, null, bytes,
+				true, true);
+		final ImgLabeling<Integer, IntType> outInts =
+			(ImgLabeling<Integer, IntType>) ops.run(Watershed.class, null, ints,
+				true, true);
+		final Cursor<LabelingType<Integer>> c1 = outBytes.cursor();
+		final Cursor<LabelingType<Integer>> c2 = outInts.cursor();
+		while (c1.hasNext()) {
+			assertEquals(new HashSet<>(c1.next()), new HashSet<>(c2.next()));
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private void testWithoutMask(final RandomAccessibleInterval<FloatType> in) {
 		// create mask which is 1 everywhere
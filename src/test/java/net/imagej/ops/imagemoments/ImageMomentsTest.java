@@ -36,9 +36,11 @@ import java.util.Random;
 import net.imagej.ops.AbstractOpTest;
 import net.imagej.ops.Ops;
 import net.imglib2.Cursor;
+import net.imglib2.RandomAccess;
 import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.real.DoubleType;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -51,6 +53,7 @@ import org.junit.Test;
 public class ImageMomentsTest extends AbstractOpTest {
 
 	private static final double EPSILON = 1e-8;
+	private static final double RELATIVE_EPSILON = 1e-12;
 	private static Img<UnsignedByteType> img;
 
 	@BeforeClass
@@ -89,20 +92,20 @@ public class ImageMomentsTest extends AbstractOpTest {
 	 */
 	@Test
 	public void testCentralMoments() {
-		assertEquals(Ops.ImageMoments.CentralMoment11.NAME, -5275876.956702709, ops.imagemoments()
-			.centralMoment11(img).getRealDouble(), EPSILON);
-		assertEquals(Ops.ImageMoments.CentralMoment02.NAME, 1.0694469880269902E9, ops.imagemoments()
-			.centralMoment02(img).getRealDouble(), EPSILON);
-		assertEquals(Ops.ImageMoments.CentralMoment20.NAME, 1.0585772432642114E9, ops.imagemoments()
-			.centralMoment20(img).getRealDouble(), EPSILON);
-		assertEquals(Ops.ImageMoments.CentralMoment12.NAME, 5478324.271281097, ops.imagemoments()
-			.centralMoment12(img).getRealDouble(), EPSILON);
-		assertEquals(Ops.ImageMoments.CentralMoment21.NAME, -2.1636455685489437E8, ops
-			.imagemoments().centralMoment21(img).getRealDouble(), EPSILON);
-		assertEquals(Ops.ImageMoments.CentralMoment30.NAME, 1.7355602329912126E8, ops.imagemoments()
-			.centralMoment30(img).getRealDouble(), EPSILON);
-		assertEquals(Ops.ImageMoments.CentralMoment03.NAME, -4.099421316116555E8, ops
-			.imagemoments().centralMoment03(img).getRealDouble(), EPSILON);
+		assertRelative(Ops.ImageMoments.CentralMoment11.NAME, -5275876.956702709, ops.imagemoments()
+			.centralMoment11(img).getRealDouble());
+		assertRelative(Ops.ImageMoments.CentralMoment02.NAME, 1.0694469880269902E9, ops.imagemoments()
+			.centralMoment02(img).getRealDouble());
+		assertRelative(Ops.ImageMoments.CentralMoment20.NAME, 1.0585772432642114E9, ops.imagemoments()
+			.centralMoment20(img).getRealDouble());
+		assertRelative(Ops.ImageMoments.CentralMoment12.NAME, 5478324.271281097, ops.imagemoments()
+			.centralMoment12(img).getRealDouble());
+		assertRelative(Ops.ImageMoments.CentralMoment21.NAME, -2.1636455685489437E8, ops
+			.imagemoments().centralMoment21(img).getRealDouble());
+		assertRelative(Ops.ImageMoments.CentralMoment30.NAME, 1.7355602329912126E8, ops.imagemoments()
+			.centralMoment30(img).getRealDouble());
+		assertRelative(Ops.ImageMoments.CentralMoment03.NAME, -4.099421316116555E8, ops
+			.imagemoments().centralMoment03(img).getRealDouble());
 	}
 
 	/**
@@ -153,4 +156,83 @@ public class ImageMomentsTest extends AbstractOpTest {
 			.huMoment7(img).getRealDouble(), EPSILON);
 	}
 
+	/**
+	 * Test that the raw moment tensor agrees with the single moment ops.
+	 */
+	@Test
+	public void testRawMoments() {
+		final MomentTensor moments = ops.imagemoments().rawMoments(img);
+		assertEquals(3, moments.getOrder());
+		assertEquals(ops.imagemoments().moment00(img).getRealDouble(), moments
+			.getRaw(0, 0), EPSILON);
+		assertEquals(ops.imagemoments().moment10(img).getRealDouble(), moments
+			.getRaw(1, 0), EPSILON);
+		assertEquals(ops.imagemoments().moment01(img).getRealDouble(), moments
+			.getRaw(0, 1), EPSILON);
+		assertRelative(Ops.ImageMoments.Moment11.NAME, ops.imagemoments()
+			.moment11(img).getRealDouble(), moments.getRaw(1, 1));
+		assertEquals(0, moments.getCentral(1, 0), 1e-6);
+		assertEquals(0, moments.getCentral(0, 1), 1e-6);
+		assertRelative(Ops.ImageMoments.NormalizedCentralMoment11.NAME,
+			-3.2325832933879204E-6, moments.getNormalizedCentral(1, 1));
+
+		// the parallel accumulation of large regions gives the same result
+		final Img<UnsignedByteType> large = ArrayImgs.unsignedBytes(400, 300);
+		final Random rand = new Random(42L);
+		for (final UnsignedByteType t : large) {
+			t.set(rand.nextInt(256));
+		}
+		final MomentTensor parallel = ops.imagemoments().rawMoments(large);
+		final MomentTensor serial = new MomentTensor(3, 199.5, 149.5);
+		final Cursor<UnsignedByteType> cursor = large.localizingCursor();
+		final double[] position = new double[2];
+		while (cursor.hasNext()) {
+			cursor.fwd();
+			cursor.localize(position);
+			serial.add(position, cursor.get().getRealDouble());
+		}
+		for (int p = 0; p <= 3; p++) {
+			for (int q = 0; q <= 3 - p; q++) {
+				assertRelative("raw " + p + q, serial.getRaw(p, q), parallel.getRaw(p,
+					q));
+			}
+		}
+	}
+
+	/**
+	 * Test the raw moment tensor of a 3-D image.
+	 */
+	@Test
+	public void testRawMoments3D() {
+		final Img<DoubleType> cube = ArrayImgs.doubles(10, 10, 10);
+		final RandomAccess<DoubleType> ra = cube.randomAccess();
+		ra.setPosition(new long[] { 2, 3, 4 });
+		ra.get().set(2);
+		ra.setPosition(new long[] { 6, 3, 8 });
+		ra.get().set(2);
+
+		final MomentTensor moments = ops.imagemoments().rawMoments(cube, 2);
+		assertEquals(3, moments.numDimensions());
+		assertEquals(4, moments.getRaw(0, 0, 0), EPSILON);
+		assertEquals(16, moments.getRaw(1, 0, 0), EPSILON);
+		assertEquals(12, moments.getRaw(0, 1, 0), EPSILON);
+		assertEquals(24, moments.getRaw(0, 0, 1), EPSILON);
+		assertEquals(112, moments.getRaw(1, 0, 1), EPSILON);
+		assertEquals(4, moments.getCentroid(0), EPSILON);
+		assertEquals(6, moments.getCentroid(2), EPSILON);
+		assertEquals(16, moments.getCentral(2, 0, 0), EPSILON);
+		assertEquals(0, moments.getCentral(0, 2, 0), EPSILON);
+		assertEquals(16, moments.getCentral(0, 0, 2), EPSILON);
+		assertEquals(16, moments.getCentral(1, 0, 1), EPSILON);
+		assertEquals(16 / Math.pow(4, 1 + 2 / 3.0), moments.getNormalizedCentral(
+			2, 0, 0), EPSILON);
+	}
+
+	private static void assertRelative(final String message,
+		final double expected, final double actual)
+	{
+		assertEquals(message, expected, actual, Math.abs(expected) *
+			RELATIVE_EPSILON);
+	}
+
 }
@@ -0,0 +1,153 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.labeling.cca;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imglib2.Cursor;
+import net.imglib2.algorithm.labeling.ConnectedComponents.StructuringElement;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.roi.labeling.ImgLabeling;
+import net.imglib2.roi.labeling.LabelingType;
+import net.imglib2.type.numeric.integer.IntType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.util.Intervals;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link ParallelCCA}.
+ */
+public class ParallelCCATest extends AbstractOpTest {
+
+	@Test
+	public void testFourConnected() {
+		assertSamePartition(randomImg(40, 30, 25),
+			StructuringElement.FOUR_CONNECTED);
+	}
+
+	@Test
+	public void testEightConnected() {
+		assertSamePartition(randomImg(40, 30, 25),
+			StructuringElement.EIGHT_CONNECTED);
+	}
+
+	@Test
+	public void test2D() {
+		assertSamePartition(randomImg(64, 48), StructuringElement.EIGHT_CONNECTED);
+	}
+
+	@Test
+	public void testComponentStatistics() {
+		final Img<UnsignedByteType> in = ArrayImgs.unsignedBytes(10, 10);
+		final Cursor<UnsignedByteType> c = in.localizingCursor();
+		while (c.hasNext()) {
+			c.fwd();
+			final int x = c.getIntPosition(0);
+			final int y = c.getIntPosition(1);
+			// a 3x2 rectangle and a vertical bar
+			if (x >= 1 && x <= 3 && y >= 2 && y <= 3) c.get().set(1);
+			if (x == 7 && y >= 1) c.get().set(1);
+		}
+		final Img<IntType> out = ArrayImgs.ints(10, 10);
+		final List<ConnectedComponent> components = new ArrayList<>();
+		ops.run(ParallelCCA.class, out, in, StructuringElement.FOUR_CONNECTED,
+			(Consumer<ConnectedComponent>) components::add);
+
+		assertEquals(2, components.size());
+		final ConnectedComponent bar = components.get(0);
+		assertEquals(1, bar.getLabel());
+		assertEquals(9, bar.getSize());
+		assertEquals(7, bar.getBoundingBox().min(0));
+		assertEquals(1, bar.getBoundingBox().min(1));
+		assertEquals(9, bar.getBoundingBox().max(1));
+		assertEquals(5.0, bar.getCentroid().getDoublePosition(1), 1e-10);
+
+		final ConnectedComponent rect = components.get(1);
+		assertEquals(2, rect.getLabel());
+		assertEquals(6, rect.getSize());
+		assertEquals(2.0, rect.getCentroid().getDoublePosition(0), 1e-10);
+		assertEquals(2.5, rect.getCentroid().getDoublePosition(1), 1e-10);
+	}
+
+	// -- Helper methods --
+
+	private Img<UnsignedByteType> randomImg(final long... dims) {
+		final Img<UnsignedByteType> img = ArrayImgs.unsignedBytes(dims);
+		final Random random = new Random(0xcca);
+		for (final UnsignedByteType t : img) {
+			t.set(random.nextDouble() < 0.4 ? 1 : 0);
+		}
+		return img;
+	}
+
+	private void assertSamePartition(final Img<UnsignedByteType> in,
+		final StructuringElement se)
+	{
+		final Img<IntType> labels = ArrayImgs.ints(Intervals
+			.dimensionsAsLongArray(in));
+		ops.run(ParallelCCA.class, labels, in, se);
+
+		@SuppressWarnings("unchecked")
+		final ImgLabeling<Integer, ?> expected = (ImgLabeling<Integer, ?>) ops
+			.run(DefaultCCA.class, in, se);
+
+		// labels must map one-to-one onto the reference labels
+		final Map<Integer, Integer> forward = new HashMap<>();
+		final Map<Integer, Integer> backward = new HashMap<>();
+		final Cursor<IntType> c = labels.cursor();
+		final Cursor<LabelingType<Integer>> e = expected.cursor();
+		int max = 0;
+		while (c.hasNext()) {
+			final int label = c.next().get();
+			final LabelingType<Integer> reference = e.next();
+			if (label == 0) {
+				assertEquals(0, reference.size());
+				continue;
+			}
+			assertEquals(1, reference.size());
+			final Integer ref = reference.iterator().next();
+			assertEquals(ref, forward.computeIfAbsent(label, k -> ref));
+			assertEquals(label, (int) backward.computeIfAbsent(ref, k -> label));
+			max = Math.max(max, label);
+		}
+		// consecutive numbering
+		assertEquals(forward.size(), max);
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.math;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Op;
+import net.imagej.ops.Ops;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.img.basictypeaccess.array.ByteArray;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link ArrayImageToArrayImageP}.
+ */
+public class ArrayImageToArrayImagePTest extends AbstractOpTest {
+
+	@Test
+	public void testAddUnsignedByte() {
+		final ArrayImg<UnsignedByteType, ByteArray> in1 = create(200, 100, 7, 0);
+		final ArrayImg<UnsignedByteType, ByteArray> in2 = create(100, 200, 3, 0);
+		final ArrayImg<UnsignedByteType, ByteArray> out = create(0, 0, 0, 0);
+
+		final Op op = ops.op(Ops.Math.Add.class, out, in1, in2);
+		assertSame(ArrayImageToArrayImageP.AddUnsignedByte.class, op.getClass());
+		op.run();
+
+		// NB: Same wrap-around semantics as UnsignedByteType.add.
+		assertPixels(out, 44, 44, 10, 0);
+	}
+
+	@Test
+	public void testDivideUnsignedByte() {
+		final ArrayImg<UnsignedByteType, ByteArray> in1 = create(200, 255, 7, 0);
+		final ArrayImg<UnsignedByteType, ByteArray> in2 = create(100, 2, 3, 1);
+		final ArrayImg<UnsignedByteType, ByteArray> out = create(0, 0, 0, 0);
+
+		ops.math().divide(out, in1, in2);
+
+		assertPixels(out, 2, 127, 2, 0);
+	}
+
+	// -- Helper methods --
+
+	private ArrayImg<UnsignedByteType, ByteArray> create(final int... values) {
+		final byte[] data = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			data[i] = (byte) values[i];
+		}
+		return ArrayImgs.unsignedBytes(data, 2, 2);
+	}
+
+	private void assertPixels(final ArrayImg<UnsignedByteType, ByteArray> img,
+		final int... expected)
+	{
+		int i = 0;
+		for (final UnsignedByteType t : img) {
+			assertEquals(expected[i++], t.get());
+		}
+	}
+
+}
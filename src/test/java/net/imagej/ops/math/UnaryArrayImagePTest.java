@@ -0,0 +1,89 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.math;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Op;
+import net.imagej.ops.Ops;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.img.basictypeaccess.array.DoubleArray;
+import net.imglib2.img.basictypeaccess.array.FloatArray;
+import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.type.numeric.real.FloatType;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link UnaryArrayImageP}.
+ */
+public class UnaryArrayImagePTest extends AbstractOpTest {
+
+	@Test
+	public void testSqrtFloat() {
+		final ArrayImg<FloatType, FloatArray> in = ArrayImgs.floats(new float[] {
+			0, 2, 9, 1e-3f, -1, 123.456f }, 2, 3);
+		final ArrayImg<FloatType, FloatArray> out = ArrayImgs.floats(2, 3);
+
+		final Op op = ops.op(Ops.Math.Sqrt.class, out, in);
+		assertSame(UnaryArrayImageP.SqrtFloat.class, op.getClass());
+		op.run();
+
+		// NB: Same results as the per-pixel op.
+		final FloatType expected = new FloatType();
+		final UnaryRealTypeMath.Sqrt<FloatType, FloatType> sqrt =
+			new UnaryRealTypeMath.Sqrt<>();
+		final float[] a = in.update(null).getCurrentStorageArray();
+		final float[] o = out.update(null).getCurrentStorageArray();
+		for (int i = 0; i < a.length; i++) {
+			sqrt.compute(new FloatType(a[i]), expected);
+			assertEquals(expected.get(), o[i], 0f);
+		}
+	}
+
+	@Test
+	public void testExpMinusOneDouble() {
+		final ArrayImg<DoubleType, DoubleArray> img = ArrayImgs.doubles(
+			new double[] { -2, -0.5, 0, 0.5, 1, 3 }, 3, 2);
+		final double[] a = img.update(null).getCurrentStorageArray().clone();
+
+		// NB: Computing in place is fine, the ops work pixel by pixel.
+		ops.math().expMinusOne(img, img);
+
+		final double[] o = img.update(null).getCurrentStorageArray();
+		for (int i = 0; i < a.length; i++) {
+			assertEquals(Math.exp(a[i]) - 1, o[i], 0.0);
+		}
+	}
+
+}
@@ -34,6 +34,7 @@ import static org.junit.Assert.assertNotNull;
 
 import net.imagej.ops.AbstractOpTest;
 import net.imglib2.Cursor;
+import net.imglib2.FinalDimensions;
 import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.neighborhood.DiamondShape;
@@ -138,4 +139,39 @@ public class MorphologyOpsTest extends AbstractOpTest {
 			assertEquals(r, resultRA.get().get());
 		}
 	}
+
+	@Test
+	public void testFillHolesSliceWise() {
+		// a stack of rings, their centers touch the border of the stack
+		final Img<BitType> rings = ops.create().img(new FinalDimensions(7, 7, 3), new BitType());
+		final Cursor<BitType> c = rings.localizingCursor();
+		while (c.hasNext()) {
+			c.fwd();
+			final long x = c.getLongPosition(0);
+			final long y = c.getLongPosition(1);
+			c.get().set(Math.max(Math.abs(x - 3), Math.abs(y - 3)) == 2);
+		}
+		final Img<BitType> filled = ops.create().img(rings);
+		ops.morphology().fillHoles(filled, rings, new DiamondShape(1), false);
+		final Img<BitType> slices = ops.create().img(rings);
+		ops.morphology().fillHoles(slices, rings, new DiamondShape(1), true);
+		final Img<BitType> holes = ops.create().img(rings);
+		ops.morphology().extractHoles(holes, rings, new DiamondShape(1), true);
+
+		final RandomAccess<BitType> raFilled = filled.randomAccess();
+		final RandomAccess<BitType> raSlices = slices.randomAccess();
+		final RandomAccess<BitType> raHoles = holes.randomAccess();
+		c.reset();
+		while (c.hasNext()) {
+			final boolean ring = c.next().get();
+			final boolean inside = Math.max(Math.abs(c.getLongPosition(0) - 3), Math
+				.abs(c.getLongPosition(1) - 3)) < 2;
+			raFilled.setPosition(c);
+			raSlices.setPosition(c);
+			raHoles.setPosition(c);
+			assertEquals(ring, raFilled.get().get());
+			assertEquals(ring || inside, raSlices.get().get());
+			assertEquals(inside, raHoles.get().get());
+		}
+	}
 }
@@ -30,6 +30,7 @@
 package net.imagej.ops.stats;
 
 import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Op;
 import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImg;
 import net.imglib2.img.array.ArrayImgs;
@@ -291,4 +292,93 @@ public class StatisticsTest extends AbstractOpTest {
 		Assert.assertEquals("Sum Of Squares", 217588654, ((DoubleType) ops.run(
 			DefaultSumOfSquares.class, randomlyFilledImg)).getRealDouble(), 0.00001d);
 	}
+
+	@Test
+	public void testSummary() {
+		final SummaryStatistics summary = ops.stats().summary(randomlyFilledImg);
+		Assert.assertEquals("Size", 10000, summary.getSize());
+		Assert.assertEquals("Min", 0, summary.getMin(), 0.00001d);
+		Assert.assertEquals("Max", 254, summary.getMax(), 0.00001d);
+		Assert.assertEquals("Sum", 1277534.0, summary.getSum(), 0.00001d);
+		Assert.assertEquals("Mean", 127.7534, summary.getMean(), 0.00001d);
+		assertSummary("Variance", DefaultVariance.class, summary.getVariance());
+		assertSummary("Moment2AboutMean", DefaultMoment2AboutMean.class, summary
+			.getMoment2AboutMean());
+		assertSummary("Moment3AboutMean", DefaultMoment3AboutMean.class, summary
+			.getMoment3AboutMean());
+		assertSummary("Moment4AboutMean", DefaultMoment4AboutMean.class, summary
+			.getMoment4AboutMean());
+		assertSummary("Skewness", DefaultSkewness.class, summary.getSkewness());
+		assertSummary("Kurtosis", DefaultKurtosis.class, summary.getKurtosis());
+	}
+
+	@Test
+	public void testSummaryMerge() {
+		final SummaryStatistics all = new SummaryStatistics(4);
+		final SummaryStatistics first = new SummaryStatistics(4);
+		final SummaryStatistics second = new SummaryStatistics(4);
+		for (int i = 0; i < arraySize; i++) {
+			all.add(array[i]);
+			(i < 1234 ? first : second).add(array[i]);
+		}
+		first.merge(second);
+
+		Assert.assertEquals(all.getSize(), first.getSize());
+		Assert.assertEquals(all.getMin(), first.getMin(), 0d);
+		Assert.assertEquals(all.getMax(), first.getMax(), 0d);
+		Assert.assertEquals(all.getMean(), first.getMean(), 1e-9);
+		Assert.assertEquals(all.getVariance(), first.getVariance(), 1e-6);
+		Assert.assertEquals(all.getSkewness(), first.getSkewness(), 1e-9);
+		Assert.assertEquals(all.getKurtosis(), first.getKurtosis(), 1e-9);
+	}
+
+	@Test
+	public void testSummaryDeterminism() {
+		final Img<FloatType> large = generateFloatArrayTestImg(true, 1000, 500);
+		final SummaryStatistics expected = ops.stats().summary(large);
+		for (int i = 0; i < 10; i++) {
+			final SummaryStatistics summary = ops.stats().summary(large);
+			Assert.assertEquals(expected.getSum(), summary.getSum(), 0d);
+			Assert.assertEquals(expected.getVariance(), summary.getVariance(), 0d);
+			Assert.assertEquals(expected.getKurtosis(), summary.getKurtosis(), 0d);
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSummaryOrder() {
+		ops.stats().summary(randomlyFilledImg, 2).getSkewness();
+	}
+
+	@Test
+	public void testLargeInputDelegation() {
+		final Img<UnsignedByteType> large =
+			generateRandomlyFilledUnsignedByteTestImgWithSeed(new long[] { 1024,
+				1024 }, 1234567890L);
+		Assert.assertTrue(DefaultSummary.isLarge(large));
+
+		double sum = 0;
+		for (final UnsignedByteType t : large) {
+			sum += t.getRealDouble();
+		}
+		final double mean = sum / large.size();
+		double m2 = 0;
+		for (final UnsignedByteType t : large) {
+			final double d = t.getRealDouble() - mean;
+			m2 += d * d;
+		}
+
+		Assert.assertEquals("Sum", sum, ((DoubleType) ops.run(DefaultSum.class,
+			large)).getRealDouble(), 0.00001d);
+		Assert.assertEquals("Mean", mean, ((DoubleType) ops.run(
+			IterableMean.class, large)).getRealDouble(), 0.00001d);
+		Assert.assertEquals("Variance", m2 / (large.size() - 1), ((DoubleType) ops
+			.run(IterableVariance.class, large)).getRealDouble(), 0.00001d);
+	}
+
+	private void assertSummary(final String name, final Class<? extends Op> opType,
+		final double actual)
+	{
+		Assert.assertEquals(name, ((DoubleType) ops.run(opType, randomlyFilledImg))
+			.getRealDouble(), actual, 0.00001d);
+	}
 }
@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2018 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.ForkJoinChunker;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link ForkJoinChunker}.
+ */
+public class ForkJoinChunkerTest extends AbstractOpTest {
+
+	@Test
+	public void testMatchedByDefault() {
+		final ChunkerOp chunker = ops.op(ChunkerOp.class, (Chunk) (start, step,
+			num) -> {}, 10L);
+		assertTrue(chunker instanceof ForkJoinChunker);
+	}
+
+	@Test
+	public void testEveryElementOnce() {
+		final int n = 100003;
+		final AtomicIntegerArray visits = new AtomicIntegerArray(n);
+		final Chunk chunk = (start, step, num) -> {
+			for (long i = 0; i < num; i++) {
+				visits.incrementAndGet((int) (start + i * step));
+			}
+		};
+		ops.run(ForkJoinChunker.class, chunk, (long) n);
+		for (int i = 0; i < n; i++) {
+			assertEquals(1, visits.get(i));
+		}
+
+		// with a dedicated pool of two threads
+		ops.run(ForkJoinChunker.class, chunk, (long) n, 2);
+		for (int i = 0; i < n; i++) {
+			assertEquals(2, visits.get(i));
+		}
+	}
+
+	@Test
+	public void testFailurePropagation() {
+		final ForkJoinChunker chunker = ops.op(ForkJoinChunker.class,
+			(Chunk) (start, step, num) -> {
+				if (start + num > 500) throw new IllegalStateException("failed");
+			}, 1000L);
+		try {
+			chunker.run();
+			fail("Expected IllegalStateException");
+		}
+		catch (final IllegalStateException exc) {
+			// NB: The ForkJoinPool may rethrow a copy wrapping the original.
+			final Throwable cause = exc.getCause() instanceof IllegalStateException
+				? exc.getCause() : exc;
+			assertEquals("failed", cause.getMessage());
+		}
+		assertTrue(chunker.isCanceled());
+	}
+
+}
@@ -49,11 +49,11 @@ public class RunDefaultChunkerArray<A> extends AbstractUnaryComputerOp<A[], A[]>
 
 			@Override
 			public void
-				execute(int startIndex, final int stepSize, final int numSteps)
+				execute(long startIndex, final long stepSize, final long numSteps)
 			{
-				int i = startIndex;
+				int i = (int) startIndex;
 
-				int ctr = 0;
+				long ctr = 0;
 				while (ctr < numSteps) {
 					output[i] = input[i];
 					i += stepSize;
@@ -31,12 +31,17 @@ package net.imagej.ops.transform.project;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
+
 import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
 import net.imagej.ops.special.computer.Computers;
 import net.imagej.ops.special.computer.UnaryComputerOp;
+import net.imglib2.Cursor;
 import net.imglib2.RandomAccess;
 import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.type.numeric.integer.UnsignedByteType;
 
 import org.junit.Before;
@@ -85,6 +90,64 @@ public class ProjectTest extends AbstractOpTest {
 		testEquality(out1, out2);
 	}
 
+	@Test
+	public void testStreaming() {
+		final Img<UnsignedByteType> noise = generateUnsignedByteArrayTestImg(true,
+			7, 5, 6);
+		final Class<?>[] methods = { Ops.Stats.Min.class, Ops.Stats.Max.class,
+			Ops.Stats.Sum.class, Ops.Stats.Mean.class, Ops.Stats.Variance.class,
+			Ops.Stats.Median.class };
+		for (int d = 0; d < 3; d++) {
+			final long[] dims = new long[2];
+			for (int i = 0; i < 2; i++) {
+				dims[i] = noise.dimension(i < d ? i : i + 1);
+			}
+			for (final Class<?> method : methods) {
+				final Img<UnsignedByteType> expected = ArrayImgs.unsignedBytes(dims);
+				final Img<UnsignedByteType> actual = ArrayImgs.unsignedBytes(dims);
+				final UnaryComputerOp<Iterable<UnsignedByteType>, UnsignedByteType> m =
+					Computers.unary(ops, method.asSubclass(Op.class), UnsignedByteType.class,
+						noise);
+
+				ops.run(DefaultProjectParallel.class, expected, noise, m, d);
+				final Op op = ops.op(Ops.Transform.Project.class, actual, noise, m, d);
+				assertEquals(DefaultProjectStreaming.class, op.getClass());
+				op.run();
+				assertImgEquals(expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void testStreamingMultipleStatistics() {
+		final Img<UnsignedByteType> noise = generateUnsignedByteArrayTestImg(true,
+			8, 9, 10);
+		final Img<UnsignedByteType> min = ArrayImgs.unsignedBytes(8, 9);
+		final Img<UnsignedByteType> max = ArrayImgs.unsignedBytes(8, 9);
+		final Img<UnsignedByteType> expected = ArrayImgs.unsignedBytes(8, 9);
+
+		StreamingProjection.project(ops, noise, PROJECTION_DIM, Arrays.asList(
+			ProjectionStatistic.MIN, ProjectionStatistic.MAX), Arrays.asList(min,
+				max));
+
+		ops.run(DefaultProjectParallel.class, expected, noise, Computers.unary(ops,
+			Ops.Stats.Min.class, UnsignedByteType.class, noise), PROJECTION_DIM);
+		assertImgEquals(expected, min);
+		ops.run(DefaultProjectParallel.class, expected, noise, Computers.unary(ops,
+			Ops.Stats.Max.class, UnsignedByteType.class, noise), PROJECTION_DIM);
+		assertImgEquals(expected, max);
+	}
+
+	private void assertImgEquals(final Img<UnsignedByteType> expected,
+		final Img<UnsignedByteType> actual)
+	{
+		final Cursor<UnsignedByteType> e = expected.cursor();
+		final Cursor<UnsignedByteType> a = actual.cursor();
+		while (e.hasNext()) {
+			assertEquals(e.next().get(), a.next().get());
+		}
+	}
+
 	private void testEquality(final Img<UnsignedByteType> img1,
 		final Img<UnsignedByteType> img2)
 	{